@@ -0,0 +1,136 @@
+/*********************************************************************************
+ *                                                                               *
+ * The MIT License (MIT)                                                         *
+ *                                                                               *
+ * Copyright (c) 2015-2020 aoju.org and other contributors.                      *
+ *                                                                               *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy  *
+ * of this software and associated documentation files (the "Software"), to deal *
+ * in the Software without restriction, including without limitation the rights  *
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell     *
+ * copies of the Software, and to permit persons to whom the Software is         *
+ * furnished to do so, subject to the following conditions:                      *
+ *                                                                               *
+ * The above copyright notice and this permission notice shall be included in    *
+ * all copies or substantial portions of the Software.                           *
+ *                                                                               *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR    *
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,      *
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE   *
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER        *
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, *
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN     *
+ * THE SOFTWARE.                                                                 *
+ ********************************************************************************/
+package org.aoju.bus.core.io;
+
+import org.aoju.bus.core.toolkit.IoKit;
+
+import javax.crypto.Cipher;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+
+/**
+ * 写入时使用{@link Cipher}加密或解密后再写入下层的{@link Sink}
+ * 数据按段处理,只使用固定大小的缓冲区;关闭时完成最后一块并关闭下层
+ * {@link #flush}只能刷出已完成的块,未满一块的数据保留到关闭时处理
+ *
+ * @author Kimi Liu
+ * @version 6.0.1
+ * @since JDK 1.8+
+ */
+public class CipherSink implements Sink {
+
+    private final BufferSink sink;
+    private final Cipher cipher;
+    private byte[] output;
+    private boolean closed;
+
+    /**
+     * 构造
+     *
+     * @param sink   下层的{@link Sink}
+     * @param cipher 已初始化的{@link Cipher}
+     */
+    public CipherSink(Sink sink, Cipher cipher) {
+        if (sink == null) throw new IllegalArgumentException("sink == null");
+        if (cipher == null) throw new IllegalArgumentException("cipher == null");
+        this.sink = IoKit.buffer(sink);
+        this.cipher = cipher;
+        this.output = new byte[cipher.getOutputSize(Segment.SIZE)];
+    }
+
+    @Override
+    public void write(Buffer source, long byteCount) throws IOException {
+        IoKit.checkOffsetAndCount(source.size, 0, byteCount);
+        while (byteCount > 0) {
+            final Segment head = source.head;
+            final int toProcess = (int) Math.min(byteCount, head.limit - head.pos);
+            update(head.data, head.pos, toProcess);
+
+            source.size -= toProcess;
+            head.pos += toProcess;
+            if (head.pos == head.limit) {
+                source.head = head.pop();
+                LifeCycle.recycle(head);
+            }
+            byteCount -= toProcess;
+        }
+    }
+
+    private void update(byte[] data, int offset, int length) throws IOException {
+        try {
+            final int size = cipher.getOutputSize(length);
+            if (size > output.length) {
+                output = new byte[size];
+            }
+            final int produced = cipher.update(data, offset, length, output, 0);
+            if (produced > 0) {
+                sink.write(output, 0, produced);
+                sink.emitCompleteSegments();
+            }
+        } catch (GeneralSecurityException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        sink.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+
+        Throwable thrown = null;
+        try {
+            final byte[] last = cipher.doFinal();
+            if (null != last && last.length > 0) {
+                sink.write(last);
+            }
+        } catch (Throwable e) {
+            thrown = e instanceof GeneralSecurityException ? new IOException(e) : e;
+        }
+
+        try {
+            sink.close();
+        } catch (Throwable e) {
+            if (thrown == null) thrown = e;
+        }
+
+        if (thrown != null) IoKit.sneakyRethrow(thrown);
+    }
+
+    @Override
+    public Timeout timeout() {
+        return sink.timeout();
+    }
+
+    @Override
+    public String toString() {
+        return "CipherSink(" + sink + ")";
+    }
+
+}
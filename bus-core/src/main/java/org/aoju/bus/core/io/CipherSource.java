@@ -0,0 +1,123 @@
+/*********************************************************************************
+ *                                                                               *
+ * The MIT License (MIT)                                                         *
+ *                                                                               *
+ * Copyright (c) 2015-2020 aoju.org and other contributors.                      *
+ *                                                                               *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy  *
+ * of this software and associated documentation files (the "Software"), to deal *
+ * in the Software without restriction, including without limitation the rights  *
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell     *
+ * copies of the Software, and to permit persons to whom the Software is         *
+ * furnished to do so, subject to the following conditions:                      *
+ *                                                                               *
+ * The above copyright notice and this permission notice shall be included in    *
+ * all copies or substantial portions of the Software.                           *
+ *                                                                               *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR    *
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,      *
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE   *
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER        *
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, *
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN     *
+ * THE SOFTWARE.                                                                 *
+ ********************************************************************************/
+package org.aoju.bus.core.io;
+
+import org.aoju.bus.core.toolkit.IoKit;
+
+import javax.crypto.Cipher;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+
+/**
+ * 读取下层{@link Source}的数据并使用{@link Cipher}加密或解密
+ * 每次最多处理一段数据,只使用固定大小的缓冲区;下层读完后完成最后一块
+ *
+ * @author Kimi Liu
+ * @version 6.0.1
+ * @since JDK 1.8+
+ */
+public class CipherSource implements Source {
+
+    private final BufferSource source;
+    private final Cipher cipher;
+    private final byte[] input = new byte[Segment.SIZE];
+    /**
+     * 已处理但尚未读取的数据,最多一段加上一个块
+     */
+    private final Buffer buffer = new Buffer();
+    private byte[] output;
+    private boolean finished;
+    private boolean closed;
+
+    /**
+     * 构造
+     *
+     * @param source 下层的{@link Source}
+     * @param cipher 已初始化的{@link Cipher}
+     */
+    public CipherSource(Source source, Cipher cipher) {
+        if (source == null) throw new IllegalArgumentException("source == null");
+        if (cipher == null) throw new IllegalArgumentException("cipher == null");
+        this.source = IoKit.buffer(source);
+        this.cipher = cipher;
+        this.output = new byte[cipher.getOutputSize(Segment.SIZE)];
+    }
+
+    @Override
+    public long read(Buffer sink, long byteCount) throws IOException {
+        if (byteCount < 0) throw new IllegalArgumentException("byteCount < 0: " + byteCount);
+        if (closed) throw new IllegalStateException("closed");
+        if (byteCount == 0) return 0;
+
+        try {
+            while (buffer.size == 0 && !finished) {
+                final int read = source.read(input, 0, input.length);
+                final int produced;
+                if (read == -1) {
+                    finished = true;
+                    ensureCapacity(cipher.getOutputSize(0));
+                    produced = cipher.doFinal(output, 0);
+                } else {
+                    ensureCapacity(cipher.getOutputSize(read));
+                    produced = cipher.update(input, 0, read, output, 0);
+                }
+                buffer.write(output, 0, produced);
+            }
+        } catch (GeneralSecurityException e) {
+            throw new IOException(e);
+        }
+        if (buffer.size == 0) {
+            return -1;
+        }
+        final long count = Math.min(byteCount, buffer.size);
+        sink.write(buffer, count);
+        return count;
+    }
+
+    private void ensureCapacity(int size) {
+        if (size > output.length) {
+            output = new byte[size];
+        }
+    }
+
+    @Override
+    public Timeout timeout() {
+        return source.timeout();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        buffer.clear();
+        source.close();
+    }
+
+    @Override
+    public String toString() {
+        return "CipherSource(" + source + ")";
+    }
+
+}
@@ -31,11 +31,13 @@ import org.aoju.bus.core.lang.exception.InstrumentException;
 import org.aoju.bus.core.toolkit.DateKit;
 import org.aoju.bus.cron.factory.Task;
 import org.aoju.bus.cron.pattern.CronPattern;
+import org.aoju.bus.cron.pattern.TimeFields;
 import org.aoju.bus.setting.Setting;
 
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.TimeZone;
 
 /**
  * 定时任务工具类
@@ -270,8 +272,10 @@ public final class CronBuilder {
 
         final List<Date> result = new ArrayList<>(count);
         long step = isMatchSecond ? Fields.Unit.SECOND.getMillis() : Fields.Unit.MINUTE.getMillis();
+        final TimeZone timezone = TimeZone.getDefault();
+        final TimeFields fields = new TimeFields();
         for (long i = start; i < end; i += step) {
-            if (pattern.match(i, isMatchSecond)) {
+            if (pattern.match(fields.set(timezone, i), isMatchSecond)) {
                 result.add(DateKit.date(i));
                 if (result.size() >= count) {
                     break;
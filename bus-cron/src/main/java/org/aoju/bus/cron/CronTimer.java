@@ -30,7 +30,8 @@ import org.aoju.bus.logger.Logger;
 
 /**
  * 定时任务计时器
- * 计时器线程每隔一分钟检查一次任务列表,一旦匹配到执行对应的Task
+ * 计时器线程休眠至任务表中最近一个任务的执行时间,到期后启动对应的Task,
+ * 任务表发生变化时计时器被唤醒并重新计算休眠时间
  *
  * @author Kimi Liu
  * @version 6.0.1
@@ -47,6 +48,14 @@ public class CronTimer extends Thread {
      */
     private final long TIMER_UNIT_MINUTE = Fields.Unit.MINUTE.getMillis();
     private final Scheduler scheduler;
+    /**
+     * 休眠等待锁
+     */
+    private final Object lock = new Object();
+    /**
+     * 任务表是否在计算休眠时间后发生了变化
+     */
+    private boolean changed;
     /**
      * 定时任务是否已经被强制关闭
      */
@@ -61,48 +70,58 @@ public class CronTimer extends Thread {
         this.scheduler = scheduler;
     }
 
-    /**
-     * 检查是否为有效的sleep毫秒数，包括：
-     * <pre>
-     *     1. 是否&gt;0，防止用户向未来调整时间
-     *     1. 是否&lt;两倍的间隔单位，防止用户向历史调整时间
-     * </pre>
-     *
-     * @param millis    毫秒数
-     * @param timerUnit 定时单位，为秒或者分的毫秒值
-     * @return 是否为有效的sleep毫秒数
-     */
-    private static boolean isValidSleepMillis(long millis, long timerUnit) {
-        return millis > 0 &&
-                // 防止用户向前调整时间导致的长时间sleep
-                millis < (2 * timerUnit);
-    }
-
     @Override
     public void run() {
         final long timerUnit = this.scheduler.matchSecond ? TIMER_UNIT_SECOND : TIMER_UNIT_MINUTE;
 
-        long thisTime = System.currentTimeMillis();
+        long lastTime = System.currentTimeMillis();
+        // 小于等于上一个执行点的任务均已交由对应的TaskLauncher执行,下次执行点至少为下一个定时单位
+        long minNextTime = 0;
+        long thisTime;
         long nextTime;
         long sleep;
         while (false == isStop) {
-            //下一时间计算是按照上一个执行点开始时间计算的
-            //此处除以定时单位是为了清零单位以下部分，例如单位是分则秒和毫秒清零
-            nextTime = ((thisTime / timerUnit) + 1) * timerUnit;
-            sleep = nextTime - System.currentTimeMillis();
-            if (isValidSleepMillis(sleep, timerUnit)) {
-                if (false == ThreadKit.safeSleep(sleep)) {
-                    //等待直到下一个时间点，如果被中断直接退出Timer
-                    break;
+            thisTime = System.currentTimeMillis();
+            if (thisTime < lastTime - timerUnit) {
+                // 防止用户向历史调整时间导致任务长时间不执行,按照当前时间重新计算执行时间
+                this.scheduler.taskTable.reschedule(thisTime);
+                minNextTime = 0;
+            }
+            lastTime = thisTime;
+
+            nextTime = this.scheduler.taskTable.nextFireTime();
+            if (nextTime > -1) {
+                nextTime = Math.max(nextTime, minNextTime);
+                if (nextTime <= thisTime) {
+                    //执行点，时间记录为执行开始的时间，而非结束时间
+                    spawnLauncher(thisTime);
+                    minNextTime = ((thisTime / timerUnit) + 1) * timerUnit;
+                    continue;
                 }
-                //执行点，时间记录为执行开始的时间，而非结束时间
-                thisTime = System.currentTimeMillis();
-                spawnLauncher(thisTime);
+                // 最长休眠一分钟，以便及时发现系统时间的调整
+                sleep = Math.min(nextTime - thisTime, TIMER_UNIT_MINUTE);
+            } else {
+                sleep = TIMER_UNIT_MINUTE;
+            }
+            if (false == await(sleep)) {
+                //等待直到下一个时间点，如果被中断直接退出Timer
+                break;
             }
         }
         Logger.debug("Cron timer stoped.");
     }
 
+    /**
+     * 唤醒定时器,重新计算休眠时间
+     * 任务表发生变化时调用
+     */
+    public void wakeup() {
+        synchronized (this.lock) {
+            this.changed = true;
+            this.lock.notifyAll();
+        }
+    }
+
     /**
      * 关闭定时器
      */
@@ -111,6 +130,27 @@ public class CronTimer extends Thread {
         ThreadKit.interrupt(this, true);
     }
 
+    /**
+     * 休眠指定毫秒数,任务表发生变化时提前返回
+     *
+     * @param millis 毫秒数
+     * @return 被中断返回false, 否则返回true
+     */
+    private boolean await(long millis) {
+        synchronized (this.lock) {
+            try {
+                if (false == this.changed) {
+                    this.lock.wait(millis);
+                }
+            } catch (InterruptedException e) {
+                return false;
+            } finally {
+                this.changed = false;
+            }
+        }
+        return true;
+    }
+
     /**
      * 启动匹配
      *
@@ -62,8 +62,9 @@ import java.util.concurrent.ExecutorService;
  * 其中：
  *
  * <pre>
- * <strong>TaskLauncher</strong>：定时器每分钟调用一次(如果{@link Scheduler#isMatchSecond()}为<code>true</code>每秒调用一次),
- * 负责检查<strong>TaskTable</strong>是否有匹配到此时间运行的Task
+ * <strong>TaskLauncher</strong>：定时器休眠至<strong>TaskTable</strong>中最近的任务执行时间后调用
+ * (执行时间精确到分,如果{@link Scheduler#isMatchSecond()}为<code>true</code>精确到秒),
+ * 负责执行<strong>TaskTable</strong>中到期的Task
  * </pre>
  *
  * <pre>
@@ -116,7 +117,7 @@ public class Scheduler {
     /**
      * 定时器
      */
-    private CronTimer timer;
+    private volatile CronTimer timer;
 
     /**
      * 获得时区,默认为 {@link TimeZone#getDefault()}
@@ -365,6 +366,7 @@ public class Scheduler {
      */
     public Scheduler clear() {
         this.taskTable = new TaskTable(this);
+        wakeupTimer();
         return this;
     }
 
@@ -403,6 +405,9 @@ public class Scheduler {
             this.launcherManager = new LauncherManager(this);
             this.executorManager = new ExecutorManager(this);
 
+            // 按照启动时间计算所有任务的下次执行时间
+            this.taskTable.reschedule(System.currentTimeMillis());
+
             // Start CronTimer
             timer = new CronTimer(this);
             timer.setDaemon(this.daemon);
@@ -455,4 +460,14 @@ public class Scheduler {
         return this;
     }
 
+    /**
+     * 任务表发生变化时唤醒定时器,重新计算休眠时间
+     */
+    protected void wakeupTimer() {
+        final CronTimer timer = this.timer;
+        if (null != timer) {
+            timer.wakeup();
+        }
+    }
+
 }
@@ -26,7 +26,7 @@ package org.aoju.bus.cron;
 
 /**
  * 作业启动器
- * 负责检查<strong>TaskTable</strong>是否有匹配到此时运行的Task
+ * 负责检查<strong>TaskTable</strong>是否有到期需要此时运行的Task
  * 检查完毕后启动器结束
  *
  * @author Kimi Liu
@@ -45,8 +45,8 @@ public class TaskLauncher implements Runnable {
 
     @Override
     public void run() {
-        //匹配秒部分由用户定义决定,始终不匹配年
-        scheduler.taskTable.executeTaskIfMatchInternal(millis);
+        //执行到期的任务并计算其下次执行时间
+        scheduler.taskTable.executeTaskIfMatch(millis);
 
         //结束通知
         scheduler.launcherManager.notifyLauncherCompleted(this);
@@ -30,6 +30,7 @@ import org.aoju.bus.cron.pattern.CronPattern;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.PriorityQueue;
 import java.util.TimeZone;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
@@ -37,7 +38,8 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * 定时任务表
- * 任务表将ID、表达式、任务一一对应,定时任务执行过程中,会周期性检查定时任务表中的所有任务表达式匹配情况,从而执行其对应的任务
+ * 任务表将ID、表达式、任务一一对应,并按照每个任务的下次执行时间维护一个优先队列,
+ * 定时任务执行过程中,只需检查队首的任务是否到期,而无需每次遍历匹配所有任务表达式
  * 任务的添加、移除使用读写锁保证线程安全性
  *
  * @author Kimi Liu
@@ -54,6 +56,10 @@ public class TaskTable {
     private List<String> ids = new ArrayList<>();
     private List<CronPattern> patterns = new ArrayList<>();
     private List<Task> tasks = new ArrayList<>();
+    /**
+     * 按下次执行时间排序的触发队列
+     */
+    private PriorityQueue<Trigger> triggers = new PriorityQueue<>();
     private int size;
 
     /**
@@ -84,10 +90,12 @@ public class TaskTable {
             ids.add(id);
             patterns.add(pattern);
             tasks.add(task);
+            offer(new Trigger(id, pattern, task), System.currentTimeMillis());
             size++;
         } finally {
             writeLock.unlock();
         }
+        this.scheduler.wakeupTimer();
         return this;
     }
 
@@ -105,11 +113,13 @@ public class TaskTable {
                 tasks.remove(index);
                 patterns.remove(index);
                 ids.remove(index);
+                triggers.removeIf(trigger -> trigger.id.equals(id));
                 size--;
             }
         } finally {
             writeLock.unlock();
         }
+        this.scheduler.wakeupTimer();
     }
 
     /**
@@ -126,6 +136,9 @@ public class TaskTable {
             final int index = ids.indexOf(id);
             if (index > -1) {
                 patterns.set(index, pattern);
+                triggers.removeIf(trigger -> trigger.id.equals(id));
+                offer(new Trigger(id, pattern, tasks.get(index)), System.currentTimeMillis());
+                this.scheduler.wakeupTimer();
                 return true;
             }
         } finally {
@@ -213,31 +226,111 @@ public class TaskTable {
     }
 
     /**
-     * 如果时间匹配则执行相应的Task,带读锁
+     * 获取最近一个待执行任务的执行时间
      *
-     * @param millis 时间毫秒
+     * @return 时间毫秒, 无待执行任务返回 -1
      */
-    public void executeTaskIfMatch(long millis) {
+    public long nextFireTime() {
         final Lock readLock = lock.readLock();
         try {
             readLock.lock();
-            executeTaskIfMatchInternal(millis);
+            final Trigger trigger = triggers.peek();
+            return null == trigger ? -1 : trigger.nextMillis;
         } finally {
             readLock.unlock();
         }
     }
 
+    /**
+     * 以给定时间为起点重新计算所有任务的下次执行时间
+     * 用于调度器启动或系统时间被调整的情况
+     *
+     * @param millis 时间毫秒
+     */
+    public void reschedule(long millis) {
+        final Lock writeLock = lock.writeLock();
+        try {
+            writeLock.lock();
+            this.timezone = scheduler.getTimeZone();
+            this.triggers.clear();
+            for (int i = 0; i < size; i++) {
+                offer(new Trigger(ids.get(i), patterns.get(i), tasks.get(i)), millis);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 如果时间匹配则执行相应的Task,带写锁
+     *
+     * @param millis 时间毫秒
+     */
+    public void executeTaskIfMatch(long millis) {
+        final Lock writeLock = lock.writeLock();
+        try {
+            writeLock.lock();
+            executeTaskIfMatchInternal(millis);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
     /**
      * 如果时间匹配则执行相应的Task,无锁
+     * 仅取出队列中执行时间不晚于给定时间的任务,执行后按照给定时间计算其下次执行时间并重新入队
      *
      * @param millis 时间毫秒
      */
     protected void executeTaskIfMatchInternal(long millis) {
-        for (int i = 0; i < size; i++) {
-            if (patterns.get(i).match(timezone, millis, this.scheduler.matchSecond)) {
-                this.scheduler.executorManager.spawnExecutor(tasks.get(i));
-            }
+        final List<Trigger> fired = new ArrayList<>();
+        Trigger trigger;
+        while (null != (trigger = triggers.peek()) && trigger.nextMillis <= millis) {
+            fired.add(triggers.poll());
+            this.scheduler.executorManager.spawnExecutor(trigger.task);
+        }
+        for (Trigger firedTrigger : fired) {
+            offer(firedTrigger, millis);
         }
     }
 
+    /**
+     * 计算触发器在给定时间之后的执行时间并加入队列,不存在执行时间的触发器将不再执行
+     *
+     * @param trigger 触发器
+     * @param millis  时间毫秒
+     */
+    private void offer(Trigger trigger, long millis) {
+        trigger.nextMillis = trigger.pattern.nextMatchAfter(timezone, millis, this.scheduler.matchSecond);
+        if (trigger.nextMillis > -1) {
+            triggers.offer(trigger);
+        }
+    }
+
+    /**
+     * 触发器,记录任务及其下次执行时间
+     */
+    private static class Trigger implements Comparable<Trigger> {
+
+        private final String id;
+        private final CronPattern pattern;
+        private final Task task;
+        /**
+         * 下次执行时间
+         */
+        private long nextMillis;
+
+        Trigger(String id, CronPattern pattern, Task task) {
+            this.id = id;
+            this.pattern = pattern;
+            this.task = task;
+        }
+
+        @Override
+        public int compareTo(Trigger other) {
+            return Long.compare(this.nextMillis, other.nextMillis);
+        }
+
+    }
+
 }
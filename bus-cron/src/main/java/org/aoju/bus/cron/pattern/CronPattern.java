@@ -104,6 +104,10 @@ public class CronPattern {
     private static final ValueParser MONTH_VALUE_PARSER = new MonthValueParser();
     private static final ValueParser DAY_OF_WEEK_VALUE_PARSER = new DayOfWeekValueParser();
     private static final ValueParser YEAR_VALUE_PARSER = new YearValueParser();
+    /**
+     * 年份不受限时,查找下一匹配时间的最大年数跨度(闰年与星期的组合以28年为周期重复)
+     */
+    private static final int MAX_SEARCH_YEARS = 28;
 
     private String pattern;
 
@@ -178,6 +182,18 @@ public class CronPattern {
         return (matchers.size() > index) ? matchers.get(index).match(value) : true;
     }
 
+    /**
+     * 跳转到下一天的零点
+     *
+     * @param calendar 时间
+     */
+    private static void nextDay(GregorianCalendar calendar) {
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.add(Calendar.DAY_OF_MONTH, 1);
+    }
+
     /**
      * 给定时间是否匹配定时任务表达式
      *
@@ -198,9 +214,7 @@ public class CronPattern {
      * @return 如果匹配返回 <code>true</code>, 否则返回 <code>false</code>
      */
     public boolean match(TimeZone timezone, long millis, boolean isMatchSecond) {
-        final GregorianCalendar calendar = new GregorianCalendar(timezone);
-        calendar.setTimeInMillis(millis);
-        return match(calendar, isMatchSecond);
+        return match(TimeFields.of(timezone, millis), isMatchSecond);
     }
 
     /**
@@ -211,23 +225,27 @@ public class CronPattern {
      * @return 如果匹配返回 <code>true</code>, 否则返回 <code>false</code>
      */
     public boolean match(GregorianCalendar calendar, boolean isMatchSecond) {
-        final int second = calendar.get(Calendar.SECOND);
-        final int minute = calendar.get(Calendar.MINUTE);
-        final int hour = calendar.get(Calendar.HOUR_OF_DAY);
-        final int dayOfMonth = calendar.get(Calendar.DAY_OF_MONTH);
-        final int month = calendar.get(Calendar.MONTH) + 1;// 月份从1开始
-        final int dayOfWeek = calendar.get(Calendar.DAY_OF_WEEK) - 1; // 星期从0开始,0和7都表示周日
-        final int year = calendar.get(Calendar.YEAR);
+        return match(TimeFields.of(calendar), isMatchSecond);
+    }
 
+    /**
+     * 给定时间是否匹配定时任务表达式
+     * 同一时间点匹配多个表达式时,可共享同一个{@link TimeFields}
+     *
+     * @param fields        已分解的时间字段
+     * @param isMatchSecond 是否匹配秒
+     * @return 如果匹配返回 <code>true</code>, 否则返回 <code>false</code>
+     */
+    public boolean match(TimeFields fields, boolean isMatchSecond) {
         boolean eval;
         for (int i = 0; i < matcherSize; i++) {
-            eval = (isMatchSecond ? secondMatchers.get(i).match(second) : true) // 匹配秒(非秒匹配模式下始终返回true)
-                    && minuteMatchers.get(i).match(minute)// 匹配分
-                    && hourMatchers.get(i).match(hour)// 匹配时
-                    && isMatchDayOfMonth(dayOfMonthMatchers.get(i), dayOfMonth, month, calendar.isLeapYear(year))// 匹配日
-                    && monthMatchers.get(i).match(month) // 匹配月
-                    && dayOfWeekMatchers.get(i).match(dayOfWeek)// 匹配周
-                    && isMatch(yearMatchers, i, year);// 匹配年
+            eval = (isMatchSecond ? secondMatchers.get(i).match(fields.second) : true) // 匹配秒(非秒匹配模式下始终返回true)
+                    && minuteMatchers.get(i).match(fields.minute)// 匹配分
+                    && hourMatchers.get(i).match(fields.hour)// 匹配时
+                    && isMatchDayOfMonth(dayOfMonthMatchers.get(i), fields.dayOfMonth, fields.month, fields.leapYear)// 匹配日
+                    && monthMatchers.get(i).match(fields.month) // 匹配月
+                    && dayOfWeekMatchers.get(i).match(fields.dayOfWeek)// 匹配周
+                    && isMatch(yearMatchers, i, fields.year);// 匹配年
             if (eval) {
                 return true;
             }
@@ -235,11 +253,140 @@ public class CronPattern {
         return false;
     }
 
+    /**
+     * 获取给定时间之后(不包括给定时间)第一个匹配定时任务表达式的时间
+     * 非秒匹配模式下,返回的时间为整分时间
+     *
+     * @param timezone      时区 {@link TimeZone}
+     * @param millis        时间毫秒数
+     * @param isMatchSecond 是否匹配秒
+     * @return 下一个匹配时间的毫秒数, 如果不存在匹配时间返回 -1
+     */
+    public long nextMatchAfter(TimeZone timezone, long millis, boolean isMatchSecond) {
+        long result = -1;
+        long next;
+        for (int i = 0; i < matcherSize; i++) {
+            next = nextMatchAfter(i, timezone, millis, isMatchSecond);
+            if (next > -1 && (result < 0 || next < result)) {
+                result = next;
+            }
+        }
+        return result;
+    }
+
     @Override
     public String toString() {
         return this.pattern;
     }
 
+    /**
+     * 获取给定时间之后第一个匹配单一表达式的时间
+     * 由年至秒逐级使用{@link ValueMatcher#nextAfter(int)}跳转到下一个匹配值,
+     * 低位无匹配值时向高位进位并将低位清零,日与星期需联合判断,因此按天步进
+     *
+     * @param index         单一表达式位置
+     * @param timezone      时区 {@link TimeZone}
+     * @param millis        时间毫秒数
+     * @param isMatchSecond 是否匹配秒
+     * @return 下一个匹配时间的毫秒数, 如果不存在匹配时间返回 -1
+     */
+    private long nextMatchAfter(int index, TimeZone timezone, long millis, boolean isMatchSecond) {
+        final GregorianCalendar calendar = new GregorianCalendar(timezone);
+        calendar.setTimeInMillis(millis);
+        calendar.set(Calendar.MILLISECOND, 0);
+        if (isMatchSecond) {
+            calendar.add(Calendar.SECOND, 1);
+        } else {
+            calendar.set(Calendar.SECOND, 0);
+            calendar.add(Calendar.MINUTE, 1);
+        }
+
+        final ValueMatcher yearMatcher = yearMatchers.get(index);
+        final int maxYear = (yearMatcher instanceof AlwaysTrueValueMatcher)
+                ? calendar.get(Calendar.YEAR) + MAX_SEARCH_YEARS : YEAR_VALUE_PARSER.getMax();
+
+        int year;
+        int month;
+        int hour;
+        int minute;
+        int second;
+        int next;
+        while (true) {
+            // 年
+            year = calendar.get(Calendar.YEAR);
+            if (year > maxYear) {
+                return -1;
+            }
+            next = yearMatcher.nextAfter(year);
+            if (next < 0) {
+                return -1;
+            }
+            if (next != year) {
+                calendar.set(next, Calendar.JANUARY, 1, 0, 0, 0);
+                continue;
+            }
+            // 月
+            month = calendar.get(Calendar.MONTH) + 1;
+            next = monthMatchers.get(index).nextAfter(month);
+            if (next < 0) {
+                calendar.set(year + 1, Calendar.JANUARY, 1, 0, 0, 0);
+                continue;
+            }
+            if (next != month) {
+                calendar.set(year, next - 1, 1, 0, 0, 0);
+                continue;
+            }
+            // 日和周
+            if (false == (isMatchDayOfMonth(dayOfMonthMatchers.get(index), calendar.get(Calendar.DAY_OF_MONTH), month, calendar.isLeapYear(year))
+                    && dayOfWeekMatchers.get(index).match(calendar.get(Calendar.DAY_OF_WEEK) - 1))) {
+                nextDay(calendar);
+                continue;
+            }
+            // 时
+            hour = calendar.get(Calendar.HOUR_OF_DAY);
+            next = hourMatchers.get(index).nextAfter(hour);
+            if (next < 0) {
+                nextDay(calendar);
+                continue;
+            }
+            if (next != hour) {
+                calendar.set(Calendar.HOUR_OF_DAY, next);
+                calendar.set(Calendar.MINUTE, 0);
+                calendar.set(Calendar.SECOND, 0);
+                continue;
+            }
+            // 分
+            minute = calendar.get(Calendar.MINUTE);
+            next = minuteMatchers.get(index).nextAfter(minute);
+            if (next < 0) {
+                calendar.set(Calendar.MINUTE, 0);
+                calendar.set(Calendar.SECOND, 0);
+                calendar.add(Calendar.HOUR_OF_DAY, 1);
+                continue;
+            }
+            if (next != minute) {
+                calendar.set(Calendar.MINUTE, next);
+                calendar.set(Calendar.SECOND, 0);
+                continue;
+            }
+            // 秒
+            if (isMatchSecond) {
+                second = calendar.get(Calendar.SECOND);
+                next = secondMatchers.get(index).nextAfter(second);
+                if (next < 0) {
+                    calendar.set(Calendar.SECOND, 0);
+                    calendar.add(Calendar.MINUTE, 1);
+                    continue;
+                }
+                if (next != second) {
+                    calendar.set(Calendar.SECOND, next);
+                    continue;
+                }
+            }
+            return calendar.getTimeInMillis();
+        }
+    }
+
     /**
      * 解析复合任务表达式
      *
@@ -315,7 +462,7 @@ public class CronPattern {
                 throw new InstrumentException("Invalid pattern [{}], parsing 'year' field error!", pattern);
             }
         } else {// 不支持年的表达式,全部匹配
-            this.secondMatchers.add(new AlwaysTrueValueMatcher());
+            this.yearMatchers.add(new AlwaysTrueValueMatcher());
         }
         matcherSize++;
     }
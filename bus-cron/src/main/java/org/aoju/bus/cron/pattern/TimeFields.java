@@ -0,0 +1,166 @@
+/*********************************************************************************
+ *                                                                               *
+ * The MIT License (MIT)                                                         *
+ *                                                                               *
+ * Copyright (c) 2015-2020 aoju.org and other contributors.                      *
+ *                                                                               *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy  *
+ * of this software and associated documentation files (the "Software"), to deal *
+ * in the Software without restriction, including without limitation the rights  *
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell     *
+ * copies of the Software, and to permit persons to whom the Software is         *
+ * furnished to do so, subject to the following conditions:                      *
+ *                                                                               *
+ * The above copyright notice and this permission notice shall be included in    *
+ * all copies or substantial portions of the Software.                           *
+ *                                                                               *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR    *
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,      *
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE   *
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER        *
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, *
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN     *
+ * THE SOFTWARE.                                                                 *
+ ********************************************************************************/
+package org.aoju.bus.cron.pattern;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.Calendar;
+import java.util.TimeZone;
+
+/**
+ * 定时任务表达式匹配所需的时间字段
+ * 由毫秒数一次性分解出秒、分、时、日、月、周、年,在同一时间点匹配多个表达式时可共享同一实例,
+ * 实例可通过{@link #set(TimeZone, long)}重复使用,避免每次匹配创建{@link java.util.GregorianCalendar}
+ *
+ * @author Kimi Liu
+ * @version 6.0.1
+ * @since JDK 1.8+
+ */
+public class TimeFields {
+
+    private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+
+    /**
+     * 秒
+     */
+    int second;
+    /**
+     * 分
+     */
+    int minute;
+    /**
+     * 时
+     */
+    int hour;
+    /**
+     * 日
+     */
+    int dayOfMonth;
+    /**
+     * 月,从1开始
+     */
+    int month;
+    /**
+     * 星期,从0开始,0表示周日
+     */
+    int dayOfWeek;
+    /**
+     * 年
+     */
+    int year;
+    /**
+     * 是否闰年
+     */
+    boolean leapYear;
+
+    /**
+     * 创建并分解给定时间
+     *
+     * @param timezone 时区 {@link TimeZone}
+     * @param millis   时间毫秒数
+     * @return 时间字段
+     */
+    public static TimeFields of(TimeZone timezone, long millis) {
+        return new TimeFields().set(timezone, millis);
+    }
+
+    /**
+     * 创建并分解给定时间
+     *
+     * @param calendar 时间
+     * @return 时间字段
+     */
+    public static TimeFields of(Calendar calendar) {
+        final TimeFields fields = new TimeFields();
+        fields.second = calendar.get(Calendar.SECOND);
+        fields.minute = calendar.get(Calendar.MINUTE);
+        fields.hour = calendar.get(Calendar.HOUR_OF_DAY);
+        fields.dayOfMonth = calendar.get(Calendar.DAY_OF_MONTH);
+        fields.month = calendar.get(Calendar.MONTH) + 1;
+        fields.dayOfWeek = calendar.get(Calendar.DAY_OF_WEEK) - 1;
+        fields.year = calendar.get(Calendar.YEAR);
+        fields.leapYear = Year.isLeap(fields.year);
+        return fields;
+    }
+
+    /**
+     * 分解给定时间,覆盖当前实例的所有字段
+     *
+     * @param timezone 时区 {@link TimeZone}
+     * @param millis   时间毫秒数
+     * @return this
+     */
+    public TimeFields set(TimeZone timezone, long millis) {
+        final long localMillis = millis + timezone.getOffset(millis);
+        final long epochDay = Math.floorDiv(localMillis, MILLIS_PER_DAY);
+        final int secondOfDay = (int) (Math.floorMod(localMillis, MILLIS_PER_DAY) / 1000);
+
+        this.second = secondOfDay % 60;
+        this.minute = secondOfDay / 60 % 60;
+        this.hour = secondOfDay / 3600;
+        // 1970-01-01为星期四
+        this.dayOfWeek = (int) Math.floorMod(epochDay + 4, 7L);
+
+        final LocalDate date = LocalDate.ofEpochDay(epochDay);
+        this.dayOfMonth = date.getDayOfMonth();
+        this.month = date.getMonthValue();
+        this.year = date.getYear();
+        this.leapYear = date.isLeapYear();
+        return this;
+    }
+
+    public int getSecond() {
+        return second;
+    }
+
+    public int getMinute() {
+        return minute;
+    }
+
+    public int getHour() {
+        return hour;
+    }
+
+    public int getDayOfMonth() {
+        return dayOfMonth;
+    }
+
+    public int getMonth() {
+        return month;
+    }
+
+    public int getDayOfWeek() {
+        return dayOfWeek;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public boolean isLeapYear() {
+        return leapYear;
+    }
+
+}
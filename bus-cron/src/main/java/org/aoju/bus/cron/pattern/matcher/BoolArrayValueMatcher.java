@@ -24,13 +24,14 @@
  ********************************************************************************/
 package org.aoju.bus.cron.pattern.matcher;
 
+import org.aoju.bus.core.lang.exception.InstrumentException;
 import org.aoju.bus.core.toolkit.StringKit;
 
-import java.util.Collections;
 import java.util.List;
 
 /**
- * 将表达式中的数字值列表转换为Boolean数组,匹配时匹配相应数组位
+ * 将表达式中的数字值列表转换为位掩码,匹配时匹配相应的位
+ * 秒、分、时、日、月、周的取值均小于64,因此每个字段只需一个long
  *
  * @author Kimi Liu
  * @version 6.0.1
@@ -38,25 +39,47 @@ import java.util.List;
  */
 public class BoolArrayValueMatcher implements ValueMatcher {
 
-    boolean[] bValues;
+    /**
+     * 可表示的最大值(不包括)
+     */
+    private static final int MAX_VALUE = Long.SIZE;
+
+    /**
+     * 匹配值位掩码,第n位为1表示匹配值n
+     */
+    long bits;
 
     public BoolArrayValueMatcher(List<Integer> intValueList) {
-        bValues = new boolean[Collections.max(intValueList) + 1];
         for (Integer value : intValueList) {
-            bValues[value] = true;
+            if (value < 0 || value >= MAX_VALUE) {
+                throw new InstrumentException("Value [{}] out of range: [0 , {})", value, MAX_VALUE);
+            }
+            bits |= 1L << value;
         }
     }
 
     @Override
     public boolean match(Integer value) {
-        if (null == value || value >= bValues.length) {
-            return false;
+        return null != value && match(value.intValue());
+    }
+
+    @Override
+    public boolean match(int value) {
+        return value >= 0 && value < MAX_VALUE && ((bits >>> value) & 1L) != 0;
+    }
+
+    @Override
+    public int nextAfter(int value) {
+        if (value >= MAX_VALUE) {
+            return -1;
         }
-        return bValues[value];
+        final long matched = bits & (-1L << Math.max(value, 0));
+        return matched == 0 ? -1 : Long.numberOfTrailingZeros(matched);
     }
 
     @Override
     public String toString() {
-        return StringKit.format("Matcher:{}", this.bValues);
+        return StringKit.format("Matcher:{}", Long.toBinaryString(this.bits));
     }
+
 }
@@ -29,6 +29,7 @@ import java.util.List;
 /**
  * 每月第几天匹配
  * 考虑每月的天数不同,切存在闰年情况,日匹配单独使用
+ * 构造时按照每个月(区分闰年二月)预先计算好包含"最后一天"的位掩码,匹配时无需再判断
  *
  * @author Kimi Liu
  * @version 6.0.1
@@ -37,25 +38,37 @@ import java.util.List;
 public class DayOfMonthValueMatcher extends BoolArrayValueMatcher {
 
     private static final int[] LAST_DAYS = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+    /**
+     * 表示每月最后一天的值
+     */
+    private static final int LAST_DAY_VALUE = 32;
+
+    /**
+     * 每月匹配日的位掩码,下标0~11为平年各月,12~23为闰年各月
+     */
+    private final long[] monthBits = new long[LAST_DAYS.length * 2];
 
     public DayOfMonthValueMatcher(List<Integer> intValueList) {
         super(intValueList);
+        final boolean matchLastDay = super.match(LAST_DAY_VALUE);
+        for (int month = 1; month <= LAST_DAYS.length; month++) {
+            monthBits[month - 1] = monthBits(month, false, matchLastDay);
+            monthBits[LAST_DAYS.length + month - 1] = monthBits(month, true, matchLastDay);
+        }
     }
 
     /**
-     * 是否为本月最后一天
+     * 获取指定月份的最后一天
      *
-     * @param value      被检查的值
      * @param month      月份
      * @param isLeapYear 是否闰年
-     * @return 是否为本月最后一天
+     * @return 最后一天
      */
-    private static boolean isLastDayOfMonth(int value, int month, boolean isLeapYear) {
+    private static int getLastDayOfMonth(int month, boolean isLeapYear) {
         if (isLeapYear && month == 2) {
-            return value == 29;
-        } else {
-            return value == LAST_DAYS[month - 1];
+            return 29;
         }
+        return LAST_DAYS[month - 1];
     }
 
     /**
@@ -67,7 +80,26 @@ public class DayOfMonthValueMatcher extends BoolArrayValueMatcher {
      * @return 是否匹配
      */
     public boolean match(int value, int month, boolean isLeapYear) {
-        return (super.match(value) || (value > 27 && match(32) && isLastDayOfMonth(value, month, isLeapYear)));
+        return value > 0 && value < LAST_DAY_VALUE
+                && ((monthBits[(isLeapYear ? LAST_DAYS.length : 0) + month - 1] >>> value) & 1L) != 0;
+    }
+
+    /**
+     * 计算指定月份匹配日的位掩码
+     *
+     * @param month        月份
+     * @param isLeapYear   是否闰年
+     * @param matchLastDay 是否匹配每月最后一天
+     * @return 位掩码
+     */
+    private long monthBits(int month, boolean isLeapYear, boolean matchLastDay) {
+        final int lastDay = getLastDayOfMonth(month, isLeapYear);
+        // 仅保留本月存在的日期
+        long result = bits & ((-1L >>> (Long.SIZE - lastDay - 1)) & ~1L);
+        if (matchLastDay) {
+            result |= 1L << lastDay;
+        }
+        return result;
     }
 
 }
@@ -36,4 +36,31 @@ import org.aoju.bus.core.lang.Matcher;
  */
 public interface ValueMatcher extends Matcher<Integer> {
 
+    /**
+     * 给定值是否匹配,内置匹配器覆盖此方法以避免{@link #match(Object)}的装箱开销
+     *
+     * @param value 被检查的值
+     * @return 是否匹配
+     */
+    default boolean match(int value) {
+        return match((Integer) value);
+    }
+
+    /**
+     * 获取指定值之后的匹配值,也可以是指定值本身
+     * 默认以{@link #match(int)}逐个检查,直到{@link org.aoju.bus.cron.pattern.parser.YearValueParser}的上限,
+     * 内置匹配器覆盖此方法以直接定位
+     *
+     * @param value 指定值
+     * @return 匹配到的值, 无匹配值返回 -1
+     */
+    default int nextAfter(int value) {
+        for (int i = Math.max(value, 0); i <= 2099; i++) {
+            if (match(i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
 }
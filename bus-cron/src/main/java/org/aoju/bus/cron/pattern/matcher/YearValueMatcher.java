@@ -24,11 +24,12 @@
  ********************************************************************************/
 package org.aoju.bus.cron.pattern.matcher;
 
+import java.util.Collections;
 import java.util.List;
 
 /**
  * 年匹配
- * 考虑年数字太大,不适合boolean数组,单独使用列表遍历匹配
+ * 考虑年数字太大,不适合单个long位掩码,以最小年份为偏移使用long数组作为位掩码
  *
  * @author Kimi Liu
  * @version 6.0.1
@@ -36,15 +37,53 @@ import java.util.List;
  */
 public class YearValueMatcher implements ValueMatcher {
 
-    private List<Integer> valueList;
+    /**
+     * 最小年份,即位掩码的偏移量
+     */
+    private final int minYear;
+    /**
+     * 年份位掩码
+     */
+    private final long[] words;
 
     public YearValueMatcher(List<Integer> intValueList) {
-        this.valueList = intValueList;
+        this.minYear = Collections.min(intValueList);
+        this.words = new long[((Collections.max(intValueList) - minYear) >>> 6) + 1];
+        int offset;
+        for (Integer value : intValueList) {
+            offset = value - minYear;
+            words[offset >>> 6] |= 1L << offset;
+        }
     }
 
     @Override
     public boolean match(Integer t) {
-        return valueList.contains(t);
+        return null != t && match(t.intValue());
+    }
+
+    @Override
+    public boolean match(int value) {
+        final int offset = value - minYear;
+        return offset >= 0 && (offset >>> 6) < words.length && ((words[offset >>> 6] >>> offset) & 1L) != 0;
+    }
+
+    @Override
+    public int nextAfter(int value) {
+        final int offset = Math.max(value - minYear, 0);
+        int index = offset >>> 6;
+        if (index >= words.length) {
+            return -1;
+        }
+        long word = words[index] & (-1L << offset);
+        while (true) {
+            if (word != 0) {
+                return minYear + (index << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++index == words.length) {
+                return -1;
+            }
+            word = words[index];
+        }
     }
 
 }
@@ -75,7 +75,13 @@ import java.security.cert.Certificate;
 import java.security.cert.CertificateException;
 import java.security.cert.CertificateFactory;
 import java.security.spec.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.UnaryOperator;
 
 /**
  * 加密解密模块，实现了对JDK中加密解密算法的封装
@@ -2593,6 +2599,26 @@ public final class Builder {
         return new HMac(Algorithm.HmacSM3, key);
     }
 
+    /**
+     * 在{@link ForkJoinPool}中并行处理一批数据,结果顺序与输入一致
+     * 任意一项失败时抛出该项的异常
+     *
+     * @param data     数据列表
+     * @param operator 单项处理,需要线程安全
+     * @param pool     线程池
+     * @return 处理结果
+     */
+    public static List<byte[]> parallel(List<byte[]> data, UnaryOperator<byte[]> operator, ForkJoinPool pool) {
+        final byte[][] result = new byte[data.size()][];
+        if (result.length > 0) {
+            final int threshold = Math.max(1, result.length / (pool.getParallelism() << 2));
+            pool.invoke(new BatchAction(data, operator, result, 0, result.length, threshold));
+        }
+        final List<byte[]> list = new ArrayList<>(result.length);
+        Collections.addAll(list, result);
+        return list;
+    }
+
     /**
      * BigInteger转固定长度bytes
      *
@@ -2615,4 +2641,41 @@ public final class Builder {
         }
     }
 
+    /**
+     * 按下标区间拆分的批量处理任务
+     */
+    private static class BatchAction extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<byte[]> data;
+        private final UnaryOperator<byte[]> operator;
+        private final byte[][] result;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        BatchAction(List<byte[]> data, UnaryOperator<byte[]> operator, byte[][] result, int from, int to, int threshold) {
+            this.data = data;
+            this.operator = operator;
+            this.result = result;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                for (int i = from; i < to; i++) {
+                    result[i] = operator.apply(data.get(i));
+                }
+                return;
+            }
+            final int middle = (from + to) >>> 1;
+            invokeAll(new BatchAction(data, operator, result, from, middle, threshold),
+                    new BatchAction(data, operator, result, middle, to, threshold));
+        }
+    }
+
 }
@@ -0,0 +1,100 @@
+/*********************************************************************************
+ *                                                                               *
+ * The MIT License (MIT)                                                         *
+ *                                                                               *
+ * Copyright (c) 2015-2020 aoju.org and other contributors.                      *
+ *                                                                               *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy  *
+ * of this software and associated documentation files (the "Software"), to deal *
+ * in the Software without restriction, including without limitation the rights  *
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell     *
+ * copies of the Software, and to permit persons to whom the Software is         *
+ * furnished to do so, subject to the following conditions:                      *
+ *                                                                               *
+ * The above copyright notice and this permission notice shall be included in    *
+ * all copies or substantial portions of the Software.                           *
+ *                                                                               *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR    *
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,      *
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE   *
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER        *
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, *
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN     *
+ * THE SOFTWARE.                                                                 *
+ ********************************************************************************/
+package org.aoju.bus.crypto;
+
+import javax.crypto.Cipher;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.spec.AlgorithmParameterSpec;
+
+/**
+ * 只在一个线程中使用的{@link Cipher},记录最近一次初始化的模式、密钥和参数
+ * {@link Cipher#doFinal()}结束后会恢复到初始化后的状态,相同参数再次使用时不需要重新初始化;
+ * 未指定参数且初始化时生成了随机偏移向量的情况每次都重新初始化,避免重复使用同一个偏移向量
+ *
+ * @author Kimi Liu
+ * @version 6.0.1
+ * @since JDK 1.8+
+ */
+public final class CipherHolder {
+
+    private final Cipher cipher;
+    /**
+     * 最近一次初始化的模式,0表示需要重新初始化
+     */
+    private int mode;
+    private Key key;
+    private AlgorithmParameterSpec params;
+
+    /**
+     * 构造
+     *
+     * @param cipher {@link Cipher}
+     */
+    public CipherHolder(Cipher cipher) {
+        this.cipher = cipher;
+    }
+
+    /**
+     * 按需初始化并返回{@link Cipher},参数按引用比较
+     *
+     * @param mode   模式,见{@link Cipher#ENCRYPT_MODE}等
+     * @param key    密钥
+     * @param params 算法参数,可以为null
+     * @return 已初始化的{@link Cipher}
+     * @throws GeneralSecurityException 初始化失败
+     */
+    public Cipher init(int mode, Key key, AlgorithmParameterSpec params) throws GeneralSecurityException {
+        if (mode != this.mode || key != this.key || params != this.params) {
+            this.mode = 0;
+            if (null == params) {
+                cipher.init(mode, key);
+            } else {
+                cipher.init(mode, key, params);
+            }
+            if (null != params || null == cipher.getIV()) {
+                this.mode = mode;
+                this.key = key;
+                this.params = params;
+            }
+        }
+        return cipher;
+    }
+
+    /**
+     * 标记为需要重新初始化,在加解密失败后调用,因为此时{@link Cipher}的状态不确定
+     */
+    public void reset() {
+        this.mode = 0;
+    }
+
+    /**
+     * @return {@link Cipher}
+     */
+    public Cipher getCipher() {
+        return cipher;
+    }
+
+}
@@ -27,15 +27,21 @@ package org.aoju.bus.crypto.asymmetric;
 import org.aoju.bus.core.codec.Base64;
 import org.aoju.bus.core.io.streams.ByteArrayOutputStream;
 import org.aoju.bus.core.lang.exception.InstrumentException;
+import org.aoju.bus.core.toolkit.IoKit;
 import org.aoju.bus.crypto.Builder;
+import org.aoju.bus.crypto.CipherHolder;
 
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.security.Key;
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * 非对称加密算法
@@ -67,6 +73,14 @@ public class Asymmetric extends Safety<Asymmetric> {
      * 解密的块大小
      */
     protected int decryptBlockSize = -1;
+    /**
+     * 是否每个线程使用独立的Cipher,开启后加解密不再加锁
+     */
+    private boolean threadLocal;
+    /**
+     * 每个线程独立的Cipher,用于线程独立模式和批量加解密,算法改变后重新创建
+     */
+    private volatile ThreadLocal<CipherHolder[]> holders;
 
     /**
      * 构造，创建新的私钥公钥对
@@ -162,6 +176,18 @@ public class Asymmetric extends Safety<Asymmetric> {
         return this;
     }
 
+    /**
+     * 设置是否每个线程使用独立的{@link Cipher}
+     * 开启后多个线程共用一个实例时不再互相等待,每个线程的Cipher在密钥不变时不重复初始化
+     *
+     * @param threadLocal 是否每个线程使用独立的Cipher
+     * @return 自身
+     */
+    public Asymmetric setThreadLocal(boolean threadLocal) {
+        this.threadLocal = threadLocal;
+        return this;
+    }
+
     /**
      * 加密
      *
@@ -171,19 +197,14 @@ public class Asymmetric extends Safety<Asymmetric> {
      */
     @Override
     public byte[] encrypt(byte[] data, KeyType keyType) {
+        if (this.threadLocal) {
+            return doFinal(holder(Cipher.ENCRYPT_MODE), Cipher.ENCRYPT_MODE, data, keyType);
+        }
         final Key key = getKeyByType(keyType);
         lock.lock();
         try {
             cipher.init(Cipher.ENCRYPT_MODE, key);
-
-            if (this.encryptBlockSize < 0) {
-                // 在引入BC库情况下，自动获取块大小
-                final int blockSize = this.cipher.getBlockSize();
-                if (blockSize > 0) {
-                    this.encryptBlockSize = blockSize;
-                }
-            }
-            return doFinal(data, this.encryptBlockSize < 0 ? data.length : this.encryptBlockSize);
+            return doFinal(cipher, data, getEncryptBlockSize(cipher, keyType));
         } catch (Exception e) {
             throw new InstrumentException(e);
         } finally {
@@ -191,6 +212,29 @@ public class Asymmetric extends Safety<Asymmetric> {
         }
     }
 
+    /**
+     * 使用{@link ForkJoinPool#commonPool()}批量加密,结果顺序与输入一致
+     *
+     * @param data    被加密的bytes列表
+     * @param keyType 私钥或公钥 {@link KeyType}
+     * @return 加密后的bytes列表
+     */
+    public List<byte[]> encrypt(List<byte[]> data, KeyType keyType) {
+        return encrypt(data, keyType, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 批量加密,每个工作线程使用独立的{@link Cipher},结果顺序与输入一致
+     *
+     * @param data    被加密的bytes列表
+     * @param keyType 私钥或公钥 {@link KeyType}
+     * @param pool    线程池
+     * @return 加密后的bytes列表
+     */
+    public List<byte[]> encrypt(List<byte[]> data, KeyType keyType, ForkJoinPool pool) {
+        return Builder.parallel(data, bytes -> doFinal(holder(Cipher.ENCRYPT_MODE), Cipher.ENCRYPT_MODE, bytes, keyType), pool);
+    }
+
     /**
      * 解密
      *
@@ -200,20 +244,14 @@ public class Asymmetric extends Safety<Asymmetric> {
      */
     @Override
     public byte[] decrypt(byte[] data, KeyType keyType) {
+        if (this.threadLocal) {
+            return doFinal(holder(Cipher.DECRYPT_MODE), Cipher.DECRYPT_MODE, data, keyType);
+        }
         final Key key = getKeyByType(keyType);
         lock.lock();
         try {
             cipher.init(Cipher.DECRYPT_MODE, key);
-
-            if (this.decryptBlockSize < 0) {
-                // 在引入BC库情况下，自动获取块大小
-                final int blockSize = this.cipher.getBlockSize();
-                if (blockSize > 0) {
-                    this.decryptBlockSize = blockSize;
-                }
-            }
-
-            return doFinal(data, this.decryptBlockSize < 0 ? data.length : this.decryptBlockSize);
+            return doFinal(cipher, data, getDecryptBlockSize(cipher, keyType));
         } catch (Exception e) {
             throw new InstrumentException(e);
         } finally {
@@ -221,6 +259,87 @@ public class Asymmetric extends Safety<Asymmetric> {
         }
     }
 
+    /**
+     * 使用{@link ForkJoinPool#commonPool()}批量解密,结果顺序与输入一致
+     *
+     * @param data    被解密的bytes列表
+     * @param keyType 私钥或公钥 {@link KeyType}
+     * @return 解密后的bytes列表
+     */
+    public List<byte[]> decrypt(List<byte[]> data, KeyType keyType) {
+        return decrypt(data, keyType, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 批量解密,每个工作线程使用独立的{@link Cipher},结果顺序与输入一致
+     *
+     * @param data    被解密的bytes列表
+     * @param keyType 私钥或公钥 {@link KeyType}
+     * @param pool    线程池
+     * @return 解密后的bytes列表
+     */
+    public List<byte[]> decrypt(List<byte[]> data, KeyType keyType, ForkJoinPool pool) {
+        return Builder.parallel(data, bytes -> doFinal(holder(Cipher.DECRYPT_MODE), Cipher.DECRYPT_MODE, bytes, keyType), pool);
+    }
+
+    /**
+     * 流式分段加密,每次读取一个块加密后写出,内存占用与数据大小无关,不会关闭流
+     *
+     * @param in      明文
+     * @param out     密文输出
+     * @param keyType 私钥或公钥 {@link KeyType}
+     */
+    public void encrypt(InputStream in, OutputStream out, KeyType keyType) {
+        transfer(Cipher.ENCRYPT_MODE, in, out, keyType);
+    }
+
+    /**
+     * 流式分段解密,每次读取一个块解密后写出,内存占用与数据大小无关,不会关闭流
+     *
+     * @param in      密文
+     * @param out     明文输出
+     * @param keyType 私钥或公钥 {@link KeyType}
+     */
+    public void decrypt(InputStream in, OutputStream out, KeyType keyType) {
+        transfer(Cipher.DECRYPT_MODE, in, out, keyType);
+    }
+
+    /**
+     * 获取加密的块大小,未设置时在引入BC库情况下自动获取
+     *
+     * @param cipher  已初始化的{@link Cipher}
+     * @param keyType 私钥或公钥 {@link KeyType}
+     * @return 块大小, 小于0表示不分段
+     */
+    protected int getEncryptBlockSize(Cipher cipher, KeyType keyType) {
+        if (this.encryptBlockSize < 0) {
+            // 在引入BC库情况下，自动获取块大小
+            final int blockSize = cipher.getBlockSize();
+            if (blockSize > 0) {
+                this.encryptBlockSize = blockSize;
+            }
+        }
+        return this.encryptBlockSize;
+    }
+
+    /**
+     * 获取解密的块大小,未设置时在引入BC库情况下自动获取
+     *
+     * @param cipher  已初始化的{@link Cipher}
+     * @param keyType 私钥或公钥 {@link KeyType}
+     * @return 块大小, 小于0表示不分段
+     */
+    protected int getDecryptBlockSize(Cipher cipher, KeyType keyType) {
+        if (this.decryptBlockSize < 0) {
+            // 在引入BC库情况下，自动获取块大小
+            final int blockSize = cipher.getBlockSize();
+            if (blockSize > 0) {
+                this.decryptBlockSize = blockSize;
+            }
+        }
+        return this.decryptBlockSize;
+    }
+
     /**
      * 获得加密或解密器
      *
@@ -235,34 +354,140 @@ public class Asymmetric extends Safety<Asymmetric> {
      */
     protected void initCipher() {
         this.cipher = Builder.createCipher(algorithm);
+        this.holders = null;
+    }
+
+    /**
+     * 使用当前线程独立的{@link Cipher}加密或解密
+     *
+     * @param holder  当前线程的{@link CipherHolder}
+     * @param mode    模式
+     * @param data    数据
+     * @param keyType 私钥或公钥 {@link KeyType}
+     * @return 加密或解密后的数据
+     */
+    private byte[] doFinal(CipherHolder holder, int mode, byte[] data, KeyType keyType) {
+        try {
+            final Cipher cipher = holder.init(mode, getKeyByType(keyType), null);
+            final int blockSize = Cipher.ENCRYPT_MODE == mode
+                    ? getEncryptBlockSize(cipher, keyType) : getDecryptBlockSize(cipher, keyType);
+            return doFinal(cipher, data, blockSize);
+        } catch (Exception e) {
+            holder.reset();
+            throw e instanceof InstrumentException ? (InstrumentException) e : new InstrumentException(e);
+        }
+    }
+
+    /**
+     * 使用当前线程独立的{@link Cipher}按块流式加密或解密,无法确定块大小时读取全部数据一次处理
+     *
+     * @param mode    模式
+     * @param in      输入
+     * @param out     输出
+     * @param keyType 私钥或公钥 {@link KeyType}
+     */
+    private void transfer(int mode, InputStream in, OutputStream out, KeyType keyType) {
+        final CipherHolder holder = holder(mode);
+        try {
+            final Cipher cipher = holder.init(mode, getKeyByType(keyType), null);
+            final int blockSize = Cipher.ENCRYPT_MODE == mode
+                    ? getEncryptBlockSize(cipher, keyType) : getDecryptBlockSize(cipher, keyType);
+            if (blockSize < 0) {
+                out.write(cipher.doFinal(IoKit.readBytes(in)));
+                return;
+            }
+            final byte[] buffer = new byte[blockSize];
+            final byte[] output = new byte[cipher.getOutputSize(blockSize)];
+            int length;
+            boolean first = true;
+            do {
+                length = fill(in, buffer);
+                // 空数据与内存中的处理一致,仍然输出一块
+                if (length == 0 && !first) {
+                    break;
+                }
+                out.write(output, 0, cipher.doFinal(buffer, 0, length, output, 0));
+                first = false;
+            } while (length == blockSize);
+        } catch (Exception e) {
+            holder.reset();
+            throw e instanceof InstrumentException ? (InstrumentException) e : new InstrumentException(e);
+        }
+    }
+
+    /**
+     * 尽量读满缓冲区
+     *
+     * @param in     输入
+     * @param buffer 缓冲区
+     * @return 读取的长度, 小于缓冲区长度表示已读完
+     * @throws IOException IO异常
+     */
+    private static int fill(InputStream in, byte[] buffer) throws IOException {
+        int length = 0;
+        while (length < buffer.length) {
+            final int read = in.read(buffer, length, buffer.length - length);
+            if (read < 0) {
+                break;
+            }
+            length += read;
+        }
+        return length;
+    }
+
+    /**
+     * 获取当前线程独立的{@link Cipher},加密和解密各用一个以免交替使用时反复初始化,不存在时按当前算法创建
+     *
+     * @param mode 模式,{@link Cipher#ENCRYPT_MODE}或{@link Cipher#DECRYPT_MODE}
+     * @return {@link CipherHolder}
+     */
+    private CipherHolder holder(int mode) {
+        ThreadLocal<CipherHolder[]> holders = this.holders;
+        if (null == holders) {
+            synchronized (this) {
+                holders = this.holders;
+                if (null == holders) {
+                    holders = ThreadLocal.withInitial(() -> new CipherHolder[2]);
+                    this.holders = holders;
+                }
+            }
+        }
+        final CipherHolder[] pair = holders.get();
+        final int index = Cipher.ENCRYPT_MODE == mode ? 0 : 1;
+        if (null == pair[index]) {
+            pair[index] = new CipherHolder(Builder.createCipher(this.cipher.getAlgorithm()));
+        }
+        return pair[index];
     }
 
     /**
      * 加密或解密
      *
+     * @param cipher       已初始化的{@link Cipher}
      * @param data         被加密或解密的内容数据
-     * @param maxBlockSize 最大块(分段)大小
+     * @param maxBlockSize 最大块(分段)大小,小于0表示不分段
      * @return 加密或解密后的数据
      * @throws IllegalBlockSizeException 分段异常
      * @throws BadPaddingException       padding错误异常
      * @throws IOException               IO异常，不会被触发
      */
-    private byte[] doFinal(byte[] data, int maxBlockSize) throws IllegalBlockSizeException, BadPaddingException, IOException {
+    private byte[] doFinal(Cipher cipher, byte[] data, int maxBlockSize) throws IllegalBlockSizeException, BadPaddingException, IOException {
         // 模长
         final int dataLength = data.length;
 
         // 不足分段
-        if (dataLength <= maxBlockSize) {
-            return this.cipher.doFinal(data, 0, dataLength);
+        if (maxBlockSize < 0 || dataLength <= maxBlockSize) {
+            return cipher.doFinal(data, 0, dataLength);
         }
 
         // 分段解密
-        return doFinalWithBlock(data, maxBlockSize);
+        return doFinalWithBlock(cipher, data, maxBlockSize);
     }
 
     /**
      * 分段加密或解密
      *
+     * @param cipher       已初始化的{@link Cipher}
      * @param data         数据
      * @param maxBlockSize 最大分段的段大小，不能为小于1
      * @return 加密或解密后的数据
@@ -270,7 +495,7 @@ public class Asymmetric extends Safety<Asymmetric> {
      * @throws BadPaddingException       padding错误异常
      * @throws IOException               IO异常，不会被触发
      */
-    private byte[] doFinalWithBlock(byte[] data, int maxBlockSize) throws IllegalBlockSizeException, BadPaddingException, IOException {
+    private byte[] doFinalWithBlock(Cipher cipher, byte[] data, int maxBlockSize) throws IllegalBlockSizeException, BadPaddingException, IOException {
         final int dataLength = data.length;
 
         final ByteArrayOutputStream out = new ByteArrayOutputStream();
@@ -30,6 +30,7 @@ import org.aoju.bus.core.lang.exception.InstrumentException;
 import org.aoju.bus.crypto.Builder;
 import org.aoju.bus.crypto.Holder;
 
+import javax.crypto.Cipher;
 import java.math.BigInteger;
 import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
@@ -170,23 +171,23 @@ public class RSA extends Asymmetric {
     }
 
     @Override
-    public byte[] encrypt(byte[] data, KeyType keyType) {
+    protected int getEncryptBlockSize(Cipher cipher, KeyType keyType) {
         // 在非使用BC库情况下，blockSize使用默认的算法
         if (this.encryptBlockSize < 0 && null == Instances.singletion(Holder.class).getProvider()) {
             // 加密数据长度 <= 模长-11
             this.encryptBlockSize = ((RSAKey) getKeyByType(keyType)).getModulus().bitLength() / 8 - 11;
         }
-        return super.encrypt(data, keyType);
+        return super.getEncryptBlockSize(cipher, keyType);
     }
 
     @Override
-    public byte[] decrypt(byte[] bytes, KeyType keyType) {
+    protected int getDecryptBlockSize(Cipher cipher, KeyType keyType) {
         // 在非使用BC库情况下，blockSize使用默认的算法
         if (this.decryptBlockSize < 0 && null == Instances.singletion(Holder.class).getProvider()) {
             // 加密数据长度 <= 模长-11
             this.decryptBlockSize = ((RSAKey) getKeyByType(keyType)).getModulus().bitLength() / 8;
         }
-        return super.decrypt(bytes, keyType);
+        return super.getDecryptBlockSize(cipher, keyType);
     }
 
     @Override
@@ -33,9 +33,11 @@ import org.aoju.bus.core.toolkit.IoKit;
 import org.aoju.bus.core.toolkit.StringKit;
 import org.aoju.bus.crypto.digest.mac.MacEngine;
 import org.aoju.bus.crypto.digest.mac.MacEngineFactory;
+import org.aoju.bus.crypto.digest.mac.StreamMacEngine;
 
 import javax.crypto.spec.SecretKeySpec;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.InputStream;
 import java.io.Serializable;
@@ -58,6 +60,10 @@ public class HMac implements Serializable {
     private static final long serialVersionUID = 1L;
 
     private MacEngine engine;
+    /**
+     * 引擎不支持分段计算时,缓存已加入的数据
+     */
+    private transient ByteArrayOutputStream pending;
 
     /**
      * 构造，自动生成密钥
@@ -232,6 +238,55 @@ public class HMac implements Serializable {
         return HexKit.encodeHexStr(digest(data, bufferLength));
     }
 
+    /**
+     * 加入部分数据,用于分段计算摘要,例如与流式加解密在同一次读写中完成
+     * 引擎未实现{@link StreamMacEngine}时数据缓存在内存中,调用{@link #doFinal()}时一次计算
+     *
+     * @param data   数据
+     * @param offset 开始位置
+     * @param length 长度
+     * @return this
+     */
+    public HMac update(byte[] data, int offset, int length) {
+        if (this.engine instanceof StreamMacEngine) {
+            ((StreamMacEngine) this.engine).update(data, offset, length);
+        } else {
+            if (null == this.pending) {
+                this.pending = new ByteArrayOutputStream();
+            }
+            this.pending.write(data, offset, length);
+        }
+        return this;
+    }
+
+    /**
+     * 结束分段计算并返回摘要,之后可以重新开始计算
+     *
+     * @return 摘要
+     */
+    public byte[] doFinal() {
+        if (this.engine instanceof StreamMacEngine) {
+            return ((StreamMacEngine) this.engine).doFinal();
+        }
+        final byte[] data = null == this.pending ? new byte[0] : this.pending.toByteArray();
+        reset();
+        return this.engine.digest(new ByteArrayInputStream(data), -1);
+    }
+
+    /**
+     * 丢弃分段计算中已加入的数据
+     *
+     * @return this
+     */
+    public HMac reset() {
+        if (this.engine instanceof StreamMacEngine) {
+            ((StreamMacEngine) this.engine).reset();
+        } else if (null != this.pending) {
+            this.pending.reset();
+        }
+        return this;
+    }
+
     /**
      * 获取MAC算法块长度
      *
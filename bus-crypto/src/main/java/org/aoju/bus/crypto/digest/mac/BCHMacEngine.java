@@ -43,7 +43,7 @@ import java.io.InputStream;
  * @version 6.0.1
  * @since JDK 1.8+
  */
-public class BCHMacEngine implements MacEngine {
+public class BCHMacEngine implements StreamMacEngine {
 
     private Mac mac;
 
@@ -105,6 +105,23 @@ public class BCHMacEngine implements MacEngine {
         return result;
     }
 
+    @Override
+    public void update(byte[] data, int offset, int length) {
+        mac.update(data, offset, length);
+    }
+
+    @Override
+    public byte[] doFinal() {
+        final byte[] result = new byte[this.mac.getMacSize()];
+        mac.doFinal(result, 0);
+        return result;
+    }
+
+    @Override
+    public void reset() {
+        mac.reset();
+    }
+
     /**
      * 获得 {@link Mac}
      *
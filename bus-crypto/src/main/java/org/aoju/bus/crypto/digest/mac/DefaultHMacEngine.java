@@ -43,7 +43,7 @@ import java.security.Key;
  * @version 6.0.1
  * @since JDK 1.8+
  */
-public class DefaultHMacEngine implements MacEngine {
+public class DefaultHMacEngine implements StreamMacEngine {
 
     private Mac mac;
 
@@ -123,6 +123,21 @@ public class DefaultHMacEngine implements MacEngine {
         return result;
     }
 
+    @Override
+    public void update(byte[] data, int offset, int length) {
+        mac.update(data, offset, length);
+    }
+
+    @Override
+    public byte[] doFinal() {
+        return mac.doFinal();
+    }
+
+    @Override
+    public void reset() {
+        mac.reset();
+    }
+
     /**
      * 获得 {@link Mac}
      *
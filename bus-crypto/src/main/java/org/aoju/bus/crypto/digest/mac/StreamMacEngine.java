@@ -0,0 +1,58 @@
+/*********************************************************************************
+ *                                                                               *
+ * The MIT License (MIT)                                                         *
+ *                                                                               *
+ * Copyright (c) 2015-2020 aoju.org and other contributors.                      *
+ *                                                                               *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy  *
+ * of this software and associated documentation files (the "Software"), to deal *
+ * in the Software without restriction, including without limitation the rights  *
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell     *
+ * copies of the Software, and to permit persons to whom the Software is         *
+ * furnished to do so, subject to the following conditions:                      *
+ *                                                                               *
+ * The above copyright notice and this permission notice shall be included in    *
+ * all copies or substantial portions of the Software.                           *
+ *                                                                               *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR    *
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,      *
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE   *
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER        *
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, *
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN     *
+ * THE SOFTWARE.                                                                 *
+ ********************************************************************************/
+package org.aoju.bus.crypto.digest.mac;
+
+/**
+ * 支持分段计算的MAC算法引擎
+ * 未实现此接口的{@link MacEngine}仍可用于分段计算,由{@link org.aoju.bus.crypto.digest.HMac}缓存数据后一次计算
+ *
+ * @author Kimi Liu
+ * @version 6.0.1
+ * @since JDK 1.8+
+ */
+public interface StreamMacEngine extends MacEngine {
+
+    /**
+     * 加入部分数据,用于分段计算摘要
+     *
+     * @param data   数据
+     * @param offset 开始位置
+     * @param length 长度
+     */
+    void update(byte[] data, int offset, int length);
+
+    /**
+     * 结束分段计算并返回摘要,之后可以重新开始计算
+     *
+     * @return 摘要bytes
+     */
+    byte[] doFinal();
+
+    /**
+     * 丢弃已加入的数据
+     */
+    void reset();
+
+}
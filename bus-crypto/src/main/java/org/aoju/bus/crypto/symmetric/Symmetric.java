@@ -25,20 +25,31 @@
 package org.aoju.bus.crypto.symmetric;
 
 import org.aoju.bus.core.codec.Base64;
+import org.aoju.bus.core.io.CipherSink;
+import org.aoju.bus.core.io.CipherSource;
+import org.aoju.bus.core.io.Sink;
+import org.aoju.bus.core.io.Source;
 import org.aoju.bus.core.lang.Assert;
 import org.aoju.bus.core.lang.Charset;
 import org.aoju.bus.core.lang.exception.InstrumentException;
 import org.aoju.bus.core.toolkit.*;
 import org.aoju.bus.crypto.Builder;
+import org.aoju.bus.crypto.CipherHolder;
 import org.aoju.bus.crypto.Padding;
+import org.aoju.bus.crypto.digest.HMac;
 
 import javax.crypto.Cipher;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.PBEParameterSpec;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Serializable;
+import java.security.GeneralSecurityException;
 import java.security.spec.AlgorithmParameterSpec;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -73,6 +84,14 @@ public class Symmetric implements Serializable {
      */
     private boolean isZeroPadding;
     private Lock lock = new ReentrantLock();
+    /**
+     * 是否每个线程使用独立的Cipher,开启后加解密不再加锁
+     */
+    private boolean threadLocal;
+    /**
+     * 每个线程独立的Cipher,用于线程独立模式和批量加解密,算法或密钥改变后重新创建
+     */
+    private transient volatile ThreadLocal<CipherHolder[]> holders;
 
     /**
      * 构造，使用随机密钥
@@ -140,6 +159,19 @@ public class Symmetric implements Serializable {
         }
 
         this.cipher = Builder.createCipher(algorithm);
+        this.holders = null;
+        return this;
+    }
+
+    /**
+     * 设置是否每个线程使用独立的{@link Cipher}
+     * 开启后多个线程共用一个实例时不再互相等待,每个线程的Cipher在参数不变时不重复初始化
+     *
+     * @param threadLocal 是否每个线程使用独立的Cipher
+     * @return 自身
+     */
+    public Symmetric setThreadLocal(boolean threadLocal) {
+        this.threadLocal = threadLocal;
         return this;
     }
 
@@ -184,6 +216,9 @@ public class Symmetric implements Serializable {
      * @return 加密后的bytes
      */
     public byte[] encrypt(byte[] data) {
+        if (this.threadLocal) {
+            return encrypt(data, holder(Cipher.ENCRYPT_MODE));
+        }
         lock.lock();
         try {
             if (null == this.params) {
@@ -199,6 +234,27 @@ public class Symmetric implements Serializable {
         }
     }
 
+    /**
+     * 使用{@link ForkJoinPool#commonPool()}批量加密,结果顺序与输入一致
+     *
+     * @param data 被加密的bytes列表
+     * @return 加密后的bytes列表
+     */
+    public List<byte[]> encrypt(List<byte[]> data) {
+        return encrypt(data, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 批量加密,每个工作线程使用独立的{@link Cipher},结果顺序与输入一致
+     *
+     * @param data 被加密的bytes列表
+     * @param pool 线程池
+     * @return 加密后的bytes列表
+     */
+    public List<byte[]> encrypt(List<byte[]> data, ForkJoinPool pool) {
+        return Builder.parallel(data, bytes -> encrypt(bytes, holder(Cipher.ENCRYPT_MODE)), pool);
+    }
+
     /**
      * 加密
      *
@@ -353,6 +409,9 @@ public class Symmetric implements Serializable {
      * @return 解密后的bytes
      */
     public byte[] decrypt(byte[] bytes) {
+        if (this.threadLocal) {
+            return decrypt(bytes, holder(Cipher.DECRYPT_MODE));
+        }
         final int blockSize;
         final byte[] decryptData;
 
@@ -374,6 +433,27 @@ public class Symmetric implements Serializable {
         return removePadding(decryptData, blockSize);
     }
 
+    /**
+     * 使用{@link ForkJoinPool#commonPool()}批量解密,结果顺序与输入一致
+     *
+     * @param data 被解密的bytes列表
+     * @return 解密后的bytes列表
+     */
+    public List<byte[]> decrypt(List<byte[]> data) {
+        return decrypt(data, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 批量解密,每个工作线程使用独立的{@link Cipher},结果顺序与输入一致
+     *
+     * @param data 被解密的bytes列表
+     * @param pool 线程池
+     * @return 解密后的bytes列表
+     */
+    public List<byte[]> decrypt(List<byte[]> data, ForkJoinPool pool) {
+        return Builder.parallel(data, bytes -> decrypt(bytes, holder(Cipher.DECRYPT_MODE)), pool);
+    }
+
     /**
      * 解密为字符串
      *
@@ -458,6 +538,75 @@ public class Symmetric implements Serializable {
         return decryptStr(data, Charset.UTF_8);
     }
 
+    /**
+     * 流式加密,只使用固定大小的缓冲区,不会关闭流
+     *
+     * @param in  明文
+     * @param out 密文输出
+     */
+    public void encrypt(InputStream in, OutputStream out) {
+        transfer(Cipher.ENCRYPT_MODE, in, out, null);
+    }
+
+    /**
+     * 流式加密并在同一次读写中计算密文的HMAC(先加密后MAC),不会关闭流
+     *
+     * @param in   明文
+     * @param out  密文输出
+     * @param hmac 用于计算密文摘要的{@link HMac}
+     * @return 密文的HMAC
+     */
+    public byte[] encrypt(InputStream in, OutputStream out, HMac hmac) {
+        Assert.notNull(hmac, "HMac must be not null !");
+        return transfer(Cipher.ENCRYPT_MODE, in, out, hmac);
+    }
+
+    /**
+     * 流式解密,只使用固定大小的缓冲区,不会关闭流
+     *
+     * @param in  密文
+     * @param out 明文输出
+     */
+    public void decrypt(InputStream in, OutputStream out) {
+        transfer(Cipher.DECRYPT_MODE, in, out, null);
+    }
+
+    /**
+     * 流式解密并在同一次读写中计算密文的HMAC,不会关闭流
+     * 明文在校验之前已经写出,返回的HMAC与期望值不一致时调用方应丢弃输出
+     *
+     * @param in   密文
+     * @param out  明文输出
+     * @param hmac 用于计算密文摘要的{@link HMac}
+     * @return 密文的HMAC
+     */
+    public byte[] decrypt(InputStream in, OutputStream out, HMac hmac) {
+        Assert.notNull(hmac, "HMac must be not null !");
+        return transfer(Cipher.DECRYPT_MODE, in, out, hmac);
+    }
+
+    /**
+     * 包装{@link Sink},写入的明文加密后写入sink,关闭时完成最后一块
+     * 返回的{@link Sink}使用独立的{@link Cipher},不支持{@link Padding#ZeroPadding}
+     *
+     * @param sink 密文写入的{@link Sink}
+     * @return 加密的 {@link Sink}
+     */
+    public Sink encrypt(Sink sink) {
+        return new CipherSink(sink, createCipher(Cipher.ENCRYPT_MODE));
+    }
+
+    /**
+     * 包装{@link Source},读取时解密source中的密文
+     * 返回的{@link Source}使用独立的{@link Cipher},不支持{@link Padding#ZeroPadding}
+     *
+     * @param source 密文来源
+     * @return 解密的 {@link Source}
+     */
+    public Source decrypt(Source source) {
+        return new CipherSource(source, createCipher(Cipher.DECRYPT_MODE));
+    }
+
     /**
      * 获得对称密钥
      *
@@ -476,6 +625,179 @@ public class Symmetric implements Serializable {
         return cipher;
     }
 
+    /**
+     * 使用当前线程独立的{@link Cipher}加密
+     */
+    private byte[] encrypt(byte[] data, CipherHolder holder) {
+        try {
+            final Cipher cipher = holder.init(Cipher.ENCRYPT_MODE, secretKey, params);
+            return cipher.doFinal(paddingDataWithZero(data, cipher.getBlockSize()));
+        } catch (Exception e) {
+            holder.reset();
+            throw new InstrumentException(e);
+        }
+    }
+
+    /**
+     * 使用当前线程独立的{@link Cipher}解密
+     */
+    private byte[] decrypt(byte[] bytes, CipherHolder holder) {
+        final Cipher cipher;
+        final byte[] decryptData;
+        try {
+            cipher = holder.init(Cipher.DECRYPT_MODE, secretKey, params);
+            decryptData = cipher.doFinal(bytes);
+        } catch (Exception e) {
+            holder.reset();
+            throw new InstrumentException(e);
+        }
+        return removePadding(decryptData, cipher.getBlockSize());
+    }
+
+    /**
+     * 流式加密或解密,使用当前线程独立的{@link Cipher},内存占用与数据大小无关
+     *
+     * @param mode 模式
+     * @param in   输入
+     * @param out  输出
+     * @param hmac 用于计算密文摘要的{@link HMac},可以为null
+     * @return 密文的HMAC, hmac为null时返回null
+     */
+    private byte[] transfer(int mode, InputStream in, OutputStream out, HMac hmac) {
+        final CipherHolder holder = holder(mode);
+        final boolean encrypt = Cipher.ENCRYPT_MODE == mode;
+        // 解密时去除末尾的0需要暂缓写出连续的0,直到确认其后还有非0数据
+        final boolean trimZero = !encrypt && this.isZeroPadding;
+        final byte[] buffer = new byte[IoKit.DEFAULT_BUFFER_SIZE];
+        if (null != hmac) {
+            hmac.reset();
+        }
+        try {
+            final Cipher cipher = holder.init(mode, secretKey, params);
+            byte[] output = new byte[cipher.getOutputSize(buffer.length)];
+            long total = 0;
+            long zeros = 0;
+            int read;
+            while ((read = in.read(buffer)) > -1) {
+                if (null != hmac && !encrypt) {
+                    hmac.update(buffer, 0, read);
+                }
+                total += read;
+                output = ensureCapacity(output, cipher.getOutputSize(read));
+                zeros = write(out, output, cipher.update(buffer, 0, read, output, 0), zeros, trimZero, encrypt ? hmac : null);
+            }
+            if (encrypt && this.isZeroPadding) {
+                final int remain = (int) (total % cipher.getBlockSize());
+                if (remain > 0) {
+                    final int padding = cipher.getBlockSize() - remain;
+                    output = ensureCapacity(output, cipher.getOutputSize(padding));
+                    zeros = write(out, output, cipher.update(new byte[padding], 0, padding, output, 0), zeros, false, hmac);
+                }
+            }
+            output = ensureCapacity(output, cipher.getOutputSize(0));
+            write(out, output, cipher.doFinal(output, 0), zeros, trimZero, encrypt ? hmac : null);
+        } catch (IOException | GeneralSecurityException e) {
+            holder.reset();
+            throw new InstrumentException(e);
+        } catch (RuntimeException e) {
+            // 例如HMac抛出的异常,同样需要重置Cipher,以免线程复用时处于计算中途的状态
+            holder.reset();
+            throw e;
+        }
+        return null == hmac ? null : hmac.doFinal();
+    }
+
+    /**
+     * 写出处理后的数据,需要去除末尾的0时暂缓写出末尾连续的0
+     *
+     * @param out      输出
+     * @param data     数据
+     * @param length   数据长度
+     * @param zeros    之前暂缓写出的0的个数
+     * @param trimZero 是否去除末尾的0
+     * @param hmac     需要计算摘要时不为null
+     * @return 暂缓写出的0的个数
+     * @throws IOException IO异常
+     */
+    private static long write(OutputStream out, byte[] data, int length, long zeros, boolean trimZero, HMac hmac) throws IOException {
+        if (null != hmac) {
+            hmac.update(data, 0, length);
+        }
+        if (!trimZero) {
+            out.write(data, 0, length);
+            return 0;
+        }
+        int end = length;
+        while (end > 0 && 0 == data[end - 1]) {
+            end--;
+        }
+        if (0 == end) {
+            return zeros + length;
+        }
+        if (zeros > 0) {
+            final byte[] zero = new byte[(int) Math.min(zeros, IoKit.DEFAULT_BUFFER_SIZE)];
+            while (zeros > 0) {
+                final int count = (int) Math.min(zeros, zero.length);
+                out.write(zero, 0, count);
+                zeros -= count;
+            }
+        }
+        out.write(data, 0, end);
+        return length - end;
+    }
+
+    private static byte[] ensureCapacity(byte[] buffer, int size) {
+        return size > buffer.length ? new byte[size] : buffer;
+    }
+
+    /**
+     * 创建并初始化一个独立的{@link Cipher},用于{@link Sink}和{@link Source}
+     *
+     * @param mode 模式
+     * @return {@link Cipher}
+     */
+    private Cipher createCipher(int mode) {
+        if (this.isZeroPadding) {
+            throw new InstrumentException("ZeroPadding is not supported by Sink or Source, use stream methods instead");
+        }
+        final Cipher cipher = Builder.createCipher(this.cipher.getAlgorithm());
+        try {
+            if (null == this.params) {
+                cipher.init(mode, secretKey);
+            } else {
+                cipher.init(mode, secretKey, params);
+            }
+        } catch (GeneralSecurityException e) {
+            throw new InstrumentException(e);
+        }
+        return cipher;
+    }
+
+    /**
+     * 获取当前线程独立的{@link Cipher},加密和解密各用一个以免交替使用时反复初始化,不存在时按当前算法创建
+     *
+     * @param mode 模式,{@link Cipher#ENCRYPT_MODE}或{@link Cipher#DECRYPT_MODE}
+     * @return {@link CipherHolder}
+     */
+    private CipherHolder holder(int mode) {
+        ThreadLocal<CipherHolder[]> holders = this.holders;
+        if (null == holders) {
+            synchronized (this) {
+                holders = this.holders;
+                if (null == holders) {
+                    holders = ThreadLocal.withInitial(() -> new CipherHolder[2]);
+                    this.holders = holders;
+                }
+            }
+        }
+        final CipherHolder[] pair = holders.get();
+        final int index = Cipher.ENCRYPT_MODE == mode ? 0 : 1;
+        if (null == pair[index]) {
+            pair[index] = new CipherHolder(Builder.createCipher(this.cipher.getAlgorithm()));
+        }
+        return pair[index];
+    }
+
     /**
      * 数据按照blockSize的整数倍长度填充填充0
      *
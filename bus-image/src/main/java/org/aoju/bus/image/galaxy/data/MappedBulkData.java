@@ -0,0 +1,78 @@
+/*********************************************************************************
+ *                                                                               *
+ * The MIT License (MIT)                                                         *
+ *                                                                               *
+ * Copyright (c) 2015-2020 aoju.org and other contributors.                      *
+ *                                                                               *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy  *
+ * of this software and associated documentation files (the "Software"), to deal *
+ * in the Software without restriction, including without limitation the rights  *
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell     *
+ * copies of the Software, and to permit persons to whom the Software is         *
+ * furnished to do so, subject to the following conditions:                      *
+ *                                                                               *
+ * The above copyright notice and this permission notice shall be included in    *
+ * all copies or substantial portions of the Software.                           *
+ *                                                                               *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR    *
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,      *
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE   *
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER        *
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, *
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN     *
+ * THE SOFTWARE.                                                                 *
+ ********************************************************************************/
+package org.aoju.bus.image.galaxy.data;
+
+import org.aoju.bus.image.galaxy.io.MappedInputStream;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * 指向内存映射缓冲区中某段数据的值
+ * 由{@link org.aoju.bus.image.galaxy.io.ImageInputStream}以映射方式读取时创建,
+ * 仅记录偏移量及长度,在首次访问时才从缓冲区复制并解码
+ *
+ * @author Kimi Liu
+ * @version 6.0.1
+ * @since JDK 1.8+
+ */
+public class MappedBulkData extends BulkData {
+
+    private final ByteBuffer buffer;
+
+    /**
+     * @param uri       来源URI
+     * @param buffer    映射缓冲区,偏移量相对其起始位置
+     * @param offset    值的偏移量
+     * @param length    值的长度
+     * @param bigEndian 是否大端字节序
+     */
+    public MappedBulkData(String uri, ByteBuffer buffer, long offset, int length, boolean bigEndian) {
+        super(uri, offset, length, bigEndian);
+        this.buffer = buffer;
+    }
+
+    @Override
+    public InputStream openStream() {
+        return new MappedInputStream(slice());
+    }
+
+    @Override
+    public byte[] toBytes(VR vr, boolean bigEndian) {
+        byte[] b = new byte[length()];
+        slice().get(b);
+        if (bigEndian() != bigEndian)
+            vr.toggleEndian(b, false);
+        return b;
+    }
+
+    private ByteBuffer slice() {
+        ByteBuffer bb = buffer.duplicate();
+        bb.limit((int) offset() + length());
+        bb.position((int) offset());
+        return bb;
+    }
+
+}
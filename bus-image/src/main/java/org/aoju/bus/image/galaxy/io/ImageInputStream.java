@@ -37,6 +37,9 @@ import org.aoju.bus.image.galaxy.data.*;
 import org.aoju.bus.logger.Logger;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -70,6 +73,10 @@ public class ImageInputStream extends FilterInputStream
     private static final int DEF_ALLOCATE_LIMIT = 0x4000000; // 64MiB
     // Length of the buffer used for readFully(short[], int, int)
     private static final int BYTE_BUF_LENGTH = 8192;
+    /**
+     * 映射方式下不超过该长度的值直接复制,更长的值延迟到首次访问
+     */
+    private static final int MAPPED_INLINE_LENGTH = 64;
     private final byte[] buffer = new byte[12];
     private final List<ItemPointer> itemPointers = new ArrayList<ItemPointer>(4);
     private byte[] byteBuf;
@@ -103,6 +110,8 @@ public class ImageInputStream extends FilterInputStream
     private String blkURI;
     private FileOutputStream blkOut;
     private long blkOutPos;
+    private int[] tagFilter;
+    private int tagFilterEnd;
 
     public ImageInputStream(InputStream in, String tsuid) throws IOException {
         super(in);
@@ -125,6 +134,27 @@ public class ImageInputStream extends FilterInputStream
         uri = file.toURI().toString();
     }
 
+    /**
+     * 以内存映射方式打开文件,长度超过64字节的值仅记录偏移量,
+     * 在首次访问时才从映射区复制并解码,文件大小不能超过2GiB
+     *
+     * @param file 文件
+     * @return 输入流
+     * @throws IOException 映射失败
+     */
+    public static ImageInputStream map(File file) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        ByteBuffer buffer;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } finally {
+            IoKit.close(channel);
+        }
+        ImageInputStream in = new ImageInputStream(new MappedInputStream(buffer));
+        in.uri = file.toURI().toString();
+        return in;
+    }
+
     public static String toAttributePath(List<ItemPointer> itemPointers, int tag) {
         StringBuilder sb = new StringBuilder();
         for (ItemPointer itemPointer : itemPointers) {
@@ -190,6 +220,33 @@ public class ImageInputStream extends FilterInputStream
         this.includeBulkData = includeBulkData;
     }
 
+    public final int[] getTagFilter() {
+        return tagFilter != null ? tagFilter.clone() : null;
+    }
+
+    /**
+     * 设置顶层数据集需要读取的属性,其余属性(包括整个序列)直接跳过而不读取;
+     * 由于属性按标签升序排列,读取到最大的标签之后即停止解析.
+     * 特定字符集(0008,0005)总是被读取,私有属性需同时包含其私有创建者标签
+     *
+     * @param tags 需要读取的标签,为空则读取全部属性
+     */
+    public final void setTagFilter(int... tags) {
+        if (tags == null || tags.length == 0) {
+            tagFilter = null;
+            return;
+        }
+        int[] filter = Arrays.copyOf(tags, tags.length + 1);
+        filter[tags.length] = Tag.SpecificCharacterSet;
+        Arrays.sort(filter);
+        int end = filter[0];
+        for (int tag : filter)
+            if (Integer.compareUnsigned(tag, end) > 0)
+                end = tag;
+        tagFilter = filter;
+        tagFilterEnd = end;
+    }
+
     public final BulkDataDescriptor getBulkDataDescriptor() {
         return bulkDataDescriptor;
     }
@@ -494,6 +551,14 @@ public class ImageInputStream extends FilterInputStream
             }
             if (hasStopTag && tag == stopTag)
                 break;
+            if (tagFilter != null && vr != null && itemPointers.isEmpty()) {
+                if (Integer.compareUnsigned(tag, tagFilterEnd) > 0)
+                    break;
+                if (Arrays.binarySearch(tagFilter, tag) < 0) {
+                    skipValue();
+                    continue;
+                }
+            }
             if (vr != null) {
                 if (vr == VR.UN) {
                     vr = ElementDictionary.vrOf(tag,
@@ -529,6 +594,8 @@ public class ImageInputStream extends FilterInputStream
                     (ObjectInputStream) super.in));
         } else if (includeBulkDataURI) {
             attrs.setValue(tag, vr, bulkDataCreator.createBulkData(this));
+        } else if (isMapped(attrs.bigEndian()) && !Tag.isGroupLength(tag)) {
+            attrs.setValue(tag, vr, createMappedBulkData());
         } else {
             byte[] b = readValue();
             if (!Tag.isGroupLength(tag)) {
@@ -571,6 +638,20 @@ public class ImageInputStream extends FilterInputStream
         return bulkData;
     }
 
+    private boolean isMapped(boolean bigEndian) {
+        return length > MAPPED_INLINE_LENGTH
+                && bigEndian == this.bigEndian
+                && super.in instanceof MappedInputStream;
+    }
+
+    private BulkData createMappedBulkData() throws IOException {
+        ByteBuffer buffer = ((MappedInputStream) super.in).buffer();
+        BulkData bulkData = new MappedBulkData(uri != null ? uri : Normal.EMPTY,
+                buffer, buffer.position(), length, bigEndian);
+        skipFully(length);
+        return bulkData;
+    }
+
     private boolean isBulkData(Attributes attrs) {
         return bulkDataDescriptor.isBulkData(itemPointers,
                 attrs.getPrivateCreator(tag), tag, vr, length);
@@ -603,6 +684,8 @@ public class ImageInputStream extends FilterInputStream
             frags.add(BulkData.deserializeFrom((ObjectInputStream) super.in));
         } else if (includeBulkDataURI) {
             frags.add(bulkDataCreator.createBulkData(this));
+        } else if (isMapped(frags.bigEndian())) {
+            frags.add(createMappedBulkData());
         } else {
             byte[] b = readValue();
             if (bigEndian != frags.bigEndian())
@@ -630,6 +713,34 @@ public class ImageInputStream extends FilterInputStream
         skipFully(length);
     }
 
+    private void skipValue() throws IOException {
+        if (length != -1) {
+            skipFully(length & 0xffffffffL);
+            return;
+        }
+        boolean explicitVR0 = explicitVR;
+        boolean bigEndian0 = bigEndian;
+        if (encodedVR == 0x554e // UN
+                && !probeExplicitVR()) {
+            explicitVR = false;
+            bigEndian = false;
+        }
+        while (readItemHeader()) {
+            if (length != -1) {
+                skipFully(length & 0xffffffffL);
+                continue;
+            }
+            for (; ; ) {
+                readHeader();
+                if (tag == Tag.ItemDelimitationItem)
+                    break;
+                skipValue();
+            }
+        }
+        explicitVR = explicitVR0;
+        bigEndian = bigEndian0;
+    }
+
     private void readSequence(int len, Attributes attrs, int sqtag)
             throws IOException {
         if (len == 0) {
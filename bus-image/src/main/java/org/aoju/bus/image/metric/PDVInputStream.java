@@ -26,9 +26,12 @@ package org.aoju.bus.image.metric;
 
 import org.aoju.bus.image.galaxy.data.Attributes;
 
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 
 /**
  * @author Kimi Liu
@@ -44,6 +47,32 @@ public abstract class PDVInputStream extends InputStream {
 
     public abstract void copyTo(OutputStream out) throws IOException;
 
+    /**
+     * 将剩余的PDV数据写入通道,默认经由{@link #copyTo(OutputStream)}写出,
+     * 子类可以覆盖以避免中间字节数组;通道不会被关闭
+     *
+     * @param channel 目标通道,如{@link java.nio.channels.FileChannel}
+     * @return 写入的字节数
+     * @throws IOException 读取或写入失败
+     */
+    public long copyTo(WritableByteChannel channel) throws IOException {
+        final long[] count = {0};
+        copyTo(new FilterOutputStream(Channels.newOutputStream(channel)) {
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+                count[0]++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+                count[0] += len;
+            }
+        });
+        return count[0];
+    }
+
     public abstract long skipAll() throws IOException;
 
 }
@@ -43,6 +43,8 @@ import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -609,4 +611,18 @@ public class PDUDecoder extends PDVInputStream {
         }
     }
 
+    @Override
+    public long copyTo(WritableByteChannel channel) throws IOException {
+        if (th != Thread.currentThread())
+            throw new IllegalStateException("Entered by wrong thread");
+        long n = 0;
+        while (!isLastPDV()) {
+            ByteBuffer bb = ByteBuffer.wrap(buf, pos, pdvend - pos);
+            while (bb.hasRemaining())
+                n += channel.write(bb);
+            pos = pdvend;
+        }
+        return n;
+    }
+
 }
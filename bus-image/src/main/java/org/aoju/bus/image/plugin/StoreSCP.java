@@ -39,9 +39,15 @@ import org.aoju.bus.image.metric.service.BasicCStoreSCP;
 import org.aoju.bus.image.metric.service.ServiceHandler;
 import org.aoju.bus.logger.Logger;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
@@ -59,7 +65,10 @@ public class StoreSCP extends BasicCStoreSCP {
     public final String storageDir;
     public final List<Node> authorizedCallingNodes;
     public Efforts efforts;
+    private final List<File> unsynced = new ArrayList<>();
     private volatile int status = Status.Success;
+    private volatile int fsync;
+    private volatile DataSink sink;
 
     /**
      * @param storageDir 存储文件夹的基本路径
@@ -101,6 +110,22 @@ public class StoreSCP extends BasicCStoreSCP {
         }
     }
 
+    private static void force(File file) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE);
+        } catch (NoSuchFileException e) {
+            // 文件已被后续处理(如Efforts)移走或删除,其持久化由后续处理负责
+            Logger.warn("M-SYNC {} skipped: file no longer exists", file);
+            return;
+        }
+        try {
+            channel.force(false);
+        } finally {
+            IoKit.close(channel);
+        }
+    }
+
     private static void deleteFile(Association as, File file) {
         if (file.delete())
             Logger.info("{}: M-DELETE {}", as, file);
@@ -131,6 +156,11 @@ public class StoreSCP extends BasicCStoreSCP {
         File file = new File(storageDir, File.separator + iuid + Builder.IMAGE_ORIGINAL_SUFFIX);
         try {
             Attributes fmi = as.createFileMetaInformation(iuid, cuid, tsuid);
+            DataSink sink = this.sink;
+            if (sink != null) {
+                sink.store(as, fmi, data);
+                return;
+            }
             storeTo(as, fmi, data, file);
             if (ObjectKit.isNotEmpty(efforts)) {
                 efforts.supports(fmi, file, this.getClass());
@@ -143,13 +173,72 @@ public class StoreSCP extends BasicCStoreSCP {
     private void storeTo(Association as, Attributes fmi, PDVInputStream data, File file) throws IOException {
         Logger.debug("{}: M-WRITE {}", as, file);
         file.getParentFile().mkdirs();
-        ImageOutputStream out = new ImageOutputStream(file);
+        ByteArrayOutputStream header = new ByteArrayOutputStream(512);
+        ImageOutputStream out = new ImageOutputStream(header, UID.ExplicitVRLittleEndian);
         try {
             out.writeFileMetaInformation(fmi);
-            data.copyTo(out);
         } finally {
             IoKit.close(out);
         }
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            ByteBuffer bb = ByteBuffer.wrap(header.toByteArray());
+            while (bb.hasRemaining())
+                channel.write(bb);
+            data.copyTo(channel);
+            if (fsync == 1)
+                channel.force(false);
+        } finally {
+            IoKit.close(channel);
+        }
+        if (fsync > 1)
+            unsynced(file);
+    }
+
+    private void unsynced(File file) throws IOException {
+        synchronized (unsynced) {
+            unsynced.add(file);
+            if (unsynced.size() < fsync)
+                return;
+        }
+        sync();
+    }
+
+    /**
+     * 将批量模式下尚未同步的文件刷写到磁盘
+     *
+     * @throws IOException 同步失败
+     */
+    public void sync() throws IOException {
+        File[] files;
+        synchronized (unsynced) {
+            if (unsynced.isEmpty())
+                return;
+            files = unsynced.toArray(new File[0]);
+            unsynced.clear();
+        }
+        IOException ex = null;
+        for (File file : files) {
+            try {
+                force(file);
+            } catch (IOException e) {
+                Logger.warn("M-SYNC {} failed: {}", file, e.getMessage());
+                ex = e;
+            }
+        }
+        if (ex != null)
+            throw ex;
+    }
+
+    @Override
+    public void onClose(Association as) {
+        super.onClose(as);
+        try {
+            sync();
+        } catch (IOException e) {
+            Logger.warn("{}: M-SYNC failed", as, e);
+        }
     }
 
     private ServiceHandler createServiceRegistry() {
@@ -163,6 +252,40 @@ public class StoreSCP extends BasicCStoreSCP {
         this.status = status;
     }
 
+    /**
+     * 设置文件同步策略,默认0
+     * 0: 不主动同步,由操作系统决定写回时机
+     * 1: 每个文件写完后立即同步
+     * n: 每累计n个文件批量同步一次,关联关闭时同步剩余文件;
+     * 此模式下响应先于同步返回,掉电时最近n个文件可能丢失;
+     * 同步前已被{@link Efforts}移走的文件会跳过并记录警告
+     *
+     * @param fsync 同步策略
+     */
+    public void setFsync(int fsync) {
+        if (fsync < 0)
+            throw new IllegalArgumentException("fsync: " + fsync);
+        this.fsync = fsync;
+    }
+
+    public int getFsync() {
+        return fsync;
+    }
+
+    public DataSink getSink() {
+        return sink;
+    }
+
+    /**
+     * 设置存储回调,设置后数据集不再写入{@link #storageDir},
+     * 也不再调用{@link Efforts}
+     *
+     * @param sink 存储回调
+     */
+    public void setSink(DataSink sink) {
+        this.sink = sink;
+    }
+
     public void loadDefaultTransferCapability(URL url) {
         Properties p = new Properties();
 
@@ -48,10 +48,17 @@ import javax.xml.parsers.SAXParserFactory;
 import java.io.*;
 import java.security.GeneralSecurityException;
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * @author Kimi Liu
@@ -78,6 +85,8 @@ public class StoreSCU implements AutoCloseable {
     private Association as;
     private long totalSize = 0;
     private int filesScanned;
+    private int associations = 1;
+    private int retries;
     private RSPHandlerFactory rspHandlerFactory = file -> new DimseRSPHandler(as.nextMessageID()) {
 
         @Override
@@ -244,6 +253,28 @@ public class StoreSCU implements AutoCloseable {
         relExtNeg = enable;
     }
 
+    /**
+     * 设置发送时使用的关联数量,大于1时{@link #sendFiles()}会额外建立关联并行发送
+     * 并行发送时不使用{@link RSPHandlerFactory},且设备的执行器需要能够同时运行每个关联的读取任务
+     *
+     * @param associations 关联数量,最多64个
+     */
+    public final void setAssociations(int associations) {
+        if (associations < 1 || associations > Long.SIZE) {
+            throw new IllegalArgumentException("associations: " + associations);
+        }
+        this.associations = associations;
+    }
+
+    /**
+     * 设置并行发送时失败实例的重试次数
+     *
+     * @param retries 重试次数
+     */
+    public final void setRetries(int retries) {
+        this.retries = Math.max(0, retries);
+    }
+
     public void scanFiles(List<String> fnames) throws IOException {
         this.scanFiles(fnames, true);
     }
@@ -264,6 +295,10 @@ public class StoreSCU implements AutoCloseable {
     }
 
     public void sendFiles() throws IOException {
+        if (associations > 1) {
+            new Sender().send();
+            return;
+        }
         BufferedReader fileInfos = new BufferedReader(new InputStreamReader(new FileInputStream(tmpFile)));
         try {
             String line;
@@ -276,9 +311,9 @@ public class StoreSCU implements AutoCloseable {
                         break;
                     }
                 }
-                String[] ss = (String[]) StringKit.split(line, '\t').toArray();
+                List<String> ss = StringKit.split(line, '\t');
                 try {
-                    send(new File(ss[4]), Long.parseLong(ss[3]), ss[1], ss[0], ss[2]);
+                    send(new File(ss.get(4)), Long.parseLong(ss.get(3)), ss.get(1), ss.get(0), ss.get(2));
                 } catch (Exception e) {
                     Logger.error("Cannot send file", e);
                 }
@@ -343,6 +378,12 @@ public class StoreSCU implements AutoCloseable {
 
     public void send(final File f, long fmiEndPos, String cuid, String iuid, String filets)
             throws IOException, InterruptedException, ParserConfigurationException, SAXException {
+        send(as, f, fmiEndPos, cuid, iuid, filets, rspHandlerFactory);
+    }
+
+    private void send(Association as, final File f, long fmiEndPos, String cuid, String iuid, String filets,
+                      RSPHandlerFactory rspHandlerFactory)
+            throws IOException, InterruptedException, ParserConfigurationException, SAXException {
         String ts = selectTransferSyntax(as, cuid, filets);
 
         boolean noChange = uidSuffix == null && attrs.isEmpty() && ts.equals(filets) && attributesEditors == null;
@@ -401,7 +442,7 @@ public class StoreSCU implements AutoCloseable {
         as = ae.connect(remote, rq);
     }
 
-    private void onCStoreRSP(Attributes cmd, File f) {
+    private synchronized void onCStoreRSP(Attributes cmd, File f) {
         int status = cmd.getInt(Tag.Status, -1);
         state.setStatus(status);
         String ps;
@@ -441,6 +482,349 @@ public class StoreSCU implements AutoCloseable {
         return state;
     }
 
+    /**
+     * 多关联并行发送器
+     * <p>
+     * 每个关联对应一个发送线程和一个双端队列,读取临时文件的线程按轮询方式分配实例,
+     * 空闲的发送线程从其他关联的队列尾部窃取实例;关联未协商实例的SOP类时实例转交给其他关联,
+     * 发送失败或C-STORE-RSP失败的实例按重试次数重新入队,所有关联共用同一个{@link Progress}
+     * </P>
+     */
+    private class Sender {
+
+        /**
+         * 已分配但尚未得到最终结果的实例数量
+         */
+        private final AtomicInteger pending = new AtomicInteger();
+        private Worker[] workers;
+        private Semaphore capacity;
+        private volatile boolean eof;
+        private volatile boolean cancel;
+
+        void send() throws IOException {
+            workers = open();
+            capacity = new Semaphore(workers.length * 256);
+            Thread[] threads = new Thread[workers.length];
+            for (int i = 0; i < workers.length; i++) {
+                threads[i] = new Thread(workers[i], "storescu-" + i);
+                threads[i].start();
+            }
+            int next = 0;
+            try (BufferedReader fileInfos = new BufferedReader(new InputStreamReader(new FileInputStream(tmpFile)))) {
+                String line;
+                while ((line = fileInfos.readLine()) != null) {
+                    if (isCancel()) {
+                        Logger.info("Aborting C-Store: {}", "cancel by progress");
+                        break;
+                    }
+                    // 先解析再占用许可和计数,格式错误的行不能使pending无法归零
+                    final Item item;
+                    try {
+                        List<String> ss = StringKit.split(line, '\t');
+                        item = new Item(new File(ss.get(4)), Long.parseLong(ss.get(3)), ss.get(1), ss.get(0), ss.get(2));
+                    } catch (Exception e) {
+                        Logger.error("Cannot send file", e);
+                        continue;
+                    }
+                    if (!acquire()) {
+                        break;
+                    }
+                    pending.incrementAndGet();
+                    workers[next++ % workers.length].deque.offerLast(item);
+                }
+            } finally {
+                eof = true;
+                join(threads);
+                for (Worker worker : workers) {
+                    Item item;
+                    while ((item = worker.deque.pollFirst()) != null) {
+                        fail(item, "no association available");
+                    }
+                }
+            }
+        }
+
+        private Worker[] open() {
+            List<Worker> list = new ArrayList<>(associations);
+            list.add(new Worker(0, as));
+            for (int i = 1; i < associations; i++) {
+                try {
+                    list.add(new Worker(list.size(), ae.connect(remote, rq)));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (Exception e) {
+                    Logger.warn("Cannot open association {}: {}", i, e.getMessage());
+                }
+            }
+            return list.toArray(new Worker[0]);
+        }
+
+        private void join(Thread[] threads) {
+            for (Thread thread : threads) {
+                while (thread.isAlive()) {
+                    try {
+                        thread.join();
+                    } catch (InterruptedException e) {
+                        cancel = true;
+                        abort();
+                    }
+                }
+            }
+        }
+
+        private boolean acquire() {
+            try {
+                while (!capacity.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                    if (isCancel() || !isAlive()) {
+                        return false;
+                    }
+                }
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel = true;
+                abort();
+                return false;
+            }
+        }
+
+        private boolean isCancel() {
+            if (!cancel) {
+                Progress p = state.getProgress();
+                if (p != null && p.isCancel()) {
+                    cancel = true;
+                    abort();
+                }
+            }
+            return cancel;
+        }
+
+        private boolean isAlive() {
+            for (Worker worker : workers) {
+                if (worker.alive) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void abort() {
+            for (Worker worker : workers) {
+                worker.as.abort();
+            }
+        }
+
+        /**
+         * 将实例分配给下一个可用且未拒绝该实例的关联
+         *
+         * @param item 实例
+         * @param from 当前关联下标
+         */
+        private void route(Item item, int from) {
+            for (int i = 1; i <= workers.length; i++) {
+                Worker worker = workers[(from + i) % workers.length];
+                if (worker.alive && (item.rejected & (1L << worker.index)) == 0) {
+                    worker.deque.offerLast(item);
+                    return;
+                }
+            }
+            fail(item, "no association accepts " + item.cuid);
+        }
+
+        private void retry(Item item, int from, String reason) {
+            if (item.attempts < retries && !cancel) {
+                item.attempts++;
+                Logger.info("Retry {} ({}/{}): {}", item.file, item.attempts, retries, reason);
+                route(item, from);
+            } else {
+                fail(item, reason);
+            }
+        }
+
+        private void complete(Item item, Attributes cmd) {
+            synchronized (StoreSCU.this) {
+                onCStoreRSP(cmd, item.file);
+                Progress progress = state.getProgress();
+                if (progress != null) {
+                    progress.setProcessedFile(item.file);
+                    progress.setAttributes(cmd);
+                }
+            }
+            done();
+        }
+
+        private void fail(Item item, String reason) {
+            Logger.error("Cannot send file {}: {}", item.file, reason);
+            synchronized (StoreSCU.this) {
+                Builder.notify(state, item.iuid, item.cuid, org.aoju.bus.image.Status.ProcessingFailure,
+                        Builder.FAILED, filesScanned);
+            }
+            done();
+        }
+
+        private void done() {
+            pending.decrementAndGet();
+            capacity.release();
+        }
+
+        private class Worker implements Runnable {
+
+            private final int index;
+            private final Association as;
+            private final ConcurrentLinkedDeque<Item> deque = new ConcurrentLinkedDeque<>();
+            private volatile boolean alive = true;
+
+            Worker(int index, Association as) {
+                this.index = index;
+                this.as = as;
+            }
+
+            @Override
+            public void run() {
+                try {
+                    while (!isCancel() && as.isReadyForDataTransfer()) {
+                        Item item = take();
+                        if (item != null) {
+                            dispatch(item);
+                        } else if (eof && pending.get() == 0) {
+                            break;
+                        } else {
+                            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                        }
+                    }
+                    as.waitForOutstandingRSP();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    Logger.error("Waiting for RSP", e);
+                } finally {
+                    alive = false;
+                    if (as != StoreSCU.this.as) {
+                        try {
+                            if (as.isReadyForDataTransfer()) {
+                                as.release();
+                            }
+                            as.waitForSocketClose();
+                        } catch (IOException | InterruptedException e) {
+                            Logger.warn("Cannot release association: {}", e.getMessage());
+                        }
+                    }
+                }
+            }
+
+            private Item take() {
+                Item item = deque.pollFirst();
+                if (item != null) {
+                    return item;
+                }
+                for (int i = 1; i < workers.length; i++) {
+                    item = workers[(index + i) % workers.length].deque.pollLast();
+                    if (item != null) {
+                        if ((item.rejected & (1L << index)) == 0) {
+                            return item;
+                        }
+                        route(item, index);
+                    }
+                }
+                return null;
+            }
+
+            private void dispatch(Item item) {
+                if (as.getTransferSyntaxesFor(item.cuid).isEmpty()) {
+                    item.rejected |= 1L << index;
+                    route(item, index);
+                    return;
+                }
+                Handler handler = new Handler(this, item);
+                try {
+                    StoreSCU.this.send(as, item.file, item.fmiEndPos, item.cuid, item.iuid, item.ts, f -> handler);
+                } catch (Exception e) {
+                    if (e instanceof InterruptedException) {
+                        Thread.currentThread().interrupt();
+                    }
+                    handler.failed(e.getMessage());
+                }
+            }
+
+        }
+
+        private class Handler extends DimseRSPHandler {
+
+            private final Worker worker;
+            private final Item item;
+            private final AtomicBoolean done = new AtomicBoolean();
+
+            Handler(Worker worker, Item item) {
+                super(worker.as.nextMessageID());
+                this.worker = worker;
+                this.item = item;
+            }
+
+            @Override
+            public void onDimseRSP(Association as, Attributes cmd, Attributes data) {
+                super.onDimseRSP(as, cmd, data);
+                int status = cmd.getInt(Tag.Status, -1);
+                if (org.aoju.bus.image.Status.isPending(status) || !done.compareAndSet(false, true)) {
+                    return;
+                }
+                switch (status) {
+                    case org.aoju.bus.image.Status.Success:
+                    case org.aoju.bus.image.Status.CoercionOfDataElements:
+                    case org.aoju.bus.image.Status.ElementsDiscarded:
+                    case org.aoju.bus.image.Status.DataSetDoesNotMatchSOPClassWarning:
+                        complete(item, cmd);
+                        break;
+                    default:
+                        if (item.attempts < retries && !cancel) {
+                            retry(item, worker.index, "status " + Tag.shortToHexString(status));
+                        } else {
+                            complete(item, cmd);
+                        }
+                }
+            }
+
+            @Override
+            public void onClose(Association as) {
+                super.onClose(as);
+                failed("association closed");
+            }
+
+            void failed(String reason) {
+                if (done.compareAndSet(false, true)) {
+                    retry(item, worker.index, reason);
+                }
+            }
+
+        }
+
+    }
+
+    /**
+     * 待发送的实例
+     */
+    private static class Item {
+
+        private final File file;
+        private final long fmiEndPos;
+        private final String cuid;
+        private final String iuid;
+        private final String ts;
+        private int attempts;
+        /**
+         * 未协商该SOP类的关联下标
+         */
+        private volatile long rejected;
+
+        Item(File file, long fmiEndPos, String cuid, String iuid, String ts) {
+            this.file = file;
+            this.fmiEndPos = fmiEndPos;
+            this.cuid = cuid;
+            this.iuid = iuid;
+            this.ts = ts;
+        }
+
+    }
+
     public interface RSPHandlerFactory {
 
         DimseRSPHandler createDimseRSPHandler(File f);
@@ -27,6 +27,8 @@ package org.aoju.bus.limiter;
 
 import org.aoju.bus.limiter.execute.LimiterExecutionContext;
 
+import java.util.Map;
+
 /**
  * 当limiter由于其他原因不能正常工作(如Redis宕机)
  * 该接口将会被调用,如果你不希望这些异常影响接口提供服务
@@ -46,4 +48,16 @@ public interface Handler {
      */
     boolean resolve(Throwable throwable, LimiterExecutionContext executionContext);
 
+    /**
+     * 限制器统计信息回调,例如自适应并发限制器调整限制值后会调用该方法
+     * 默认不做任何处理,可在此将指标输出到监控系统
+     *
+     * @param limiterName 限制器名称
+     * @param key         键
+     * @param metrics     统计信息
+     */
+    default void metrics(String limiterName, Object key, Map<String, Object> metrics) {
+
+    }
+
 }
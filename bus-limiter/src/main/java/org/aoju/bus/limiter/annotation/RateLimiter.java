@@ -66,4 +66,12 @@ public @interface RateLimiter {
      */
     long capacity() default 10;
 
+    /**
+     * 每次请求消耗的令牌数
+     * 默认为 1 且不能大于容量
+     *
+     * @return the long
+     */
+    long permits() default 1;
+
 }
@@ -0,0 +1,242 @@
+/*********************************************************************************
+ *                                                                               *
+ * The MIT License (MIT)                                                         *
+ *                                                                               *
+ * Copyright (c) 2015-2020 aoju.org and other contributors.                      *
+ *                                                                               *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy  *
+ * of this software and associated documentation files (the "Software"), to deal *
+ * in the Software without restriction, including without limitation the rights  *
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell     *
+ * copies of the Software, and to permit persons to whom the Software is         *
+ * furnished to do so, subject to the following conditions:                      *
+ *                                                                               *
+ * The above copyright notice and this permission notice shall be included in    *
+ * all copies or substantial portions of the Software.                           *
+ *                                                                               *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR    *
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,      *
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE   *
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER        *
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, *
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN     *
+ * THE SOFTWARE.                                                                 *
+ ********************************************************************************/
+package org.aoju.bus.limiter.support.peak.jdk;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 自适应并发限制
+ * 参考Netflix concurrency-limits的Vegas算法,以最小响应时间作为无负载响应时间,
+ * 由当前响应时间估算后端的排队数,排队过多时降低并发限制,排队很少时提高并发限制,限制值介于1与最大并发数之间
+ * 每经过若干次采样会重新探测无负载响应时间,以适应后端容量的变化
+ *
+ * @author Kimi Liu
+ * @version 6.0.1
+ * @since JDK 1.8+
+ */
+public class AdaptiveLimit {
+
+    /**
+     * 重新探测无负载响应时间的采样间隔倍数,实际间隔为该值乘以当前限制
+     */
+    private static final int PROBE_MULTIPLIER = 30;
+
+    /**
+     * 最大并发数
+     */
+    private final int maxLimit;
+    /**
+     * 当前执行中的请求数
+     */
+    private final AtomicInteger inflight = new AtomicInteger();
+    /**
+     * 排队等待的请求数
+     */
+    private final AtomicInteger waiters = new AtomicInteger();
+    /**
+     * 被拒绝的请求数
+     */
+    private final AtomicLong rejected = new AtomicLong();
+    /**
+     * 排队等待锁
+     */
+    private final Object monitor = new Object();
+    /**
+     * 当前并发限制
+     */
+    private volatile int limit;
+    /**
+     * 估算的并发限制(未取整)
+     */
+    private double estimatedLimit;
+    /**
+     * 无负载响应时间(纳秒)
+     */
+    private long rttNoLoad;
+    /**
+     * 最近一次响应时间(纳秒)
+     */
+    private long lastRtt;
+    /**
+     * 距离上次探测的采样数
+     */
+    private long samples;
+
+    public AdaptiveLimit(int maxLimit) {
+        this.maxLimit = Math.max(1, maxLimit);
+        this.limit = this.maxLimit;
+        this.estimatedLimit = this.maxLimit;
+    }
+
+    /**
+     * 获取执行许可,达到并发限制时最多排队等待给定时长
+     *
+     * @param maxQueue     最大排队数,不大于0时不排队
+     * @param timeoutNanos 排队超时时间(纳秒)
+     * @return 获取成功返回true
+     */
+    public boolean acquire(int maxQueue, long timeoutNanos) {
+        if (tryAcquire()) {
+            return true;
+        }
+        if (maxQueue <= 0 || timeoutNanos <= 0) {
+            rejected.incrementAndGet();
+            return false;
+        }
+        if (waiters.incrementAndGet() > maxQueue) {
+            waiters.decrementAndGet();
+            rejected.incrementAndGet();
+            return false;
+        }
+        try {
+            final long deadline = System.nanoTime() + timeoutNanos;
+            synchronized (monitor) {
+                long remaining;
+                while (false == tryAcquire()) {
+                    remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        rejected.incrementAndGet();
+                        return false;
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(monitor, remaining);
+                }
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected.incrementAndGet();
+            return false;
+        } finally {
+            waiters.decrementAndGet();
+        }
+    }
+
+    /**
+     * 释放执行许可并根据响应时间调整并发限制
+     *
+     * @param rttNanos 本次请求的响应时间(纳秒),小于等于0时不参与调整
+     * @return 并发限制是否发生变化
+     */
+    public boolean release(long rttNanos) {
+        final int inflight = this.inflight.decrementAndGet();
+        boolean changed = false;
+        if (rttNanos > 0) {
+            synchronized (this) {
+                changed = onSample(rttNanos, inflight + 1);
+            }
+        }
+        if (waiters.get() > 0) {
+            synchronized (monitor) {
+                if (changed) {
+                    monitor.notifyAll();
+                } else {
+                    monitor.notify();
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * 获取当前统计信息
+     *
+     * @return 统计信息
+     */
+    public Map<String, Object> metrics() {
+        final Map<String, Object> metrics = new HashMap<>();
+        metrics.put("limit", limit);
+        metrics.put("maxLimit", maxLimit);
+        metrics.put("inflight", inflight.get());
+        metrics.put("queued", waiters.get());
+        metrics.put("rejected", rejected.get());
+        synchronized (this) {
+            metrics.put("rttNoLoad", TimeUnit.NANOSECONDS.toMicros(rttNoLoad));
+            metrics.put("rtt", TimeUnit.NANOSECONDS.toMicros(lastRtt));
+        }
+        return metrics;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    private boolean tryAcquire() {
+        int current;
+        do {
+            current = inflight.get();
+            if (current >= limit) {
+                return false;
+            }
+        } while (false == inflight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * 处理一次响应时间采样,调用时需持有锁
+     *
+     * @param rtt      响应时间(纳秒)
+     * @param inflight 请求结束前的并发数
+     * @return 并发限制是否发生变化
+     */
+    private boolean onSample(long rtt, int inflight) {
+        lastRtt = rtt;
+        if (++samples >= PROBE_MULTIPLIER * (long) limit) {
+            // 重新探测,以当前响应时间作为新的无负载响应时间
+            samples = 0;
+            rttNoLoad = rtt;
+            return false;
+        }
+        if (rttNoLoad <= 0 || rtt < rttNoLoad) {
+            rttNoLoad = rtt;
+            return false;
+        }
+        // 实际并发远低于限制值时,响应时间无法反映容量,不调整
+        if (inflight * 2 < estimatedLimit) {
+            return false;
+        }
+        final double log = Math.max(1, Math.log10(estimatedLimit));
+        final double queueSize = Math.ceil(estimatedLimit * (1 - (double) rttNoLoad / rtt));
+        if (queueSize <= 3 * log) {
+            estimatedLimit = Math.min(maxLimit, estimatedLimit + log);
+        } else if (queueSize >= 6 * log) {
+            estimatedLimit = Math.max(1, estimatedLimit - log);
+        } else {
+            return false;
+        }
+
+        final int previous = limit;
+        limit = (int) estimatedLimit;
+        return previous != limit;
+    }
+
+}
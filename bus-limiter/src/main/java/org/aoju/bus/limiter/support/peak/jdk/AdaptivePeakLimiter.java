@@ -0,0 +1,204 @@
+/*********************************************************************************
+ *                                                                               *
+ * The MIT License (MIT)                                                         *
+ *                                                                               *
+ * Copyright (c) 2015-2020 aoju.org and other contributors.                      *
+ *                                                                               *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy  *
+ * of this software and associated documentation files (the "Software"), to deal *
+ * in the Software without restriction, including without limitation the rights  *
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell     *
+ * copies of the Software, and to permit persons to whom the Software is         *
+ * furnished to do so, subject to the following conditions:                      *
+ *                                                                               *
+ * The above copyright notice and this permission notice shall be included in    *
+ * all copies or substantial portions of the Software.                           *
+ *                                                                               *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR    *
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,      *
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE   *
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER        *
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, *
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN     *
+ * THE SOFTWARE.                                                                 *
+ ********************************************************************************/
+package org.aoju.bus.limiter.support.peak.jdk;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import org.aoju.bus.limiter.Handler;
+import org.aoju.bus.limiter.support.peak.PeakLimiter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 自适应的并发限制器
+ * 与{@link JdkPeakLimiter}的固定信号量不同,并发限制根据资源的响应时间在 1 和 max 之间自动调整,
+ * 达到限制时可选择排队等待,限制值变化时通过{@link Handler#metrics(String, Object, java.util.Map)}输出统计信息
+ * 与{@link JdkPeakLimiter}一样以资源键和 max 共同确定限制,长时间未访问的限制会被移除
+ *
+ * @author Kimi Liu
+ * @version 6.0.1
+ * @since JDK 1.8+
+ */
+public class AdaptivePeakLimiter extends PeakLimiter {
+
+    /**
+     * 记录当前线程获取许可的时间,用于在释放时计算响应时间
+     * 在其它线程释放时(如异步完成)不产生样本,记录由{@link StartTimes}的容量及过期时间淘汰
+     */
+    private static final ThreadLocal<StartTimes> START_TIMES = ThreadLocal.withInitial(StartTimes::new);
+
+    private final String limiterName;
+
+    private final LoadingCache<JdkPeakLimiter.CacheKey, AdaptiveLimit> limits;
+
+    /**
+     * 最大排队数
+     */
+    private final int maxQueue;
+
+    /**
+     * 排队超时时间(纳秒)
+     */
+    private final long queueTimeoutNanos;
+
+    /**
+     * 统计信息输出
+     */
+    private final Handler handler;
+
+    public AdaptivePeakLimiter(String limiterName) {
+        this(limiterName, 0, 0, TimeUnit.MILLISECONDS, null);
+    }
+
+    /**
+     * 长时间未访问的限制在1小时后移除
+     *
+     * @param limiterName  名称
+     * @param maxQueue     达到并发限制时的最大排队数,不大于0时直接拒绝
+     * @param queueTimeout 排队超时时间
+     * @param unit         时间单位
+     * @param handler      统计信息输出,可以为null
+     */
+    public AdaptivePeakLimiter(String limiterName, int maxQueue, long queueTimeout, TimeUnit unit, Handler handler) {
+        this(limiterName, maxQueue, queueTimeout, unit, 1, TimeUnit.HOURS, handler);
+    }
+
+    /**
+     * @param limiterName  名称
+     * @param maxQueue     达到并发限制时的最大排队数,不大于0时直接拒绝
+     * @param queueTimeout 排队超时时间
+     * @param unit              时间单位
+     * @param expireAfterAccess 限制未被访问后的过期时间
+     * @param expireUnit        过期时间单位
+     * @param handler           统计信息输出,可以为null
+     */
+    public AdaptivePeakLimiter(String limiterName, int maxQueue, long queueTimeout, TimeUnit unit,
+                               long expireAfterAccess, TimeUnit expireUnit, Handler handler) {
+        this.limiterName = limiterName;
+        this.maxQueue = maxQueue;
+        this.queueTimeoutNanos = unit.toNanos(queueTimeout);
+        this.handler = handler;
+        this.limits = CacheBuilder.newBuilder()
+                .concurrencyLevel(16)
+                .expireAfterAccess(expireAfterAccess, expireUnit)
+                .build(new CacheLoader<JdkPeakLimiter.CacheKey, AdaptiveLimit>() {
+                    @Override
+                    public AdaptiveLimit load(JdkPeakLimiter.CacheKey key) {
+                        return new AdaptiveLimit(key.getMax());
+                    }
+                });
+    }
+
+    @Override
+    public boolean acquire(Object key, int max) {
+        final AdaptiveLimit limit = limits.getUnchecked(new JdkPeakLimiter.CacheKey(key, max));
+        if (limit.acquire(maxQueue, queueTimeoutNanos)) {
+            START_TIMES.get().push(limit, System.nanoTime());
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void release(Object key, int max) {
+        final AdaptiveLimit limit = limits.getIfPresent(new JdkPeakLimiter.CacheKey(key, max));
+        if (null == limit) {
+            return;
+        }
+        final long now = System.nanoTime();
+        final long start = START_TIMES.get().pop(limit, now);
+        final long rtt = start == Long.MIN_VALUE ? 0 : now - start;
+        if (limit.release(rtt) && null != handler) {
+            handler.metrics(limiterName, key, limit.metrics());
+        }
+    }
+
+    /**
+     * 获取指定键的并发限制
+     *
+     * @param key 键
+     * @param max 最大并发数
+     * @return 并发限制, 不存在时返回null
+     */
+    public AdaptiveLimit getLimit(Object key, int max) {
+        return limits.getIfPresent(new JdkPeakLimiter.CacheKey(key, max));
+    }
+
+    @Override
+    public String getLimiterName() {
+        return limiterName;
+    }
+
+    /**
+     * 线程内获取许可的时间记录,同一线程可能嵌套获取多个许可
+     * 容量固定,已满时淘汰最早的记录;超过{@link #STALE_NANOS}的记录视为在其它线程释放,不再匹配
+     */
+    private static class StartTimes {
+
+        private static final int CAPACITY = 8;
+        private static final long STALE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+        private final AdaptiveLimit[] limits = new AdaptiveLimit[CAPACITY];
+        private final long[] times = new long[CAPACITY];
+        private int size;
+
+        void push(AdaptiveLimit limit, long time) {
+            evict(time);
+            if (size == CAPACITY) {
+                remove(0);
+            }
+            limits[size] = limit;
+            times[size] = time;
+            size++;
+        }
+
+        long pop(AdaptiveLimit limit, long now) {
+            evict(now);
+            for (int i = size - 1; i >= 0; i--) {
+                if (limits[i] == limit) {
+                    final long time = times[i];
+                    remove(i);
+                    return time;
+                }
+            }
+            return Long.MIN_VALUE;
+        }
+
+        private void evict(long now) {
+            while (size > 0 && now - times[0] > STALE_NANOS) {
+                remove(0);
+            }
+        }
+
+        private void remove(int index) {
+            System.arraycopy(limits, index + 1, limits, index, size - index - 1);
+            System.arraycopy(times, index + 1, times, index, size - index - 1);
+            limits[--size] = null;
+        }
+
+    }
+
+}
@@ -59,7 +59,7 @@ public class JdkPeakLimiter extends PeakLimiter {
     @Override
     public boolean acquire(Object key, int max) {
         CacheKey cacheKey = new CacheKey(key, max);
-        return cache.getIfPresent(cacheKey).tryAcquire();
+        return cache.getUnchecked(cacheKey).tryAcquire();
     }
 
     @Override
@@ -87,6 +87,14 @@ public class JdkPeakLimiter extends PeakLimiter {
             this.max = max;
         }
 
+        public Object getKey() {
+            return key;
+        }
+
+        public int getMax() {
+            return max;
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
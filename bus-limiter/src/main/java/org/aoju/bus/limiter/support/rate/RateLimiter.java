@@ -35,13 +35,27 @@ import java.util.Map;
  */
 public abstract class RateLimiter implements Limiter<org.aoju.bus.limiter.annotation.RateLimiter> {
 
-    public abstract boolean acquire(Object key, double rate, long capacity);
+    /**
+     * 获取令牌
+     *
+     * @param key      键
+     * @param rate     每秒补充的令牌数
+     * @param capacity 最大可累计的令牌数
+     * @param permits  本次获取的令牌数
+     * @return true/false
+     */
+    public abstract boolean acquire(Object key, double rate, long capacity, long permits);
+
+    public boolean acquire(Object key, double rate, long capacity) {
+        return acquire(key, rate, capacity, 1);
+    }
 
     @Override
     public boolean limit(Object key, Map<String, Object> args) {
         double pps = (double) args.get("rate");
         long capacity = (long) args.get("capacity");
-        return acquire(key, pps, capacity);
+        Object permits = args.get("permits");
+        return acquire(key, pps, capacity, null == permits ? 1 : (long) permits);
     }
 
     @Override
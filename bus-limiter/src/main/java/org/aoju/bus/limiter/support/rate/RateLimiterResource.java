@@ -45,10 +45,18 @@ public class RateLimiterResource extends AbstractLimitedResource {
     @LimiterParameter
     private long capacity;
 
+    @LimiterParameter
+    private long permits;
+
     public RateLimiterResource(String key, Collection<String> argumentInjectors, String fallback, String errorHandler, String limiter, double rate, long capacity) {
+        this(key, argumentInjectors, fallback, errorHandler, limiter, rate, capacity, 1);
+    }
+
+    public RateLimiterResource(String key, Collection<String> argumentInjectors, String fallback, String errorHandler, String limiter, double rate, long capacity, long permits) {
         super(key, argumentInjectors, fallback, errorHandler, limiter);
         this.rate = rate;
         this.capacity = capacity;
+        this.permits = permits;
     }
 
     @Override
@@ -24,16 +24,17 @@
  ********************************************************************************/
 package org.aoju.bus.limiter.support.rate.jdk;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import org.aoju.bus.limiter.support.rate.RateLimiter;
 
-import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 一个RateLimiter组件
+ * 以资源键、速率及容量共同确定{@link RateLimiterObject},
+ * 令牌桶已满且超过过期时间的键会被定期清理
  *
  * @author Kimi Liu
  * @version 6.0.1
@@ -41,10 +42,22 @@ import java.util.concurrent.TimeUnit;
  */
 public class JdkRateLimiter extends RateLimiter {
 
-    private String rateLimiterName;
+    private final String rateLimiterName;
 
-    private LoadingCache<CacheKey, RateLimiterObject>
-            cache;
+    /**
+     * 资源键到其下各组速率及容量的{@link RateLimiterObject},命中时只做基本类型比较,不创建对象
+     */
+    private final ConcurrentMap<Object, Entry> cache = new ConcurrentHashMap<>();
+
+    /**
+     * 过期时间(纳秒)
+     */
+    private final long expireNanos;
+
+    /**
+     * 下次清理时间,基于{@link System#nanoTime()}
+     */
+    private final AtomicLong nextCleanup;
 
     /**
      * @param rateLimiterName       名称
@@ -53,22 +66,19 @@ public class JdkRateLimiter extends RateLimiter {
      */
     public JdkRateLimiter(String rateLimiterName, long expireAfterAccess, TimeUnit expireAfterAccessUnit) {
         this.rateLimiterName = rateLimiterName;
-        this.cache = CacheBuilder.newBuilder()
-                .expireAfterAccess(expireAfterAccess, expireAfterAccessUnit)
-                .concurrencyLevel(16)
-                .build(new CacheLoader<CacheKey, RateLimiterObject>() {
-                    @Override
-                    public RateLimiterObject load(CacheKey key) {
-                        return new RateLimiterObject();
-                    }
-                });
+        this.expireNanos = expireAfterAccessUnit.toNanos(expireAfterAccess);
+        this.nextCleanup = new AtomicLong(System.nanoTime() + this.expireNanos);
     }
 
     @Override
-    public boolean acquire(Object key, double rate, long capacity) {
-        CacheKey cacheKey = new CacheKey(key, rate, capacity);
-        RateLimiterObject rateLimiterObject = cache.getUnchecked(cacheKey);
-        return rateLimiterObject.tryAcquire(1, rate, capacity);
+    public boolean acquire(Object key, double rate, long capacity, long permits) {
+        Entry entry = Entry.find(cache.get(key), rate, capacity);
+        if (null == entry) {
+            entry = Entry.find(cache.compute(key, (k, head) -> null == Entry.find(head, rate, capacity)
+                    ? new Entry(rate, capacity, head) : head), rate, capacity);
+            cleanup();
+        }
+        return entry.object.tryAcquire(permits, rate, capacity);
     }
 
     @Override
@@ -76,31 +86,63 @@ public class JdkRateLimiter extends RateLimiter {
         return rateLimiterName;
     }
 
-    private static class CacheKey {
+    /**
+     * 清理过期的键,每个过期周期内最多由一个线程执行一次
+     */
+    private void cleanup() {
+        final long now = System.nanoTime();
+        final long next = nextCleanup.get();
+        if (now - next >= 0 && nextCleanup.compareAndSet(next, now + expireNanos)) {
+            for (Object key : cache.keySet()) {
+                cache.computeIfPresent(key, (k, head) -> Entry.prune(head, now, expireNanos));
+            }
+        }
+    }
 
-        private Object key;
-        private double rate;
-        private long capacity;
+    /**
+     * 同一资源键下不同速率及容量的{@link RateLimiterObject},以不可变链表保存,通常只有一个节点
+     */
+    private static class Entry {
+
+        private final double rate;
+        private final long capacity;
+        private final RateLimiterObject object;
+        private final Entry next;
+
+        Entry(double rate, long capacity, Entry next) {
+            this(rate, capacity, new RateLimiterObject(), next);
+        }
 
-        public CacheKey(Object key, double rate, long capacity) {
-            this.key = key;
+        private Entry(double rate, long capacity, RateLimiterObject object, Entry next) {
             this.rate = rate;
             this.capacity = capacity;
+            this.object = object;
+            this.next = next;
         }
 
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            CacheKey cacheKey = (CacheKey) o;
-            return Double.compare(cacheKey.rate, rate) == 0 &&
-                    capacity == cacheKey.capacity &&
-                    Objects.equals(key, cacheKey.key);
+        static Entry find(Entry head, double rate, long capacity) {
+            for (Entry entry = head; null != entry; entry = entry.next) {
+                if (Double.compare(entry.rate, rate) == 0 && entry.capacity == capacity) {
+                    return entry;
+                }
+            }
+            return null;
         }
 
-        @Override
-        public int hashCode() {
-            return Objects.hash(key, rate, capacity);
+        /**
+         * 去除空闲的节点
+         *
+         * @return 剩余节点组成的链表, 全部空闲时为null
+         */
+        static Entry prune(Entry head, long now, long expireNanos) {
+            if (null == head) {
+                return null;
+            }
+            final Entry next = prune(head.next, now, expireNanos);
+            if (head.object.isIdle(now, expireNanos)) {
+                return next;
+            }
+            return next == head.next ? head : new Entry(head.rate, head.capacity, head.object, next);
         }
     }
 
@@ -24,8 +24,13 @@
  ********************************************************************************/
 package org.aoju.bus.limiter.support.rate.jdk;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
- * 基于令牌桶实现的速率限制器
+ * 基于GCRA(Generic Cell Rate Algorithm)实现的速率限制器
+ * 每个键只维护一个理论到达时间(TAT),每次请求通过CAS推进该时间,无需加锁
+ * 与令牌桶等价：令牌以 rate 个/秒的速率补充,最多累计 capacity 个
  *
  * @author Kimi Liu
  * @version 6.0.1
@@ -33,36 +38,97 @@ package org.aoju.bus.limiter.support.rate.jdk;
  */
 public class RateLimiterObject {
 
-    private double rate;
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * 理论到达时间,基于{@link System#nanoTime()}
+     */
+    private final AtomicLong theoreticalArrivalTime = new AtomicLong(System.nanoTime());
+
+    /**
+     * 当前使用的限流规则
+     */
+    private volatile Rule rule;
+
+    /**
+     * 尝试获取令牌
+     *
+     * @param permits  令牌数
+     * @param rate     每秒补充的令牌数
+     * @param capacity 最大可累计的令牌数
+     * @return 获取成功返回true
+     */
+    public boolean tryAcquire(long permits, double rate, long capacity) {
+        if (permits > capacity) {
+            return false;
+        }
+        final long now = System.nanoTime();
+        Rule rule = this.rule;
+        if (null == rule || rule.rate != rate || rule.capacity != capacity) {
+            // 规则变化时令牌桶重置为满
+            rule = new Rule(rate, capacity);
+            this.rule = rule;
+            this.theoreticalArrivalTime.set(now);
+        }
+        final long increment = rule.increment(permits);
+        long tat;
+        long newTat;
+        do {
+            tat = this.theoreticalArrivalTime.get();
+            newTat = (tat - now > 0 ? tat : now) + increment;
+            if (newTat - now > rule.tolerance) {
+                return false;
+            }
+        } while (false == this.theoreticalArrivalTime.compareAndSet(tat, newTat));
+        return true;
+    }
 
-    private long capacity;
+    /**
+     * 令牌桶是否已经持续满了给定的时长
+     * 此时移除该对象与重新创建一个新对象等价,可用于清理长时间未使用的键
+     *
+     * @param now       当前时间,基于{@link System#nanoTime()}
+     * @param idleNanos 空闲时长(纳秒)
+     * @return 是否空闲
+     */
+    public boolean isIdle(long now, long idleNanos) {
+        return now - this.theoreticalArrivalTime.get() > idleNanos;
+    }
 
-    private long lastSyncTime;
+    /**
+     * 限流规则,由速率和容量计算出令牌发放间隔和最大容忍提前量
+     */
+    private static class Rule {
 
-    private double storedPermits;
+        private final double rate;
+        private final long capacity;
+        /**
+         * 每个令牌的发放间隔(纳秒)
+         */
+        private final long emissionInterval;
+        /**
+         * 理论到达时间允许超出当前时间的最大值(纳秒)
+         */
+        private final long tolerance;
 
-    public synchronized boolean tryAcquire(long permits, double rate, long capacity) {
-        if (permits > capacity) return false;
-        long now = System.currentTimeMillis();
-        if (rate != this.rate || capacity != this.capacity) {
+        Rule(double rate, long capacity) {
             this.rate = rate;
             this.capacity = capacity;
-            this.storedPermits = capacity - permits;
-            this.lastSyncTime = now;
-            return true;
+            this.emissionInterval = Math.max(1L, Math.round(NANOS_PER_SECOND / rate));
+            this.tolerance = increment(capacity);
         }
-        resync(now);
-        if (storedPermits >= permits) {
-            storedPermits = storedPermits - permits;
-            return true;
+
+        /**
+         * 获取指定令牌数对应的时间增量,溢出时取上限
+         *
+         * @param permits 令牌数
+         * @return 时间增量(纳秒)
+         */
+        long increment(long permits) {
+            final long max = Long.MAX_VALUE >> 1;
+            return permits > max / emissionInterval ? max : emissionInterval * permits;
         }
-        return false;
-    }
 
-    private void resync(long nowMicros) {
-        double newPermits = (nowMicros - lastSyncTime) * rate / 1000 + storedPermits;
-        storedPermits = Math.max(newPermits, capacity);
-        this.lastSyncTime = nowMicros;
     }
 
 }
@@ -29,7 +29,15 @@ import org.aoju.bus.logger.Logger;
 import org.redisson.Redisson;
 import org.redisson.config.Config;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
+ * 基于Redis的RateLimiter组件
+ * 指定租约时长时,每个节点从Redis批量租用令牌并在本地扣减,否则每次请求都访问Redis
+ *
  * @author Kimi Liu
  * @version 6.0.1
  * @since JDK 1.8+
@@ -40,21 +48,57 @@ public class RedisRatelimiter extends RateLimiter {
 
     private RateLimiterRedission ratelimiterRedission;
 
+    /**
+     * 租约时长(纳秒),不大于0时不使用本地租约
+     */
+    private long leaseNanos;
+
+    /**
+     * 本地租约
+     */
+    private ConcurrentMap<String, RedisRatelimiterLease> leases = new ConcurrentHashMap<>();
+
+    /**
+     * 下次清理空闲租约的时间,基于{@link System#nanoTime()}
+     */
+    private AtomicLong nextCleanup = new AtomicLong(System.nanoTime());
+
     /**
      * @param limiterName 名称
      * @param config      配置
      */
     public RedisRatelimiter(String limiterName, Config config) {
+        this(limiterName, config, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param limiterName 名称
+     * @param config      配置
+     * @param leaseTime   本地租约时长,不大于0时每次请求都访问Redis
+     * @param unit        时间单位
+     */
+    public RedisRatelimiter(String limiterName, Config config, long leaseTime, TimeUnit unit) {
         this.limiterName = limiterName;
         this.ratelimiterRedission = new RateLimiterRedission(config);
+        this.leaseNanos = unit.toNanos(leaseTime);
         Logger.info("RedisRateLimiter named {} start success!", limiterName);
 
     }
 
     @Override
-    public boolean acquire(Object key, double rate, long capacity) {
-        RedisRatelimiterObject rateLimiterObject = ratelimiterRedission.getRedisRatelimiterObject(key.toString());
-        return rateLimiterObject.tryAcquire(1, rate, capacity);
+    public boolean acquire(Object key, double rate, long capacity, long permits) {
+        final String name = key.toString();
+        if (leaseNanos <= 0) {
+            RedisRatelimiterObject rateLimiterObject = ratelimiterRedission.getRedisRatelimiterObject(name);
+            return rateLimiterObject.tryAcquire(permits, rate, capacity);
+        }
+        RedisRatelimiterLease lease = leases.get(name);
+        if (null == lease) {
+            lease = leases.computeIfAbsent(name,
+                    k -> new RedisRatelimiterLease(ratelimiterRedission.getRedisRatelimiterObject(k), leaseNanos));
+            cleanup();
+        }
+        return lease.tryAcquire(permits, rate, capacity);
     }
 
     @Override
@@ -62,6 +106,18 @@ public class RedisRatelimiter extends RateLimiter {
         return limiterName;
     }
 
+    /**
+     * 清理长时间未续租的本地租约
+     */
+    private void cleanup() {
+        final long idleNanos = Math.max(TimeUnit.MINUTES.toNanos(1), leaseNanos);
+        final long now = System.nanoTime();
+        final long next = nextCleanup.get();
+        if (now - next >= 0 && nextCleanup.compareAndSet(next, now + idleNanos)) {
+            leases.values().removeIf(lease -> lease.isIdle(now, idleNanos));
+        }
+    }
+
 
     /**
      * 继承自Redisson 实现自定义api
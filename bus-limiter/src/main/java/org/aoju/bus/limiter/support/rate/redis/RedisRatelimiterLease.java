@@ -0,0 +1,203 @@
+/*********************************************************************************
+ *                                                                               *
+ * The MIT License (MIT)                                                         *
+ *                                                                               *
+ * Copyright (c) 2015-2020 aoju.org and other contributors.                      *
+ *                                                                               *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy  *
+ * of this software and associated documentation files (the "Software"), to deal *
+ * in the Software without restriction, including without limitation the rights  *
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell     *
+ * copies of the Software, and to permit persons to whom the Software is         *
+ * furnished to do so, subject to the following conditions:                      *
+ *                                                                               *
+ * The above copyright notice and this permission notice shall be included in    *
+ * all copies or substantial portions of the Software.                           *
+ *                                                                               *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR    *
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,      *
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE   *
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER        *
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, *
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN     *
+ * THE SOFTWARE.                                                                 *
+ ********************************************************************************/
+package org.aoju.bus.limiter.support.rate.redis;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 本地租用的Redis令牌
+ * 节点每次从Redis批量租用一批令牌,在租约期内由本地无锁扣减,
+ * 批量大小根据本节点观测到的请求速率自适应调整,租约到期后未使用的令牌在下次租用时归还
+ *
+ * @author Kimi Liu
+ * @version 6.0.1
+ * @since JDK 1.8+
+ */
+public class RedisRatelimiterLease {
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Redis令牌桶
+     */
+    private final RedisRatelimiterObject remote;
+    /**
+     * 租约时长(纳秒)
+     */
+    private final long leaseNanos;
+    /**
+     * 本地可用令牌数
+     */
+    private final AtomicLong available = new AtomicLong();
+    /**
+     * 本次租约期内已使用的令牌数
+     */
+    private final AtomicLong consumed = new AtomicLong();
+    /**
+     * 租约到期时间,基于{@link System#nanoTime()}
+     */
+    private volatile long expireAt;
+    /**
+     * Redis中令牌不足时,在此时间前直接拒绝,避免每个请求都访问Redis
+     */
+    private volatile long deniedUntil;
+    /**
+     * 本次租约开始时间
+     */
+    private long leaseStart;
+    /**
+     * 观测到的本地请求速率(令牌/秒)
+     */
+    private double estimatedRate;
+    private double rate;
+    private long capacity;
+
+    public RedisRatelimiterLease(RedisRatelimiterObject remote, long leaseNanos) {
+        this.remote = remote;
+        this.leaseNanos = leaseNanos;
+        final long now = System.nanoTime();
+        this.expireAt = now;
+        this.deniedUntil = now;
+        this.leaseStart = now;
+    }
+
+    /**
+     * 获取令牌
+     *
+     * @param permits  令牌数
+     * @param rate     每秒补充的令牌数
+     * @param capacity 最大可累计的令牌数
+     * @return 获取成功返回true
+     */
+    public boolean tryAcquire(long permits, double rate, long capacity) {
+        if (permits > capacity) {
+            return false;
+        }
+        long now = System.nanoTime();
+        if (now - expireAt < 0 && tryAcquireLocal(permits)) {
+            return true;
+        }
+        if (now - deniedUntil < 0) {
+            return false;
+        }
+        synchronized (this) {
+            // 其他线程可能已经完成续租
+            now = System.nanoTime();
+            if (now - expireAt < 0 && tryAcquireLocal(permits)) {
+                return true;
+            }
+            return lease(now, permits, rate, capacity);
+        }
+    }
+
+    /**
+     * 本地租约是否已经空闲超过给定时长
+     *
+     * @param now       当前时间,基于{@link System#nanoTime()}
+     * @param idleNanos 空闲时长(纳秒)
+     * @return 是否空闲
+     */
+    public boolean isIdle(long now, long idleNanos) {
+        return now - expireAt > idleNanos;
+    }
+
+    private boolean tryAcquireLocal(long permits) {
+        long current;
+        do {
+            current = available.get();
+            if (current < permits) {
+                return false;
+            }
+        } while (false == available.compareAndSet(current, current - permits));
+        consumed.addAndGet(permits);
+        return true;
+    }
+
+    /**
+     * 从Redis租用令牌,调用时需持有锁
+     */
+    private boolean lease(long now, long permits, double rate, long capacity) {
+        long leftover = available.getAndSet(0);
+        long returned = 0;
+        if (rate != this.rate || capacity != this.capacity) {
+            // 规则变化时丢弃本地令牌并重新观测速率
+            this.rate = rate;
+            this.capacity = capacity;
+            this.estimatedRate = 0;
+            leftover = 0;
+        } else if (now - expireAt >= 0) {
+            // 租约到期,未使用的令牌归还Redis
+            returned = leftover;
+            leftover = 0;
+        }
+        updateEstimatedRate(now);
+
+        final long needed = permits - leftover;
+        final long acquired;
+        try {
+            acquired = remote.tryAcquire(needed, Math.max(needed, batchSize(permits, rate, capacity) - leftover),
+                    returned, rate, capacity);
+        } catch (RuntimeException e) {
+            available.addAndGet(leftover);
+            throw e;
+        }
+        if (acquired <= 0) {
+            available.addAndGet(leftover);
+            // 按照补充所需令牌的时间拒绝后续请求,最长不超过一个租约期
+            final double waitNanos = rate > 0 ? needed * NANOS_PER_SECOND / rate : leaseNanos;
+            this.deniedUntil = now + (long) Math.min(waitNanos, leaseNanos);
+            return false;
+        }
+        available.addAndGet(leftover + acquired - permits);
+        consumed.addAndGet(permits);
+        this.expireAt = now + leaseNanos;
+        return true;
+    }
+
+    /**
+     * 按照上一个租约期内的使用量更新观测速率
+     */
+    private void updateEstimatedRate(long now) {
+        final long elapsed = now - leaseStart;
+        if (elapsed > 0) {
+            final double observed = consumed.getAndSet(0) * NANOS_PER_SECOND / elapsed;
+            this.estimatedRate = this.estimatedRate <= 0 ? observed : (this.estimatedRate + observed) / 2;
+        }
+        this.leaseStart = now;
+    }
+
+    /**
+     * 计算本次租用的令牌数
+     * 按照观测速率租用一个租约期内的需求量,但不超过一个租约期内的全局补充量和容量,避免单个节点占用过多令牌
+     */
+    private long batchSize(long permits, double rate, long capacity) {
+        final double leaseSeconds = leaseNanos / NANOS_PER_SECOND;
+        final long demand = (long) Math.ceil(estimatedRate * leaseSeconds);
+        final long limit = Math.min(capacity, (long) Math.ceil(rate * leaseSeconds));
+        return Math.max(permits, Math.min(demand, limit));
+    }
+
+}
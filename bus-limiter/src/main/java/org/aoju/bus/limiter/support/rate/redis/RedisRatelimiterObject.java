@@ -24,74 +24,106 @@
  ********************************************************************************/
 package org.aoju.bus.limiter.support.rate.redis;
 
+import org.aoju.bus.core.io.ByteString;
 import org.aoju.bus.core.lang.Normal;
 import org.redisson.RedissonObject;
-import org.redisson.api.RFuture;
+import org.redisson.RedissonScript;
+import org.redisson.api.RScript;
+import org.redisson.client.RedisException;
 import org.redisson.client.codec.Codec;
 import org.redisson.client.codec.LongCodec;
-import org.redisson.client.protocol.RedisCommand;
-import org.redisson.client.protocol.RedisCommands;
 import org.redisson.command.CommandAsyncExecutor;
 
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.Objects;
 
 /**
+ * 基于Redis令牌桶的速率限制器
+ * 脚本以EVALSHA方式执行,只有Redis中不存在该脚本时才会加载脚本内容
+ *
  * @author Kimi Liu
  * @version 6.0.1
  * @since JDK 1.8+
  */
 public class RedisRatelimiterObject extends RedissonObject {
 
+    /**
+     * 获取令牌的脚本,以Redis服务器时间补充令牌,同时归还之前租用但未使用的令牌
+     * 可用令牌不少于ARGV[3]时获取至多ARGV[4]个令牌,否则返回0
+     */
+    private static final String ACQUIRE_SCRIPT =
+            "redis.replicate_commands()\n" +
+                    "local capacity = tonumber(ARGV[1])\n" +
+                    "local rate = tonumber(ARGV[2])\n" +
+                    "local min = tonumber(ARGV[3])\n" +
+                    "local max = tonumber(ARGV[4])\n" +
+                    "local returned = tonumber(ARGV[5])\n" +
+                    "local time = redis.call('time')\n" +
+                    "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)\n" +
+                    "local permit = capacity\n" +
+                    "if (redis.call('hget', KEYS[1], 'hash') == ARGV[6]) then\n" +
+                    "    local last = tonumber(redis.call('hget', KEYS[1], 'time'))\n" +
+                    "    permit = tonumber(redis.call('hget', KEYS[1], 'permit')) + math.max(0, now - last) * rate / 1000 + returned\n" +
+                    "    permit = math.min(capacity, permit)\n" +
+                    "end\n" +
+                    "local acq = 0\n" +
+                    "if (permit >= min) then\n" +
+                    "    acq = math.min(math.floor(permit), max)\n" +
+                    "end\n" +
+                    "redis.call('hmset', KEYS[1], 'permit', permit - acq, 'time', now, 'hash', ARGV[6])\n" +
+                    "if (rate > 0) then\n" +
+                    "    redis.call('pexpire', KEYS[1], math.ceil(capacity / rate * 1000) + 1000)\n" +
+                    "end\n" +
+                    "return acq";
+
+    private static final String ACQUIRE_SHA = ByteString.encodeUtf8(ACQUIRE_SCRIPT).sha1().hex();
+
+    private final RScript script;
 
     public RedisRatelimiterObject(Codec codec, CommandAsyncExecutor commandExecutor, String name) {
         super(codec, commandExecutor, name);
+        this.script = new RedissonScript(commandExecutor, LongCodec.INSTANCE);
     }
 
     public RedisRatelimiterObject(CommandAsyncExecutor commandExecutor, String name) {
         super(commandExecutor, name);
+        this.script = new RedissonScript(commandExecutor, LongCodec.INSTANCE);
     }
 
     public boolean tryAcquire(long permits, double rate, long capacity) {
         if (permits > capacity) return false;
-        return get(tryAcquireAsync(RedisCommands.EVAL_LONG, permits, rate, capacity)) != -1;
+        return tryAcquire(permits, permits, 0, rate, capacity) > 0;
     }
 
-    private <T> RFuture<T> tryAcquireAsync(RedisCommand<T> command, long permits, double rate, long capacity) {
+    /**
+     * 获取令牌,可用令牌不足min时不获取
+     *
+     * @param min      最少获取的令牌数
+     * @param max      最多获取的令牌数
+     * @param returned 归还的令牌数
+     * @param rate     每秒补充的令牌数
+     * @param capacity 最大可累计的令牌数
+     * @return 获取到的令牌数, 令牌不足时返回0
+     */
+    public long tryAcquire(long min, long max, long returned, double rate, long capacity) {
         String hash = Objects.hash(rate, capacity) + Normal.EMPTY;
-        return commandExecutor.evalWriteAsync(getName(), LongCodec.INSTANCE, command,
-                "local capacity = tonumber(ARGV[1])\n" +
-                        "local rate = tonumber(ARGV[2])\n" +
-                        "local acq = tonumber(ARGV[3])\n" +
-                        "if (redis.call('exists',KEYS[1]) == 0 or redis.call('hget',KEYS[1],'hash') ~= ARGV[4]) then\n" +
-                        "    -- create\n" +
-                        "    redis.call('hset', KEYS[1], 'capacity ', capacity)\n" +
-                        "    redis.call('hset', KEYS[1], 'rate', rate)\n" +
-                        "    redis.call('hset', KEYS[1], 'permit', capacity-acq)\n" +
-                        "    redis.call('hset', KEYS[1], 'hash', ARGV[4])\n" +
-                        "    redis.call('expire', KEYS[1],3153600000000)\n" +
-                        "    redis.call('hset', KEYS[1], 'pttl',3153600000000000)\n" +
-                        "    return capacity-acq\n" +
-                        "end\n" +
-                        "local rate = tonumber(redis.call('hget', KEYS[1],'rate'))\n" +
-                        "local now = redis.call('pttl', KEYS[1])\n" +
-                        "local pttl = tonumber(redis.call('hget', KEYS[1], 'pttl'))\n" +
-                        "local permit = tonumber(redis.call('hget', KEYS[1], 'permit'))\n" +
-                        "local newPermit = permit + ((pttl-now)/1000*rate)\n" +
-                        "if(newPermit >= capacity) then\n" +
-                        "     redis.call('hset', KEYS[1], 'permit', capacity-acq)\n" +
-                        "     redis.call('hset', KEYS[1], 'pttl', now)\n" +
-                        "     return capacity-acq\n" +
-                        "end\n" +
-                        "if(newPermit >= acq) then\n" +
-                        "    redis.call('hset', KEYS[1], 'permit', newPermit-acq)\n" +
-                        "    redis.call('hset', KEYS[1], 'pttl', now)\n" +
-                        "    return newPermit-acq\n" +
-                        "end\n" +
-                        "return -1 ",
-                Arrays.asList(getName()),
-                permits, rate, capacity, hash);
+        Long acquired = evalSha(ACQUIRE_SHA, ACQUIRE_SCRIPT, capacity, rate, min, max, returned, hash);
+        return null == acquired ? 0 : acquired;
     }
 
+    private Long evalSha(String sha, String text, Object... values) {
+        try {
+            return script.evalSha(getName(), RScript.Mode.READ_WRITE, sha, RScript.ReturnType.INTEGER,
+                    Collections.singletonList(getName()), values);
+        } catch (RedisException e) {
+            if (null == e.getMessage() || false == e.getMessage().contains("NOSCRIPT")) {
+                throw e;
+            }
+            // Redis重启或脚本被清理后重新加载
+            script.scriptLoad(text);
+            return script.evalSha(getName(), RScript.Mode.READ_WRITE, sha, RScript.ReturnType.INTEGER,
+                    Collections.singletonList(getName()), values);
+        }
+    }
 
 }
@@ -28,6 +28,7 @@ import org.aoju.bus.core.toolkit.CallerKit;
 import org.aoju.bus.core.toolkit.FileKit;
 import org.aoju.bus.logger.dialect.console.ConsoleLogFactory;
 import org.aoju.bus.logger.dialect.jdk.JdkLogFactory;
+import org.aoju.bus.logger.level.Level;
 
 import java.net.URL;
 import java.util.Map;
@@ -208,6 +209,17 @@ public abstract class LogFactory {
      */
     public abstract Log createLog(Class<?> clazz);
 
+    /**
+     * 指定级别是否可能对任一日志对象开启
+     * 用于{@link Logger}的静态方法在查找调用者之前丢弃日志,无法全局判断的实现应返回true
+     *
+     * @param level 级别
+     * @return 可能开启时为true
+     */
+    public boolean isEnabled(Level level) {
+        return true;
+    }
+
     /**
      * 检查日志实现是否存在
      * 此方法仅用于检查所提供的日志相关类是否存在,当传入的日志类类不存在时抛出ClassNotFoundException
@@ -28,6 +28,8 @@ import org.aoju.bus.core.toolkit.CallerKit;
 import org.aoju.bus.core.toolkit.StringKit;
 import org.aoju.bus.logger.level.Level;
 
+import java.lang.reflect.Method;
+
 /**
  * 静态日志类,用于在不引入日志对象的情况下打印日志
  *
@@ -39,10 +41,42 @@ public final class Logger {
 
     private static final String FQCN = Logger.class.getName();
 
+    /**
+     * 调用者相对于{@link #caller()}的层级:0为查找方法本身,1为{@link #caller()},2为本类的静态方法,3为调用者
+     */
+    private static final int CALLER_DEPTH = 3;
+
+    /**
+     * JDK 8的sun.reflect.Reflection#getCallerClass(int),按层级直接取得调用者类,不生成完整调用栈,不可用时为null
+     */
+    private static final Method CALLER_CLASS = callerClassMethod();
+
+    /**
+     * 静态方法的最低日志级别,低于此级别的日志直接丢弃,不再查找调用者;为null时只由日志实现决定
+     */
+    private static volatile Level level;
+
     private Logger() {
 
     }
 
+    /**
+     * 设置静态方法的最低日志级别,低于此级别的日志在查找调用者之前即被丢弃
+     * 只影响不传入{@link Log}的静态方法
+     *
+     * @param level 最低日志级别,null表示不限制
+     */
+    public static void setLevel(Level level) {
+        Logger.level = level;
+    }
+
+    /**
+     * @return 静态方法的最低日志级别, 未设置时为null
+     */
+    public static Level getLevel() {
+        return level;
+    }
+
     /**
      * Trace等级日志,小于debug
      * 由于动态获取Log,效率较低,建议在非频繁调用的情况下使用！！
@@ -51,7 +85,9 @@ public final class Logger {
      * @param arguments 变量对应的参数
      */
     public static void trace(String format, Object... arguments) {
-        trace(LogFactory.get(CallerKit.getCallers()), format, arguments);
+        if (isEnabled(Level.TRACE)) {
+            trace(LogFactory.get(caller()), format, arguments);
+        }
     }
 
     /**
@@ -73,7 +109,9 @@ public final class Logger {
      * @param arguments 变量对应的参数
      */
     public static void debug(String format, Object... arguments) {
-        debug(LogFactory.get(CallerKit.getCallers()), format, arguments);
+        if (isEnabled(Level.DEBUG)) {
+            debug(LogFactory.get(caller()), format, arguments);
+        }
     }
 
     /**
@@ -95,7 +133,9 @@ public final class Logger {
      * @param arguments 变量对应的参数
      */
     public static void info(String format, Object... arguments) {
-        info(LogFactory.get(CallerKit.getCallers()), format, arguments);
+        if (isEnabled(Level.INFO)) {
+            info(LogFactory.get(caller()), format, arguments);
+        }
     }
 
     /**
@@ -117,7 +157,9 @@ public final class Logger {
      * @param arguments 变量对应的参数
      */
     public static void warn(String format, Object... arguments) {
-        warn(LogFactory.get(CallerKit.getCallers()), format, arguments);
+        if (isEnabled(Level.WARN)) {
+            warn(LogFactory.get(caller()), format, arguments);
+        }
     }
 
     /**
@@ -129,7 +171,9 @@ public final class Logger {
      * @param arguments 变量对应的参数
      */
     public static void warn(Throwable e, String format, Object... arguments) {
-        warn(LogFactory.get(CallerKit.getCallers()), e, StringKit.format(format, arguments));
+        if (isEnabled(Level.WARN)) {
+            warn(LogFactory.get(caller()), e, StringKit.format(format, arguments));
+        }
     }
 
     /**
@@ -162,7 +206,9 @@ public final class Logger {
      * @param e 需在日志中堆栈打印的异常
      */
     public static void error(Throwable e) {
-        error(LogFactory.get(CallerKit.getCallers()), e);
+        if (isEnabled(Level.ERROR)) {
+            error(LogFactory.get(caller()), e);
+        }
     }
 
     /**
@@ -173,7 +219,9 @@ public final class Logger {
      * @param arguments 变量对应的参数
      */
     public static void error(String format, Object... arguments) {
-        error(LogFactory.get(CallerKit.getCallers()), format, arguments);
+        if (isEnabled(Level.ERROR)) {
+            error(LogFactory.get(caller()), format, arguments);
+        }
     }
 
     /**
@@ -185,7 +233,9 @@ public final class Logger {
      * @param arguments 变量对应的参数
      */
     public static void error(Throwable e, String format, Object... arguments) {
-        error(LogFactory.get(CallerKit.getCallers()), e, format, arguments);
+        if (isEnabled(Level.ERROR)) {
+            error(LogFactory.get(caller()), e, format, arguments);
+        }
     }
 
     /**
@@ -230,7 +280,9 @@ public final class Logger {
      * @param arguments 变量对应的参数
      */
     public static void log(Level level, Throwable t, String format, Object... arguments) {
-        LogFactory.get(CallerKit.getCallers()).log(FQCN, level, t, format, arguments);
+        if (isEnabled(level)) {
+            LogFactory.get(caller()).log(FQCN, level, t, format, arguments);
+        }
     }
 
     /**
@@ -257,7 +309,7 @@ public final class Logger {
      * @return 获得日志, 自动判定日志发出者
      */
     public static Log get() {
-        return LogFactory.get(CallerKit.getCallers());
+        return LogFactory.get(caller());
     }
 
     /**
@@ -266,7 +318,7 @@ public final class Logger {
      * @return the true/false
      */
     public boolean isTrace() {
-        return LogFactory.get(CallerKit.getCallers()).isTrace();
+        return isEnabled(Level.TRACE) && LogFactory.get(caller()).isTrace();
     }
 
     /**
@@ -275,7 +327,7 @@ public final class Logger {
      * @return the true/false
      */
     public boolean isDebug() {
-        return LogFactory.get(CallerKit.getCallers()).isDebug();
+        return isEnabled(Level.DEBUG) && LogFactory.get(caller()).isDebug();
     }
 
     /**
@@ -284,7 +336,7 @@ public final class Logger {
      * @return the true/false
      */
     public boolean isInfo() {
-        return LogFactory.get(CallerKit.getCallers()).isInfo();
+        return isEnabled(Level.INFO) && LogFactory.get(caller()).isInfo();
     }
 
     /**
@@ -293,7 +345,7 @@ public final class Logger {
      * @return the true/false
      */
     public boolean isWarn() {
-        return LogFactory.get(CallerKit.getCallers()).isWarn();
+        return isEnabled(Level.WARN) && LogFactory.get(caller()).isWarn();
     }
 
     /**
@@ -302,7 +354,53 @@ public final class Logger {
      * @return the true/false
      */
     public boolean isError() {
-        return LogFactory.get(CallerKit.getCallers()).isError();
+        return isEnabled(Level.ERROR) && LogFactory.get(caller()).isError();
+    }
+
+    /**
+     * 级别是否可能开启,先检查静态方法的最低级别,再由日志工厂判断,均为全局判断,不需要调用者
+     *
+     * @param level 级别
+     * @return 可能开启时为true
+     */
+    private static boolean isEnabled(Level level) {
+        final Level minimum = Logger.level;
+        return (null == minimum || minimum.compareTo(level) <= 0)
+                && LogFactory.getCurrentLogFactory().isEnabled(level);
+    }
+
+    /**
+     * 获取调用本类静态方法的类,须由公开方法直接调用以保证层级一致
+     *
+     * @return 调用者类
+     */
+    private static Class<?> caller() {
+        if (null != CALLER_CLASS) {
+            try {
+                final Class<?> caller = (Class<?>) CALLER_CLASS.invoke(null, CALLER_DEPTH);
+                if (null != caller) {
+                    return caller;
+                }
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // 退回到CallerKit
+            }
+        }
+        return CallerKit.getCaller(CALLER_DEPTH);
+    }
+
+    /**
+     * 查找并校验sun.reflect.Reflection#getCallerClass(int),JDK 9及以上或被禁用时返回null
+     *
+     * @return 方法或null
+     */
+    private static Method callerClassMethod() {
+        try {
+            final Method method = Class.forName("sun.reflect.Reflection").getMethod("getCallerClass", int.class);
+            // 通过反射调用时Method.invoke的栈帧会被跳过,层级1即为当前类
+            return Logger.class == method.invoke(null, 1) ? method : null;
+        } catch (Throwable e) {
+            return null;
+        }
     }
 
 }
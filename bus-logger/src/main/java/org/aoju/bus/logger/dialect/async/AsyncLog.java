@@ -0,0 +1,116 @@
+/*********************************************************************************
+ *                                                                               *
+ * The MIT License (MIT)                                                         *
+ *                                                                               *
+ * Copyright (c) 2015-2020 aoju.org and other contributors.                      *
+ *                                                                               *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy  *
+ * of this software and associated documentation files (the "Software"), to deal *
+ * in the Software without restriction, including without limitation the rights  *
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell     *
+ * copies of the Software, and to permit persons to whom the Software is         *
+ * furnished to do so, subject to the following conditions:                      *
+ *                                                                               *
+ * The above copyright notice and this permission notice shall be included in    *
+ * all copies or substantial portions of the Software.                           *
+ *                                                                               *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR    *
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,      *
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE   *
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER        *
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, *
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN     *
+ * THE SOFTWARE.                                                                 *
+ ********************************************************************************/
+package org.aoju.bus.logger.dialect.async;
+
+import org.aoju.bus.logger.AbstractAware;
+import org.aoju.bus.logger.Log;
+import org.aoju.bus.logger.level.Level;
+
+/**
+ * 异步日志,级别判断在调用线程完成,格式化与写出由{@link AsyncLogFactory}的后台线程交给被包装的日志对象
+ *
+ * @author Kimi Liu
+ * @version 6.0.1
+ * @since JDK 1.8+
+ */
+public class AsyncLog extends AbstractAware {
+
+    private final AsyncLogFactory factory;
+    private final Log delegate;
+
+    /**
+     * 构造
+     *
+     * @param factory  异步日志工厂
+     * @param delegate 实际写出日志的对象
+     */
+    public AsyncLog(AsyncLogFactory factory, Log delegate) {
+        this.factory = factory;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public boolean isTrace() {
+        return delegate.isTrace();
+    }
+
+    @Override
+    public void trace(String fqcn, Throwable t, String format, Object... arguments) {
+        log(fqcn, Level.TRACE, t, format, arguments);
+    }
+
+    @Override
+    public boolean isDebug() {
+        return delegate.isDebug();
+    }
+
+    @Override
+    public void debug(String fqcn, Throwable t, String format, Object... arguments) {
+        log(fqcn, Level.DEBUG, t, format, arguments);
+    }
+
+    @Override
+    public boolean isInfo() {
+        return delegate.isInfo();
+    }
+
+    @Override
+    public void info(String fqcn, Throwable t, String format, Object... arguments) {
+        log(fqcn, Level.INFO, t, format, arguments);
+    }
+
+    @Override
+    public boolean isWarn() {
+        return delegate.isWarn();
+    }
+
+    @Override
+    public void warn(String fqcn, Throwable t, String format, Object... arguments) {
+        log(fqcn, Level.WARN, t, format, arguments);
+    }
+
+    @Override
+    public boolean isError() {
+        return delegate.isError();
+    }
+
+    @Override
+    public void error(String fqcn, Throwable t, String format, Object... arguments) {
+        log(fqcn, Level.ERROR, t, format, arguments);
+    }
+
+    @Override
+    public void log(String fqcn, Level level, Throwable t, String format, Object... arguments) {
+        if (delegate.isEnabled(level)) {
+            factory.enqueue(delegate, fqcn, level, t, format, arguments);
+        }
+    }
+
+}
@@ -0,0 +1,274 @@
+/*********************************************************************************
+ *                                                                               *
+ * The MIT License (MIT)                                                         *
+ *                                                                               *
+ * Copyright (c) 2015-2020 aoju.org and other contributors.                      *
+ *                                                                               *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy  *
+ * of this software and associated documentation files (the "Software"), to deal *
+ * in the Software without restriction, including without limitation the rights  *
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell     *
+ * copies of the Software, and to permit persons to whom the Software is         *
+ * furnished to do so, subject to the following conditions:                      *
+ *                                                                               *
+ * The above copyright notice and this permission notice shall be included in    *
+ * all copies or substantial portions of the Software.                           *
+ *                                                                               *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR    *
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,      *
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE   *
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER        *
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, *
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN     *
+ * THE SOFTWARE.                                                                 *
+ ********************************************************************************/
+package org.aoju.bus.logger.dialect.async;
+
+import org.aoju.bus.core.lang.Assert;
+import org.aoju.bus.core.lang.Console;
+import org.aoju.bus.logger.Log;
+import org.aoju.bus.logger.LogFactory;
+import org.aoju.bus.logger.dialect.console.ConsoleLogFactory;
+import org.aoju.bus.logger.level.Level;
+
+import java.io.Closeable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 异步日志工厂,包装任意日志工厂
+ * 调用线程只做级别判断并把(级别、模板、参数、调用类)写入预分配的环形缓冲区,
+ * 由后台线程批量交给被包装的日志实现格式化并输出
+ * <p>
+ * 注意:参数在后台线程中才格式化,调用后被修改的可变参数会以修改后的值输出;
+ * 依赖调用栈计算输出位置的日志实现在后台线程中无法得到正确的行号
+ *
+ * @author Kimi Liu
+ * @version 6.0.1
+ * @since JDK 1.8+
+ */
+public class AsyncLogFactory extends LogFactory implements Closeable {
+
+    /**
+     * 默认缓冲区容量
+     */
+    public static final int DEFAULT_CAPACITY = 8192;
+    /**
+     * 默认每批写出的事件数
+     */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long BLOCK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final LogFactory delegate;
+    private final RingBuffer buffer;
+    private final Overflow overflow;
+    private final Level discardLevel;
+    private final int sampleRate;
+    private final int batchSize;
+    private final Thread consumer;
+
+    private final AtomicLongArray dropped = new AtomicLongArray(Level.values().length);
+    private final AtomicLong overflowed = new AtomicLong();
+
+    private volatile boolean running = true;
+    private volatile boolean sleeping;
+
+    /**
+     * 包装控制台日志,缓冲区满时阻塞
+     */
+    public AsyncLogFactory() {
+        this(new ConsoleLogFactory());
+    }
+
+    /**
+     * 包装指定日志工厂,缓冲区满时阻塞
+     *
+     * @param delegate 被包装的日志工厂
+     */
+    public AsyncLogFactory(LogFactory delegate) {
+        this(delegate, DEFAULT_CAPACITY, Overflow.BLOCK, Level.WARN, 1);
+    }
+
+    /**
+     * 构造
+     *
+     * @param delegate     被包装的日志工厂
+     * @param capacity     缓冲区容量,向上取整为2的幂
+     * @param overflow     缓冲区满时的策略
+     * @param discardLevel {@link Overflow#DISCARD}时低于此级别的事件被丢弃,不低于此级别的事件阻塞等待
+     * @param sampleRate   {@link Overflow#SAMPLE}时每sampleRate个溢出事件保留一个
+     */
+    public AsyncLogFactory(LogFactory delegate, int capacity, Overflow overflow, Level discardLevel, int sampleRate) {
+        super("Async " + delegate.getName());
+        Assert.isTrue(capacity > 0, "Capacity must be positive");
+        Assert.isTrue(sampleRate > 0, "Sample rate must be positive");
+        this.delegate = delegate;
+        this.buffer = new RingBuffer(capacity);
+        this.overflow = overflow;
+        this.discardLevel = discardLevel;
+        this.sampleRate = sampleRate;
+        this.batchSize = DEFAULT_BATCH_SIZE;
+        this.consumer = new Thread(this::consume, "logger-async");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "logger-async-shutdown"));
+    }
+
+    @Override
+    public Log createLog(String name) {
+        return new AsyncLog(this, delegate.getLog(name));
+    }
+
+    @Override
+    public Log createLog(Class<?> clazz) {
+        return new AsyncLog(this, delegate.getLog(clazz));
+    }
+
+    @Override
+    public boolean isEnabled(Level level) {
+        return delegate.isEnabled(level);
+    }
+
+    /**
+     * @return 被包装的日志工厂
+     */
+    public LogFactory getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * @return 缓冲区满时丢弃的事件总数
+     */
+    public long getDropped() {
+        long total = 0;
+        for (int i = 0; i < dropped.length(); i++) {
+            total += dropped.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * @param level 级别
+     * @return 缓冲区满时丢弃的该级别事件数
+     */
+    public long getDropped(Level level) {
+        return dropped.get(level.ordinal());
+    }
+
+    /**
+     * @return 近似的积压事件数
+     */
+    public int getPending() {
+        return buffer.size();
+    }
+
+    /**
+     * 停止后台线程并写出缓冲区中剩余的事件,之后的日志在调用线程中同步输出
+     */
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(consumer);
+        if (Thread.currentThread() != consumer) {
+            try {
+                consumer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // 写出后台线程退出前后才发布的事件
+            if (!consumer.isAlive()) {
+                buffer.drain(buffer.capacity());
+            }
+        }
+    }
+
+    /**
+     * 写入日志事件,缓冲区满时按溢出策略处理
+     */
+    void enqueue(Log log, String fqcn, Level level, Throwable t, String format, Object[] arguments) {
+        if (!running) {
+            log.log(fqcn, level, t, format, arguments);
+            return;
+        }
+        if (!buffer.offer(log, fqcn, level, t, format, arguments)) {
+            if (!admit(level)) {
+                dropped.incrementAndGet(level.ordinal());
+                return;
+            }
+            while (!buffer.offer(log, fqcn, level, t, format, arguments)) {
+                if (!running) {
+                    log.log(fqcn, level, t, format, arguments);
+                    return;
+                }
+                LockSupport.unpark(consumer);
+                LockSupport.parkNanos(this, BLOCK_NANOS);
+            }
+        }
+        if (sleeping) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    /**
+     * 缓冲区满时事件是否需要阻塞等待,否则丢弃
+     */
+    private boolean admit(Level level) {
+        switch (overflow) {
+            case DISCARD:
+                return level.compareTo(discardLevel) >= 0;
+            case SAMPLE:
+                return overflowed.getAndIncrement() % sampleRate == 0;
+            default:
+                return true;
+        }
+    }
+
+    private void consume() {
+        for (; ; ) {
+            final int count;
+            try {
+                count = buffer.drain(batchSize);
+            } catch (Throwable e) {
+                Console.error(e, "Async logger failed to write event");
+                continue;
+            }
+            if (count > 0) {
+                continue;
+            }
+            if (!running) {
+                return;
+            }
+            sleeping = true;
+            if (buffer.isEmpty() && running) {
+                LockSupport.parkNanos(this, IDLE_NANOS);
+            }
+            sleeping = false;
+        }
+    }
+
+    /**
+     * 缓冲区满时的处理策略
+     */
+    public enum Overflow {
+        /**
+         * 阻塞调用线程直到有空位
+         */
+        BLOCK,
+        /**
+         * 丢弃低于指定级别的事件,其余阻塞
+         */
+        DISCARD,
+        /**
+         * 按比例保留溢出事件,保留的阻塞,其余丢弃
+         */
+        SAMPLE
+    }
+
+}
@@ -0,0 +1,164 @@
+/*********************************************************************************
+ *                                                                               *
+ * The MIT License (MIT)                                                         *
+ *                                                                               *
+ * Copyright (c) 2015-2020 aoju.org and other contributors.                      *
+ *                                                                               *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy  *
+ * of this software and associated documentation files (the "Software"), to deal *
+ * in the Software without restriction, including without limitation the rights  *
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell     *
+ * copies of the Software, and to permit persons to whom the Software is         *
+ * furnished to do so, subject to the following conditions:                      *
+ *                                                                               *
+ * The above copyright notice and this permission notice shall be included in    *
+ * all copies or substantial portions of the Software.                           *
+ *                                                                               *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR    *
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,      *
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE   *
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER        *
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, *
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN     *
+ * THE SOFTWARE.                                                                 *
+ ********************************************************************************/
+package org.aoju.bus.logger.dialect.async;
+
+import org.aoju.bus.logger.Log;
+import org.aoju.bus.logger.level.Level;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 预分配的有界环形缓冲区,多个生产者、单个消费者
+ * 槽位对象在启动时一次性创建并循环使用,每个槽位的序号标识其状态,入队和出队都不分配对象
+ *
+ * @author Kimi Liu
+ * @version 6.0.1
+ * @since JDK 1.8+
+ */
+final class RingBuffer {
+
+    private final Event[] slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    /**
+     * 只由消费者线程读写
+     */
+    private long head;
+
+    /**
+     * @param capacity 容量,向上取整为2的幂
+     */
+    RingBuffer(int capacity) {
+        int size = 2;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new Event[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Event(i);
+        }
+    }
+
+    /**
+     * 写入一个事件
+     *
+     * @return 缓冲区已满时返回false
+     */
+    boolean offer(Log log, String fqcn, Level level, Throwable t, String format, Object[] arguments) {
+        long position = tail.get();
+        for (; ; ) {
+            final Event event = slots[(int) (position & mask)];
+            final long difference = event.sequence - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    event.log = log;
+                    event.fqcn = fqcn;
+                    event.level = level;
+                    event.throwable = t;
+                    event.format = format;
+                    event.arguments = arguments;
+                    event.sequence = position + 1;
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * 由消费者线程调用,依次写出至多max个事件,槽位写出后立即释放
+     *
+     * @param max 最多写出的事件数
+     * @return 写出的事件数
+     */
+    int drain(int max) {
+        int count = 0;
+        while (count < max) {
+            final Event event = slots[(int) (head & mask)];
+            if (event.sequence != head + 1) {
+                break;
+            }
+            try {
+                event.log.log(event.fqcn, event.level, event.throwable, event.format, event.arguments);
+            } finally {
+                event.log = null;
+                event.fqcn = null;
+                event.level = null;
+                event.throwable = null;
+                event.format = null;
+                event.arguments = null;
+                event.sequence = head + mask + 1;
+                head++;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return 是否没有待写出的事件, 仅消费者线程可用
+     */
+    boolean isEmpty() {
+        return slots[(int) (head & mask)].sequence != head + 1;
+    }
+
+    /**
+     * @return 近似的积压事件数
+     */
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    /**
+     * @return 容量
+     */
+    int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * 环形缓冲区中的日志事件
+     */
+    private static final class Event {
+
+        volatile long sequence;
+        Log log;
+        String fqcn;
+        Level level;
+        Throwable throwable;
+        String format;
+        Object[] arguments;
+
+        Event(long sequence) {
+            this.sequence = sequence;
+        }
+    }
+
+}
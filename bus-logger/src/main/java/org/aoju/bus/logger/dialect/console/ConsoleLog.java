@@ -74,6 +74,15 @@ public class ConsoleLog extends AbstractAware {
         currentLevel = customLevel;
     }
 
+    /**
+     * 获取当前的日志显示级别
+     *
+     * @return 日志显示级别
+     */
+    public static Level getLevel() {
+        return currentLevel;
+    }
+
     @Override
     public String getName() {
         return this.name;
@@ -26,6 +26,7 @@ package org.aoju.bus.logger.dialect.console;
 
 import org.aoju.bus.logger.Log;
 import org.aoju.bus.logger.LogFactory;
+import org.aoju.bus.logger.level.Level;
 
 /**
  * 利用System.out.println()打印日志
@@ -50,4 +51,15 @@ public class ConsoleLogFactory extends LogFactory {
         return new ConsoleLog(clazz);
     }
 
+    /**
+     * 控制台日志的级别是全局的,可以直接判断
+     *
+     * @param level 级别
+     * @return 是否开启
+     */
+    @Override
+    public boolean isEnabled(Level level) {
+        return ConsoleLog.getLevel().compareTo(level) <= 0;
+    }
+
 }
@@ -24,6 +24,7 @@
  ********************************************************************************/
 package org.aoju.bus.mapper.common.basic.insert;
 
+import org.aoju.bus.core.lang.exception.InstrumentException;
 import org.aoju.bus.mapper.provider.InsertListProvider;
 import org.apache.ibatis.annotations.InsertProvider;
 import org.apache.ibatis.annotations.Options;
@@ -60,6 +61,44 @@ public interface InsertListMapper<T> {
     @InsertProvider(type = InsertListProvider.class, method = "dynamicSQL")
     int insertListNoId(List<T> list);
 
+    /**
+     * 分段批量插入,每段最多 chunkSize 条,避免单条语句过大超出 max_allowed_packet 等限制
+     * <p>
+     * 不支持主键策略,插入前需要设置好主键的值
+     *
+     * @param list      对象列表
+     * @param chunkSize 每段数量,必须大于0
+     * @return 操作数量
+     */
+    default int insertList(List<T> list, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new InstrumentException("chunkSize 必须大于 0");
+        }
+        int count = 0;
+        for (int from = 0; from < list.size(); from += chunkSize) {
+            count += insertList(list.subList(from, Math.min(from + chunkSize, list.size())));
+        }
+        return count;
+    }
+
+    /**
+     * 分段批量插入,每段最多 chunkSize 条,每段执行后回写该段的自增主键
+     *
+     * @param list      对象列表
+     * @param chunkSize 每段数量,必须大于0
+     * @return 操作数量
+     */
+    default int insertListNoId(List<T> list, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new InstrumentException("chunkSize 必须大于 0");
+        }
+        int count = 0;
+        for (int from = 0; from < list.size(); from += chunkSize) {
+            count += insertListNoId(list.subList(from, Math.min(from + chunkSize, list.size())));
+        }
+        return count;
+    }
+
     /**
      * 插入数据,限制为实体包含`id`属性并且必须为自增列,实体配置的主键策略无效
      *
@@ -0,0 +1,165 @@
+/*********************************************************************************
+ *                                                                               *
+ * The MIT License (MIT)                                                         *
+ *                                                                               *
+ * Copyright (c) 2015-2020 aoju.org and other contributors.                      *
+ *                                                                               *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy  *
+ * of this software and associated documentation files (the "Software"), to deal *
+ * in the Software without restriction, including without limitation the rights  *
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell     *
+ * copies of the Software, and to permit persons to whom the Software is         *
+ * furnished to do so, subject to the following conditions:                      *
+ *                                                                               *
+ * The above copyright notice and this permission notice shall be included in    *
+ * all copies or substantial portions of the Software.                           *
+ *                                                                               *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR    *
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,      *
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE   *
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER        *
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, *
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN     *
+ * THE SOFTWARE.                                                                 *
+ ********************************************************************************/
+package org.aoju.bus.mapper.executor;
+
+import org.aoju.bus.core.lang.exception.InstrumentException;
+import org.aoju.bus.mapper.common.basic.insert.InsertListMapper;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 大批量插入
+ * 将数据按 chunkSize 分段,默认使用 {@link ExecutorType#BATCH} 以 JDBC batch 执行单行插入,
+ * mysql、postgresql 的驱动没有开启批量改写(rewriteBatchedStatements、reWriteBatchedInserts)时,
+ * 每段生成一条多行 INSERT 语句以减少网络往返,每段执行后提交并回写该段的自增主键
+ *
+ * @author Kimi Liu
+ * @version 6.0.1
+ * @since JDK 1.8+
+ */
+public class InsertListExecutor {
+
+    /**
+     * 默认每段数量
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    private final SqlSessionFactory sqlSessionFactory;
+    private final int chunkSize;
+    private final boolean jdbcBatch;
+
+    public InsertListExecutor(SqlSessionFactory sqlSessionFactory) {
+        this(sqlSessionFactory, DEFAULT_CHUNK_SIZE);
+    }
+
+    public InsertListExecutor(SqlSessionFactory sqlSessionFactory, int chunkSize) {
+        this(sqlSessionFactory, chunkSize, preferJdbcBatch(sqlSessionFactory));
+    }
+
+    public InsertListExecutor(SqlSessionFactory sqlSessionFactory, int chunkSize, boolean jdbcBatch) {
+        if (chunkSize <= 0) {
+            throw new InstrumentException("chunkSize 必须大于 0");
+        }
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.chunkSize = chunkSize;
+        this.jdbcBatch = jdbcBatch;
+    }
+
+    /**
+     * 根据数据库连接判断是否优先使用 JDBC batch
+     *
+     * @param sqlSessionFactory SqlSessionFactory
+     * @return true 使用 JDBC batch,false 使用多行 INSERT
+     */
+    public static boolean preferJdbcBatch(SqlSessionFactory sqlSessionFactory) {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            Connection connection = sqlSession.getConnection();
+            String url = connection.getMetaData().getURL().toLowerCase(Locale.ENGLISH);
+            if (url.startsWith("jdbc:mysql:") || url.startsWith("jdbc:mariadb:")) {
+                return url.contains("rewritebatchedstatements=true");
+            }
+            if (url.startsWith("jdbc:postgresql:")) {
+                return url.contains("rewritebatchedinserts=true");
+            }
+            //嵌入式数据库没有网络往返,sqlserver、sqlite 等对参数个数有限制,都使用 JDBC batch
+            return true;
+        } catch (SQLException e) {
+            throw new InstrumentException(e);
+        }
+    }
+
+    /**
+     * 批量插入,插入前需要设置好主键的值
+     *
+     * @param mapperClass 继承了 InsertListMapper 的 Mapper 接口
+     * @param list        对象列表
+     * @param <T>         实体类型
+     * @return 操作数量
+     */
+    public <T> int insertList(Class<? extends InsertListMapper<T>> mapperClass, List<T> list) {
+        return execute(mapperClass, list, false);
+    }
+
+    /**
+     * 批量插入,每段执行后回写该段的自增主键 id
+     *
+     * @param mapperClass 继承了 InsertListMapper 的 Mapper 接口
+     * @param list        对象列表
+     * @param <T>         实体类型
+     * @return 操作数量
+     */
+    public <T> int insertListNoId(Class<? extends InsertListMapper<T>> mapperClass, List<T> list) {
+        return execute(mapperClass, list, true);
+    }
+
+    private <T> int execute(Class<? extends InsertListMapper<T>> mapperClass, List<T> list, boolean generatedKey) {
+        if (list == null || list.isEmpty()) {
+            return 0;
+        }
+        int count = 0;
+        try (SqlSession sqlSession = sqlSessionFactory.openSession(jdbcBatch ? ExecutorType.BATCH : ExecutorType.SIMPLE, false)) {
+            InsertListMapper<T> mapper = sqlSession.getMapper(mapperClass);
+            for (int from = 0; from < list.size(); from += chunkSize) {
+                List<T> chunk = list.subList(from, Math.min(from + chunkSize, list.size()));
+                if (jdbcBatch) {
+                    //单行语句的SQL相同,驱动可以复用预编译语句并合并发送
+                    for (T record : chunk) {
+                        //回写主键时参数必须是实体本身,insertUseGeneratedKey 与 insertListNoId 的列相同
+                        if (generatedKey) {
+                            mapper.insertUseGeneratedKey(record);
+                        } else {
+                            mapper.insertList(Collections.singletonList(record));
+                        }
+                    }
+                    count += flush(sqlSession);
+                } else {
+                    count += generatedKey ? mapper.insertListNoId(chunk) : mapper.insertList(chunk);
+                }
+                sqlSession.commit();
+            }
+        }
+        return count;
+    }
+
+    private int flush(SqlSession sqlSession) {
+        int count = 0;
+        for (BatchResult result : sqlSession.flushStatements()) {
+            for (int updateCount : result.getUpdateCounts()) {
+                //驱动改写后可能返回 SUCCESS_NO_INFO(-2),按一行计算
+                count += updateCount >= 0 ? updateCount : 1;
+            }
+        }
+        return count;
+    }
+
+}
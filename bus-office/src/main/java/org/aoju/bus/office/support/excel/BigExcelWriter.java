@@ -24,12 +24,22 @@
  ********************************************************************************/
 package org.aoju.bus.office.support.excel;
 
+import org.aoju.bus.core.lang.Assert;
+import org.aoju.bus.core.lang.exception.InstrumentException;
+import org.aoju.bus.core.thread.NamedThreadFactory;
 import org.aoju.bus.core.toolkit.FileKit;
+import org.aoju.bus.core.toolkit.StringKit;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 
 import java.io.File;
 import java.io.OutputStream;
+import java.time.temporal.TemporalAccessor;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
 
 /**
  * 大数据量Excel写出
@@ -41,10 +51,30 @@ import java.io.OutputStream;
 public class BigExcelWriter extends ExcelWriter {
 
     public static final int DEFAULT_WINDOW_SIZE = SXSSFWorkbook.DEFAULT_WINDOW_SIZE;
+    /**
+     * 并行写出时每批转换的行数
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    /**
+     * 估算列宽时采样的行数
+     */
+    public static final int DEFAULT_SAMPLE_SIZE = 100;
+    /**
+     * 列宽上限(字符数)
+     */
+    private static final int MAX_COLUMN_WIDTH = 255;
     /**
      * 只能flush一次，调用后不再重复写出
      */
     private boolean isFlushed;
+    /**
+     * 并行写出时每批转换的行数
+     */
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    /**
+     * 估算列宽时采样的行数,0表示不设置列宽
+     */
+    private int sampleSize = DEFAULT_SAMPLE_SIZE;
 
     /**
      * 构造,默认生成xls格式的Excel文件
@@ -140,6 +170,293 @@ public class BigExcelWriter extends ExcelWriter {
         super(sheet);
     }
 
+    /**
+     * 设置并行写出时每批转换的行数
+     * 每个sheet同时在转换中的行数不超过 批大小 * 转换线程数
+     *
+     * @param batchSize 每批行数
+     * @return this
+     */
+    public BigExcelWriter setBatchSize(int batchSize) {
+        Assert.isTrue(batchSize > 0, "Batch size must be greater than 0");
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * 设置估算列宽时采样的行数
+     * 大数据量写出时{@link #autoSizeColumnAll()}需要遍历所有行,并行写出时根据每个sheet的前N行估算列宽
+     *
+     * @param sampleSize 采样行数,0表示不设置列宽
+     * @return this
+     */
+    public BigExcelWriter setSampleSize(int sampleSize) {
+        this.sampleSize = sampleSize;
+        return this;
+    }
+
+    /**
+     * 并行写出数据到指定sheet,数据流按顺序写出
+     *
+     * @param sheetName sheet名
+     * @param data      数据流
+     * @param threads   转换线程数
+     * @return this
+     * @see #writeParallel(Map, int)
+     */
+    public BigExcelWriter writeParallel(String sheetName, Stream<?> data, int threads) {
+        return writeParallel(Collections.singletonMap(sheetName, data.iterator()), threads);
+    }
+
+    /**
+     * 并行写出多个sheet的数据,本方法只是将数据写入Workbook中的Sheet,并不写出到文件
+     * 每个sheet由独立线程按顺序写入各自的临时文件,行数据(Map或Bean)在转换线程中转为单元格值,
+     * 最终在{@link #flush()}时由SXSSF合并为一个xlsx
+     * 数据类型与{@link #write(Iterable)}相同,Map或Bean数据以第一行的键作为标题行
+     * sheet不存在时创建,当前sheet为空时重命名为第一个sheet名
+     *
+     * @param sheetData sheet名与对应数据,数据只迭代一次
+     * @param threads   转换线程数
+     * @return this
+     */
+    public BigExcelWriter writeParallel(Map<String, ? extends Iterator<?>> sheetData, int threads) {
+        Assert.isFalse(this.isClosed, "ExcelWriter has been closed!");
+        Assert.isTrue(threads > 0, "Threads must be greater than 0");
+        if (null == sheetData || sheetData.isEmpty()) {
+            return this;
+        }
+
+        // sheet的创建不是线程安全的,在写出前统一创建
+        final List<Sheet> sheets = new ArrayList<>(sheetData.size());
+        for (String sheetName : sheetData.keySet()) {
+            Sheet sheet = this.workbook.getSheet(sheetName);
+            if (null == sheet) {
+                if (sheets.isEmpty() && 0 == getCurrentRow() && this.sheet.getPhysicalNumberOfRows() == 0) {
+                    renameSheet(sheetName);
+                    sheet = this.sheet;
+                } else {
+                    sheet = this.workbook.createSheet(sheetName);
+                }
+            }
+            sheets.add(sheet);
+        }
+        // 初始化样式
+        final StyleSet styleSet = getStyleSet();
+
+        final ExecutorService converter = Executors.newFixedThreadPool(threads, new NamedThreadFactory("excel-convert-", true));
+        final ExecutorService writer = Executors.newFixedThreadPool(sheets.size(), new NamedThreadFactory("excel-write-", true));
+        try {
+            final List<Future<Integer>> futures = new ArrayList<>(sheets.size());
+            int i = 0;
+            for (Iterator<?> data : sheetData.values()) {
+                final Sheet sheet = sheets.get(i++);
+                futures.add(writer.submit(() -> writeSheet(sheet, data, styleSet, converter, threads)));
+            }
+            for (i = 0; i < futures.size(); i++) {
+                final int lastRow = futures.get(i).get();
+                if (sheets.get(i) == this.sheet) {
+                    setCurrentRow(lastRow);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InstrumentException(e);
+        } catch (ExecutionException e) {
+            final Throwable cause = null == e.getCause() ? e : e.getCause();
+            throw cause instanceof InstrumentException ? (InstrumentException) cause : new InstrumentException(cause);
+        } finally {
+            writer.shutdownNow();
+            converter.shutdownNow();
+        }
+        return this;
+    }
+
+    /**
+     * 将数据按顺序写入sheet,行数据分批提交到转换线程,已转换的批按提交顺序写出
+     *
+     * @param sheet     sheet
+     * @param data      数据
+     * @param styleSet  样式集
+     * @param converter 转换线程池
+     * @param inFlight  同时转换的批数
+     * @return 写出后的下一行行号
+     * @throws Exception 转换或写出异常
+     */
+    private int writeSheet(Sheet sheet, Iterator<?> data, StyleSet styleSet, ExecutorService converter, int inFlight) throws Exception {
+        int rowIndex = sheet.getPhysicalNumberOfRows() == 0 ? 0 : sheet.getLastRowNum() + 1;
+        if (false == data.hasNext()) {
+            return rowIndex;
+        }
+        final int maxRowIndex = SpreadsheetVersion.EXCEL2007.getLastRowIndex();
+
+        // 以第一行的键确定标题及列位置
+        final Object first = data.next();
+        final Map<?, ?> firstMap = first instanceof Iterable ? null : toRowMap(first);
+        final Map<String, Integer> headLocation;
+        final int[] widths;
+        if (null != firstMap) {
+            final Set<?> keys = aliasMap(firstMap).keySet();
+            headLocation = new HashMap<>(keys.size() * 4 / 3 + 1);
+            final Object[] head = new Object[keys.size()];
+            for (Object key : keys) {
+                head[headLocation.size()] = key;
+                headLocation.put(StringKit.toString(key), headLocation.size());
+            }
+            widths = new int[head.length];
+            if (rowIndex == 0) {
+                writeRow(sheet, rowIndex++, head, styleSet, true);
+                measure(widths, head);
+            }
+        } else {
+            headLocation = null;
+            widths = new int[0];
+        }
+
+        final Deque<Future<Object[][]>> pending = new ArrayDeque<>(inFlight);
+        List<Object> batch = new ArrayList<>(this.batchSize);
+        batch.add(first);
+        int sampled = 0;
+        int[] columnWidths = widths;
+        while (true) {
+            // 补充待转换的批,直到达到并发上限或数据结束
+            while (pending.size() < inFlight && (false == batch.isEmpty() || data.hasNext())) {
+                while (batch.size() < this.batchSize && data.hasNext()) {
+                    batch.add(data.next());
+                }
+                final List<Object> rows = batch;
+                pending.add(converter.submit(() -> convert(rows, headLocation)));
+                batch = new ArrayList<>(this.batchSize);
+            }
+            if (pending.isEmpty()) {
+                break;
+            }
+            for (Object[] values : pending.poll().get()) {
+                if (rowIndex > maxRowIndex) {
+                    throw new InstrumentException("Sheet [{}] exceeds the max rows: {}", sheet.getSheetName(), maxRowIndex + 1);
+                }
+                if (null == values) {
+                    // 空行跳过
+                    rowIndex++;
+                    continue;
+                }
+                writeRow(sheet, rowIndex++, values, styleSet, false);
+                if (sampled < this.sampleSize) {
+                    if (values.length > columnWidths.length) {
+                        columnWidths = Arrays.copyOf(columnWidths, values.length);
+                    }
+                    measure(columnWidths, values);
+                    if (++sampled == this.sampleSize) {
+                        applyColumnWidth(sheet, columnWidths);
+                    }
+                }
+            }
+        }
+        if (sampled > 0 && sampled < this.sampleSize) {
+            applyColumnWidth(sheet, columnWidths);
+        }
+        return rowIndex;
+    }
+
+    /**
+     * 将一批行数据转为单元格值数组
+     *
+     * @param rows         行数据
+     * @param headLocation 标题对应的列号,非Map或Bean数据为{@code null}
+     * @return 单元格值, 空行为{@code null}
+     */
+    private Object[][] convert(List<Object> rows, Map<String, Integer> headLocation) {
+        final Object[][] result = new Object[rows.size()][];
+        for (int i = 0; i < result.length; i++) {
+            final Object row = rows.get(i);
+            if (row instanceof Iterable) {
+                final List<Object> values = new ArrayList<>();
+                for (Object value : (Iterable<?>) row) {
+                    values.add(value);
+                }
+                result[i] = values.toArray();
+                continue;
+            }
+            final Map<?, ?> rowMap = toRowMap(row);
+            if (null == rowMap) {
+                result[i] = new Object[]{row};
+            } else if (false == rowMap.isEmpty()) {
+                final Map<?, ?> aliasMap = aliasMap(rowMap);
+                if (null == headLocation) {
+                    result[i] = aliasMap.values().toArray();
+                } else {
+                    final Object[] values = new Object[headLocation.size()];
+                    Integer location;
+                    for (Map.Entry<?, ?> entry : aliasMap.entrySet()) {
+                        location = headLocation.get(StringKit.toString(entry.getKey()));
+                        if (null != location) {
+                            values[location] = entry.getValue();
+                        }
+                    }
+                    result[i] = values;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 写出一行
+     *
+     * @param sheet    sheet
+     * @param rowIndex 行号
+     * @param values   单元格值
+     * @param styleSet 样式集
+     * @param isHeader 是否标题行
+     */
+    private static void writeRow(Sheet sheet, int rowIndex, Object[] values, StyleSet styleSet, boolean isHeader) {
+        final Row row = sheet.createRow(rowIndex);
+        for (int i = 0; i < values.length; i++) {
+            CellKit.setCellValue(row.createCell(i), values[i], styleSet, isHeader);
+        }
+    }
+
+    /**
+     * 根据单元格值估算显示宽度,非ASCII字符按两个字符计算
+     *
+     * @param widths 各列宽度
+     * @param values 单元格值
+     */
+    private static void measure(int[] widths, Object[] values) {
+        for (int i = 0; i < values.length && i < widths.length; i++) {
+            final Object value = values[i];
+            int width;
+            if (null == value) {
+                continue;
+            } else if (value instanceof Date || value instanceof Calendar || value instanceof TemporalAccessor) {
+                // yyyy-MM-dd HH:mm:ss
+                width = 19;
+            } else {
+                final String text = value.toString();
+                width = 0;
+                for (int j = 0; j < text.length(); j++) {
+                    width += text.charAt(j) < 0x100 ? 1 : 2;
+                }
+            }
+            if (width > widths[i]) {
+                widths[i] = width;
+            }
+        }
+    }
+
+    /**
+     * 根据估算的宽度设置列宽
+     *
+     * @param sheet  sheet
+     * @param widths 各列宽度(字符数)
+     */
+    private static void applyColumnWidth(Sheet sheet, int[] widths) {
+        for (int i = 0; i < widths.length; i++) {
+            if (widths[i] > 0) {
+                sheet.setColumnWidth(i, Math.min(widths[i] + 2, MAX_COLUMN_WIDTH) * 256);
+            }
+        }
+    }
+
     @Override
     public ExcelWriter flush(OutputStream out, boolean isCloseOut) {
         if (false == isFlushed) {
@@ -33,6 +33,7 @@ import org.aoju.bus.office.support.PoiChecker;
 import org.aoju.bus.office.support.excel.cell.CellLocation;
 import org.aoju.bus.office.support.excel.sax.Excel03SaxReader;
 import org.aoju.bus.office.support.excel.sax.Excel07SaxReader;
+import org.aoju.bus.office.support.excel.sax.RowBatchHandler;
 import org.aoju.bus.office.support.excel.sax.RowHandler;
 
 import java.io.BufferedInputStream;
@@ -147,6 +148,40 @@ public class ExcelKit {
         }
     }
 
+    /**
+     * Sax方式批量读取Excel07,行数据保存在复用的数组中
+     *
+     * @param in              输入流
+     * @param sheetIndex      Sheet索引,-1表示全部Sheet, 0表示第一个Sheet
+     * @param rowBatchHandler 批量行处理器
+     * @param batchSize       每批行数
+     * @return {@link Excel07SaxReader}
+     */
+    public static Excel07SaxReader read07BySax(InputStream in, int sheetIndex, RowBatchHandler rowBatchHandler, int batchSize) {
+        try {
+            return new Excel07SaxReader(rowBatchHandler, batchSize).read(in, sheetIndex);
+        } catch (NoClassDefFoundError e) {
+            throw new InstrumentException(PoiChecker.NO_POI_ERROR_MSG);
+        }
+    }
+
+    /**
+     * Sax方式批量读取Excel07,行数据保存在复用的数组中
+     *
+     * @param file            文件
+     * @param sheetIndex      Sheet索引,-1表示全部Sheet, 0表示第一个Sheet
+     * @param rowBatchHandler 批量行处理器
+     * @param batchSize       每批行数
+     * @return {@link Excel07SaxReader}
+     */
+    public static Excel07SaxReader read07BySax(File file, int sheetIndex, RowBatchHandler rowBatchHandler, int batchSize) {
+        try {
+            return new Excel07SaxReader(rowBatchHandler, batchSize).read(file, sheetIndex);
+        } catch (NoClassDefFoundError e) {
+            throw new InstrumentException(PoiChecker.NO_POI_ERROR_MSG);
+        }
+    }
+
     /**
      * Sax方式读取Excel03
      *
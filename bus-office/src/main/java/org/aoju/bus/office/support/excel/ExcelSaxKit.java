@@ -31,8 +31,10 @@ import org.aoju.bus.core.lang.exception.InstrumentException;
 import org.aoju.bus.core.toolkit.DateKit;
 import org.aoju.bus.core.toolkit.StringKit;
 import org.aoju.bus.office.support.excel.sax.CellDataType;
+import org.aoju.bus.office.support.excel.sax.SharedStringStore;
 import org.apache.poi.ooxml.util.SAXHelper;
 import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.xssf.model.SharedStrings;
 import org.apache.poi.xssf.model.SharedStringsTable;
 import org.apache.poi.xssf.usermodel.XSSFRichTextString;
 import org.xml.sax.ContentHandler;
@@ -68,6 +70,19 @@ public class ExcelSaxKit {
      * @return 数据值
      */
     public static Object getDataValue(CellDataType cellDataType, String value, SharedStringsTable sharedStringsTable, String numFmtString) {
+        return getDataValue(cellDataType, value, (SharedStrings) sharedStringsTable, numFmtString);
+    }
+
+    /**
+     * 根据数据类型获取数据
+     *
+     * @param cellDataType  数据类型枚举
+     * @param value         数据值
+     * @param sharedStrings 共享字符串表,{@link SharedStringStore}时直接读取字符串
+     * @param numFmtString  数字格式名
+     * @return 数据值
+     */
+    public static Object getDataValue(CellDataType cellDataType, String value, SharedStrings sharedStrings, String numFmtString) {
         if (null == value) {
             return null;
         }
@@ -93,7 +108,11 @@ public class ExcelSaxKit {
             case SSTINDEX:
                 try {
                     final int index = Integer.parseInt(value);
-                    result = new XSSFRichTextString(sharedStringsTable.getEntryAt(index)).getString();
+                    if (sharedStrings instanceof SharedStringStore) {
+                        result = ((SharedStringStore) sharedStrings).getString(index);
+                    } else {
+                        result = sharedStrings.getItemAt(index).getString();
+                    }
                 } catch (NumberFormatException e) {
                     result = value;
                 }
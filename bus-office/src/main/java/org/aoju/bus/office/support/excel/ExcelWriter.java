@@ -717,21 +717,8 @@ public class ExcelWriter extends ExcelBase<ExcelWriter> {
         if (rowBean instanceof Iterable) {
             return writeRow((Iterable<?>) rowBean);
         }
-        Map rowMap;
-        if (rowBean instanceof Map) {
-            if (MapKit.isNotEmpty(this.headerAlias)) {
-                rowMap = MapKit.newTreeMap((Map) rowBean, getCachedAliasComparator());
-            } else {
-                rowMap = (Map) rowBean;
-            }
-        } else if (BeanKit.isBean(rowBean.getClass())) {
-            if (MapKit.isEmpty(this.headerAlias)) {
-                rowMap = BeanKit.beanToMap(rowBean, new LinkedHashMap<>(), false, false);
-            } else {
-                // 别名存在情况下按照别名的添加顺序排序Bean数据
-                rowMap = BeanKit.beanToMap(rowBean, new TreeMap<>(getCachedAliasComparator()), false, false);
-            }
-        } else {
+        final Map<?, ?> rowMap = toRowMap(rowBean);
+        if (null == rowMap) {
             // 其它转为字符串默认输出
             return writeRow(CollKit.newArrayList(rowBean), isWriteKeyAsHead);
         }
@@ -988,13 +975,40 @@ public class ExcelWriter extends ExcelBase<ExcelWriter> {
         this.styleSet = null;
     }
 
+    /**
+     * 将Map或Bean转为按照别名添加顺序排序的Map,其它类型返回{@code null}
+     *
+     * @param rowBean 行数据
+     * @return 行数据Map, 非Map或Bean返回{@code null}
+     */
+    protected Map<?, ?> toRowMap(Object rowBean) {
+        Map rowMap;
+        if (rowBean instanceof Map) {
+            if (MapKit.isNotEmpty(this.headerAlias)) {
+                rowMap = MapKit.newTreeMap((Map) rowBean, getCachedAliasComparator());
+            } else {
+                rowMap = (Map) rowBean;
+            }
+        } else if (null != rowBean && BeanKit.isBean(rowBean.getClass())) {
+            if (MapKit.isEmpty(this.headerAlias)) {
+                rowMap = BeanKit.beanToMap(rowBean, new LinkedHashMap<>(), false, false);
+            } else {
+                // 别名存在情况下按照别名的添加顺序排序Bean数据
+                rowMap = BeanKit.beanToMap(rowBean, new TreeMap<>(getCachedAliasComparator()), false, false);
+            }
+        } else {
+            rowMap = null;
+        }
+        return rowMap;
+    }
+
     /**
      * 为指定的key列表添加标题别名,如果没有定义key的别名,在onlyAlias为false时使用原key
      *
      * @param rowMap 键列表
      * @return 别名列表
      */
-    private Map<?, ?> aliasMap(Map<?, ?> rowMap) {
+    protected Map<?, ?> aliasMap(Map<?, ?> rowMap) {
         if (MapKit.isEmpty(this.headerAlias)) {
             return rowMap;
         }
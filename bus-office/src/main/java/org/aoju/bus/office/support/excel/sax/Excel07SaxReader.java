@@ -32,7 +32,6 @@ import org.aoju.bus.office.support.excel.ExcelSaxKit;
 import org.apache.poi.openxml4j.opc.OPCPackage;
 import org.apache.poi.ss.usermodel.BuiltinFormats;
 import org.apache.poi.xssf.eventusermodel.XSSFReader;
-import org.apache.poi.xssf.model.SharedStringsTable;
 import org.apache.poi.xssf.model.StylesTable;
 import org.apache.poi.xssf.usermodel.XSSFCellStyle;
 import org.xml.sax.Attributes;
@@ -63,7 +62,11 @@ public class Excel07SaxReader extends AbstractExcelSaxReader<Excel07SaxReader> i
     // 单元格的格式表，对应style.xml
     private StylesTable stylesTable;
     // excel 2007 的共享字符串表,对应sharedString.xml
-    private SharedStringsTable sharedStringsTable;
+    private SharedStringStore sharedStrings;
+    // 共享字符串表在内存中保存的数量上限,超过后转存到临时文件
+    private int sharedStringsMemoryLimit = SharedStringStore.DEFAULT_MEMORY_LIMIT;
+    // 共享字符串表转存后的缓存大小
+    private int sharedStringsCacheSize = SharedStringStore.DEFAULT_CACHE_SIZE;
     // sheet的索引
     private int sheetIndex;
     // 当前非空行
@@ -90,6 +93,16 @@ public class Excel07SaxReader extends AbstractExcelSaxReader<Excel07SaxReader> i
      * 行处理器
      */
     private RowHandler rowHandler;
+    /**
+     * 批量行处理器
+     */
+    private RowBatchHandler rowBatchHandler;
+    // 批量行数据,数组在各批之间复用
+    private Object[][] batchRows;
+    // 批量行号
+    private long[] batchRowIndexes;
+    // 当前批的行数
+    private int batchCount;
 
     /**
      * 构造
@@ -100,6 +113,21 @@ public class Excel07SaxReader extends AbstractExcelSaxReader<Excel07SaxReader> i
         this.rowHandler = rowHandler;
     }
 
+    /**
+     * 构造
+     *
+     * @param rowBatchHandler 批量行处理器
+     * @param batchSize       每批行数,必须大于0
+     */
+    public Excel07SaxReader(RowBatchHandler rowBatchHandler, int batchSize) {
+        if (batchSize <= 0) {
+            throw new InstrumentException("batchSize 必须大于 0");
+        }
+        this.rowBatchHandler = rowBatchHandler;
+        this.batchRows = new Object[batchSize][];
+        this.batchRowIndexes = new long[batchSize];
+    }
+
     /**
      * 设置行处理器
      *
@@ -111,6 +139,19 @@ public class Excel07SaxReader extends AbstractExcelSaxReader<Excel07SaxReader> i
         return this;
     }
 
+    /**
+     * 设置共享字符串表的内存上限
+     *
+     * @param memoryLimit 内存中保存的字符串数量上限,超过后转存到临时文件
+     * @param cacheSize   转存后LRU缓存的字符串数量
+     * @return this
+     */
+    public Excel07SaxReader setSharedStringsLimit(int memoryLimit, int cacheSize) {
+        this.sharedStringsMemoryLimit = memoryLimit;
+        this.sharedStringsCacheSize = cacheSize;
+        return this;
+    }
+
     @Override
     public Excel07SaxReader read(File file, int rid) throws InstrumentException {
         try {
@@ -150,8 +191,18 @@ public class Excel07SaxReader extends AbstractExcelSaxReader<Excel07SaxReader> i
             } catch (Exception e) {
                 //ignore
             }
-            // 获取共享字符串表
-            this.sharedStringsTable = xssfReader.getSharedStringsTable();
+            // 流式读取共享字符串表
+            InputStream sharedStringsInputStream = null;
+            try {
+                sharedStringsInputStream = xssfReader.getSharedStringsData();
+            } catch (Exception e) {
+                //ignore
+            }
+            try {
+                this.sharedStrings = new SharedStringStore(sharedStringsInputStream, sharedStringsMemoryLimit, sharedStringsCacheSize);
+            } finally {
+                IoKit.close(sharedStringsInputStream);
+            }
 
             if (rid > -1) {
                 this.sheetIndex = rid;
@@ -176,6 +227,7 @@ public class Excel07SaxReader extends AbstractExcelSaxReader<Excel07SaxReader> i
             throw new InstrumentException(e);
         } finally {
             IoKit.close(sheetInputStream);
+            IoKit.close(sharedStrings);
             IoKit.close(opcPackage);
         }
         return this;
@@ -229,7 +281,8 @@ public class Excel07SaxReader extends AbstractExcelSaxReader<Excel07SaxReader> i
 
     @Override
     public void endDocument() {
-
+        // 一个sheet结束,处理剩余的行
+        flushBatch();
     }
 
     @Override
@@ -287,7 +340,7 @@ public class Excel07SaxReader extends AbstractExcelSaxReader<Excel07SaxReader> i
         setCellType(attributes);
 
         // 清空之前的数据
-        lastContent.reset();
+        lastContent.clear();
     }
 
     /**
@@ -295,7 +348,7 @@ public class Excel07SaxReader extends AbstractExcelSaxReader<Excel07SaxReader> i
      */
     private void endCell() {
         final String contentStr = StringKit.trim(lastContent);
-        final Object value = ExcelSaxKit.getDataValue(this.cellDataType, contentStr, this.sharedStringsTable, this.numFmtString);
+        final Object value = ExcelSaxKit.getDataValue(this.cellDataType, contentStr, this.sharedStrings, this.numFmtString);
         // 补全单元格之间的空格
         fillBlankCell(preCoordinate, curCoordinate, false);
         addCellValue(curCell++, value);
@@ -315,11 +368,16 @@ public class Excel07SaxReader extends AbstractExcelSaxReader<Excel07SaxReader> i
             fillBlankCell(curCoordinate, maxCellCoordinate, true);
         }
 
-        rowHandler.handle(sheetIndex, rowNumber, rowCellList);
-
-        // 一行结束
-        // 新建一个新列，之前的列抛弃（可能被回收或rowHandler处理）
-        rowCellList = new ArrayList<>(curCell + 1);
+        if (null != rowBatchHandler) {
+            addBatchRow();
+            // 批量模式下行数据已复制,复用列表
+            rowCellList.clear();
+        } else {
+            rowHandler.handle(sheetIndex, rowNumber, rowCellList);
+            // 一行结束
+            // 新建一个新列，之前的列抛弃（可能被回收或rowHandler处理）
+            rowCellList = new ArrayList<>(curCell + 1);
+        }
         // 行数增加
         index++;
         // 当前列置0
@@ -337,7 +395,36 @@ public class Excel07SaxReader extends AbstractExcelSaxReader<Excel07SaxReader> i
      */
     private void addCellValue(int index, Object value) {
         this.rowCellList.add(index, value);
-        this.rowHandler.handleCell(this.sheetIndex, this.rowNumber, index, value, this.xssfCellStyle);
+        if (null != this.rowHandler) {
+            this.rowHandler.handleCell(this.sheetIndex, this.rowNumber, index, value, this.xssfCellStyle);
+        }
+    }
+
+    /**
+     * 将当前行加入批量数据,列数相同时复用上一批的数组
+     */
+    private void addBatchRow() {
+        final int size = rowCellList.size();
+        Object[] row = batchRows[batchCount];
+        if (null == row || row.length != size) {
+            row = new Object[size];
+            batchRows[batchCount] = row;
+        }
+        rowCellList.toArray(row);
+        batchRowIndexes[batchCount] = rowNumber;
+        if (++batchCount == batchRows.length) {
+            flushBatch();
+        }
+    }
+
+    /**
+     * 处理已积累的批量行数据
+     */
+    private void flushBatch() {
+        if (null != rowBatchHandler && batchCount > 0) {
+            rowBatchHandler.handle(sheetIndex, batchRowIndexes, batchRows, batchCount);
+            batchCount = 0;
+        }
     }
 
     /**
@@ -0,0 +1,49 @@
+/*********************************************************************************
+ *                                                                               *
+ * The MIT License (MIT)                                                         *
+ *                                                                               *
+ * Copyright (c) 2015-2020 aoju.org and other contributors.                      *
+ *                                                                               *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy  *
+ * of this software and associated documentation files (the "Software"), to deal *
+ * in the Software without restriction, including without limitation the rights  *
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell     *
+ * copies of the Software, and to permit persons to whom the Software is         *
+ * furnished to do so, subject to the following conditions:                      *
+ *                                                                               *
+ * The above copyright notice and this permission notice shall be included in    *
+ * all copies or substantial portions of the Software.                           *
+ *                                                                               *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR    *
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,      *
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE   *
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER        *
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, *
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN     *
+ * THE SOFTWARE.                                                                 *
+ ********************************************************************************/
+package org.aoju.bus.office.support.excel.sax;
+
+/**
+ * Sax方式读取Excel批量行处理器
+ * 与{@link RowHandler}不同,行数据保存在复用的数组中,
+ * 不会为每一行创建新的列表,处理完成后数组内容会被下一批覆盖,需要保留的数据必须自行复制
+ *
+ * @author Kimi Liu
+ * @version 6.0.1
+ * @since JDK 1.8+
+ */
+@FunctionalInterface
+public interface RowBatchHandler {
+
+    /**
+     * 处理一批行数据,同一批的行属于同一个Sheet
+     *
+     * @param sheetIndex 当前Sheet序号
+     * @param rowIndexes 每行的行号，从0开始计数
+     * @param rows       每行的数据,数组长度即该行的列数
+     * @param size       本批的行数,只有前size个元素有效
+     */
+    void handle(int sheetIndex, long[] rowIndexes, Object[][] rows, int size);
+
+}
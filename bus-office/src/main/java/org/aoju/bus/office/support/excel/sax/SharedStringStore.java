@@ -0,0 +1,386 @@
+/*********************************************************************************
+ *                                                                               *
+ * The MIT License (MIT)                                                         *
+ *                                                                               *
+ * Copyright (c) 2015-2020 aoju.org and other contributors.                      *
+ *                                                                               *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy  *
+ * of this software and associated documentation files (the "Software"), to deal *
+ * in the Software without restriction, including without limitation the rights  *
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell     *
+ * copies of the Software, and to permit persons to whom the Software is         *
+ * furnished to do so, subject to the following conditions:                      *
+ *                                                                               *
+ * The above copyright notice and this permission notice shall be included in    *
+ * all copies or substantial portions of the Software.                           *
+ *                                                                               *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR    *
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,      *
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE   *
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER        *
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, *
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN     *
+ * THE SOFTWARE.                                                                 *
+ ********************************************************************************/
+package org.aoju.bus.office.support.excel.sax;
+
+import org.aoju.bus.core.lang.exception.InstrumentException;
+import org.aoju.bus.office.support.excel.ExcelSaxKit;
+import org.apache.poi.ss.usermodel.RichTextString;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 流式读取的共享字符串表,对应sharedStrings.xml
+ * 以Sax方式读取,字符串数量不超过内存上限时全部保存在内存中,
+ * 超过后转存到临时文件(数据文件及偏移量索引文件),读取时通过有界LRU缓存访问,
+ * 避免POI的{@link org.apache.poi.xssf.model.SharedStringsTable}为每个字符串创建XmlBeans对象导致内存溢出
+ *
+ * @author Kimi Liu
+ * @version 6.0.1
+ * @since JDK 1.8+
+ */
+public class SharedStringStore implements SharedStrings, Closeable {
+
+    /**
+     * 默认内存中保存的字符串数量上限
+     */
+    public static final int DEFAULT_MEMORY_LIMIT = 100000;
+    /**
+     * 默认LRU缓存大小
+     */
+    public static final int DEFAULT_CACHE_SIZE = 10000;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final int memoryLimit;
+    private final Map<Integer, String> cache;
+    // 内存中的字符串,转存到文件后置为null
+    private List<String> strings = new ArrayList<>();
+    // 字符串数据文件
+    private FileChannel dataChannel;
+    // 偏移量索引文件,第i个long为第i个字符串的起始位置
+    private FileChannel indexChannel;
+    private ByteBuffer dataBuffer;
+    private ByteBuffer indexBuffer;
+    private long position;
+    private int uniqueCount;
+    private int count;
+
+    /**
+     * 构造
+     *
+     * @param in sharedStrings.xml流,为null时为空表
+     */
+    public SharedStringStore(InputStream in) {
+        this(in, DEFAULT_MEMORY_LIMIT, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * 构造
+     *
+     * @param in          sharedStrings.xml流,为null时为空表
+     * @param memoryLimit 内存中保存的字符串数量上限,超过后转存到临时文件
+     * @param cacheSize   转存后LRU缓存的字符串数量
+     */
+    public SharedStringStore(InputStream in, int memoryLimit, int cacheSize) {
+        this.memoryLimit = memoryLimit;
+        this.cache = new LinkedHashMap<Integer, String>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        if (null != in) {
+            try {
+                ExcelSaxKit.readFrom(in, new SstHandler());
+                finish();
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 解码OOXML中的 _xHHHH_ 转义字符
+     *
+     * @param value 值
+     * @return 解码后的值
+     */
+    private static String decode(String value) {
+        if (value.indexOf("_x") < 0) {
+            return value;
+        }
+        final StringBuilder builder = new StringBuilder(value.length());
+        int i = 0;
+        while (i < value.length()) {
+            if (i + 7 <= value.length() && value.charAt(i) == '_' && value.charAt(i + 1) == 'x' && value.charAt(i + 6) == '_') {
+                try {
+                    builder.append((char) Integer.parseInt(value.substring(i + 2, i + 6), 16));
+                    i += 7;
+                    continue;
+                } catch (NumberFormatException e) {
+                    // 不是转义字符
+                }
+            }
+            builder.append(value.charAt(i++));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 获取指定位置的字符串
+     *
+     * @param index 位置
+     * @return 字符串
+     */
+    public synchronized String getString(int index) {
+        if (null != strings) {
+            return strings.get(index);
+        }
+        String value = cache.get(index);
+        if (null == value) {
+            value = readString(index);
+            cache.put(index, value);
+        }
+        return value;
+    }
+
+    @Override
+    public RichTextString getItemAt(int index) {
+        return new XSSFRichTextString(getString(index));
+    }
+
+    @Override
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public int getUniqueCount() {
+        return uniqueCount;
+    }
+
+    /**
+     * 是否已转存到临时文件
+     *
+     * @return 是否转存
+     */
+    public boolean isSpilled() {
+        return null == strings;
+    }
+
+    @Override
+    public synchronized void close() {
+        closeChannel(dataChannel);
+        closeChannel(indexChannel);
+        dataChannel = null;
+        indexChannel = null;
+        cache.clear();
+    }
+
+    private void add(String value) {
+        if (null != strings) {
+            if (strings.size() < memoryLimit) {
+                strings.add(value);
+                uniqueCount++;
+                return;
+            }
+            spill();
+        }
+        write(value);
+        uniqueCount++;
+    }
+
+    /**
+     * 将内存中的字符串转存到临时文件
+     */
+    private void spill() {
+        try {
+            dataChannel = openTempChannel("sst-data");
+            indexChannel = openTempChannel("sst-index");
+        } catch (IOException e) {
+            close();
+            throw new InstrumentException(e);
+        }
+        dataBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+        indexBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+        final List<String> values = strings;
+        strings = null;
+        for (String value : values) {
+            write(value);
+        }
+    }
+
+    private void write(String value) {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        try {
+            if (indexBuffer.remaining() < 8) {
+                flush(indexChannel, indexBuffer);
+            }
+            indexBuffer.putLong(position);
+            if (dataBuffer.remaining() < bytes.length) {
+                flush(dataChannel, dataBuffer);
+            }
+            if (bytes.length > dataBuffer.capacity()) {
+                final ByteBuffer large = ByteBuffer.wrap(bytes);
+                while (large.hasRemaining()) {
+                    dataChannel.write(large);
+                }
+            } else {
+                dataBuffer.put(bytes);
+            }
+        } catch (IOException e) {
+            throw new InstrumentException(e);
+        }
+        position += bytes.length;
+    }
+
+    /**
+     * 读取完成,写入结束位置并刷新缓冲
+     */
+    private void finish() {
+        if (null == strings) {
+            try {
+                if (indexBuffer.remaining() < 8) {
+                    flush(indexChannel, indexBuffer);
+                }
+                indexBuffer.putLong(position);
+                flush(indexChannel, indexBuffer);
+                flush(dataChannel, dataBuffer);
+            } catch (IOException e) {
+                throw new InstrumentException(e);
+            }
+            dataBuffer = null;
+            indexBuffer = null;
+        }
+    }
+
+    private String readString(int index) {
+        if (index < 0 || index >= uniqueCount) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + uniqueCount);
+        }
+        try {
+            final ByteBuffer offsets = ByteBuffer.allocate(16);
+            readFully(indexChannel, offsets, (long) index * 8);
+            final long start = offsets.getLong(0);
+            final ByteBuffer bytes = ByteBuffer.allocate((int) (offsets.getLong(8) - start));
+            readFully(dataChannel, bytes, start);
+            return new String(bytes.array(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new InstrumentException(e);
+        }
+    }
+
+    private static FileChannel openTempChannel(String prefix) throws IOException {
+        final File file = File.createTempFile(prefix, ".tmp");
+        return FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.DELETE_ON_CLOSE);
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of shared strings file");
+            }
+        }
+    }
+
+    private static void closeChannel(FileChannel channel) {
+        if (null != channel) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // ignore
+            }
+        }
+    }
+
+    /**
+     * sharedStrings.xml 处理器,拼接si下所有t标签的文本,忽略注音rPh
+     */
+    private class SstHandler extends DefaultHandler {
+
+        private final StringBuilder text = new StringBuilder();
+        private boolean inText;
+        private boolean inPhonetic;
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "sst":
+                    count = parseInt(attributes.getValue("count"));
+                    break;
+                case "si":
+                    text.setLength(0);
+                    break;
+                case "rPh":
+                    inPhonetic = true;
+                    break;
+                case "t":
+                    inText = !inPhonetic;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "si":
+                    add(decode(text.toString()));
+                    break;
+                case "rPh":
+                    inPhonetic = false;
+                    break;
+                case "t":
+                    inText = false;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inText) {
+                text.append(ch, start, length);
+            }
+        }
+
+        private int parseInt(String value) {
+            try {
+                return null == value ? 0 : Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+
+    }
+
+}
@@ -24,6 +24,8 @@
  ********************************************************************************/
 package org.aoju.bus.pager;
 
+import org.aoju.bus.pager.plugin.PageFromObject;
+
 import java.io.Closeable;
 import java.util.ArrayList;
 import java.util.List;
@@ -87,6 +89,18 @@ public class Page<E> extends ArrayList<E> implements Closeable {
      * 只增加排序
      */
     private boolean orderByOnly;
+    /**
+     * 上一页最后一行的排序键,不为空时使用 keyset 分页
+     */
+    private Object[] seekValues;
+    /**
+     * 是否与分页查询并行执行 count 查询,null时用默认配置
+     */
+    private Boolean asyncCount;
+    /**
+     * 是否接受估算的总数
+     */
+    private boolean estimateCount;
 
     public Page() {
         super();
@@ -246,11 +260,91 @@ public class Page<E> extends ArrayList<E> implements Closeable {
         this.orderByOnly = orderByOnly;
     }
 
+    public Object[] getSeekValues() {
+        return seekValues;
+    }
+
+    public void setSeekValues(Object[] seekValues) {
+        this.seekValues = seekValues;
+        calculateStartAndEndRow();
+    }
+
+    public Boolean getAsyncCount() {
+        return asyncCount;
+    }
+
+    public void setAsyncCount(Boolean asyncCount) {
+        this.asyncCount = asyncCount;
+    }
+
+    public boolean isEstimateCount() {
+        return estimateCount;
+    }
+
+    public void setEstimateCount(boolean estimateCount) {
+        this.estimateCount = estimateCount;
+    }
+
+    /**
+     * 设置是否在其他连接上并行执行 count 查询,
+     * count 查询看不到当前事务中未提交的数据
+     *
+     * @param asyncCount 是否并行
+     * @return the page
+     */
+    public Page<E> asyncCount(Boolean asyncCount) {
+        this.asyncCount = asyncCount;
+        return this;
+    }
+
+    /**
+     * 设置是否接受估算的总数,估算值来自数据库统计信息或缓存的 count 结果
+     *
+     * @param estimateCount 是否估算
+     * @return the page
+     */
+    public Page<E> estimateCount(boolean estimateCount) {
+        this.estimateCount = estimateCount;
+        return this;
+    }
+
+    /**
+     * 是否使用 keyset 分页
+     *
+     * @return the boolean
+     */
+    public boolean isKeyset() {
+        return seekValues != null && seekValues.length > 0;
+    }
+
+    /**
+     * 从上一页最后一行的排序键之后开始查询,值的顺序与 order by 一致,
+     * 此时不再使用 offset,始终从定位位置取 pageSize 条
+     *
+     * @param values 排序键
+     * @return the page
+     */
+    public Page<E> seek(Object... values) {
+        setSeekValues(values);
+        return this;
+    }
+
+    /**
+     * 从游标位置开始查询,游标为空时查询第一页
+     *
+     * @param cursor 由 {@link PageCursor} 生成的游标
+     * @return the page
+     */
+    public Page<E> cursor(String cursor) {
+        setSeekValues(PageFromObject.isEmpty(cursor) ? null : PageCursor.decode(cursor));
+        return this;
+    }
+
     /**
-     * 计算起止行号
+     * 计算起止行号,keyset 分页始终从定位位置开始
      */
     private void calculateStartAndEndRow() {
-        this.startRow = this.pageNo > 0 ? (this.pageNo - 1) * this.pageSize : 0;
+        this.startRow = this.pageNo > 0 && !isKeyset() ? (this.pageNo - 1) * this.pageSize : 0;
         this.endRow = this.startRow + this.pageSize * (this.pageNo > 0 ? 1 : 0);
     }
 
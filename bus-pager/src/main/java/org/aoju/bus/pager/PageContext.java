@@ -24,6 +24,7 @@
  ********************************************************************************/
 package org.aoju.bus.pager;
 
+import org.aoju.bus.pager.cache.SqlCache;
 import org.aoju.bus.pager.dialect.AbstractHelperDialect;
 import org.aoju.bus.pager.dialect.Dialect;
 import org.aoju.bus.pager.parser.CountSqlParser;
@@ -37,6 +38,8 @@ import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.session.RowBounds;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Properties;
 
@@ -80,6 +83,26 @@ public class PageContext extends PageMethod implements Dialect {
         return autoDialect.getDelegate().getCountSql(ms, boundSql, parameterObject, rowBounds, countKey);
     }
 
+    @Override
+    public boolean asyncCount(MappedStatement ms, Object parameterObject, RowBounds rowBounds) {
+        return autoDialect.getDelegate().asyncCount(ms, parameterObject, rowBounds);
+    }
+
+    @Override
+    public boolean estimateCount(MappedStatement ms, Object parameterObject, RowBounds rowBounds) {
+        return autoDialect.getDelegate().estimateCount(ms, parameterObject, rowBounds);
+    }
+
+    @Override
+    public String getEstimateCountSql(MappedStatement ms, BoundSql boundSql, Object parameterObject) {
+        return autoDialect.getDelegate().getEstimateCountSql(ms, boundSql, parameterObject);
+    }
+
+    @Override
+    public long getEstimateCount(ResultSet resultSet) throws SQLException {
+        return autoDialect.getDelegate().getEstimateCount(resultSet);
+    }
+
     @Override
     public boolean afterCount(long count, Object parameterObject, RowBounds rowBounds) {
         return autoDialect.getDelegate().afterCount(count, parameterObject, rowBounds);
@@ -134,6 +157,8 @@ public class PageContext extends PageMethod implements Dialect {
         autoDialect.setProperties(properties);
         //20180902新增 aggregateFunctions, 允许手动添加聚合函数(影响行数)
         CountSqlParser.addAggregateFunctions(properties.getProperty("aggregateFunctions"));
+        //SQL 改写结果缓存,所有方言共享
+        SqlCache.setProperties(properties);
     }
 
 }
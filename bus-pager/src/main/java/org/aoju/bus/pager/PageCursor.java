@@ -0,0 +1,201 @@
+/*********************************************************************************
+ *                                                                               *
+ * The MIT License (MIT)                                                         *
+ *                                                                               *
+ * Copyright (c) 2015-2020 aoju.org and other contributors.                      *
+ *                                                                               *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy  *
+ * of this software and associated documentation files (the "Software"), to deal *
+ * in the Software without restriction, including without limitation the rights  *
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell     *
+ * copies of the Software, and to permit persons to whom the Software is         *
+ * furnished to do so, subject to the following conditions:                      *
+ *                                                                               *
+ * The above copyright notice and this permission notice shall be included in    *
+ * all copies or substantial portions of the Software.                           *
+ *                                                                               *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR    *
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,      *
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE   *
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER        *
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, *
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN     *
+ * THE SOFTWARE.                                                                 *
+ ********************************************************************************/
+package org.aoju.bus.pager;
+
+import org.aoju.bus.pager.reflect.MetaObject;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * keyset 分页游标
+ * 将上一页最后一行的排序键编码为可在URL中传递的字符串,
+ * 支持字符串、数值、布尔、日期时间等类型,不支持 null
+ *
+ * @author Kimi Liu
+ * @version 6.0.1
+ * @since JDK 1.8+
+ */
+public class PageCursor {
+
+    private static final byte STRING = 'S';
+    private static final byte INT = 'I';
+    private static final byte LONG = 'J';
+    private static final byte DOUBLE = 'D';
+    private static final byte FLOAT = 'F';
+    private static final byte DECIMAL = 'B';
+    private static final byte BIG_INTEGER = 'G';
+    private static final byte BOOLEAN = 'Z';
+    private static final byte DATE = 'W';
+    private static final byte TIMESTAMP = 'T';
+    private static final byte LOCAL_DATE = 'L';
+    private static final byte LOCAL_DATE_TIME = 'l';
+
+    /**
+     * 读取行对象的属性生成游标
+     *
+     * @param row        上一页最后一行
+     * @param properties 排序键对应的属性名,与 order by 顺序一致
+     * @return 游标
+     */
+    public static String from(Object row, String... properties) {
+        org.apache.ibatis.reflection.MetaObject metaObject = MetaObject.forObject(row);
+        Object[] values = new Object[properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            values[i] = metaObject.getValue(properties[i]);
+        }
+        return encode(values);
+    }
+
+    /**
+     * 编码排序键
+     *
+     * @param values 排序键,与 order by 顺序一致
+     * @return 游标
+     */
+    public static String encode(Object... values) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(values.length * 12);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(values.length);
+            for (Object value : values) {
+                write(out, value);
+            }
+        } catch (IOException e) {
+            throw new PageException("生成分页游标失败: " + e, e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * 解码排序键
+     *
+     * @param cursor 游标
+     * @return 排序键
+     */
+    public static Object[] decode(String cursor) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)))) {
+            Object[] values = new Object[in.readUnsignedByte()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = read(in);
+            }
+            if (in.read() != -1) {
+                throw new PageException("无效的分页游标: " + cursor);
+            }
+            return values;
+        } catch (IOException | IllegalArgumentException | DateTimeException e) {
+            throw new PageException("无效的分页游标: " + cursor, e);
+        }
+    }
+
+    private static void write(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            throw new PageException("分页游标不支持 null 值");
+        }
+        if (value instanceof String) {
+            out.writeByte(STRING);
+            out.writeUTF((String) value);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.writeByte(INT);
+            out.writeInt(((Number) value).intValue());
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            out.writeByte(FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof BigDecimal) {
+            out.writeByte(DECIMAL);
+            out.writeUTF(value.toString());
+        } else if (value instanceof BigInteger) {
+            out.writeByte(BIG_INTEGER);
+            out.writeUTF(value.toString());
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Timestamp) {
+            out.writeByte(TIMESTAMP);
+            out.writeLong(((Timestamp) value).getTime());
+            out.writeInt(((Timestamp) value).getNanos());
+        } else if (value instanceof Date) {
+            out.writeByte(DATE);
+            out.writeLong(((Date) value).getTime());
+        } else if (value instanceof LocalDate) {
+            out.writeByte(LOCAL_DATE);
+            out.writeLong(((LocalDate) value).toEpochDay());
+        } else if (value instanceof LocalDateTime) {
+            out.writeByte(LOCAL_DATE_TIME);
+            out.writeLong(((LocalDateTime) value).toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(((LocalDateTime) value).getNano());
+        } else {
+            throw new PageException("分页游标不支持的类型: " + value.getClass().getName());
+        }
+    }
+
+    private static Object read(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case STRING:
+                return in.readUTF();
+            case INT:
+                return in.readInt();
+            case LONG:
+                return in.readLong();
+            case DOUBLE:
+                return in.readDouble();
+            case FLOAT:
+                return in.readFloat();
+            case DECIMAL:
+                return new BigDecimal(in.readUTF());
+            case BIG_INTEGER:
+                return new BigInteger(in.readUTF());
+            case BOOLEAN:
+                return in.readBoolean();
+            case TIMESTAMP:
+                Timestamp timestamp = new Timestamp(in.readLong());
+                timestamp.setNanos(in.readInt());
+                return timestamp;
+            case DATE:
+                return new Date(in.readLong());
+            case LOCAL_DATE:
+                return LocalDate.ofEpochDay(in.readLong());
+            case LOCAL_DATE_TIME:
+                return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+            default:
+                throw new PageException("无效的分页游标类型: " + (char) type);
+        }
+    }
+
+}
@@ -0,0 +1,118 @@
+/*********************************************************************************
+ *                                                                               *
+ * The MIT License (MIT)                                                         *
+ *                                                                               *
+ * Copyright (c) 2015-2020 aoju.org and other contributors.                      *
+ *                                                                               *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy  *
+ * of this software and associated documentation files (the "Software"), to deal *
+ * in the Software without restriction, including without limitation the rights  *
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell     *
+ * copies of the Software, and to permit persons to whom the Software is         *
+ * furnished to do so, subject to the following conditions:                      *
+ *                                                                               *
+ * The above copyright notice and this permission notice shall be included in    *
+ * all copies or substantial portions of the Software.                           *
+ *                                                                               *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR    *
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,      *
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE   *
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER        *
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, *
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN     *
+ * THE SOFTWARE.                                                                 *
+ ********************************************************************************/
+package org.aoju.bus.pager.cache;
+
+import org.aoju.bus.pager.parser.KeysetSql;
+import org.aoju.bus.pager.plugin.PageFromObject;
+
+import java.util.Properties;
+
+/**
+ * SQL 改写结果缓存
+ * 以原始SQL为键缓存 count、order by 及 keyset 的改写结果,所有方言共享,
+ * 避免同一条SQL每次分页都重新解析,可通过 sqlParserCache=false 关闭
+ * SqlServer 分页模板由 SqlServerDialect 自行缓存
+ *
+ * @author Kimi Liu
+ * @version 6.0.1
+ * @since JDK 1.8+
+ */
+public final class SqlCache {
+
+    private static final char SEPARATOR = '\u0000';
+
+    private static volatile MetricCache<String, String> COUNT_SQL;
+    private static volatile MetricCache<String, String> ORDER_BY_SQL;
+    private static volatile MetricCache<String, KeysetSql> KEYSET_SQL;
+
+    static {
+        setProperties(new Properties());
+    }
+
+    private SqlCache() {
+
+    }
+
+    /**
+     * 根据配置重新创建缓存
+     *
+     * @param properties 属性
+     */
+    public static void setProperties(Properties properties) {
+        if ("false".equalsIgnoreCase(properties.getProperty("sqlParserCache"))) {
+            COUNT_SQL = null;
+            ORDER_BY_SQL = null;
+            KEYSET_SQL = null;
+            return;
+        }
+        String sqlCacheClass = properties.getProperty("sqlCacheClass");
+        if (PageFromObject.isEmpty(sqlCacheClass) || "false".equalsIgnoreCase(sqlCacheClass)) {
+            sqlCacheClass = null;
+        }
+        COUNT_SQL = new MetricCache<>(CacheFactory.createCache(sqlCacheClass, "countSql", properties));
+        ORDER_BY_SQL = new MetricCache<>(CacheFactory.createCache(sqlCacheClass, "orderBySql", properties));
+        KEYSET_SQL = new MetricCache<>(CacheFactory.createCache(sqlCacheClass, "keysetSql", properties));
+    }
+
+    /**
+     * count 查询缓存,关闭时返回 null
+     *
+     * @return the cache
+     */
+    public static MetricCache<String, String> getCountSqlCache() {
+        return COUNT_SQL;
+    }
+
+    /**
+     * order by 改写缓存,关闭时返回 null
+     *
+     * @return the cache
+     */
+    public static MetricCache<String, String> getOrderBySqlCache() {
+        return ORDER_BY_SQL;
+    }
+
+    /**
+     * keyset 分页改写缓存,关闭时返回 null
+     *
+     * @return the cache
+     */
+    public static MetricCache<String, KeysetSql> getKeysetSqlCache() {
+        return KEYSET_SQL;
+    }
+
+    /**
+     * 组合缓存键
+     *
+     * @param sql   原始SQL
+     * @param extra 附加条件,如count列或排序
+     * @return the string
+     */
+    public static String key(String sql, String extra) {
+        return new StringBuilder(sql.length() + extra.length() + 1)
+                .append(sql).append(SEPARATOR).append(extra).toString();
+    }
+
+}
@@ -26,7 +26,10 @@ package org.aoju.bus.pager.dialect;
 
 import org.aoju.bus.pager.Page;
 import org.aoju.bus.pager.PageContext;
+import org.aoju.bus.pager.PageException;
 import org.aoju.bus.pager.PageRowBounds;
+import org.aoju.bus.pager.parser.KeysetParser;
+import org.aoju.bus.pager.parser.KeysetSql;
 import org.aoju.bus.pager.parser.OrderByParser;
 import org.aoju.bus.pager.plugin.PageFromObject;
 import org.aoju.bus.pager.reflect.MetaObject;
@@ -47,6 +50,8 @@ import java.util.*;
  */
 public abstract class AbstractHelperDialect extends AbstractDialect {
 
+    private boolean asyncCount;
+
     /**
      * 获取分页参数
      *
@@ -79,6 +84,22 @@ public abstract class AbstractHelperDialect extends AbstractDialect {
         return countSqlParser.getSmartCountSql(boundSql.getSql());
     }
 
+    @Override
+    public boolean asyncCount(MappedStatement ms, Object parameterObject, RowBounds rowBounds) {
+        Page page = getLocalPage();
+        Boolean async = page.getAsyncCount();
+        //分页合理化会根据总数修正页码,必须先得到总数
+        if (Boolean.TRUE.equals(page.getReasonable())) {
+            return false;
+        }
+        return async != null ? async : asyncCount;
+    }
+
+    @Override
+    public boolean estimateCount(MappedStatement ms, Object parameterObject, RowBounds rowBounds) {
+        return getLocalPage().isEstimateCount();
+    }
+
     @Override
     public boolean afterCount(long count, Object parameterObject, RowBounds rowBounds) {
         Page page = getLocalPage();
@@ -137,9 +158,50 @@ public abstract class AbstractHelperDialect extends AbstractDialect {
                 }
             }
         }
+        if (page.isKeyset()) {
+            processKeysetParameter(ms, paramMap, page, boundSql, pageKey);
+        }
         return processPageParameter(ms, paramMap, page, boundSql, pageKey);
     }
 
+    /**
+     * 处理 keyset 分页,在查询条件中加入定位条件及参数
+     *
+     * @param ms       MappedStatement
+     * @param paramMap Map
+     * @param page     Page
+     * @param boundSql BoundSql
+     * @param pageKey  CacheKey
+     */
+    protected void processKeysetParameter(MappedStatement ms, Map<String, Object> paramMap, Page page, BoundSql boundSql, CacheKey pageKey) {
+        String sql = boundSql.getSql();
+        //定位条件依赖最终的排序,先处理 order by
+        if (PageFromObject.isNotEmpty(page.getOrderBy())) {
+            sql = OrderByParser.converToOrderBySql(sql, page.getOrderBy());
+        }
+        KeysetSql keysetSql = KeysetParser.converToKeysetSql(sql);
+        Object[] values = page.getSeekValues();
+        if (values.length != keysetSql.getColumns()) {
+            throw new PageException("分页游标中的排序键数量[" + values.length
+                    + "]与 order by 列数量[" + keysetSql.getColumns() + "]不一致");
+        }
+        for (int i = 0; i < values.length; i++) {
+            paramMap.put(PAGEPARAMETER_KEYSET + i, values[i]);
+            pageKey.update(values[i]);
+        }
+        org.apache.ibatis.reflection.MetaObject metaObject = MetaObject.forObject(boundSql);
+        if (boundSql.getParameterMappings() != null) {
+            List<ParameterMapping> keysetMappings = new ArrayList<>(keysetSql.getValueIndexes().length);
+            for (int index : keysetSql.getValueIndexes()) {
+                keysetMappings.add(new ParameterMapping.Builder(ms.getConfiguration(), PAGEPARAMETER_KEYSET + index, Object.class).build());
+            }
+            List<ParameterMapping> newParameterMappings = new ArrayList<>(boundSql.getParameterMappings());
+            newParameterMappings.addAll(keysetSql.getParameterIndex(), keysetMappings);
+            metaObject.setValue("parameterMappings", newParameterMappings);
+        }
+        metaObject.setValue("sql", keysetSql.getSql());
+    }
+
     /**
      * 处理分页参数
      *
@@ -169,7 +231,10 @@ public abstract class AbstractHelperDialect extends AbstractDialect {
         String orderBy = page.getOrderBy();
         if (PageFromObject.isNotEmpty(orderBy)) {
             pageKey.update(orderBy);
-            sql = OrderByParser.converToOrderBySql(sql, orderBy);
+            //keyset 分页已经处理过排序
+            if (!page.isKeyset()) {
+                sql = OrderByParser.converToOrderBySql(sql, orderBy);
+            }
         }
         if (page.isOrderByOnly()) {
             return sql;
@@ -211,7 +276,8 @@ public abstract class AbstractHelperDialect extends AbstractDialect {
 
     @Override
     public void setProperties(Properties properties) {
-
+        //默认是否并行执行 count 查询
+        this.asyncCount = Boolean.parseBoolean(properties.getProperty("asyncCount"));
     }
 
     protected void handleParameter(BoundSql boundSql, MappedStatement ms) {
@@ -29,6 +29,8 @@ import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.session.RowBounds;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Properties;
 
@@ -49,6 +51,8 @@ public interface Dialect {
     String PAGEPARAMETER_FIRST = "First" + SUFFIX_PAGE;
     //第二个分页参数
     String PAGEPARAMETER_SECOND = "Second" + SUFFIX_PAGE;
+    //keyset 分页参数前缀
+    String PAGEPARAMETER_KEYSET = "Keyset" + SUFFIX_PAGE;
 
     /**
      * 跳过 count 和 分页查询
@@ -82,6 +86,53 @@ public interface Dialect {
      */
     String getCountSql(MappedStatement ms, BoundSql boundSql, Object parameterObject, RowBounds rowBounds, CacheKey countKey);
 
+    /**
+     * 是否在其他连接上与分页查询并行执行 count 查询,默认不并行
+     *
+     * @param ms              MappedStatement
+     * @param parameterObject 方法参数
+     * @param rowBounds       分页参数
+     * @return the boolean
+     */
+    default boolean asyncCount(MappedStatement ms, Object parameterObject, RowBounds rowBounds) {
+        return false;
+    }
+
+    /**
+     * 是否接受估算的总数,估算结果按 SQL 和参数缓存,默认不估算
+     *
+     * @param ms              MappedStatement
+     * @param parameterObject 方法参数
+     * @param rowBounds       分页参数
+     * @return the boolean
+     */
+    default boolean estimateCount(MappedStatement ms, Object parameterObject, RowBounds rowBounds) {
+        return false;
+    }
+
+    /**
+     * 生成估算总数的 sql,如 mysql 的 explain,返回 null 时使用精确的 count 查询
+     *
+     * @param ms              MappedStatement
+     * @param boundSql        绑定 SQL 对象
+     * @param parameterObject 方法参数
+     * @return the string
+     */
+    default String getEstimateCountSql(MappedStatement ms, BoundSql boundSql, Object parameterObject) {
+        return null;
+    }
+
+    /**
+     * 从估算 sql 的结果中读取总数
+     *
+     * @param resultSet 估算 sql 的结果
+     * @return 总数, 无法估算时返回 -1
+     * @throws SQLException 异常
+     */
+    default long getEstimateCount(ResultSet resultSet) throws SQLException {
+        return -1;
+    }
+
     /**
      * 执行完 count 查询后
      *
@@ -32,6 +32,8 @@ import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.ParameterMapping;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -79,4 +81,33 @@ public class MySqlDialect extends AbstractHelperDialect {
         return sqlBuilder.toString();
     }
 
+    @Override
+    public String getEstimateCountSql(MappedStatement ms, BoundSql boundSql, Object parameterObject) {
+        return "EXPLAIN " + boundSql.getSql();
+    }
+
+    /**
+     * 取执行计划第一行的 rows,并按 filtered 比例折算
+     */
+    @Override
+    public long getEstimateCount(ResultSet resultSet) throws SQLException {
+        if (!resultSet.next()) {
+            return -1;
+        }
+        int rows;
+        try {
+            rows = resultSet.findColumn("rows");
+        } catch (SQLException e) {
+            //sqlite 等不支持 mysql 格式的执行计划
+            return -1;
+        }
+        double count = resultSet.getLong(rows);
+        try {
+            count = count * resultSet.getDouble("filtered") / 100;
+        } catch (SQLException e) {
+            //低版本没有 filtered 列
+        }
+        return (long) Math.ceil(count);
+    }
+
 }
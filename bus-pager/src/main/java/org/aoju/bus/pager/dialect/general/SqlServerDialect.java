@@ -35,6 +35,7 @@ import org.aoju.bus.pager.dialect.replace.SimpleWithNolockReplaceSql;
 import org.aoju.bus.pager.parser.OrderByParser;
 import org.aoju.bus.pager.parser.SqlServerParser;
 import org.aoju.bus.pager.plugin.PageFromObject;
+import org.aoju.bus.pager.reflect.MetaObject;
 import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
@@ -77,6 +78,17 @@ public class SqlServerDialect extends AbstractHelperDialect {
         return paramMap;
     }
 
+    /**
+     * keyset 分页同样先将with(nolock)转换为假的表名,改写完成后再恢复
+     */
+    @Override
+    protected void processKeysetParameter(MappedStatement ms, Map<String, Object> paramMap, Page page, BoundSql boundSql, CacheKey pageKey) {
+        org.apache.ibatis.reflection.MetaObject metaObject = MetaObject.forObject(boundSql);
+        metaObject.setValue("sql", this.replaceSql.replace(boundSql.getSql()));
+        super.processKeysetParameter(ms, paramMap, page, boundSql, pageKey);
+        metaObject.setValue("sql", this.replaceSql.restore(boundSql.getSql()));
+    }
+
     /**
      * 分页查询,pageHelper转换SQL时报错with(nolock)不识别的问题,
      * 重写父类AbstractHelperDialect.getPageSql转换出错的方法
@@ -89,7 +101,10 @@ public class SqlServerDialect extends AbstractHelperDialect {
         String sql = boundSql.getSql();
         Page page = this.getLocalPage();
         String orderBy = page.getOrderBy();
-        if (Assert.isNotEmpty(orderBy)) {
+        if (Assert.isNotEmpty(orderBy) && page.isKeyset()) {
+            //keyset 分页已经处理过排序
+            pageKey.update(orderBy);
+        } else if (Assert.isNotEmpty(orderBy)) {
             pageKey.update(orderBy);
             sql = this.replaceSql.replace(sql);
             sql = OrderByParser.converToOrderBySql(sql, orderBy);
@@ -31,6 +31,8 @@ import net.sf.jsqlparser.parser.CCJSqlParserUtil;
 import net.sf.jsqlparser.schema.Column;
 import net.sf.jsqlparser.statement.Statement;
 import net.sf.jsqlparser.statement.select.*;
+import org.aoju.bus.pager.cache.MetricCache;
+import org.aoju.bus.pager.cache.SqlCache;
 import org.aoju.bus.core.lang.Symbol;
 import org.aoju.bus.pager.plugin.PageFromObject;
 
@@ -173,6 +175,27 @@ public class CountSqlParser {
      * @return the string
      */
     public String getSmartCountSql(String sql, String name) {
+        MetricCache<String, String> cache = SqlCache.getCountSqlCache();
+        if (cache == null) {
+            return parseSmartCountSql(sql, name);
+        }
+        String key = SqlCache.key(sql, name);
+        String countSql = cache.get(key);
+        if (countSql == null) {
+            countSql = parseSmartCountSql(sql, name);
+            cache.put(key, countSql);
+        }
+        return countSql;
+    }
+
+    /**
+     * 解析并改写为countSql
+     *
+     * @param sql  sql
+     * @param name 列名
+     * @return the string
+     */
+    protected String parseSmartCountSql(String sql, String name) {
         //解析SQL
         Statement stmt;
         //特殊sql不需要去掉order by时,使用注释前缀
@@ -0,0 +1,199 @@
+/*********************************************************************************
+ *                                                                               *
+ * The MIT License (MIT)                                                         *
+ *                                                                               *
+ * Copyright (c) 2015-2020 aoju.org and other contributors.                      *
+ *                                                                               *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy  *
+ * of this software and associated documentation files (the "Software"), to deal *
+ * in the Software without restriction, including without limitation the rights  *
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell     *
+ * copies of the Software, and to permit persons to whom the Software is         *
+ * furnished to do so, subject to the following conditions:                      *
+ *                                                                               *
+ * The above copyright notice and this permission notice shall be included in    *
+ * all copies or substantial portions of the Software.                           *
+ *                                                                               *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR    *
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,      *
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE   *
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER        *
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, *
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN     *
+ * THE SOFTWARE.                                                                 *
+ ********************************************************************************/
+package org.aoju.bus.pager.parser;
+
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.LongValue;
+import net.sf.jsqlparser.expression.Parenthesis;
+import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
+import net.sf.jsqlparser.expression.operators.conditional.OrExpression;
+import net.sf.jsqlparser.expression.operators.relational.ComparisonOperator;
+import net.sf.jsqlparser.expression.operators.relational.EqualsTo;
+import net.sf.jsqlparser.expression.operators.relational.GreaterThan;
+import net.sf.jsqlparser.expression.operators.relational.MinorThan;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.select.*;
+import org.aoju.bus.pager.PageException;
+import org.aoju.bus.pager.cache.MetricCache;
+import org.aoju.bus.pager.cache.SqlCache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * keyset(seek) 分页解析
+ * 根据最外层 order by 生成定位条件,如 order by a, b desc 生成
+ * (a &gt; ? OR (a = ? AND b &lt; ?)),以上一页最后一行的排序键定位,
+ * 避免 offset 越大扫描越多的问题,排序列组合必须唯一且不能为 null
+ *
+ * @author Kimi Liu
+ * @version 6.0.1
+ * @since JDK 1.8+
+ */
+public class KeysetParser {
+
+    /**
+     * 参数占位标记,生成SQL后替换为 ?
+     */
+    private static final String MARKER = "__KEYSET_PARAMETER__";
+
+    /**
+     * 转换为 keyset 分页语句
+     *
+     * @param sql sql
+     * @return the keysetSql
+     */
+    public static KeysetSql converToKeysetSql(String sql) {
+        MetricCache<String, KeysetSql> cache = SqlCache.getKeysetSqlCache();
+        if (cache == null) {
+            return parseKeysetSql(sql);
+        }
+        KeysetSql keysetSql = cache.get(sql);
+        if (keysetSql == null) {
+            keysetSql = parseKeysetSql(sql);
+            cache.put(sql, keysetSql);
+        }
+        return keysetSql;
+    }
+
+    private static KeysetSql parseKeysetSql(String sql) {
+        Statement stmt;
+        try {
+            stmt = CCJSqlParserUtil.parse(sql);
+        } catch (Throwable e) {
+            throw new PageException("不支持该SQL转换为keyset分页查询!", e);
+        }
+        if (!(stmt instanceof Select)) {
+            throw new PageException("分页语句必须是Select查询!");
+        }
+        Select select = (Select) stmt;
+        if (!(select.getSelectBody() instanceof PlainSelect)) {
+            throw new PageException("keyset分页不支持 union 等组合查询!");
+        }
+        PlainSelect plainSelect = (PlainSelect) select.getSelectBody();
+        List<OrderByElement> orderByElements = plainSelect.getOrderByElements();
+        if (orderByElements == null || orderByElements.isEmpty()) {
+            throw new PageException("keyset分页必须指定 order by!");
+        }
+        int columns = orderByElements.size();
+        List<Expression> keys = new ArrayList<>(columns);
+        for (OrderByElement element : orderByElements) {
+            keys.add(resolveExpression(plainSelect, element.getExpression()));
+        }
+        //生成定位条件
+        int[] valueIndexes = new int[columns * (columns + 1) / 2];
+        int index = 0;
+        Expression seek = null;
+        for (int i = 0; i < columns; i++) {
+            Expression term = null;
+            for (int j = 0; j < i; j++) {
+                EqualsTo equalsTo = new EqualsTo();
+                equalsTo.setLeftExpression(keys.get(j));
+                equalsTo.setRightExpression(new Column(MARKER));
+                valueIndexes[index++] = j;
+                term = term == null ? equalsTo : new AndExpression(term, equalsTo);
+            }
+            ComparisonOperator compare = orderByElements.get(i).isAsc() ? new GreaterThan() : new MinorThan();
+            compare.setLeftExpression(keys.get(i));
+            compare.setRightExpression(new Column(MARKER));
+            valueIndexes[index++] = i;
+            if (term == null) {
+                term = compare;
+            } else {
+                term = new Parenthesis(new AndExpression(term, compare));
+            }
+            seek = seek == null ? term : new OrExpression(seek, term);
+        }
+        Expression where = plainSelect.getWhere();
+        if (where == null) {
+            plainSelect.setWhere(new Parenthesis(seek));
+        } else {
+            plainSelect.setWhere(new AndExpression(new Parenthesis(where), new Parenthesis(seek)));
+        }
+        String keysetSql = select.toString();
+        int parameterIndex = countParameters(keysetSql, keysetSql.indexOf(MARKER));
+        return new KeysetSql(keysetSql.replace(MARKER, "?"), parameterIndex, valueIndexes, columns);
+    }
+
+    /**
+     * order by 中的别名和序号不能用于 where 条件,替换为对应的查询列
+     *
+     * @param plainSelect 查询
+     * @param expression  排序表达式
+     * @return the expression
+     */
+    private static Expression resolveExpression(PlainSelect plainSelect, Expression expression) {
+        List<SelectItem> selectItems = plainSelect.getSelectItems();
+        if (expression instanceof LongValue) {
+            int position = (int) ((LongValue) expression).getValue();
+            if (position > 0 && position <= selectItems.size()
+                    && selectItems.get(position - 1) instanceof SelectExpressionItem) {
+                return ((SelectExpressionItem) selectItems.get(position - 1)).getExpression();
+            }
+            throw new PageException("keyset分页无法解析排序列: " + expression);
+        }
+        if (expression instanceof Column && ((Column) expression).getTable() == null) {
+            String name = ((Column) expression).getColumnName();
+            for (SelectItem item : selectItems) {
+                if (item instanceof SelectExpressionItem) {
+                    SelectExpressionItem expressionItem = (SelectExpressionItem) item;
+                    if (expressionItem.getAlias() != null
+                            && name.equalsIgnoreCase(expressionItem.getAlias().getName())) {
+                        return expressionItem.getExpression();
+                    }
+                }
+            }
+        }
+        return expression;
+    }
+
+    /**
+     * 统计指定位置之前的参数个数,忽略引号中的内容
+     *
+     * @param sql sql
+     * @param end 结束位置
+     * @return the int
+     */
+    private static int countParameters(String sql, int end) {
+        int count = 0;
+        char quote = 0;
+        for (int i = 0; i < end; i++) {
+            char c = sql.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+            } else if (c == '?') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+}
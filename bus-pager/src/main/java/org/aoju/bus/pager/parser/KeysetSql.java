@@ -0,0 +1,76 @@
+/*********************************************************************************
+ *                                                                               *
+ * The MIT License (MIT)                                                         *
+ *                                                                               *
+ * Copyright (c) 2015-2020 aoju.org and other contributors.                      *
+ *                                                                               *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy  *
+ * of this software and associated documentation files (the "Software"), to deal *
+ * in the Software without restriction, including without limitation the rights  *
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell     *
+ * copies of the Software, and to permit persons to whom the Software is         *
+ * furnished to do so, subject to the following conditions:                      *
+ *                                                                               *
+ * The above copyright notice and this permission notice shall be included in    *
+ * all copies or substantial portions of the Software.                           *
+ *                                                                               *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR    *
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,      *
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE   *
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER        *
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, *
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN     *
+ * THE SOFTWARE.                                                                 *
+ ********************************************************************************/
+package org.aoju.bus.pager.parser;
+
+/**
+ * keyset 分页改写结果
+ *
+ * @author Kimi Liu
+ * @version 6.0.1
+ * @since JDK 1.8+
+ */
+public class KeysetSql {
+
+    /**
+     * 增加了定位条件的SQL
+     */
+    private final String sql;
+    /**
+     * 定位条件中第一个参数在原有参数中的位置
+     */
+    private final int parameterIndex;
+    /**
+     * 定位条件中每个参数对应的排序键下标
+     */
+    private final int[] valueIndexes;
+    /**
+     * 排序列数量
+     */
+    private final int columns;
+
+    public KeysetSql(String sql, int parameterIndex, int[] valueIndexes, int columns) {
+        this.sql = sql;
+        this.parameterIndex = parameterIndex;
+        this.valueIndexes = valueIndexes;
+        this.columns = columns;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public int getParameterIndex() {
+        return parameterIndex;
+    }
+
+    public int[] getValueIndexes() {
+        return valueIndexes;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+}
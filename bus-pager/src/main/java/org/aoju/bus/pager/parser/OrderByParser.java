@@ -29,6 +29,8 @@ import net.sf.jsqlparser.statement.Statement;
 import net.sf.jsqlparser.statement.select.*;
 import org.aoju.bus.core.lang.Symbol;
 import org.aoju.bus.pager.PageException;
+import org.aoju.bus.pager.cache.MetricCache;
+import org.aoju.bus.pager.cache.SqlCache;
 
 import java.util.List;
 
@@ -49,6 +51,27 @@ public class OrderByParser {
      * @return the string
      */
     public static String converToOrderBySql(String sql, String orderBy) {
+        MetricCache<String, String> cache = SqlCache.getOrderBySqlCache();
+        if (cache == null) {
+            return parseOrderBySql(sql, orderBy);
+        }
+        String key = SqlCache.key(sql, orderBy);
+        String orderBySql = cache.get(key);
+        if (orderBySql == null) {
+            orderBySql = parseOrderBySql(sql, orderBy);
+            cache.put(key, orderBySql);
+        }
+        return orderBySql;
+    }
+
+    /**
+     * 解析并改写排序
+     *
+     * @param sql     sql
+     * @param orderBy 排序
+     * @return the string
+     */
+    private static String parseOrderBySql(String sql, String orderBy) {
         try {
             Statement stmt = CCJSqlParserUtil.parse(sql);
             Select select = (Select) stmt;
@@ -101,6 +101,24 @@ public class SqlServerParser {
      * @return the string
      */
     public String convertToPageSql(String sql, Integer offset, Integer limit) {
+        //模板由 SqlServerDialect 缓存,这里不再缓存,使用时再替换参数
+        String pageSql = parsePageSql(sql);
+        if (offset != null) {
+            pageSql = pageSql.replace(START_ROW, String.valueOf(offset));
+        }
+        if (limit != null) {
+            pageSql = pageSql.replace(PAGE_SIZE, String.valueOf(limit));
+        }
+        return pageSql;
+    }
+
+    /**
+     * 解析并生成分页模板
+     *
+     * @param sql sql
+     * @return the string
+     */
+    protected String parsePageSql(String sql) {
         //解析SQL
         Statement stmt;
         try {
@@ -113,15 +131,7 @@ public class SqlServerParser {
         }
         //获取分页查询的select
         Select pageSelect = getPageSelect((Select) stmt);
-        String pageSql = pageSelect.toString();
-        //缓存移到外面了,所以不替换参数
-        if (offset != null) {
-            pageSql = pageSql.replace(START_ROW, String.valueOf(offset));
-        }
-        if (limit != null) {
-            pageSql = pageSql.replace(PAGE_SIZE, String.valueOf(limit));
-        }
-        return pageSql;
+        return pageSelect.toString();
     }
 
     /**
@@ -28,13 +28,19 @@ import org.aoju.bus.pager.PageException;
 import org.aoju.bus.pager.dialect.Dialect;
 import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.SimpleExecutor;
 import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.Environment;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.transaction.Transaction;
 
 import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
@@ -127,23 +133,104 @@ public abstract class CountExecutor {
     public static Long executeAutoCount(Dialect dialect, Executor executor, MappedStatement countMs,
                                         Object parameter, BoundSql boundSql,
                                         RowBounds rowBounds, ResultHandler resultHandler) throws SQLException {
-        Map<String, Object> additionalParameters = getAdditionalParameter(boundSql);
         //创建 count 查询的缓存 key
         CacheKey countKey = executor.createCacheKey(countMs, parameter, RowBounds.DEFAULT, boundSql);
-        //调用方言获取 count sql
-        String countSql = dialect.getCountSql(countMs, boundSql, parameter, rowBounds, countKey);
-        //countKey.update(countSql);
-        BoundSql countBoundSql = new BoundSql(countMs.getConfiguration(), countSql, boundSql.getParameterMappings(), parameter);
-        //当使用动态 SQL 时,可能会产生临时的参数,这些参数需要手动设置到新的 BoundSql 中
-        for (String key : additionalParameters.keySet()) {
-            countBoundSql.setAdditionalParameter(key, additionalParameters.get(key));
-        }
+        BoundSql countBoundSql = getAutoCountBoundSql(dialect, countMs, parameter, boundSql, rowBounds, countKey);
         //执行 count 查询
         Object countResultList = executor.query(countMs, parameter, RowBounds.DEFAULT, resultHandler, countKey, countBoundSql);
         Long count = (Long) ((List) countResultList).get(0);
         return count;
     }
 
+    /**
+     * 生成自动 count 查询的 BoundSql
+     *
+     * @param dialect   方言
+     * @param countMs   MappedStatement
+     * @param parameter 参数
+     * @param boundSql  BoundSql
+     * @param rowBounds RowBounds
+     * @param countKey  count 缓存 key
+     * @return the boundSql
+     */
+    public static BoundSql getAutoCountBoundSql(Dialect dialect, MappedStatement countMs, Object parameter,
+                                                BoundSql boundSql, RowBounds rowBounds, CacheKey countKey) {
+        //调用方言获取 count sql
+        String countSql = dialect.getCountSql(countMs, boundSql, parameter, rowBounds, countKey);
+        return copyBoundSql(countMs.getConfiguration(), countSql, boundSql, parameter);
+    }
+
+    /**
+     * 在新的连接上执行 count 查询,不经过拦截器,也看不到当前事务中未提交的数据
+     *
+     * @param countMs       MappedStatement
+     * @param parameter     参数
+     * @param countBoundSql count 查询的 BoundSql
+     * @return the long
+     * @throws SQLException 异常
+     */
+    public static Long executeCountOnNewConnection(MappedStatement countMs, Object parameter,
+                                                   BoundSql countBoundSql) throws SQLException {
+        Configuration configuration = countMs.getConfiguration();
+        Environment environment = configuration.getEnvironment();
+        Transaction transaction = environment.getTransactionFactory()
+                .newTransaction(environment.getDataSource(), null, true);
+        Executor executor = new SimpleExecutor(configuration, transaction);
+        try {
+            CacheKey countKey = executor.createCacheKey(countMs, parameter, RowBounds.DEFAULT, countBoundSql);
+            List<Object> countResultList = executor.query(countMs, parameter, RowBounds.DEFAULT,
+                    Executor.NO_RESULT_HANDLER, countKey, countBoundSql);
+            return ((Number) countResultList.get(0)).longValue();
+        } finally {
+            executor.close(false);
+        }
+    }
+
+    /**
+     * 执行方言提供的估算 sql,如 explain
+     *
+     * @param dialect     方言
+     * @param executor    执行者
+     * @param ms          MappedStatement
+     * @param parameter   参数
+     * @param boundSql    BoundSql
+     * @param estimateSql 估算 sql
+     * @return 估算的总数, 无法估算时返回 null
+     * @throws SQLException 异常
+     */
+    public static Long executeEstimateCount(Dialect dialect, Executor executor, MappedStatement ms,
+                                            Object parameter, BoundSql boundSql,
+                                            String estimateSql) throws SQLException {
+        BoundSql estimateBoundSql = copyBoundSql(ms.getConfiguration(), estimateSql, boundSql, parameter);
+        Connection connection = executor.getTransaction().getConnection();
+        try (PreparedStatement statement = connection.prepareStatement(estimateSql)) {
+            ms.getConfiguration().newParameterHandler(ms, parameter, estimateBoundSql).setParameters(statement);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                long count = dialect.getEstimateCount(resultSet);
+                return count < 0 ? null : count;
+            }
+        }
+    }
+
+    /**
+     * 使用新的 sql 复制 BoundSql
+     * 当使用动态 SQL 时,可能会产生临时的参数,这些参数需要手动设置到新的 BoundSql 中
+     *
+     * @param configuration 配置
+     * @param sql           新的 sql
+     * @param boundSql      原 BoundSql
+     * @param parameter     参数
+     * @return the boundSql
+     */
+    private static BoundSql copyBoundSql(Configuration configuration, String sql, BoundSql boundSql, Object parameter) {
+        BoundSql newBoundSql = new BoundSql(configuration, sql, boundSql.getParameterMappings(), parameter);
+        Map<String, Object> additionalParameters = getAdditionalParameter(boundSql);
+        for (String key : additionalParameters.keySet()) {
+            newBoundSql.setAdditionalParameter(key, additionalParameters.get(key));
+        }
+        return newBoundSql;
+    }
+
     /**
      * 分页查询
      *
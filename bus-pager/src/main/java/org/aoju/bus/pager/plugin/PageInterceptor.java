@@ -24,6 +24,7 @@
  ********************************************************************************/
 package org.aoju.bus.pager.plugin;
 
+import org.aoju.bus.core.thread.NamedThreadFactory;
 import org.aoju.bus.pager.PageException;
 import org.aoju.bus.pager.cache.Cache;
 import org.aoju.bus.pager.cache.CacheFactory;
@@ -40,6 +41,10 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Mybatis - 通用分页拦截器
@@ -57,6 +62,10 @@ import java.util.Properties;
 public class PageInterceptor implements Interceptor {
 
     protected Cache<String, MappedStatement> msCountMap = null;
+    protected Cache<CacheKey, long[]> estimateCountCache = null;
+    private volatile ExecutorService countExecutorService;
+    private int asyncCountThreads = Runtime.getRuntime().availableProcessors();
+    private long estimateCountTtl = 60000;
     private volatile Dialect dialect;
     private String countSuffix = "_COUNT";
     private String default_dialect_class = "org.aoju.bus.pager.PageContext";
@@ -87,18 +96,37 @@ public class PageInterceptor implements Interceptor {
             List resultList;
             //调用方法判断是否需要进行分页,如果不需要,直接返回结果
             if (!dialect.skip(ms, parameter, rowBounds)) {
+                Future<Long> asyncCount = null;
                 //判断是否需要进行 count 查询
                 if (dialect.beforeCount(ms, parameter, rowBounds)) {
-                    //查询总数
-                    Long count = count(executor, ms, parameter, rowBounds, resultHandler, boundSql);
-                    //处理查询总数,返回 true 时继续分页查询,false 时直接返回
-                    if (!dialect.afterCount(count, parameter, rowBounds)) {
-                        //当查询总数为 0 时,直接返回空的结果
-                        return dialect.afterPage(new ArrayList(), parameter, rowBounds);
+                    if (dialect.asyncCount(ms, parameter, rowBounds)
+                            && !dialect.estimateCount(ms, parameter, rowBounds)) {
+                        //在其他连接上与分页查询并行执行
+                        asyncCount = asyncCount(executor, ms, parameter, rowBounds, boundSql);
+                    } else {
+                        //查询总数
+                        Long count = dialect.estimateCount(ms, parameter, rowBounds)
+                                ? estimateCount(executor, ms, parameter, rowBounds, resultHandler, boundSql)
+                                : count(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+                        //处理查询总数,返回 true 时继续分页查询,false 时直接返回
+                        if (!dialect.afterCount(count, parameter, rowBounds)) {
+                            //当查询总数为 0 时,直接返回空的结果
+                            return dialect.afterPage(new ArrayList(), parameter, rowBounds);
+                        }
                     }
                 }
-                resultList = CountExecutor.pageQuery(dialect, executor,
-                        ms, parameter, rowBounds, resultHandler, boundSql, cacheKey);
+                try {
+                    resultList = CountExecutor.pageQuery(dialect, executor,
+                            ms, parameter, rowBounds, resultHandler, boundSql, cacheKey);
+                } catch (Throwable e) {
+                    if (asyncCount != null) {
+                        asyncCount.cancel(true);
+                    }
+                    throw e;
+                }
+                if (asyncCount != null && !dialect.afterCount(joinCount(asyncCount), parameter, rowBounds)) {
+                    resultList = new ArrayList();
+                }
             } else {
                 //rowBounds用参数值,不使用分页插件处理时,仍然支持默认的内存分页
                 resultList = executor.query(ms, parameter, rowBounds, resultHandler, cacheKey, boundSql);
@@ -136,18 +164,99 @@ public class PageInterceptor implements Interceptor {
         if (countMs != null) {
             count = CountExecutor.executeManualCount(executor, countMs, parameter, boundSql, resultHandler);
         } else {
-            countMs = msCountMap.get(countMsId);
-            //自动创建
-            if (countMs == null) {
-                //根据当前的 ms 创建一个返回值为 Long 类型的 ms
-                countMs = CountMappedStatement.newCountMappedStatement(ms, countMsId);
-                msCountMap.put(countMsId, countMs);
-            }
+            countMs = getCountMappedStatement(ms, countMsId);
             count = CountExecutor.executeAutoCount(dialect, executor, countMs, parameter, boundSql, rowBounds, resultHandler);
         }
         return count;
     }
 
+    private MappedStatement getCountMappedStatement(MappedStatement ms, String countMsId) {
+        MappedStatement countMs = msCountMap.get(countMsId);
+        //自动创建
+        if (countMs == null) {
+            //根据当前的 ms 创建一个返回值为 Long 类型的 ms
+            countMs = CountMappedStatement.newCountMappedStatement(ms, countMsId);
+            msCountMap.put(countMsId, countMs);
+        }
+        return countMs;
+    }
+
+    /**
+     * 在调用线程上生成 count 查询,再提交到线程池在新的连接上执行
+     */
+    private Future<Long> asyncCount(Executor executor, MappedStatement ms, Object parameter,
+                                    RowBounds rowBounds, BoundSql boundSql) {
+        String countMsId = ms.getId() + countSuffix;
+        MappedStatement countMs = CountExecutor.getExistedMappedStatement(ms.getConfiguration(), countMsId);
+        BoundSql countBoundSql;
+        if (countMs != null) {
+            countBoundSql = countMs.getBoundSql(parameter);
+        } else {
+            countMs = getCountMappedStatement(ms, countMsId);
+            CacheKey countKey = executor.createCacheKey(countMs, parameter, RowBounds.DEFAULT, boundSql);
+            countBoundSql = CountExecutor.getAutoCountBoundSql(dialect, countMs, parameter, boundSql, rowBounds, countKey);
+        }
+        final MappedStatement mappedStatement = countMs;
+        return getCountExecutorService().submit(() ->
+                CountExecutor.executeCountOnNewConnection(mappedStatement, parameter, countBoundSql));
+    }
+
+    private Long joinCount(Future<Long> asyncCount) throws SQLException {
+        try {
+            return asyncCount.get();
+        } catch (InterruptedException e) {
+            asyncCount.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PageException("等待 count 查询时被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new PageException(cause);
+        }
+    }
+
+    private ExecutorService getCountExecutorService() {
+        if (countExecutorService == null) {
+            synchronized (this) {
+                if (countExecutorService == null) {
+                    countExecutorService = Executors.newFixedThreadPool(asyncCountThreads,
+                            new NamedThreadFactory("pager-count-", true));
+                }
+            }
+        }
+        return countExecutorService;
+    }
+
+    /**
+     * 估算总数,结果按 SQL 和参数缓存 estimateCountTtl 毫秒,
+     * 方言支持时使用执行计划中的估算行数,否则使用精确的 count 结果
+     */
+    private Long estimateCount(Executor executor, MappedStatement ms, Object parameter,
+                               RowBounds rowBounds, ResultHandler resultHandler,
+                               BoundSql boundSql) throws SQLException {
+        CacheKey countKey = executor.createCacheKey(ms, parameter, RowBounds.DEFAULT, boundSql);
+        long now = System.currentTimeMillis();
+        long[] cached = estimateCountCache.get(countKey);
+        if (cached != null && cached[1] > now) {
+            return cached[0];
+        }
+        Long count = null;
+        String estimateSql = dialect.getEstimateCountSql(ms, boundSql, parameter);
+        if (estimateSql != null) {
+            count = CountExecutor.executeEstimateCount(dialect, executor, ms, parameter, boundSql, estimateSql);
+        }
+        if (count == null) {
+            count = count(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+        }
+        estimateCountCache.put(countKey, new long[]{count, now + estimateCountTtl});
+        return count;
+    }
+
     @Override
     public Object plugin(Object target) {
         return Plugin.wrap(target, this);
@@ -157,6 +266,8 @@ public class PageInterceptor implements Interceptor {
     public void setProperties(Properties properties) {
         //缓存 count ms
         msCountMap = CacheFactory.createCache(properties.getProperty("msCountCache"), "ms", properties);
+        //缓存估算的总数
+        estimateCountCache = CacheFactory.createCache(properties.getProperty("estimateCountCache"), "estimateCount", properties);
         String dialectClass = properties.getProperty("dialect");
         if (PageFromObject.isEmpty(dialectClass)) {
             dialectClass = default_dialect_class;
@@ -173,6 +284,16 @@ public class PageInterceptor implements Interceptor {
         if (PageFromObject.isNotEmpty(countSuffix)) {
             this.countSuffix = countSuffix;
         }
+        //并行 count 查询的线程数
+        String asyncCountThreads = properties.getProperty("asyncCountThreads");
+        if (PageFromObject.isNotEmpty(asyncCountThreads)) {
+            this.asyncCountThreads = Integer.parseInt(asyncCountThreads);
+        }
+        //估算总数的缓存时间,毫秒
+        String estimateCountTtl = properties.getProperty("estimateCountTtl");
+        if (PageFromObject.isNotEmpty(estimateCountTtl)) {
+            this.estimateCountTtl = Long.parseLong(estimateCountTtl);
+        }
     }
 
 }
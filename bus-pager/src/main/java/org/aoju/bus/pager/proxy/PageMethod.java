@@ -194,6 +194,36 @@ public abstract class PageMethod {
         return page;
     }
 
+    /**
+     * 开始 keyset 分页,游标为空时查询第一页
+     *
+     * @param <E>      对象
+     * @param cursor   由 PageCursor 生成的游标
+     * @param pageSize 每页显示数量
+     * @return 结果
+     */
+    public static <E> Page<E> seekPage(String cursor, int pageSize) {
+        return seekPage(cursor, pageSize, null);
+    }
+
+    /**
+     * 开始 keyset 分页,游标为空时查询第一页
+     * 深分页时 count 的代价通常比分页本身更高,因此默认不进行count查询
+     *
+     * @param <E>      对象
+     * @param cursor   由 PageCursor 生成的游标
+     * @param pageSize 每页显示数量
+     * @param orderBy  排序,为空时使用SQL中的 order by
+     * @return 结果
+     */
+    public static <E> Page<E> seekPage(String cursor, int pageSize, String orderBy) {
+        Page<E> page = startPage(1, pageSize, false);
+        if (orderBy != null) {
+            page.setOrderBy(orderBy);
+        }
+        return page.cursor(cursor);
+    }
+
     /**
      * 排序
      *
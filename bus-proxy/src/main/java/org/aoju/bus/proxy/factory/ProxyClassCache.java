@@ -24,16 +24,17 @@
  ********************************************************************************/
 package org.aoju.bus.proxy.factory;
 
-import org.aoju.bus.core.lang.Symbol;
-
 import java.lang.ref.WeakReference;
-import java.util.HashMap;
 import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 用于存储基于特定类型{@link AbstractProxyClass}的代理的实现类的缓存。
  * 代理类缓存确保每个{@link AbstractProxyClass}/{@link ClassLoader}/代理类数组组合只有一个类
+ * <p>
+ * 查找过程无锁且不创建字符串键,只有生成新的代理类时才会加锁;
+ * 缓存键弱引用类加载器和代理类,不会阻止它们被卸载
+ * </P>
  *
  * @author Kimi Liu
  * @version 6.0.1
@@ -41,53 +42,131 @@ import java.util.WeakHashMap;
  */
 public class ProxyClassCache {
 
-    private final Map loaderToClassCache = new WeakHashMap();
+    private final Map<Object, WeakReference<Class>> classCache = new ConcurrentHashMap<>();
     private final ProxyClass proxyClassGenerator;
 
     public ProxyClassCache(ProxyClass proxyClassGenerator) {
         this.proxyClassGenerator = proxyClassGenerator;
     }
 
-    public synchronized Class getProxyClass(ClassLoader classLoader, Class[] proxyClasses) {
-        final Map classCache = getClassCache(classLoader);
-        final String key = toClassCacheKey(proxyClasses);
-        Class proxyClass;
-        WeakReference proxyClassReference = (WeakReference) classCache.get(key);
-        if (proxyClassReference == null) {
-            proxyClass = proxyClassGenerator.createProxy(classLoader, proxyClasses);
-            classCache.put(key, new WeakReference(proxyClass));
-        } else {
-            synchronized (proxyClassReference) {
-                proxyClass = (Class) proxyClassReference.get();
+    private static int hash(ClassLoader classLoader, Class[] proxyClasses) {
+        int hash = System.identityHashCode(classLoader);
+        for (Class proxyClass : proxyClasses) {
+            hash = 31 * hash + System.identityHashCode(proxyClass);
+        }
+        return hash;
+    }
+
+    public Class getProxyClass(ClassLoader classLoader, Class[] proxyClasses) {
+        Class proxyClass = get(new Lookup(classLoader, proxyClasses));
+        if (proxyClass == null) {
+            synchronized (this) {
+                final Lookup lookup = new Lookup(classLoader, proxyClasses);
+                proxyClass = get(lookup);
                 if (proxyClass == null) {
+                    classCache.remove(lookup);
+                    classCache.keySet().removeIf(key -> ((Key) key).isStale());
                     proxyClass = proxyClassGenerator.createProxy(classLoader, proxyClasses);
-                    classCache.put(key, new WeakReference(proxyClass));
+                    classCache.put(new Key(lookup), new WeakReference<>(proxyClass));
                 }
             }
         }
         return proxyClass;
     }
 
-    private Map getClassCache(ClassLoader classLoader) {
-        Map cache = (Map) loaderToClassCache.get(classLoader);
-        if (cache == null) {
-            cache = new HashMap();
-            loaderToClassCache.put(classLoader, cache);
+    private Class get(Lookup lookup) {
+        final WeakReference<Class> reference = classCache.get(lookup);
+        return reference == null ? null : reference.get();
+    }
+
+    /**
+     * 查找使用的临时键,持有强引用
+     */
+    private static class Lookup {
+
+        private final ClassLoader classLoader;
+        private final Class[] proxyClasses;
+        private final int hash;
+
+        Lookup(ClassLoader classLoader, Class[] proxyClasses) {
+            this.classLoader = classLoader;
+            this.proxyClasses = proxyClasses;
+            this.hash = hash(classLoader, proxyClasses);
         }
-        return cache;
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            return object instanceof Key && ((Key) object).matches(classLoader, proxyClasses);
+        }
+
     }
 
-    private String toClassCacheKey(Class[] proxyClasses) {
-        final StringBuffer sb = new StringBuffer();
-        for (int i = 0; i < proxyClasses.length; i++) {
-            Class proxyInterface = proxyClasses[i];
-            sb.append(proxyInterface.getName());
-            if (i != proxyClasses.length - 1) {
-                sb.append(Symbol.COMMA);
+    /**
+     * 缓存中保存的键,弱引用类加载器和代理类
+     */
+    private static class Key {
+
+        /**
+         * 类加载器,启动类加载器时为null
+         */
+        private final WeakReference<ClassLoader> classLoader;
+        private final WeakReference<Class>[] proxyClasses;
+        private final int hash;
+
+        Key(Lookup lookup) {
+            this.classLoader = lookup.classLoader == null ? null : new WeakReference<>(lookup.classLoader);
+            this.proxyClasses = new WeakReference[lookup.proxyClasses.length];
+            for (int i = 0; i < proxyClasses.length; i++) {
+                this.proxyClasses[i] = new WeakReference<>(lookup.proxyClasses[i]);
             }
+            this.hash = lookup.hash;
         }
-        return sb.toString();
+
+        boolean matches(ClassLoader loader, Class[] classes) {
+            if ((classLoader == null ? null : classLoader.get()) != loader || proxyClasses.length != classes.length) {
+                return false;
+            }
+            for (int i = 0; i < classes.length; i++) {
+                if (proxyClasses[i].get() != classes[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean isStale() {
+            if (classLoader != null && classLoader.get() == null) {
+                return true;
+            }
+            for (WeakReference<Class> proxyClass : proxyClasses) {
+                if (proxyClass.get() == null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (object instanceof Lookup) {
+                return matches(((Lookup) object).classLoader, ((Lookup) object).proxyClasses);
+            }
+            return false;
+        }
+
     }
 
 }
-
@@ -27,11 +27,17 @@ package org.aoju.bus.proxy.intercept;
 import org.aoju.bus.proxy.Builder;
 import org.aoju.bus.proxy.Factory;
 import org.aoju.bus.proxy.Interceptor;
+import org.aoju.bus.proxy.Invocation;
 import org.aoju.bus.proxy.Provider;
+import org.aoju.bus.proxy.invoker.ChainInvoker;
 
 /**
  * 一个InterceptorChain帮助创建通过一系列
  * {@link Interceptor interceptors}的代理
+ * <p>
+ * 默认每个拦截器对应一层代理;融合模式下整条链只生成一个代理,
+ * 由{@link ChainInvoker}依次调用拦截器,避免多层代理的重复分派
+ * </P>
  *
  * @author Kimi Liu
  * @version 6.0.1
@@ -40,13 +46,29 @@ import org.aoju.bus.proxy.Provider;
 public class InterceptorChain {
 
     private final Interceptor[] interceptors;
+    private final boolean fused;
 
     public InterceptorChain(Interceptor[] interceptors) {
+        this(interceptors, false);
+    }
+
+    /**
+     * 构造
+     *
+     * @param interceptors 拦截器
+     * @param fused        是否融合为一个代理;融合模式下拦截器通过{@link Invocation#getProxy()}
+     *                     获取到的是最终的目标对象,而不是下一层代理
+     */
+    public InterceptorChain(Interceptor[] interceptors, boolean fused) {
         this.interceptors = interceptors;
+        this.fused = fused;
     }
 
     private Object createProxy(Factory factory, ClassLoader classLoader, Object terminus,
                                Class[] proxyClasses) {
+        if (fused && interceptors.length > 0) {
+            return factory.createInvokerProxy(classLoader, new ChainInvoker(terminus, interceptors), proxyClasses);
+        }
         Object currentTarget = terminus;
         for (int i = interceptors.length - 1; i >= 0; --i) {
             currentTarget = factory
@@ -0,0 +1,145 @@
+/*********************************************************************************
+ *                                                                               *
+ * The MIT License (MIT)                                                         *
+ *                                                                               *
+ * Copyright (c) 2015-2020 aoju.org and other contributors.                      *
+ *                                                                               *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy  *
+ * of this software and associated documentation files (the "Software"), to deal *
+ * in the Software without restriction, including without limitation the rights  *
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell     *
+ * copies of the Software, and to permit persons to whom the Software is         *
+ * furnished to do so, subject to the following conditions:                      *
+ *                                                                               *
+ * The above copyright notice and this permission notice shall be included in    *
+ * all copies or substantial portions of the Software.                           *
+ *                                                                               *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR    *
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,      *
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE   *
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER        *
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, *
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN     *
+ * THE SOFTWARE.                                                                 *
+ ********************************************************************************/
+package org.aoju.bus.proxy.invoker;
+
+import org.aoju.bus.core.lang.exception.InstrumentException;
+import org.aoju.bus.proxy.Builder;
+import org.aoju.bus.proxy.Interceptor;
+import org.aoju.bus.proxy.Invocation;
+import org.aoju.bus.proxy.Invoker;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 融合的拦截器链调用程序
+ * <p>
+ * 整条拦截器链只对应一个代理,每次调用只创建一个{@link Invocation},
+ * 由它按顺序依次调用拦截器,最终通过{@link MethodHandle}调用目标对象的方法
+ * </P>
+ *
+ * @author Kimi Liu
+ * @version 6.0.1
+ * @since JDK 1.8+
+ */
+public class ChainInvoker implements Invoker {
+
+    /**
+     * 按声明类缓存方法句柄,不会阻止类被卸载
+     */
+    private static final ClassValue<Map<Method, MethodHandle>> HANDLES = new ClassValue<Map<Method, MethodHandle>>() {
+        @Override
+        protected Map<Method, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private final Object target;
+    private final Interceptor[] interceptors;
+
+    public ChainInvoker(Object target, Interceptor[] interceptors) {
+        this.target = target;
+        this.interceptors = interceptors;
+    }
+
+    /**
+     * 获取方法对应的句柄,句柄类型为(Object, Object[])Object
+     *
+     * @param method 方法
+     * @return 方法句柄
+     */
+    public static MethodHandle bind(Method method) {
+        final Map<Method, MethodHandle> handles = HANDLES.get(method.getDeclaringClass());
+        MethodHandle handle = handles.get(method);
+        if (handle == null) {
+            try {
+                if (!method.isAccessible()) {
+                    method.setAccessible(true);
+                }
+                final int count = method.getParameterCount();
+                handle = MethodHandles.lookup().unreflect(method)
+                        .asType(MethodType.genericMethodType(count + 1))
+                        .asSpreader(Object[].class, count);
+            } catch (IllegalAccessException e) {
+                throw new InstrumentException("Unable to bind method handle: " + method, e);
+            }
+            handles.putIfAbsent(method, handle);
+        }
+        return handle;
+    }
+
+    public Object invoke(Object proxy, Method method, Object[] arguments) throws Throwable {
+        return new Cursor(method, arguments == null ? Builder.EMPTY_ARGUMENTS : arguments).proceed();
+    }
+
+    /**
+     * 拦截器链游标
+     * <p>
+     * 拦截器可以多次调用{@link #proceed()},每次都会从下一个拦截器重新开始
+     * </P>
+     */
+    private class Cursor implements Invocation {
+
+        private final Method method;
+        private final Object[] arguments;
+        private int index;
+
+        Cursor(Method method, Object[] arguments) {
+            this.method = method;
+            this.arguments = arguments;
+        }
+
+        public Object getProxy() {
+            return target;
+        }
+
+        public Method getMethod() {
+            return method;
+        }
+
+        public Object[] getArguments() {
+            return arguments;
+        }
+
+        public Object proceed() throws Throwable {
+            final int current = index;
+            if (current == interceptors.length) {
+                return (Object) bind(method).invokeExact(target, arguments);
+            }
+            index = current + 1;
+            try {
+                return interceptors[current].intercept(this);
+            } finally {
+                index = current;
+            }
+        }
+
+    }
+
+}
@@ -29,6 +29,7 @@ import org.aoju.bus.logger.Logger;
 import org.aoju.bus.proxy.invoker.ProxyChain;
 import org.aoju.bus.validate.Builder;
 import org.aoju.bus.validate.Context;
+import org.aoju.bus.validate.validators.Plan;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
@@ -61,7 +62,7 @@ public class AutoValidateAdvice {
                 return proxyChain.proceed(agruements);
             }
         }
-        Annotation[][] annotations = method.getParameterAnnotations();
+        Annotation[][] annotations = Plan.parameters(method);
         Object[] names = proxyChain.getNames();
         for (int i = 0; i < agruements.length; i++) {
             Builder.on(agruements[i], annotations[i], Context.newInstance(), StringKit.toString(names[i]));
@@ -54,6 +54,7 @@ public final class Builder {
 
     public static final String SESSION_ID_KEY = "TPIC.sessionId";
     public static final String INVOCATION_ID_KEY = "TPIC.invocationId";
+    public static final String SPAN_ID_KEY = "TPIC.spanId";
     public static final char[] ALPHANUMERICS = Normal.UPPER_LOWER_NUMBER.toCharArray();
 
     public static final String DEFAULT = "default";
@@ -0,0 +1,272 @@
+/*********************************************************************************
+ *                                                                               *
+ * The MIT License (MIT)                                                         *
+ *                                                                               *
+ * Copyright (c) 2015-2020 aoju.org and other contributors.                      *
+ *                                                                               *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy  *
+ * of this software and associated documentation files (the "Software"), to deal *
+ * in the Software without restriction, including without limitation the rights  *
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell     *
+ * copies of the Software, and to permit persons to whom the Software is         *
+ * furnished to do so, subject to the following conditions:                      *
+ *                                                                               *
+ * The above copyright notice and this permission notice shall be included in    *
+ * all copies or substantial portions of the Software.                           *
+ *                                                                               *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR    *
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,      *
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE   *
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER        *
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, *
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN     *
+ * THE SOFTWARE.                                                                 *
+ ********************************************************************************/
+package org.aoju.bus.tracer;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * 不可变的TPIC上下文
+ * 键值对按顺序保存在一个数组中,修改时复制出新的上下文(写时复制),
+ * 因此可以在线程间直接共享,{@link Backend#copyToMap()}无需再复制
+ *
+ * @author Kimi Liu
+ * @version 6.0.1
+ * @since JDK 1.8+
+ */
+public final class TraceContext extends AbstractMap<String, String> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 空上下文
+     */
+    public static final TraceContext EMPTY = new TraceContext(new String[0], 0);
+
+    /**
+     * 键值交替存放
+     */
+    private final String[] entries;
+    private final int size;
+    private transient Set<Entry<String, String>> entrySet;
+
+    private TraceContext(String[] entries, int size) {
+        this.entries = entries;
+        this.size = size;
+    }
+
+    /**
+     * 由Map创建上下文,{@code null}键值被忽略
+     *
+     * @param map Map
+     * @return 上下文, 本身为TraceContext时直接返回
+     */
+    public static TraceContext of(Map<? extends String, ? extends String> map) {
+        if (map instanceof TraceContext) {
+            return (TraceContext) map;
+        }
+        if (null == map || map.isEmpty()) {
+            return EMPTY;
+        }
+        final String[] entries = new String[map.size() << 1];
+        int size = 0;
+        for (Entry<? extends String, ? extends String> entry : map.entrySet()) {
+            if (null != entry.getKey() && null != entry.getValue()) {
+                entries[size << 1] = entry.getKey();
+                entries[(size << 1) + 1] = entry.getValue();
+                size++;
+            }
+        }
+        return size == 0 ? EMPTY : new TraceContext(entries, size);
+    }
+
+    /**
+     * 由键值交替的数组创建上下文,不做复制,调用方之后不能再修改数组,键不能重复
+     *
+     * @param entries 键值数组
+     * @param size    键值对数量
+     * @return 上下文
+     */
+    public static TraceContext wrap(String[] entries, int size) {
+        return size == 0 ? EMPTY : new TraceContext(entries, size);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public String get(Object key) {
+        final int index = indexOf(key);
+        return index < 0 ? null : entries[index + 1];
+    }
+
+    /**
+     * 第index个键
+     *
+     * @param index 位置
+     * @return 键
+     */
+    public String keyAt(int index) {
+        return entries[index << 1];
+    }
+
+    /**
+     * 第index个值
+     *
+     * @param index 位置
+     * @return 值
+     */
+    public String valueAt(int index) {
+        return entries[(index << 1) + 1];
+    }
+
+    /**
+     * 设置键值,返回新的上下文
+     *
+     * @param key   键
+     * @param value 值
+     * @return 新的上下文, 值未变化时返回自身
+     */
+    public TraceContext with(String key, String value) {
+        final int index = indexOf(key);
+        if (index >= 0) {
+            if (value.equals(entries[index + 1])) {
+                return this;
+            }
+            final String[] copy = Arrays.copyOf(entries, size << 1);
+            copy[index + 1] = value;
+            return new TraceContext(copy, size);
+        }
+        final String[] copy = Arrays.copyOf(entries, (size + 1) << 1);
+        copy[size << 1] = key;
+        copy[(size << 1) + 1] = value;
+        return new TraceContext(copy, size + 1);
+    }
+
+    /**
+     * 合并键值,返回新的上下文
+     *
+     * @param map 键值
+     * @return 新的上下文, 无变化时返回自身
+     */
+    public TraceContext withAll(Map<? extends String, ? extends String> map) {
+        if (null == map || map.isEmpty()) {
+            return this;
+        }
+        if (size == 0) {
+            return of(map);
+        }
+        String[] copy = null;
+        int count = size;
+        for (Entry<? extends String, ? extends String> entry : map.entrySet()) {
+            final String key = entry.getKey();
+            final String value = entry.getValue();
+            if (null == key || null == value) {
+                continue;
+            }
+            final String[] current = null == copy ? entries : copy;
+            final int index = indexOf(current, count, key);
+            if (index >= 0 && value.equals(current[index + 1])) {
+                continue;
+            }
+            if (null == copy) {
+                copy = Arrays.copyOf(entries, (size + map.size()) << 1);
+            }
+            if (index >= 0) {
+                copy[index + 1] = value;
+            } else {
+                copy[count << 1] = key;
+                copy[(count << 1) + 1] = value;
+                count++;
+            }
+        }
+        return null == copy ? this : new TraceContext(copy, count);
+    }
+
+    /**
+     * 删除键,返回新的上下文
+     *
+     * @param key 键
+     * @return 新的上下文, 不存在时返回自身
+     */
+    public TraceContext without(String key) {
+        final int index = indexOf(key);
+        if (index < 0) {
+            return this;
+        }
+        if (size == 1) {
+            return EMPTY;
+        }
+        final String[] copy = new String[(size - 1) << 1];
+        System.arraycopy(entries, 0, copy, 0, index);
+        System.arraycopy(entries, index + 2, copy, index, (size << 1) - index - 2);
+        return new TraceContext(copy, size - 1);
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        Set<Entry<String, String>> set = this.entrySet;
+        if (null == set) {
+            set = new AbstractSet<Entry<String, String>>() {
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    return new Iterator<Entry<String, String>>() {
+                        private int index;
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < size;
+                        }
+
+                        @Override
+                        public Entry<String, String> next() {
+                            if (index >= size) {
+                                throw new NoSuchElementException();
+                            }
+                            final int i = index++ << 1;
+                            return new SimpleImmutableEntry<>(entries[i], entries[i + 1]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+            this.entrySet = set;
+        }
+        return set;
+    }
+
+    private int indexOf(Object key) {
+        return indexOf(entries, size, key);
+    }
+
+    private static int indexOf(String[] entries, int size, Object key) {
+        if (null == key) {
+            return -1;
+        }
+        for (int i = 0; i < size << 1; i += 2) {
+            if (key.equals(entries[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+}
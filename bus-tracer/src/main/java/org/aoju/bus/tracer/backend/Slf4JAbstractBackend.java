@@ -24,13 +24,15 @@
  ********************************************************************************/
 package org.aoju.bus.tracer.backend;
 
+import org.aoju.bus.tracer.TraceContext;
 import org.slf4j.MDC;
 
-import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
 
 /**
+ * 上下文保存在线程变量中的{@link TraceContext},读取不访问MDC;
+ * 写入时总是同步到MDC,以便日志输出
+ *
  * @author Kimi Liu
  * @version 6.0.1
  * @since JDK 1.8+
@@ -38,83 +40,83 @@ import java.util.Set;
 class Slf4JAbstractBackend extends AbstractBackend {
 
     /**
-     * This set contains all MDC-Keys managed by Builder.
-     * This bookkeeping is required to ensure that operations like {@link Slf4JAbstractBackend#clear()} do not remove
-     * Builder unrelated keys from the MDC.
+     * 当前线程的上下文,与MDC一样不被子线程继承
+     * MDC只包含此上下文中的键,{@link Slf4JAbstractBackend#clear()}不会删除其它MDC键
      */
-    protected final ThreadLocal<Set<String>> TraceKeys;
+    protected final ThreadLocal<TraceContext> context;
 
-    Slf4JAbstractBackend(ThreadLocal<Set<String>> TraceKeys) {
-        this.TraceKeys = TraceKeys;
+    Slf4JAbstractBackend(ThreadLocal<TraceContext> context) {
+        this.context = context;
     }
 
     @Override
     public boolean containsKey(String key) {
-        return key != null && TraceKeys.get().contains(key) && MDC.get(key) != null;
+        return key != null && context.get().containsKey(key);
     }
 
     @Override
     public int size() {
-        return TraceKeys.get().size();
+        return context.get().size();
     }
 
     @Override
     public boolean isEmpty() {
-        return TraceKeys.get().isEmpty();
+        return context.get().isEmpty();
     }
 
     @Override
     public String get(String key) {
-        if ((key != null) && TraceKeys.get().contains(key))
-            return MDC.get(key);
-        else
-            return null;
+        return key == null ? null : context.get().get(key);
     }
 
     @Override
     public void put(String key, String value) throws IllegalArgumentException {
         if (key == null) throw new IllegalArgumentException("null keys are not allowed.");
         if (value == null) throw new IllegalArgumentException("null values are not allowed.");
-        final Set<String> registeredKeys = TraceKeys.get();
-        if (!registeredKeys.contains(key)) {
-            registeredKeys.add(key);
+        final TraceContext current = context.get();
+        final TraceContext updated = current.with(key, value);
+        if (updated != current) {
+            context.set(updated);
         }
+        // MDC可能已被其它代码修改或清除,即使上下文未变化也同步
         MDC.put(key, value);
     }
 
     @Override
     public void remove(String key) throws IllegalArgumentException {
         if (key == null) throw new IllegalArgumentException("null keys are not allowed.");
-        if (TraceKeys.get().remove(key)) {
+        final TraceContext current = context.get();
+        final TraceContext updated = current.without(key);
+        if (updated != current) {
+            context.set(updated);
             MDC.remove(key);
         }
     }
 
     @Override
     public void clear() {
-        for (String key : TraceKeys.get()) {
-            MDC.remove(key);
+        final TraceContext current = context.get();
+        for (int i = 0; i < current.size(); i++) {
+            MDC.remove(current.keyAt(i));
         }
-        TraceKeys.remove();
+        context.remove();
     }
 
     @Override
     public void putAll(Map<? extends String, ? extends String> entries) {
-        for (Map.Entry<? extends String, ? extends String> entry : entries.entrySet()) {
-            put(entry.getKey(), entry.getValue());
+        final TraceContext current = context.get();
+        final TraceContext updated = current.withAll(entries);
+        if (updated != current) {
+            context.set(updated);
+        }
+        for (int i = 0; i < updated.size(); i++) {
+            MDC.put(updated.keyAt(i), updated.valueAt(i));
         }
     }
 
     @Override
     public Map<String, String> copyToMap() {
-        final Map<String, String> TraceMap = new HashMap<>();
-        final Set<String> keys = TraceKeys.get();
-        for (String TraceKey : keys) {
-            final String value = MDC.get(TraceKey);
-            if (value != null) {
-                TraceMap.put(TraceKey, value);
-            }
-        }
-        return TraceMap;
+        return context.get();
     }
+
 }
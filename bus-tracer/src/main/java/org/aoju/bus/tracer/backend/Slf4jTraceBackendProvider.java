@@ -25,6 +25,7 @@
 package org.aoju.bus.tracer.backend;
 
 import org.aoju.bus.tracer.Backend;
+import org.aoju.bus.tracer.TraceContext;
 
 /**
  * @author Kimi Liu
@@ -33,9 +34,14 @@ import org.aoju.bus.tracer.Backend;
  */
 public class Slf4jTraceBackendProvider implements TraceBackendProvider {
 
-    private static final ThreadLocalHashSet<String> Trace_KEYS = new ThreadLocalHashSet<>();
+    private static final ThreadLocal<TraceContext> Trace_CONTEXT = new ThreadLocal<TraceContext>() {
+        @Override
+        protected TraceContext initialValue() {
+            return TraceContext.EMPTY;
+        }
+    };
 
-    private final Slf4JAbstractBackend slf4jTraceContext = new Slf4JAbstractBackend(Trace_KEYS);
+    private final Slf4JAbstractBackend slf4jTraceContext = new Slf4JAbstractBackend(Trace_CONTEXT);
 
     @Override
     public final Backend provideBackend() {
@@ -28,6 +28,7 @@ import org.aoju.bus.tracer.Backend;
 import org.aoju.bus.tracer.Builder;
 import org.aoju.bus.tracer.Tracer;
 import org.aoju.bus.tracer.config.TraceFilterConfig;
+import org.aoju.bus.tracer.span.Span;
 import org.aoju.bus.tracer.transport.HttpHeaderTransport;
 import org.apache.http.Header;
 import org.apache.http.HttpResponse;
@@ -64,6 +65,11 @@ public class TraceHttpResponseInterceptor implements HttpResponseInterceptor {
 
     @Override
     public final void process(HttpResponse response, HttpContext context) {
+        final Object span = context.getAttribute(TraceHttpRequestInterceptor.SPAN_ATTRIBUTE);
+        if (span instanceof Span) {
+            context.removeAttribute(TraceHttpRequestInterceptor.SPAN_ATTRIBUTE);
+            ((Span) span).tag("http.status", response.getStatusLine().getStatusCode()).finish();
+        }
         final TraceFilterConfig filterConfiguration = backend.getConfiguration(profile);
         final Header[] responseHeaders = response.getHeaders(Builder.TPIC_HEADER);
         if (responseHeaders != null && responseHeaders.length > 0
@@ -26,8 +26,11 @@ package org.aoju.bus.tracer.binding.apache.httpclient5;
 
 import org.aoju.bus.tracer.Backend;
 import org.aoju.bus.tracer.Builder;
+import org.aoju.bus.tracer.TraceContext;
 import org.aoju.bus.tracer.Tracer;
 import org.aoju.bus.tracer.config.TraceFilterConfig;
+import org.aoju.bus.tracer.span.Span;
+import org.aoju.bus.tracer.span.Spans;
 import org.aoju.bus.tracer.transport.HttpHeaderTransport;
 import org.apache.hc.core5.http.EntityDetails;
 import org.apache.hc.core5.http.HttpRequest;
@@ -43,6 +46,11 @@ import java.util.Map;
  */
 public class TraceHttpRequestInterceptor implements HttpRequestInterceptor {
 
+    /**
+     * 保存客户端Span的{@link HttpContext}属性名,由TraceHttpResponseInterceptor结束
+     */
+    public static final String SPAN_ATTRIBUTE = "tracer.span";
+
     private final Backend backend;
     private final HttpHeaderTransport transportSerialization;
     private final String profile;
@@ -64,9 +72,18 @@ public class TraceHttpRequestInterceptor implements HttpRequestInterceptor {
     @Override
     public final void process(final HttpRequest httpRequest, final EntityDetails entityDetails, final HttpContext httpContext) {
         final TraceFilterConfig filterConfiguration = backend.getConfiguration(profile);
+        final Span span = Spans.start(httpRequest.getMethod(), Span.Kind.CLIENT, backend.getInvocationId(), 0);
+        if (span.isSampled()) {
+            span.tag("http.uri", httpRequest.getRequestUri());
+            httpContext.setAttribute(SPAN_ATTRIBUTE, span);
+        }
         if (!backend.isEmpty() && filterConfiguration.shouldProcessContext(TraceFilterConfig.Channel.OutgoingRequest)) {
-            final Map<String, String> filteredParams = filterConfiguration.filterDeniedParams(backend.copyToMap(),
+            Map<String, String> filteredParams = filterConfiguration.filterDeniedParams(backend.copyToMap(),
                     TraceFilterConfig.Channel.OutgoingRequest);
+            // 未采样时不能转发上游的Span ID,否则下游会以其为父Span
+            filteredParams = span.isSampled()
+                    ? TraceContext.of(filteredParams).with(Builder.SPAN_ID_KEY, Span.toId(span.getSpanId()))
+                    : TraceContext.of(filteredParams).without(Builder.SPAN_ID_KEY);
             httpRequest.setHeader(Builder.TPIC_HEADER, transportSerialization.render(filteredParams));
         }
     }
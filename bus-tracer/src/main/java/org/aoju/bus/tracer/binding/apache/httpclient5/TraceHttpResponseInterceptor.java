@@ -28,6 +28,7 @@ import org.aoju.bus.tracer.Backend;
 import org.aoju.bus.tracer.Builder;
 import org.aoju.bus.tracer.Tracer;
 import org.aoju.bus.tracer.config.TraceFilterConfig;
+import org.aoju.bus.tracer.span.Span;
 import org.aoju.bus.tracer.transport.HttpHeaderTransport;
 import org.apache.hc.core5.http.EntityDetails;
 import org.apache.hc.core5.http.Header;
@@ -66,6 +67,11 @@ public class TraceHttpResponseInterceptor implements HttpResponseInterceptor {
 
     @Override
     public final void process(final HttpResponse response, final EntityDetails entityDetails, final HttpContext httpContext) {
+        final Object span = httpContext.getAttribute(TraceHttpRequestInterceptor.SPAN_ATTRIBUTE);
+        if (span instanceof Span) {
+            httpContext.removeAttribute(TraceHttpRequestInterceptor.SPAN_ATTRIBUTE);
+            ((Span) span).tag("http.status", response.getCode()).finish();
+        }
         final TraceFilterConfig filterConfiguration = backend.getConfiguration(profile);
         final Iterator<Header> headerIterator = response.headerIterator(Builder.TPIC_HEADER);
         if (headerIterator != null && headerIterator.hasNext()
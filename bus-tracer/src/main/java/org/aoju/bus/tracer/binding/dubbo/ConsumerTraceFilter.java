@@ -24,6 +24,94 @@
  ********************************************************************************/
 package org.aoju.bus.tracer.binding.dubbo;
 
-public class ConsumerTraceFilter {
+import org.aoju.bus.tracer.Backend;
+import org.aoju.bus.tracer.Builder;
+import org.aoju.bus.tracer.TraceContext;
+import org.aoju.bus.tracer.Tracer;
+import org.aoju.bus.tracer.config.TraceFilterConfig;
+import org.aoju.bus.tracer.span.Span;
+import org.aoju.bus.tracer.span.Spans;
+import org.aoju.bus.tracer.transport.HttpHeaderTransport;
+import org.apache.dubbo.common.constants.CommonConstants;
+import org.apache.dubbo.common.extension.Activate;
+import org.apache.dubbo.rpc.*;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 消费端过滤器,将调用链上下文写入请求附件并记录CLIENT类型的Span
+ *
+ * @author Kimi Liu
+ * @version 6.0.1
+ * @since JDK 1.8+
+ */
+@Activate(group = CommonConstants.CONSUMER)
+public class ConsumerTraceFilter implements Filter {
+
+    private final Backend backend;
+    private final HttpHeaderTransport transportSerialization;
+    private final String profile;
+
+    public ConsumerTraceFilter() {
+        this(Builder.DEFAULT);
+    }
+
+    public ConsumerTraceFilter(String profile) {
+        this(Tracer.getBackend(), profile);
+    }
+
+    ConsumerTraceFilter(Backend backend, String profile) {
+        this.backend = backend;
+        this.transportSerialization = new HttpHeaderTransport();
+        this.profile = profile;
+    }
+
+    @Override
+    public Result invoke(Invoker<?> invoker, Invocation invocation) throws RpcException {
+        final TraceFilterConfig filterConfiguration = backend.getConfiguration(profile);
+        final Span span = Spans.start(invocation.getMethodName(), Span.Kind.CLIENT, backend.getInvocationId(), 0);
+        if (span.isSampled()) {
+            span.tag("rpc.service", invoker.getInterface().getName());
+        }
+        if (!backend.isEmpty() && filterConfiguration.shouldProcessContext(TraceFilterConfig.Channel.OutgoingRequest)) {
+            final TraceContext context = TraceContext.of(filterConfiguration.filterDeniedParams(backend.copyToMap(),
+                    TraceFilterConfig.Channel.OutgoingRequest));
+            // 未采样时不能转发上游的Span ID,否则下游会以其为父Span
+            final Map<String, String> filteredParams = span.isSampled()
+                    ? context.with(Builder.SPAN_ID_KEY, Span.toId(span.getSpanId()))
+                    : context.without(Builder.SPAN_ID_KEY);
+            invocation.setAttachment(Builder.TPIC_HEADER, transportSerialization.render(filteredParams));
+        }
+
+        final Result result;
+        try {
+            result = invoker.invoke(invocation);
+        } catch (RuntimeException e) {
+            span.error(e).finish();
+            throw e;
+        }
+        final Thread caller = Thread.currentThread();
+        return result.whenCompleteWithContext((response, error) -> {
+            if (null != error) {
+                span.error(error);
+            } else if (response.hasException()) {
+                span.error(response.getException());
+            }
+            span.finish();
+            // 上下文保存在线程中,异步完成时无法写回调用方
+            if (null != response && caller == Thread.currentThread()) {
+                readContextFromResponse(response, filterConfiguration);
+            }
+        });
+    }
+
+    private void readContextFromResponse(Result response, TraceFilterConfig filterConfiguration) {
+        final String header = response.getAttachment(Builder.TPIC_HEADER);
+        if (null != header && filterConfiguration.shouldProcessContext(TraceFilterConfig.Channel.IncomingResponse)) {
+            backend.putAll(filterConfiguration.filterDeniedParams(transportSerialization.parse(Collections.singletonList(header)),
+                    TraceFilterConfig.Channel.IncomingResponse));
+        }
+    }
 
 }
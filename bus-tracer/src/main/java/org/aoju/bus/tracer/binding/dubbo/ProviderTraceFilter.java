@@ -24,6 +24,80 @@
  ********************************************************************************/
 package org.aoju.bus.tracer.binding.dubbo;
 
-public class ProviderTraceFilter {
+import org.aoju.bus.tracer.Backend;
+import org.aoju.bus.tracer.Builder;
+import org.aoju.bus.tracer.Tracer;
+import org.aoju.bus.tracer.config.TraceFilterConfig;
+import org.aoju.bus.tracer.span.Span;
+import org.aoju.bus.tracer.span.Spans;
+import org.aoju.bus.tracer.transport.HttpHeaderTransport;
+import org.apache.dubbo.common.constants.CommonConstants;
+import org.apache.dubbo.common.extension.Activate;
+import org.apache.dubbo.rpc.*;
+
+import java.util.Collections;
+
+/**
+ * 提供端过滤器,从请求附件恢复调用链上下文并记录SERVER类型的Span,
+ * 调用结束后将上下文写入响应附件并清理
+ *
+ * @author Kimi Liu
+ * @version 6.0.1
+ * @since JDK 1.8+
+ */
+@Activate(group = CommonConstants.PROVIDER)
+public class ProviderTraceFilter implements Filter {
+
+    private final Backend backend;
+    private final HttpHeaderTransport transportSerialization;
+    private final String profile;
+
+    public ProviderTraceFilter() {
+        this(Builder.DEFAULT);
+    }
+
+    public ProviderTraceFilter(String profile) {
+        this(Tracer.getBackend(), profile);
+    }
+
+    ProviderTraceFilter(Backend backend, String profile) {
+        this.backend = backend;
+        this.transportSerialization = new HttpHeaderTransport();
+        this.profile = profile;
+    }
+
+    @Override
+    public Result invoke(Invoker<?> invoker, Invocation invocation) throws RpcException {
+        final TraceFilterConfig filterConfiguration = backend.getConfiguration(profile);
+        final String header = invocation.getAttachment(Builder.TPIC_HEADER);
+        if (null != header && filterConfiguration.shouldProcessContext(TraceFilterConfig.Channel.IncomingRequest)) {
+            backend.putAll(filterConfiguration.filterDeniedParams(transportSerialization.parse(Collections.singletonList(header)),
+                    TraceFilterConfig.Channel.IncomingRequest));
+        }
+        Builder.generateInvocationIdIfNecessary(backend);
+
+        final Span span = Spans.start(invocation.getMethodName(), Span.Kind.SERVER,
+                backend.getInvocationId(), Span.parseId(backend.get(Builder.SPAN_ID_KEY)));
+        if (span.isSampled()) {
+            span.tag("rpc.service", invoker.getInterface().getName());
+        }
+        try (Spans.Scope scope = Spans.activate(span)) {
+            final Result result = invoker.invoke(invocation);
+            if (result.hasException()) {
+                span.error(result.getException());
+            }
+            if (!backend.isEmpty() && filterConfiguration.shouldProcessContext(TraceFilterConfig.Channel.OutgoingResponse)) {
+                result.setAttachment(Builder.TPIC_HEADER, transportSerialization.render(
+                        filterConfiguration.filterDeniedParams(backend.copyToMap(), TraceFilterConfig.Channel.OutgoingResponse)));
+            }
+            return result;
+        } catch (RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.finish();
+            backend.clear();
+        }
+    }
 
 }
@@ -28,6 +28,8 @@ import org.aoju.bus.tracer.Backend;
 import org.aoju.bus.tracer.Builder;
 import org.aoju.bus.tracer.Tracer;
 import org.aoju.bus.tracer.config.TraceFilterConfig;
+import org.aoju.bus.tracer.span.Span;
+import org.aoju.bus.tracer.span.Spans;
 import org.aoju.bus.tracer.transport.HttpHeaderTransport;
 
 import javax.interceptor.AroundInvoke;
@@ -60,12 +62,21 @@ public final class TraceMessageListener {
     @AroundInvoke
     public Object intercept(final InvocationContext ctx) throws Exception {
         final boolean isMdbInvocation = isMessageListenerOnMessageMethod(ctx.getMethod());
+        Span span = Span.NOOP;
         try {
             if (isMdbInvocation) {
                 beforeProcessing(extractMessageParameter(ctx.getParameters()));
+                span = Spans.start("onMessage", Span.Kind.CONSUMER,
+                        backend.getInvocationId(), Span.parseId(backend.get(Builder.SPAN_ID_KEY)));
             }
-            return ctx.proceed();
+            try (Spans.Scope scope = Spans.activate(span)) {
+                return ctx.proceed();
+            }
+        } catch (Exception e) {
+            span.error(e);
+            throw e;
         } finally {
+            span.finish();
             if (isMdbInvocation) {
                 cleanUp();
             }
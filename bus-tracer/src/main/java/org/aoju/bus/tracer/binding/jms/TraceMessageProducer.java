@@ -26,8 +26,11 @@ package org.aoju.bus.tracer.binding.jms;
 
 import org.aoju.bus.tracer.Backend;
 import org.aoju.bus.tracer.Builder;
+import org.aoju.bus.tracer.TraceContext;
 import org.aoju.bus.tracer.Tracer;
 import org.aoju.bus.tracer.config.TraceFilterConfig;
+import org.aoju.bus.tracer.span.Span;
+import org.aoju.bus.tracer.span.Spans;
 import org.aoju.bus.tracer.transport.HttpHeaderTransport;
 
 import javax.jms.Destination;
@@ -60,9 +63,16 @@ public class TraceMessageProducer implements MessageProducer {
     }
 
     protected void writeTraceContextToMessage(Message message) throws JMSException {
+        // 发送为异步调用,只记录消息的派发并作为消费端Span的父Span
+        final Span span = Spans.start("send", Span.Kind.PRODUCER, backend.getInvocationId(), 0);
+        span.finish();
 
         if (!backend.isEmpty() && backend.getConfiguration().shouldProcessContext(TraceFilterConfig.Channel.AsyncDispatch)) {
-            final Map<String, String> filteredContext = backend.getConfiguration().filterDeniedParams(backend.copyToMap(), TraceFilterConfig.Channel.AsyncDispatch);
+            Map<String, String> filteredContext = backend.getConfiguration().filterDeniedParams(backend.copyToMap(), TraceFilterConfig.Channel.AsyncDispatch);
+            // 未采样时不能转发上游的Span ID,否则下游会以其为父Span
+            filteredContext = span.isSampled()
+                    ? TraceContext.of(filteredContext).with(Builder.SPAN_ID_KEY, Span.toId(span.getSpanId()))
+                    : TraceContext.of(filteredContext).without(Builder.SPAN_ID_KEY);
             final String contextAsString = httpHeaderSerialization.render(filteredContext);
 
             message.setStringProperty(Builder.TPIC_HEADER, contextAsString);
@@ -28,6 +28,8 @@ import org.aoju.bus.tracer.Backend;
 import org.aoju.bus.tracer.Builder;
 import org.aoju.bus.tracer.Tracer;
 import org.aoju.bus.tracer.config.TraceFilterConfig;
+import org.aoju.bus.tracer.span.Span;
+import org.aoju.bus.tracer.span.Spans;
 import org.aoju.bus.tracer.transport.HttpHeaderTransport;
 
 import javax.servlet.*;
@@ -75,14 +77,26 @@ public class TraceFilter implements Filter {
                             final FilterChain filterChain) throws IOException, ServletException {
 
         final TraceFilterConfig configuration = backend.getConfiguration(profile);
+        final Span span = Spans.start(request.getMethod(), Span.Kind.SERVER,
+                backend.getInvocationId(), Span.parseId(backend.get(Builder.SPAN_ID_KEY)));
+        if (span.isSampled()) {
+            span.tag("http.path", request.getRequestURI());
+        }
 
-        try {
+        try (Spans.Scope scope = Spans.activate(span)) {
             writeContextToResponse(response, configuration);
             filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            span.error(e);
+            throw e;
         } finally {
             if (!response.isCommitted()) {
                 writeContextToResponse(response, configuration);
             }
+            if (span.isSampled()) {
+                span.tag("http.status", response.getStatus());
+                span.finish();
+            }
         }
     }
 
@@ -28,6 +28,7 @@ import org.aoju.bus.core.lang.Symbol;
 import org.aoju.bus.core.toolkit.StringKit;
 import org.aoju.bus.logger.Logger;
 import org.aoju.bus.tracer.Builder;
+import org.aoju.bus.tracer.TraceContext;
 
 import java.io.IOException;
 import java.util.*;
@@ -129,10 +130,12 @@ public final class PropertiesBasedTraceFilter implements TraceFilterConfig {
 
     @Override
     public Map<String, String> filterDeniedParams(final Map<String, String> unfiltered, final Channel channel) {
-        final Map<String, String> filtered = new HashMap<>(unfiltered.size());
+        final List<Pattern> patterns = retrievePatternsForPropertyValue(getProfiledOrDefaultProperty(channel.name()));
+        TraceContext filtered = TraceContext.of(unfiltered);
         for (Map.Entry<String, String> entry : unfiltered.entrySet()) {
-            if (shouldProcessParam(entry.getKey(), channel)) {
-                filtered.put(entry.getKey(), entry.getValue());
+            if (!anyPatternMatchesParamName(patterns, entry.getKey())) {
+                // 全部通过时直接返回原上下文
+                filtered = filtered.without(entry.getKey());
             }
         }
         return filtered;
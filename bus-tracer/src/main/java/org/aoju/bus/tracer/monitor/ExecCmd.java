@@ -26,7 +26,6 @@ package org.aoju.bus.tracer.monitor;
 
 import org.aoju.bus.core.lang.System;
 import org.aoju.bus.core.lang.*;
-import org.aoju.bus.core.toolkit.ArrayKit;
 import org.aoju.bus.core.toolkit.FileKit;
 
 import java.io.*;
@@ -41,6 +40,8 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
+ * 监控工具,jstat/jmap/jstack相关数据由{@link JvmMonitor}在进程内获取,不再创建子进程
+ *
  * @author Kimi Liu
  * @version 6.0.1
  * @since JDK 1.8+
@@ -114,23 +115,7 @@ public class ExecCmd {
      * @return java版本信息
      */
     public static String version() {
-        try {
-            Process p = Runtime.getRuntime().exec(new String[]{"java", "-version"});
-            InputStreamReader inputStreamReader = new InputStreamReader(p.getErrorStream());
-            BufferedReader bufferedReader = new BufferedReader(inputStreamReader);
-            StringBuilder sb = new StringBuilder();
-            String line;
-            while ((line = bufferedReader.readLine()) != null) {
-                sb.append(line);
-                sb.append("\n");
-            }
-            bufferedReader.close();
-            p.destroy();
-            return sb.toString();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-        return Normal.EMPTY;
+        return JvmMonitor.version();
     }
 
     /**
@@ -162,7 +147,7 @@ public class ExecCmd {
         if (!file.exists()) {
             file.mkdirs();
         }
-        ExecCmd.execute(new String[]{"jmap", "-dump:format=b,file=" + path, id});
+        JvmMonitor.dumpHeap(path, false);
         return path;
     }
 
@@ -174,7 +159,7 @@ public class ExecCmd {
     public static String exJstack() {
         String id = getPid();
         String path = ExecCmd.getRootPath("dump/" + id + "_thread.txt");
-        String s = ExecCmd.execute(new String[]{"jstack", id});
+        String s = JvmMonitor.dumpThreads();
         File file = new File(path);
         FileKit.writeString(s, file, Charset.UTF_8);
         return path;
@@ -198,14 +183,7 @@ public class ExecCmd {
      * @return the StackEntity
      */
     public static StackEntity jstack() {
-        String id = getPid();
-        String s = ExecCmd.execute(new String[]{"jstack", id});
-        int total = appearNumber(s, "nid=");
-        String prefix = "java.lang.Thread.State: ";
-        int RUNNABLE = appearNumber(s, prefix + "RUNNABLE");
-        int TIMED_WAITING = appearNumber(s, prefix + "TIMED_WAITING");
-        int WAITING = appearNumber(s, prefix + "WAITING");
-        return new StackEntity(id, total, RUNNABLE, TIMED_WAITING, WAITING);
+        return JvmMonitor.stack();
     }
 
     /**
@@ -233,11 +211,18 @@ public class ExecCmd {
      * @throws IOException 异常
      */
     public static List<Map<String, String>> jstatClazz() throws IOException {
-        String id = getPid();
-        List<Map<String, String>> jstatClass = jstat(new String[]{"jstat", "-class", id});
-        List<Map<String, String>> jstatCompiler = jstat(new String[]{"jstat", "-compiler", id});
-        jstatClass.addAll(jstatCompiler);
-        return jstatClass;
+        ClazzEntity clazz = JvmMonitor.clazz();
+        List<Map<String, String>> list = new ArrayList<>();
+        list.add(entry("Loaded", clazz.getLoaded()));
+        list.add(entry("Bytes", clazz.getBytes1()));
+        list.add(entry("Unloaded", clazz.getUnloaded()));
+        list.add(entry("Bytes", clazz.getBytes2()));
+        list.add(entry("Time", clazz.getTime1()));
+        list.add(entry("Compiled", clazz.getCompiled()));
+        list.add(entry("Failed", clazz.getFailed()));
+        list.add(entry("Invalid", clazz.getInvalid()));
+        list.add(entry("Time", clazz.getTime2()));
+        return list;
     }
 
     /**
@@ -248,7 +233,7 @@ public class ExecCmd {
      * @throws IOException 异常
      */
     public static List<Map<String, String>> jstatGc() throws IOException {
-        return jstat(new String[]{"jstat", "-gc", getPid()});
+        return entries(JvmMonitor.jstatGc());
     }
 
     /**
@@ -259,7 +244,7 @@ public class ExecCmd {
      * @throws IOException 异常
      */
     public static List<Map<String, String>> jstatUtil() throws IOException {
-        return jstat(new String[]{"jstat", "-gcutil", getPid()});
+        return entries(JvmMonitor.jstatUtil());
     }
 
     /**
@@ -289,35 +274,23 @@ public class ExecCmd {
     }
 
     /**
-     * jstat 模板方法
+     * 转为与jstat输出相同结构的集合,每个Map对应一列
      *
-     * @param strings 命令
+     * @param map 列名与值
      * @return 集合
-     * @throws IOException 异常
      */
-    private static List<Map<String, String>> jstat(String[] strings) throws IOException {
-        List<Map<String, String>> list = new ArrayList<>();
-        String s = ExecCmd.execute(strings);
-        assert s != null;
-        BufferedReader reader = new BufferedReader(new StringReader(s));
-        String[] keys = ArrayKit.toStringArray(reader.readLine().split("\\s+|\t"));
-        String[] values = ArrayKit.toStringArray(reader.readLine().split("\\s+|\t"));
-        // 特殊情况
-        if (strings[1].equals("-compiler")) {
-            for (int i = 0; i < 4; i++) {
-                Map<String, String> map = new HashMap();
-                map.put(keys[i], values[i]);
-                list.add(map);
-            }
-            return list;
-        }
-        // 正常流程
-        for (int i = 0; i < keys.length; i++) {
-            Map<String, String> map = new HashMap();
-            map.put(keys[i], values[i]);
-            list.add(map);
+    private static List<Map<String, String>> entries(Map<String, String> map) {
+        List<Map<String, String>> list = new ArrayList<>(map.size());
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            list.add(entry(entry.getKey(), entry.getValue()));
         }
         return list;
     }
 
+    private static Map<String, String> entry(String key, String value) {
+        Map<String, String> map = new HashMap<>();
+        map.put(key, value);
+        return map;
+    }
+
 }
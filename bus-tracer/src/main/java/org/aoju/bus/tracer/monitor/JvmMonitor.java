@@ -0,0 +1,431 @@
+/*********************************************************************************
+ *                                                                               *
+ * The MIT License (MIT)                                                         *
+ *                                                                               *
+ * Copyright (c) 2015-2020 aoju.org and other contributors.                      *
+ *                                                                               *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy  *
+ * of this software and associated documentation files (the "Software"), to deal *
+ * in the Software without restriction, including without limitation the rights  *
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell     *
+ * copies of the Software, and to permit persons to whom the Software is         *
+ * furnished to do so, subject to the following conditions:                      *
+ *                                                                               *
+ * The above copyright notice and this permission notice shall be included in    *
+ * all copies or substantial portions of the Software.                           *
+ *                                                                               *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR    *
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,      *
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE   *
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER        *
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, *
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN     *
+ * THE SOFTWARE.                                                                 *
+ ********************************************************************************/
+package org.aoju.bus.tracer.monitor;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+import org.aoju.bus.core.lang.Symbol;
+import org.aoju.bus.core.lang.exception.InstrumentException;
+import org.aoju.bus.core.toolkit.DateKit;
+
+import java.io.IOException;
+import java.lang.management.*;
+import java.util.*;
+
+/**
+ * 基于{@link java.lang.management} MXBean 的进程内JVM监控
+ * 替代通过jstat/jmap/jstack子进程获取监控数据,每次采集无需创建进程,开销在微秒级
+ *
+ * @author Kimi Liu
+ * @version 6.0.1
+ * @since JDK 1.8+
+ */
+public final class JvmMonitor {
+
+    /**
+     * MXBean无法提供的指标,与jstat一致使用"-"表示
+     */
+    public static final String UNAVAILABLE = Symbol.HYPHEN;
+    /**
+     * 时间格式
+     */
+    private static final String DATE_FORMAT = "MM/dd HH:mm";
+    /**
+     * 新生代收集器名称
+     */
+    private static final Set<String> YOUNG_COLLECTORS = new HashSet<>(Arrays.asList(
+            "Copy", "PS Scavenge", "ParNew", "G1 Young Generation"));
+
+    private JvmMonitor() {
+
+    }
+
+    /**
+     * 获取当前应用进程id
+     *
+     * @return pid
+     */
+    public static int getPid() {
+        final String name = ManagementFactory.getRuntimeMXBean().getName();
+        final int index = name.indexOf(Symbol.C_AT);
+        try {
+            return Integer.parseInt(index < 0 ? name : name.substring(0, index));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 堆内存信息,对应jstat -gc
+     * MXBean只暴露一个Survivor内存池,其数据填入S0,S1以{@link #UNAVAILABLE}表示
+     *
+     * @return the GcEntity
+     */
+    public static GcEntity gc() {
+        final Heap heap = Heap.collect();
+        final GcEntity entity = new GcEntity();
+        fill(entity);
+        entity.setS0c(kb(heap.survivor.getCommitted()));
+        entity.setS1c(UNAVAILABLE);
+        entity.setS0u(kb(heap.survivor.getUsed()));
+        entity.setS1u(UNAVAILABLE);
+        entity.setEc(kb(heap.eden.getCommitted()));
+        entity.setEu(kb(heap.eden.getUsed()));
+        entity.setOc(kb(heap.old.getCommitted()));
+        entity.setOU(kb(heap.old.getUsed()));
+        entity.setMc(kb(heap.metaspace.getCommitted()));
+        entity.setMu(kb(heap.metaspace.getUsed()));
+        entity.setCcsc(kb(heap.compressedClass.getCommitted()));
+        entity.setCcsu(kb(heap.compressedClass.getUsed()));
+        entity.setYgc(String.valueOf(heap.youngCount));
+        entity.setYgct(seconds(heap.youngTime));
+        entity.setFgc(String.valueOf(heap.fullCount));
+        entity.setFgct(seconds(heap.fullTime));
+        entity.setGct(seconds(heap.youngTime + heap.fullTime));
+        return entity;
+    }
+
+    /**
+     * 类加载及编译信息,对应jstat -class与jstat -compiler
+     * 类加载字节数、耗时及编译次数等HotSpot内部计数器无对应MXBean,以{@link #UNAVAILABLE}表示
+     *
+     * @return the ClazzEntity
+     */
+    public static ClazzEntity clazz() {
+        final ClassLoadingMXBean classLoading = ManagementFactory.getClassLoadingMXBean();
+        final CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+        final ClazzEntity entity = new ClazzEntity();
+        fill(entity);
+        entity.setLoaded(String.valueOf(classLoading.getLoadedClassCount()));
+        entity.setUnloaded(String.valueOf(classLoading.getUnloadedClassCount()));
+        entity.setBytes1(UNAVAILABLE);
+        entity.setBytes2(UNAVAILABLE);
+        entity.setTime1(UNAVAILABLE);
+        entity.setCompiled(UNAVAILABLE);
+        entity.setFailed(UNAVAILABLE);
+        entity.setInvalid(UNAVAILABLE);
+        entity.setTime2(null != compilation && compilation.isCompilationTimeMonitoringSupported()
+                ? seconds(compilation.getTotalCompilationTime()) : UNAVAILABLE);
+        return entity;
+    }
+
+    /**
+     * 线程状态信息
+     * 仅统计Java线程,不包含jstack中列出的VM内部线程
+     *
+     * @return the ThreadEntity
+     */
+    public static ThreadEntity thread() {
+        final int[] states = threadStates();
+        final ThreadEntity entity = new ThreadEntity();
+        fill(entity);
+        entity.setTotal(states[0]);
+        entity.setRunnable(states[Thread.State.RUNNABLE.ordinal() + 1]);
+        entity.setTimed_waiting(states[Thread.State.TIMED_WAITING.ordinal() + 1]);
+        entity.setWaiting(states[Thread.State.WAITING.ordinal() + 1]);
+        return entity;
+    }
+
+    /**
+     * 该进程的线程信息
+     *
+     * @return the StackEntity
+     */
+    public static StackEntity stack() {
+        final int[] states = threadStates();
+        return new StackEntity(String.valueOf(getPid()), states[0],
+                states[Thread.State.RUNNABLE.ordinal() + 1],
+                states[Thread.State.TIMED_WAITING.ordinal() + 1],
+                states[Thread.State.WAITING.ordinal() + 1]);
+    }
+
+    /**
+     * 堆内存信息,键与jstat -gc的列名一致
+     *
+     * @return 列名与值
+     */
+    public static Map<String, String> jstatGc() {
+        final GcEntity gc = gc();
+        final Map<String, String> map = new LinkedHashMap<>();
+        map.put("S0C", gc.getS0c());
+        map.put("S1C", gc.getS1c());
+        map.put("S0U", gc.getS0u());
+        map.put("S1U", gc.getS1u());
+        map.put("EC", gc.getEc());
+        map.put("EU", gc.getEu());
+        map.put("OC", gc.getOc());
+        map.put("OU", gc.getOU());
+        map.put("MC", gc.getMc());
+        map.put("MU", gc.getMu());
+        map.put("CCSC", gc.getCcsc());
+        map.put("CCSU", gc.getCcsu());
+        map.put("YGC", gc.getYgc());
+        map.put("YGCT", gc.getYgct());
+        map.put("FGC", gc.getFgc());
+        map.put("FGCT", gc.getFgct());
+        map.put("GCT", gc.getGct());
+        return map;
+    }
+
+    /**
+     * 堆内存百分比,键与jstat -gcutil的列名一致
+     *
+     * @return 列名与值
+     */
+    public static Map<String, String> jstatUtil() {
+        final Heap heap = Heap.collect();
+        final Map<String, String> map = new LinkedHashMap<>();
+        map.put("S0", percent(heap.survivor));
+        map.put("S1", UNAVAILABLE);
+        map.put("E", percent(heap.eden));
+        map.put("O", percent(heap.old));
+        map.put("M", percent(heap.metaspace));
+        map.put("CCS", percent(heap.compressedClass));
+        map.put("YGC", String.valueOf(heap.youngCount));
+        map.put("YGCT", seconds(heap.youngTime));
+        map.put("FGC", String.valueOf(heap.fullCount));
+        map.put("FGCT", seconds(heap.fullTime));
+        map.put("GCT", seconds(heap.youngTime + heap.fullTime));
+        return map;
+    }
+
+    /**
+     * 导出堆快照,替代jmap -dump
+     *
+     * @param path 快照文件路径,需以.hprof结尾且文件不存在
+     * @param live 是否只导出存活对象(会触发一次Full GC)
+     */
+    public static void dumpHeap(String path, boolean live) {
+        try {
+            ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class).dumpHeap(path, live);
+        } catch (IOException e) {
+            throw new InstrumentException(e);
+        }
+    }
+
+    /**
+     * 导出线程快照,格式与jstack相近,替代jstack
+     *
+     * @return 线程快照
+     */
+    public static String dumpThreads() {
+        final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        final ThreadInfo[] infos = threadMXBean.dumpAllThreads(
+                threadMXBean.isObjectMonitorUsageSupported(), threadMXBean.isSynchronizerUsageSupported());
+        final StringBuilder builder = new StringBuilder(infos.length * 512);
+        builder.append(DateKit.format(new Date(), "yyyy-MM-dd HH:mm:ss")).append(Symbol.LF);
+        builder.append("Full thread dump ").append(System.getProperty("java.vm.name"))
+                .append(" (").append(System.getProperty("java.vm.version")).append("):").append(Symbol.LF).append(Symbol.LF);
+        for (ThreadInfo info : infos) {
+            if (null != info) {
+                appendThread(builder, info);
+            }
+        }
+        final long[] deadlocked = threadMXBean.isSynchronizerUsageSupported()
+                ? threadMXBean.findDeadlockedThreads() : threadMXBean.findMonitorDeadlockedThreads();
+        if (null != deadlocked) {
+            builder.append("Found ").append(deadlocked.length).append(" deadlocked threads: ")
+                    .append(Arrays.toString(deadlocked)).append(Symbol.LF);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * java版本信息,格式与java -version一致
+     *
+     * @return 版本信息
+     */
+    public static String version() {
+        return "java version \"" + System.getProperty("java.version") + "\"\n"
+                + System.getProperty("java.runtime.name") + " (build " + System.getProperty("java.runtime.version") + ")\n"
+                + System.getProperty("java.vm.name") + " (build " + System.getProperty("java.vm.version")
+                + Symbol.COMMA + Symbol.SPACE + System.getProperty("java.vm.info") + ")\n";
+    }
+
+    /**
+     * 统计各状态线程数
+     *
+     * @return 下标0为总数, 其余为{@link Thread.State#ordinal()} + 1对应的数量
+     */
+    private static int[] threadStates() {
+        final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        // 不获取堆栈,开销与线程数线性相关
+        final ThreadInfo[] infos = threadMXBean.getThreadInfo(threadMXBean.getAllThreadIds());
+        final int[] states = new int[Thread.State.values().length + 1];
+        for (ThreadInfo info : infos) {
+            if (null != info) {
+                states[0]++;
+                states[info.getThreadState().ordinal() + 1]++;
+            }
+        }
+        return states;
+    }
+
+    /**
+     * 按jstack格式追加一个线程的信息
+     *
+     * @param builder 输出
+     * @param info    线程信息
+     */
+    private static void appendThread(StringBuilder builder, ThreadInfo info) {
+        builder.append(Symbol.C_DOUBLE_QUOTES).append(info.getThreadName()).append(Symbol.C_DOUBLE_QUOTES)
+                .append(" #").append(info.getThreadId());
+        if (info.isSuspended()) {
+            builder.append(" (suspended)");
+        }
+        if (info.isInNative()) {
+            builder.append(" (in native)");
+        }
+        builder.append(Symbol.LF).append("   java.lang.Thread.State: ").append(info.getThreadState()).append(Symbol.LF);
+        final StackTraceElement[] trace = info.getStackTrace();
+        final MonitorInfo[] monitors = info.getLockedMonitors();
+        for (int i = 0; i < trace.length; i++) {
+            builder.append("\tat ").append(trace[i]).append(Symbol.LF);
+            if (i == 0 && null != info.getLockInfo()) {
+                switch (info.getThreadState()) {
+                    case BLOCKED:
+                        builder.append("\t- waiting to lock ").append(info.getLockInfo());
+                        if (null != info.getLockOwnerName()) {
+                            builder.append(" owned by \"").append(info.getLockOwnerName()).append("\" #").append(info.getLockOwnerId());
+                        }
+                        builder.append(Symbol.LF);
+                        break;
+                    case WAITING:
+                    case TIMED_WAITING:
+                        // LockSupport.park等待的是同步器,Object.wait等待的是监视器
+                        builder.append("sun.misc.Unsafe".equals(trace[i].getClassName()) ? "\t- parking to wait for " : "\t- waiting on ")
+                                .append(info.getLockInfo()).append(Symbol.LF);
+                        break;
+                    default:
+                }
+            }
+            for (MonitorInfo monitor : monitors) {
+                if (monitor.getLockedStackDepth() == i) {
+                    builder.append("\t- locked ").append(monitor).append(Symbol.LF);
+                }
+            }
+        }
+        final LockInfo[] synchronizers = info.getLockedSynchronizers();
+        if (synchronizers.length > 0) {
+            builder.append(Symbol.LF).append("   Locked ownable synchronizers:").append(Symbol.LF);
+            for (LockInfo synchronizer : synchronizers) {
+                builder.append("\t- ").append(synchronizer).append(Symbol.LF);
+            }
+        }
+        builder.append(Symbol.LF);
+    }
+
+    /**
+     * 填充实体的公共信息
+     *
+     * @param entity 实体
+     */
+    private static void fill(Object entity) {
+        final int pid = getPid();
+        final String name = ManagementFactory.getRuntimeMXBean().getName();
+        final String date = DateKit.format(new Date(), DATE_FORMAT);
+        if (entity instanceof GcEntity) {
+            ((GcEntity) entity).setId(pid);
+            ((GcEntity) entity).setName(name);
+            ((GcEntity) entity).setDate(date);
+        } else if (entity instanceof ClazzEntity) {
+            ((ClazzEntity) entity).setId(pid);
+            ((ClazzEntity) entity).setName(name);
+            ((ClazzEntity) entity).setDate(date);
+        } else if (entity instanceof ThreadEntity) {
+            ((ThreadEntity) entity).setId(pid);
+            ((ThreadEntity) entity).setName(name);
+            ((ThreadEntity) entity).setDate(date);
+        }
+    }
+
+    private static String kb(long bytes) {
+        return String.format(Locale.ROOT, "%.1f", Math.max(bytes, 0) / 1024D);
+    }
+
+    private static String seconds(long millis) {
+        return String.format(Locale.ROOT, "%.3f", Math.max(millis, 0) / 1000D);
+    }
+
+    private static String percent(MemoryUsage usage) {
+        return percent(usage.getUsed(), usage.getCommitted());
+    }
+
+    private static String percent(long used, long committed) {
+        return committed <= 0 ? "0.00" : String.format(Locale.ROOT, "%.2f", used * 100D / committed);
+    }
+
+    /**
+     * 一次采集的内存池与GC数据
+     */
+    private static class Heap {
+
+        private static final MemoryUsage EMPTY = new MemoryUsage(0, 0, 0, -1);
+
+        private MemoryUsage eden = EMPTY;
+        private MemoryUsage survivor = EMPTY;
+        private MemoryUsage old = EMPTY;
+        private MemoryUsage metaspace = EMPTY;
+        private MemoryUsage compressedClass = EMPTY;
+        private long youngCount;
+        private long youngTime;
+        private long fullCount;
+        private long fullTime;
+
+        static Heap collect() {
+            final Heap heap = new Heap();
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                final String name = pool.getName();
+                final MemoryUsage usage = pool.getUsage();
+                if (null == usage) {
+                    continue;
+                }
+                if (name.endsWith("Eden Space")) {
+                    heap.eden = usage;
+                } else if (name.endsWith("Survivor Space")) {
+                    heap.survivor = usage;
+                } else if (name.endsWith("Old Gen") || name.endsWith("Tenured Gen")) {
+                    heap.old = usage;
+                } else if ("Metaspace".equals(name)) {
+                    heap.metaspace = usage;
+                } else if ("Compressed Class Space".equals(name)) {
+                    heap.compressedClass = usage;
+                }
+            }
+            for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                final long count = Math.max(collector.getCollectionCount(), 0);
+                final long time = Math.max(collector.getCollectionTime(), 0);
+                if (YOUNG_COLLECTORS.contains(collector.getName())) {
+                    heap.youngCount += count;
+                    heap.youngTime += time;
+                } else {
+                    heap.fullCount += count;
+                    heap.fullTime += time;
+                }
+            }
+            return heap;
+        }
+    }
+
+}
@@ -0,0 +1,143 @@
+/*********************************************************************************
+ *                                                                               *
+ * The MIT License (MIT)                                                         *
+ *                                                                               *
+ * Copyright (c) 2015-2020 aoju.org and other contributors.                      *
+ *                                                                               *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy  *
+ * of this software and associated documentation files (the "Software"), to deal *
+ * in the Software without restriction, including without limitation the rights  *
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell     *
+ * copies of the Software, and to permit persons to whom the Software is         *
+ * furnished to do so, subject to the following conditions:                      *
+ *                                                                               *
+ * The above copyright notice and this permission notice shall be included in    *
+ * all copies or substantial portions of the Software.                           *
+ *                                                                               *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR    *
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,      *
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE   *
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER        *
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, *
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN     *
+ * THE SOFTWARE.                                                                 *
+ ********************************************************************************/
+package org.aoju.bus.tracer.monitor;
+
+import org.aoju.bus.core.thread.NamedThreadFactory;
+import org.aoju.bus.logger.Logger;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JVM监控采样器
+ * 按固定间隔通过{@link JvmMonitor}在进程内采集数据,最近的采样保存在{@link SampleRing}中
+ *
+ * @author Kimi Liu
+ * @version 6.0.1
+ * @since JDK 1.8+
+ */
+public class JvmSampler implements AutoCloseable {
+
+    /**
+     * 默认保存的采样数
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final SampleRing<Sample> samples;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * 构造
+     */
+    public JvmSampler() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 构造
+     *
+     * @param capacity 保存的采样数
+     */
+    public JvmSampler(int capacity) {
+        this.samples = new SampleRing<>(capacity);
+    }
+
+    /**
+     * 开始定时采样,已启动时按新的间隔重新启动
+     *
+     * @param interval 采样间隔
+     * @param unit     时间单位
+     * @return this
+     */
+    public synchronized JvmSampler start(long interval, TimeUnit unit) {
+        stop();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("tracer-monitor-", true));
+        this.scheduler.scheduleAtFixedRate(() -> {
+            try {
+                sample();
+            } catch (RuntimeException e) {
+                Logger.warn("JVM monitor sample failed: {}", e.getMessage());
+            }
+        }, 0, interval, unit);
+        return this;
+    }
+
+    /**
+     * 停止采样,已保存的采样数据保留
+     */
+    public synchronized void stop() {
+        if (null != this.scheduler) {
+            this.scheduler.shutdownNow();
+            this.scheduler = null;
+        }
+    }
+
+    /**
+     * 是否正在采样
+     *
+     * @return 是否正在采样
+     */
+    public synchronized boolean isRunning() {
+        return null != this.scheduler;
+    }
+
+    /**
+     * 立即采样一次并保存
+     *
+     * @return 采样数据
+     */
+    public Sample sample() {
+        final Sample sample = new Sample(System.currentTimeMillis(), JvmMonitor.gc(), JvmMonitor.clazz(), JvmMonitor.thread());
+        this.samples.add(sample);
+        return sample;
+    }
+
+    /**
+     * 最新的采样
+     *
+     * @return 采样数据, 无数据返回{@code null}
+     */
+    public Sample latest() {
+        return this.samples.latest();
+    }
+
+    /**
+     * 最近的采样,按时间由旧到新排列
+     *
+     * @param count 数量
+     * @return 采样数据
+     */
+    public List<Sample> recent(int count) {
+        return this.samples.recent(count);
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+
+}
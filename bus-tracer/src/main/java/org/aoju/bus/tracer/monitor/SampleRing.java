@@ -0,0 +1,130 @@
+/*********************************************************************************
+ *                                                                               *
+ * The MIT License (MIT)                                                         *
+ *                                                                               *
+ * Copyright (c) 2015-2020 aoju.org and other contributors.                      *
+ *                                                                               *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy  *
+ * of this software and associated documentation files (the "Software"), to deal *
+ * in the Software without restriction, including without limitation the rights  *
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell     *
+ * copies of the Software, and to permit persons to whom the Software is         *
+ * furnished to do so, subject to the following conditions:                      *
+ *                                                                               *
+ * The above copyright notice and this permission notice shall be included in    *
+ * all copies or substantial portions of the Software.                           *
+ *                                                                               *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR    *
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,      *
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE   *
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER        *
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, *
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN     *
+ * THE SOFTWARE.                                                                 *
+ ********************************************************************************/
+package org.aoju.bus.tracer.monitor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 无锁环形缓冲区,保存最近的N个元素,写满后覆盖最早的元素
+ * 写入通过序号定位槽位,读取时校验槽位序号,不会读到被覆盖中的数据
+ *
+ * @param <T> 元素类型
+ * @author Kimi Liu
+ * @version 6.0.1
+ * @since JDK 1.8+
+ */
+public class SampleRing<T> {
+
+    private final AtomicReferenceArray<Slot<T>> slots;
+    private final AtomicLong sequence = new AtomicLong();
+    private final int mask;
+
+    /**
+     * 构造
+     *
+     * @param capacity 容量,向上取整为2的幂
+     */
+    public SampleRing(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be greater than 0");
+        }
+        final int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * 写入元素
+     *
+     * @param value 元素
+     */
+    public void add(T value) {
+        final long seq = sequence.getAndIncrement();
+        slots.set((int) (seq & mask), new Slot<>(seq, value));
+    }
+
+    /**
+     * 获取最新的元素
+     *
+     * @return 最新元素, 无数据返回{@code null}
+     */
+    public T latest() {
+        final List<T> list = recent(1);
+        return list.isEmpty() ? null : list.get(0);
+    }
+
+    /**
+     * 获取最近的元素,按写入顺序由旧到新排列
+     *
+     * @param count 数量,超过容量时取容量
+     * @return 元素列表
+     */
+    public List<T> recent(int count) {
+        final long end = sequence.get();
+        final long start = Math.max(0, end - Math.min(count, capacity()));
+        final List<T> list = new ArrayList<>((int) (end - start));
+        for (long seq = start; seq < end; seq++) {
+            final Slot<T> slot = slots.get((int) (seq & mask));
+            // 序号不一致说明尚未写入完成或已被覆盖
+            if (null != slot && slot.seq == seq) {
+                list.add(slot.value);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * 已写入的元素总数
+     *
+     * @return 总数
+     */
+    public long count() {
+        return sequence.get();
+    }
+
+    /**
+     * 容量
+     *
+     * @return 容量
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    private static class Slot<T> {
+
+        private final long seq;
+        private final T value;
+
+        Slot(long seq, T value) {
+            this.seq = seq;
+            this.value = value;
+        }
+    }
+
+}
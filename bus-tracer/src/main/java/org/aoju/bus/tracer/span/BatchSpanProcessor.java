@@ -0,0 +1,168 @@
+/*********************************************************************************
+ *                                                                               *
+ * The MIT License (MIT)                                                         *
+ *                                                                               *
+ * Copyright (c) 2015-2020 aoju.org and other contributors.                      *
+ *                                                                               *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy  *
+ * of this software and associated documentation files (the "Software"), to deal *
+ * in the Software without restriction, including without limitation the rights  *
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell     *
+ * copies of the Software, and to permit persons to whom the Software is         *
+ * furnished to do so, subject to the following conditions:                      *
+ *                                                                               *
+ * The above copyright notice and this permission notice shall be included in    *
+ * all copies or substantial portions of the Software.                           *
+ *                                                                               *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR    *
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,      *
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE   *
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER        *
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, *
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN     *
+ * THE SOFTWARE.                                                                 *
+ ********************************************************************************/
+package org.aoju.bus.tracer.span;
+
+import org.aoju.bus.logger.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 批量导出处理器
+ * 结束的Span写入{@link SpanQueue},由后台线程按批取出后交给{@link SpanExporter},
+ * 写入方不加锁也不等待,队列满时丢弃并计数
+ *
+ * @author Kimi Liu
+ * @version 6.0.1
+ * @since JDK 1.8+
+ */
+public class BatchSpanProcessor implements AutoCloseable {
+
+    /**
+     * 默认队列容量
+     */
+    public static final int DEFAULT_QUEUE_SIZE = 8192;
+    /**
+     * 默认每批导出数量
+     */
+    public static final int DEFAULT_BATCH_SIZE = 512;
+    /**
+     * 默认导出间隔(毫秒)
+     */
+    public static final long DEFAULT_FLUSH_INTERVAL = 1000;
+
+    private final SpanQueue<Span> queue;
+    private final SpanExporter exporter;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder exported = new LongAdder();
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    /**
+     * 构造
+     *
+     * @param exporter 导出器
+     */
+    public BatchSpanProcessor(SpanExporter exporter) {
+        this(exporter, DEFAULT_QUEUE_SIZE, DEFAULT_BATCH_SIZE, DEFAULT_FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 构造
+     *
+     * @param exporter      导出器
+     * @param queueSize     队列容量
+     * @param batchSize     每批导出数量
+     * @param flushInterval 队列未满一批时的导出间隔
+     * @param unit          间隔单位
+     */
+    public BatchSpanProcessor(SpanExporter exporter, int queueSize, int batchSize, long flushInterval, TimeUnit unit) {
+        this.queue = new SpanQueue<>(queueSize);
+        this.exporter = exporter;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = unit.toNanos(flushInterval);
+        this.worker = new Thread(this::run, "tracer-span-exporter");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Span结束时调用
+     *
+     * @param span 已结束的Span
+     */
+    public void onFinish(Span span) {
+        if (!running || !queue.offer(span)) {
+            dropped.increment();
+        } else if (queue.size() >= batchSize) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    /**
+     * @return 因队列满或已关闭而丢弃的数量
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return 已导出的数量
+     */
+    public long getExportedCount() {
+        return exported.sum();
+    }
+
+    /**
+     * 停止后台线程,导出队列中剩余的Span并关闭导出器
+     */
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos) + 5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        exporter.close();
+    }
+
+    private void run() {
+        final List<Span> batch = new ArrayList<>(batchSize);
+        while (running) {
+            if (drain(batch) < batchSize) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+        }
+        // 关闭前导出剩余数据
+        while (drain(batch) > 0) {
+        }
+    }
+
+    private int drain(List<Span> batch) {
+        final int count = queue.drain(batch, batchSize);
+        if (count > 0) {
+            try {
+                exporter.export(batch);
+                exported.add(count);
+            } catch (RuntimeException e) {
+                Logger.warn("Span export failed: {}", e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+        return count;
+    }
+
+}
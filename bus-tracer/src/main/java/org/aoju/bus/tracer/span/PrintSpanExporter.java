@@ -0,0 +1,163 @@
+/*********************************************************************************
+ *                                                                               *
+ * The MIT License (MIT)                                                         *
+ *                                                                               *
+ * Copyright (c) 2015-2020 aoju.org and other contributors.                      *
+ *                                                                               *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy  *
+ * of this software and associated documentation files (the "Software"), to deal *
+ * in the Software without restriction, including without limitation the rights  *
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell     *
+ * copies of the Software, and to permit persons to whom the Software is         *
+ * furnished to do so, subject to the following conditions:                      *
+ *                                                                               *
+ * The above copyright notice and this permission notice shall be included in    *
+ * all copies or substantial portions of the Software.                           *
+ *                                                                               *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR    *
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,      *
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE   *
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER        *
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, *
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN     *
+ * THE SOFTWARE.                                                                 *
+ ********************************************************************************/
+package org.aoju.bus.tracer.span;
+
+import org.aoju.bus.core.lang.exception.InstrumentException;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 将Span按行输出为JSON,用于本地调试,可输出到控制台或文件
+ *
+ * @author Kimi Liu
+ * @version 6.0.1
+ * @since JDK 1.8+
+ */
+public class PrintSpanExporter implements SpanExporter {
+
+    private final PrintStream out;
+    private final boolean closeOut;
+    private final StringBuilder builder = new StringBuilder(256);
+
+    /**
+     * 构造,输出到标准输出
+     */
+    public PrintSpanExporter() {
+        this(System.out, false);
+    }
+
+    /**
+     * 构造,追加写入到文件
+     *
+     * @param file 文件
+     */
+    public PrintSpanExporter(File file) {
+        this(open(file), true);
+    }
+
+    /**
+     * 构造
+     *
+     * @param out      输出流
+     * @param closeOut 关闭时是否关闭输出流
+     */
+    public PrintSpanExporter(PrintStream out, boolean closeOut) {
+        this.out = out;
+        this.closeOut = closeOut;
+    }
+
+    private static PrintStream open(File file) {
+        try {
+            return new PrintStream(new BufferedOutputStream(new FileOutputStream(file, true)), false, StandardCharsets.UTF_8.name());
+        } catch (IOException e) {
+            throw new InstrumentException(e);
+        }
+    }
+
+    @Override
+    public void export(List<Span> spans) {
+        for (Span span : spans) {
+            builder.setLength(0);
+            builder.append("{\"traceId\":");
+            string(span.getTraceId());
+            builder.append(",\"spanId\":\"").append(Span.toId(span.getSpanId()));
+            builder.append("\",\"parentId\":\"").append(Span.toId(span.getParentId()));
+            builder.append("\",\"name\":");
+            string(span.getName());
+            builder.append(",\"kind\":\"").append(span.getKind());
+            builder.append("\",\"start\":").append(span.getStartMillis());
+            builder.append(",\"durationMicros\":").append(span.getDurationNanos() / 1000);
+            if (null != span.getError()) {
+                builder.append(",\"error\":");
+                string(span.getError().toString());
+            }
+            final Map<String, String> tags = span.getTags();
+            if (!tags.isEmpty()) {
+                builder.append(",\"tags\":{");
+                boolean first = true;
+                for (Map.Entry<String, String> entry : tags.entrySet()) {
+                    if (!first) {
+                        builder.append(',');
+                    }
+                    first = false;
+                    string(entry.getKey());
+                    builder.append(':');
+                    string(entry.getValue());
+                }
+                builder.append('}');
+            }
+            builder.append('}');
+            out.println(builder);
+        }
+        out.flush();
+    }
+
+    @Override
+    public void close() {
+        out.flush();
+        if (closeOut) {
+            out.close();
+        }
+    }
+
+    private void string(String value) {
+        if (null == value) {
+            builder.append("null");
+            return;
+        }
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+            }
+        }
+        builder.append('"');
+    }
+
+}
@@ -0,0 +1,100 @@
+/*********************************************************************************
+ *                                                                               *
+ * The MIT License (MIT)                                                         *
+ *                                                                               *
+ * Copyright (c) 2015-2020 aoju.org and other contributors.                      *
+ *                                                                               *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy  *
+ * of this software and associated documentation files (the "Software"), to deal *
+ * in the Software without restriction, including without limitation the rights  *
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell     *
+ * copies of the Software, and to permit persons to whom the Software is         *
+ * furnished to do so, subject to the following conditions:                      *
+ *                                                                               *
+ * The above copyright notice and this permission notice shall be included in    *
+ * all copies or substantial portions of the Software.                           *
+ *                                                                               *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR    *
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,      *
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE   *
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER        *
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, *
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN     *
+ * THE SOFTWARE.                                                                 *
+ ********************************************************************************/
+package org.aoju.bus.tracer.span;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按比例采样
+ * 头部按traceId的哈希取比例,保证跨服务的决定一致;
+ * 尾部对异常及慢调用全部导出,其余按比例导出
+ *
+ * @author Kimi Liu
+ * @version 6.0.1
+ * @since JDK 1.8+
+ */
+public class RateSampler implements Sampler {
+
+    private static final int PRECISION = 10000;
+
+    private final int headThreshold;
+    private final long slowNanos;
+    private final int tailThreshold;
+
+    /**
+     * 构造,已记录的Span全部导出
+     *
+     * @param headRatio 头部采样比例,0~1
+     */
+    public RateSampler(double headRatio) {
+        this(headRatio, 0, TimeUnit.NANOSECONDS, 1);
+    }
+
+    /**
+     * 构造
+     *
+     * @param headRatio 头部采样比例,0~1
+     * @param slow      慢调用阈值,耗时不小于此值时必定导出,0表示不判断
+     * @param unit      阈值单位
+     * @param tailRatio 非异常非慢调用的导出比例,0~1
+     */
+    public RateSampler(double headRatio, long slow, TimeUnit unit, double tailRatio) {
+        this.headThreshold = threshold(headRatio);
+        this.slowNanos = unit.toNanos(slow);
+        this.tailThreshold = threshold(tailRatio);
+    }
+
+    private static int threshold(double ratio) {
+        if (ratio < 0 || ratio > 1) {
+            throw new IllegalArgumentException("Ratio must be between 0 and 1: " + ratio);
+        }
+        return (int) (ratio * PRECISION);
+    }
+
+    @Override
+    public boolean isSampled(String traceId) {
+        if (headThreshold >= PRECISION) {
+            return true;
+        }
+        if (headThreshold <= 0) {
+            return false;
+        }
+        final int hash = null == traceId ? ThreadLocalRandom.current().nextInt() : traceId.hashCode();
+        return (hash & Integer.MAX_VALUE) % PRECISION < headThreshold;
+    }
+
+    @Override
+    public boolean shouldExport(Span span) {
+        if (tailThreshold >= PRECISION || null != span.getError()) {
+            return true;
+        }
+        if (slowNanos > 0 && span.getDurationNanos() >= slowNanos) {
+            return true;
+        }
+        return tailThreshold > 0 && ThreadLocalRandom.current().nextInt(PRECISION) < tailThreshold;
+    }
+
+}
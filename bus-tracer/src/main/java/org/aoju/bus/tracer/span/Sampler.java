@@ -0,0 +1,66 @@
+/*********************************************************************************
+ *                                                                               *
+ * The MIT License (MIT)                                                         *
+ *                                                                               *
+ * Copyright (c) 2015-2020 aoju.org and other contributors.                      *
+ *                                                                               *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy  *
+ * of this software and associated documentation files (the "Software"), to deal *
+ * in the Software without restriction, including without limitation the rights  *
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell     *
+ * copies of the Software, and to permit persons to whom the Software is         *
+ * furnished to do so, subject to the following conditions:                      *
+ *                                                                               *
+ * The above copyright notice and this permission notice shall be included in    *
+ * all copies or substantial portions of the Software.                           *
+ *                                                                               *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR    *
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,      *
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE   *
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER        *
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, *
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN     *
+ * THE SOFTWARE.                                                                 *
+ ********************************************************************************/
+package org.aoju.bus.tracer.span;
+
+/**
+ * 采样策略
+ * 头部采样在Span开始时决定是否记录,未采样的调用不产生任何对象;
+ * 尾部采样在Span结束时决定已记录的Span是否导出
+ *
+ * @author Kimi Liu
+ * @version 6.0.1
+ * @since JDK 1.8+
+ */
+public interface Sampler {
+
+    /**
+     * 全部采样
+     */
+    Sampler ALWAYS = traceId -> true;
+
+    /**
+     * 不采样
+     */
+    Sampler NEVER = traceId -> false;
+
+    /**
+     * 头部采样,同一traceId的决定应当一致,使整条调用链同时被采样或丢弃
+     *
+     * @param traceId 调用链ID,可能为{@code null}
+     * @return 是否记录
+     */
+    boolean isSampled(String traceId);
+
+    /**
+     * 尾部采样
+     *
+     * @param span 已结束的Span
+     * @return 是否导出
+     */
+    default boolean shouldExport(Span span) {
+        return true;
+    }
+
+}
@@ -0,0 +1,257 @@
+/*********************************************************************************
+ *                                                                               *
+ * The MIT License (MIT)                                                         *
+ *                                                                               *
+ * Copyright (c) 2015-2020 aoju.org and other contributors.                      *
+ *                                                                               *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy  *
+ * of this software and associated documentation files (the "Software"), to deal *
+ * in the Software without restriction, including without limitation the rights  *
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell     *
+ * copies of the Software, and to permit persons to whom the Software is         *
+ * furnished to do so, subject to the following conditions:                      *
+ *                                                                               *
+ * The above copyright notice and this permission notice shall be included in    *
+ * all copies or substantial portions of the Software.                           *
+ *                                                                               *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR    *
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,      *
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE   *
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER        *
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, *
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN     *
+ * THE SOFTWARE.                                                                 *
+ ********************************************************************************/
+package org.aoju.bus.tracer.span;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 一次调用的耗时记录,包含开始/结束的纳秒时间及父子关系
+ * 未采样的调用统一使用{@link #NOOP},其所有操作均为空操作
+ *
+ * @author Kimi Liu
+ * @version 6.0.1
+ * @since JDK 1.8+
+ */
+public class Span {
+
+    /**
+     * 未采样时使用的空Span
+     */
+    public static final Span NOOP = new Span();
+
+    private final String traceId;
+    private final long spanId;
+    private final long parentId;
+    private final String name;
+    private final Kind kind;
+    private final long startMillis;
+    private final long startNanos;
+    private long endNanos;
+    private Throwable error;
+    private Map<String, String> tags;
+
+    private Span() {
+        this.traceId = null;
+        this.spanId = 0;
+        this.parentId = 0;
+        this.name = null;
+        this.kind = Kind.INTERNAL;
+        this.startMillis = 0;
+        this.startNanos = 0;
+    }
+
+    Span(String traceId, long parentId, String name, Kind kind) {
+        this.traceId = traceId;
+        this.spanId = nextId();
+        this.parentId = parentId;
+        this.name = name;
+        this.kind = kind;
+        this.startMillis = System.currentTimeMillis();
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * 解析16进制的Span ID
+     *
+     * @param id 16进制ID
+     * @return Span ID, 无效时返回0
+     */
+    public static long parseId(String id) {
+        if (null == id || id.isEmpty() || id.length() > 16) {
+            return 0;
+        }
+        try {
+            return Long.parseUnsignedLong(id, 16);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * 转为16进制的Span ID
+     *
+     * @param id Span ID
+     * @return 16进制ID
+     */
+    public static String toId(long id) {
+        return Long.toHexString(id);
+    }
+
+    private static long nextId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        return id;
+    }
+
+    /**
+     * 是否被采样,未采样时所有操作均为空操作
+     *
+     * @return 是否被采样
+     */
+    public boolean isSampled() {
+        return this != NOOP;
+    }
+
+    /**
+     * 添加标签
+     *
+     * @param key   键
+     * @param value 值
+     * @return this
+     */
+    public Span tag(String key, Object value) {
+        if (this != NOOP && null != key && null != value) {
+            synchronized (this) {
+                if (null == this.tags) {
+                    this.tags = new LinkedHashMap<>(8);
+                }
+                this.tags.put(key, value.toString());
+            }
+        }
+        return this;
+    }
+
+    /**
+     * 记录异常
+     *
+     * @param error 异常
+     * @return this
+     */
+    public Span error(Throwable error) {
+        if (this != NOOP) {
+            this.error = error;
+        }
+        return this;
+    }
+
+    /**
+     * 结束,重复调用只记录第一次
+     */
+    public void finish() {
+        if (this == NOOP) {
+            return;
+        }
+        synchronized (this) {
+            if (0 != this.endNanos) {
+                return;
+            }
+            final long end = System.nanoTime();
+            // 避免与未结束的0值冲突
+            this.endNanos = end == 0 ? 1 : end;
+        }
+        Spans.finished(this);
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public long getSpanId() {
+        return spanId;
+    }
+
+    public long getParentId() {
+        return parentId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return 开始时间(毫秒时间戳)
+     */
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public synchronized long getEndNanos() {
+        return endNanos;
+    }
+
+    /**
+     * @return 耗时(纳秒), 未结束返回-1
+     */
+    public synchronized long getDurationNanos() {
+        return 0 == endNanos ? -1 : endNanos - startNanos;
+    }
+
+    public Throwable getError() {
+        return error;
+    }
+
+    public synchronized Map<String, String> getTags() {
+        return null == tags ? Collections.emptyMap() : Collections.unmodifiableMap(new LinkedHashMap<>(tags));
+    }
+
+    @Override
+    public String toString() {
+        if (this == NOOP) {
+            return "Span(NOOP)";
+        }
+        return "Span(traceId=" + traceId + ", spanId=" + toId(spanId) + ", parentId=" + toId(parentId)
+                + ", name=" + name + ", kind=" + kind + ", durationNanos=" + getDurationNanos() + ")";
+    }
+
+    /**
+     * Span类型
+     */
+    public enum Kind {
+        /**
+         * 服务端接收请求
+         */
+        SERVER,
+        /**
+         * 客户端发起请求
+         */
+        CLIENT,
+        /**
+         * 消息发送
+         */
+        PRODUCER,
+        /**
+         * 消息处理
+         */
+        CONSUMER,
+        /**
+         * 进程内调用
+         */
+        INTERNAL
+    }
+
+}
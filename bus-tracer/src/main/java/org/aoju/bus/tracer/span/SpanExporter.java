@@ -22,26 +22,31 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN     *
  * THE SOFTWARE.                                                                 *
  ********************************************************************************/
-package org.aoju.bus.tracer.backend;
+package org.aoju.bus.tracer.span;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.List;
 
 /**
+ * Span导出器,由{@link BatchSpanProcessor}的后台线程按批调用
+ *
  * @author Kimi Liu
  * @version 6.0.1
  * @since JDK 1.8+
  */
-public final class ThreadLocalHashSet<T> extends InheritableThreadLocal<Set<T>> {
+public interface SpanExporter {
 
-    @Override
-    protected Set<T> childValue(Set<T> parentValue) {
-        return new HashSet<>(parentValue);
-    }
+    /**
+     * 导出一批Span,调用方在返回后会复用列表
+     *
+     * @param spans Span列表
+     */
+    void export(List<Span> spans);
+
+    /**
+     * 关闭导出器
+     */
+    default void close() {
 
-    @Override
-    protected Set<T> initialValue() {
-        return new HashSet<>();
     }
 
 }
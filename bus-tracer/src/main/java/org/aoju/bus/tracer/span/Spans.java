@@ -0,0 +1,164 @@
+/*********************************************************************************
+ *                                                                               *
+ * The MIT License (MIT)                                                         *
+ *                                                                               *
+ * Copyright (c) 2015-2020 aoju.org and other contributors.                      *
+ *                                                                               *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy  *
+ * of this software and associated documentation files (the "Software"), to deal *
+ * in the Software without restriction, including without limitation the rights  *
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell     *
+ * copies of the Software, and to permit persons to whom the Software is         *
+ * furnished to do so, subject to the following conditions:                      *
+ *                                                                               *
+ * The above copyright notice and this permission notice shall be included in    *
+ * all copies or substantial portions of the Software.                           *
+ *                                                                               *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR    *
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,      *
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE   *
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER        *
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, *
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN     *
+ * THE SOFTWARE.                                                                 *
+ ********************************************************************************/
+package org.aoju.bus.tracer.span;
+
+/**
+ * Span入口
+ * 默认不采样,通过{@link #configure(Sampler, BatchSpanProcessor)}开启后由各绑定创建Span;
+ * 未采样时返回{@link Span#NOOP},不产生对象也不访问线程变量
+ *
+ * @author Kimi Liu
+ * @version 6.0.1
+ * @since JDK 1.8+
+ */
+public final class Spans {
+
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+    private static volatile Sampler sampler = Sampler.NEVER;
+    private static volatile BatchSpanProcessor processor;
+
+    private Spans() {
+
+    }
+
+    /**
+     * 设置采样策略及处理器,原处理器不会被关闭
+     *
+     * @param sampler   采样策略
+     * @param processor 处理器,为{@code null}时关闭采样
+     */
+    public static void configure(Sampler sampler, BatchSpanProcessor processor) {
+        Spans.processor = processor;
+        Spans.sampler = null == processor || null == sampler ? Sampler.NEVER : sampler;
+    }
+
+    /**
+     * 开始一个Span,父Span为当前线程的活动Span
+     *
+     * @param name 名称
+     * @param kind 类型
+     * @return Span, 未采样时为{@link Span#NOOP}
+     */
+    public static Span start(String name, Span.Kind kind) {
+        final Sampler sampler = Spans.sampler;
+        if (sampler == Sampler.NEVER) {
+            return Span.NOOP;
+        }
+        final Span parent = CURRENT.get();
+        if (null != parent) {
+            return new Span(parent.getTraceId(), parent.getSpanId(), name, kind);
+        }
+        return sampler.isSampled(null) ? new Span(null, 0, name, kind) : Span.NOOP;
+    }
+
+    /**
+     * 开始一个Span,当前线程存在活动Span时以其为父Span,否则使用传入的调用链信息
+     *
+     * @param name     名称
+     * @param kind     类型
+     * @param traceId  调用链ID,一般为{@code TPIC.invocationId}
+     * @param parentId 远程父Span ID,无则为0
+     * @return Span, 未采样时为{@link Span#NOOP}
+     */
+    public static Span start(String name, Span.Kind kind, String traceId, long parentId) {
+        final Sampler sampler = Spans.sampler;
+        if (sampler == Sampler.NEVER) {
+            return Span.NOOP;
+        }
+        final Span parent = CURRENT.get();
+        if (null != parent) {
+            return new Span(parent.getTraceId(), parent.getSpanId(), name, kind);
+        }
+        return sampler.isSampled(traceId) ? new Span(traceId, parentId, name, kind) : Span.NOOP;
+    }
+
+    /**
+     * 当前线程的活动Span
+     *
+     * @return 活动Span, 无则为{@link Span#NOOP}
+     */
+    public static Span current() {
+        if (sampler == Sampler.NEVER) {
+            return Span.NOOP;
+        }
+        final Span span = CURRENT.get();
+        return null == span ? Span.NOOP : span;
+    }
+
+    /**
+     * 将Span设置为当前线程的活动Span,关闭返回的{@link Scope}时恢复之前的活动Span
+     *
+     * @param span Span
+     * @return Scope
+     */
+    public static Scope activate(Span span) {
+        if (!span.isSampled()) {
+            return Scope.NOOP;
+        }
+        final Span previous = CURRENT.get();
+        CURRENT.set(span);
+        return new Scope(previous);
+    }
+
+    /**
+     * Span结束后经尾部采样交给处理器
+     *
+     * @param span 已结束的Span
+     */
+    static void finished(Span span) {
+        final BatchSpanProcessor processor = Spans.processor;
+        if (null != processor && sampler.shouldExport(span)) {
+            processor.onFinish(span);
+        }
+    }
+
+    /**
+     * 活动Span的作用域
+     */
+    public static class Scope implements AutoCloseable {
+
+        static final Scope NOOP = new Scope(null);
+
+        private final Span previous;
+
+        Scope(Span previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (this == NOOP) {
+                return;
+            }
+            if (null == previous) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+}
@@ -24,25 +24,26 @@
  ********************************************************************************/
 package org.aoju.bus.tracer.thread;
 
+import org.aoju.bus.tracer.TraceContext;
 import org.aoju.bus.tracer.backend.AbstractBackend;
 
-import java.util.HashMap;
 import java.util.Map;
 
 /**
+ * 上下文保存在线程变量中的{@link TraceContext},修改时替换为新的上下文,子线程直接继承父线程的上下文
+ *
  * @author Kimi Liu
  * @version 6.0.1
  * @since JDK 1.8+
  */
 class ThreadLocalBackend extends AbstractBackend {
 
-    private final ThreadLocalMap<String, String> threadLocalMap;
+    private final ThreadLocalMap threadLocalMap;
 
     public ThreadLocalBackend() {
-        this.threadLocalMap = new ThreadLocalMap<>();
+        this.threadLocalMap = new ThreadLocalMap();
     }
 
-
     @Override
     public boolean containsKey(String key) {
         return threadLocalMap.get().containsKey(key);
@@ -65,30 +66,32 @@ class ThreadLocalBackend extends AbstractBackend {
 
     @Override
     public void put(String key, String value) {
-        threadLocalMap.get().put(key, value);
+        if (key == null) throw new IllegalArgumentException("null keys are not allowed.");
+        if (value == null) throw new IllegalArgumentException("null values are not allowed.");
+        threadLocalMap.set(threadLocalMap.get().with(key, value));
     }
 
     @Override
     public void remove(String key) {
-        threadLocalMap.get().remove(key);
+        threadLocalMap.set(threadLocalMap.get().without(key));
     }
 
     @Override
     public void clear() {
-        threadLocalMap.get().clear();
+        threadLocalMap.remove();
     }
 
     @Override
     public void putAll(Map<? extends String, ? extends String> entries) {
-        threadLocalMap.get().putAll(entries);
+        threadLocalMap.set(threadLocalMap.get().withAll(entries));
     }
 
     @Override
     public Map<String, String> copyToMap() {
-        return new HashMap<>(threadLocalMap.get());
+        return threadLocalMap.get();
     }
 
-    ThreadLocalMap<String, String> getThreadLocalMap() {
+    ThreadLocalMap getThreadLocalMap() {
         return threadLocalMap;
     }
 
@@ -24,28 +24,20 @@
  ********************************************************************************/
 package org.aoju.bus.tracer.thread;
 
-import java.util.HashMap;
-import java.util.Map;
+import org.aoju.bus.tracer.TraceContext;
 
 /**
+ * 保存{@link TraceContext}的线程变量,上下文不可变,子线程直接共享父线程的上下文
+ *
  * @author Kimi Liu
  * @version 6.0.1
  * @since JDK 1.8+
  */
-class ThreadLocalMap<K, V> extends InheritableThreadLocal<Map<K, V>> {
+class ThreadLocalMap extends InheritableThreadLocal<TraceContext> {
 
     @Override
-    protected final Map<K, V> initialValue() {
-        return new HashMap<>();
-    }
-
-    @Override
-    protected final Map<K, V> childValue(Map<K, V> parentValue) {
-        if (parentValue == null) {
-            return null;
-        } else {
-            return new HashMap<>(parentValue);
-        }
+    protected final TraceContext initialValue() {
+        return TraceContext.EMPTY;
     }
 
 }
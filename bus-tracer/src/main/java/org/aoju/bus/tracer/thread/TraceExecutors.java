@@ -0,0 +1,171 @@
+/*********************************************************************************
+ *                                                                               *
+ * The MIT License (MIT)                                                         *
+ *                                                                               *
+ * Copyright (c) 2015-2020 aoju.org and other contributors.                      *
+ *                                                                               *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy  *
+ * of this software and associated documentation files (the "Software"), to deal *
+ * in the Software without restriction, including without limitation the rights  *
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell     *
+ * copies of the Software, and to permit persons to whom the Software is         *
+ * furnished to do so, subject to the following conditions:                      *
+ *                                                                               *
+ * The above copyright notice and this permission notice shall be included in    *
+ * all copies or substantial portions of the Software.                           *
+ *                                                                               *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR    *
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,      *
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE   *
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER        *
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, *
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN     *
+ * THE SOFTWARE.                                                                 *
+ ********************************************************************************/
+package org.aoju.bus.tracer.thread;
+
+import org.aoju.bus.tracer.Backend;
+import org.aoju.bus.tracer.Tracer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * 传递跟踪上下文的线程池与{@link CompletableFuture}工具
+ * 可用于包装任意执行器,包括JDK 21+的虚拟线程执行器
+ *
+ * @author Kimi Liu
+ * @version 6.0.1
+ * @since JDK 1.8+
+ */
+public final class TraceExecutors {
+
+    private TraceExecutors() {
+    }
+
+    /**
+     * 包装执行器,提交的任务在调用方的跟踪上下文中执行
+     *
+     * @param executor 执行器
+     * @return 包装后的执行器
+     */
+    public static Executor wrap(Executor executor) {
+        return wrap(executor, Tracer.getBackend());
+    }
+
+    /**
+     * 包装执行器,提交的任务在调用方的跟踪上下文中执行
+     *
+     * @param executor 执行器
+     * @param backend  后端
+     * @return 包装后的执行器
+     */
+    public static Executor wrap(Executor executor, Backend backend) {
+        if (executor instanceof ScheduledExecutorService) {
+            return wrap((ScheduledExecutorService) executor, backend);
+        }
+        if (executor instanceof ExecutorService) {
+            return wrap((ExecutorService) executor, backend);
+        }
+        return command -> executor.execute(TraceSnapshot.capture(backend).wrap(command));
+    }
+
+    /**
+     * 包装线程池
+     *
+     * @param executor 线程池
+     * @return 包装后的线程池
+     */
+    public static ExecutorService wrap(ExecutorService executor) {
+        return wrap(executor, Tracer.getBackend());
+    }
+
+    /**
+     * 包装线程池
+     *
+     * @param executor 线程池
+     * @param backend  后端
+     * @return 包装后的线程池
+     */
+    public static ExecutorService wrap(ExecutorService executor, Backend backend) {
+        if (executor instanceof TraceExecutorService) {
+            return executor;
+        }
+        if (executor instanceof ScheduledExecutorService) {
+            return new TraceScheduledExecutorService((ScheduledExecutorService) executor, backend);
+        }
+        return new TraceExecutorService(executor, backend);
+    }
+
+    /**
+     * 包装定时线程池
+     *
+     * @param executor 定时线程池
+     * @return 包装后的定时线程池
+     */
+    public static ScheduledExecutorService wrap(ScheduledExecutorService executor) {
+        return wrap(executor, Tracer.getBackend());
+    }
+
+    /**
+     * 包装定时线程池
+     *
+     * @param executor 定时线程池
+     * @param backend  后端
+     * @return 包装后的定时线程池
+     */
+    public static ScheduledExecutorService wrap(ScheduledExecutorService executor, Backend backend) {
+        if (executor instanceof TraceScheduledExecutorService) {
+            return executor;
+        }
+        return new TraceScheduledExecutorService(executor, backend);
+    }
+
+    /**
+     * 在调用方的跟踪上下文中异步执行
+     *
+     * @param supplier 任务
+     * @param executor 执行器
+     * @param <T>      结果类型
+     * @return {@link CompletableFuture}
+     */
+    public static <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier, Executor executor) {
+        return CompletableFuture.supplyAsync(TraceSnapshot.capture().wrap(supplier), executor);
+    }
+
+    /**
+     * 在调用方的跟踪上下文中异步执行
+     *
+     * @param runnable 任务
+     * @param executor 执行器
+     * @return {@link CompletableFuture}
+     */
+    public static CompletableFuture<Void> runAsync(Runnable runnable, Executor executor) {
+        return CompletableFuture.runAsync(TraceSnapshot.capture().wrap(runnable), executor);
+    }
+
+    /**
+     * 在调用方的跟踪上下文中异步执行,使用{@link java.util.concurrent.ForkJoinPool#commonPool()}
+     *
+     * @param supplier 任务
+     * @param <T>      结果类型
+     * @return {@link CompletableFuture}
+     */
+    public static <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(TraceSnapshot.capture().wrap(supplier));
+    }
+
+    /**
+     * 在调用方的跟踪上下文中异步执行,使用{@link java.util.concurrent.ForkJoinPool#commonPool()}
+     *
+     * @param runnable 任务
+     * @return {@link CompletableFuture}
+     */
+    public static CompletableFuture<Void> runAsync(Runnable runnable) {
+        return CompletableFuture.runAsync(TraceSnapshot.capture().wrap(runnable));
+    }
+
+}
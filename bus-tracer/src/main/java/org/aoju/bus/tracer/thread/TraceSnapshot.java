@@ -0,0 +1,189 @@
+/*********************************************************************************
+ *                                                                               *
+ * The MIT License (MIT)                                                         *
+ *                                                                               *
+ * Copyright (c) 2015-2020 aoju.org and other contributors.                      *
+ *                                                                               *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy  *
+ * of this software and associated documentation files (the "Software"), to deal *
+ * in the Software without restriction, including without limitation the rights  *
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell     *
+ * copies of the Software, and to permit persons to whom the Software is         *
+ * furnished to do so, subject to the following conditions:                      *
+ *                                                                               *
+ * The above copyright notice and this permission notice shall be included in    *
+ * all copies or substantial portions of the Software.                           *
+ *                                                                               *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR    *
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,      *
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE   *
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER        *
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, *
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN     *
+ * THE SOFTWARE.                                                                 *
+ ********************************************************************************/
+package org.aoju.bus.tracer.thread;
+
+import org.aoju.bus.tracer.Backend;
+import org.aoju.bus.tracer.TraceContext;
+import org.aoju.bus.tracer.Tracer;
+import org.aoju.bus.tracer.span.Span;
+import org.aoju.bus.tracer.span.Spans;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * 某一时刻的跟踪上下文快照,包含TPIC上下文和活动Span
+ * 快照不可变,可以在任意线程中通过{@link #attach()}、{@link #run(Runnable)}或{@link #call(Callable)}
+ * 在一个作用域内恢复,作用域结束后还原该线程原有的上下文,因此不依赖线程继承,在线程池和虚拟线程中表现一致
+ *
+ * @author Kimi Liu
+ * @version 6.0.1
+ * @since JDK 1.8+
+ */
+public final class TraceSnapshot {
+
+    private static final Scope NOOP = () -> {
+    };
+
+    private final Backend backend;
+    private final TraceContext context;
+    private final Span span;
+
+    private TraceSnapshot(Backend backend, TraceContext context, Span span) {
+        this.backend = backend;
+        this.context = context;
+        this.span = span;
+    }
+
+    /**
+     * 捕获当前线程在默认{@link Backend}中的上下文
+     *
+     * @return 快照
+     */
+    public static TraceSnapshot capture() {
+        return capture(Tracer.getBackend());
+    }
+
+    /**
+     * 捕获当前线程在指定{@link Backend}中的上下文
+     * 上下文本身不可变,捕获只保存引用,不复制键值
+     *
+     * @param backend 后端
+     * @return 快照
+     */
+    public static TraceSnapshot capture(Backend backend) {
+        return new TraceSnapshot(backend, TraceContext.of(backend.copyToMap()), Spans.current());
+    }
+
+    /**
+     * 快照是否为空,为空时恢复不做任何事情
+     *
+     * @return 没有TPIC上下文也没有活动Span时为true
+     */
+    public boolean isEmpty() {
+        return context.isEmpty() && !span.isSampled();
+    }
+
+    /**
+     * 在当前线程恢复快照,关闭返回的作用域时还原之前的上下文
+     * 即使当前线程的上下文与快照相同也重新写入,以保证MDC等镜像与快照一致
+     *
+     * @return 作用域
+     */
+    public Scope attach() {
+        final Map<String, String> previous = backend.copyToMap();
+        if (previous.isEmpty() && context.isEmpty() && !span.isSampled()) {
+            return NOOP;
+        }
+        replace(context);
+        final Spans.Scope spanScope = Spans.activate(span);
+        return () -> {
+            spanScope.close();
+            replace(previous);
+        };
+    }
+
+    /**
+     * 在快照的上下文中执行
+     *
+     * @param runnable 任务
+     */
+    public void run(Runnable runnable) {
+        try (Scope ignored = attach()) {
+            runnable.run();
+        }
+    }
+
+    /**
+     * 在快照的上下文中执行
+     *
+     * @param callable 任务
+     * @param <V>      结果类型
+     * @return 任务结果
+     * @throws Exception 任务抛出的异常
+     */
+    public <V> V call(Callable<V> callable) throws Exception {
+        try (Scope ignored = attach()) {
+            return callable.call();
+        }
+    }
+
+    /**
+     * 包装任务,执行时恢复快照
+     * 快照为空时同样需要包装,以免工作线程从创建它的线程继承的上下文泄漏到任务中
+     *
+     * @param runnable 任务
+     * @return 包装后的任务
+     */
+    public Runnable wrap(Runnable runnable) {
+        return () -> run(runnable);
+    }
+
+    /**
+     * 包装任务,执行时恢复快照
+     *
+     * @param callable 任务
+     * @param <V>      结果类型
+     * @return 包装后的任务
+     */
+    public <V> Callable<V> wrap(Callable<V> callable) {
+        return () -> call(callable);
+    }
+
+    /**
+     * 包装任务,执行时恢复快照
+     *
+     * @param supplier 任务
+     * @param <V>      结果类型
+     * @return 包装后的任务
+     */
+    public <V> Supplier<V> wrap(Supplier<V> supplier) {
+        return () -> {
+            try (Scope ignored = attach()) {
+                return supplier.get();
+            }
+        };
+    }
+
+    private void replace(Map<String, String> target) {
+        backend.clear();
+        if (!target.isEmpty()) {
+            backend.putAll(target);
+        }
+    }
+
+    /**
+     * 恢复快照的作用域,关闭时还原线程原有的上下文
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+
+    }
+
+}
@@ -27,65 +27,190 @@ package org.aoju.bus.tracer.transport;
 import org.aoju.bus.core.lang.Charset;
 import org.aoju.bus.core.lang.Symbol;
 import org.aoju.bus.logger.Logger;
+import org.aoju.bus.tracer.TraceContext;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
-import java.util.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 
 /**
+ * TPIC请求头的编解码,格式为URL编码的{@code key=value}并以逗号分隔
+ * 解析与输出均为单次扫描,只有包含需要编码的字符时才调用{@link URLEncoder}/{@link URLDecoder}
+ *
  * @author Kimi Liu
  * @version 6.0.1
  * @since JDK 1.8+
  */
 public class HttpHeaderTransport {
 
-    Map<String, String> parse(String serialized) {
-        final StringTokenizer pairTokenizer = new StringTokenizer(serialized.trim(), Symbol.COMMA);
-        final Map<String, String> context = new HashMap<>();
-        while (pairTokenizer.hasMoreTokens()) {
-            final String pairStr = pairTokenizer.nextToken();
-            final String[] keyValuePair = pairStr.split(Symbol.EQUAL);
-            if (keyValuePair.length != 2) {
-                continue;
-            }
-            try {
-                final String key = URLDecoder.decode(keyValuePair[0], Charset.DEFAULT_UTF_8);
-                final String value = URLDecoder.decode(keyValuePair[1], Charset.DEFAULT_UTF_8);
-                context.put(key, value);
-            } catch (UnsupportedEncodingException e) {
-                Logger.error("Charset not found", e);
-            }
+    /**
+     * URLEncoder中无需编码的字符
+     */
+    private static final boolean[] UNRESERVED = new boolean[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            UNRESERVED[c] = true;
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            UNRESERVED[c] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            UNRESERVED[c] = true;
         }
+        UNRESERVED['.'] = true;
+        UNRESERVED['-'] = true;
+        UNRESERVED['*'] = true;
+        UNRESERVED['_'] = true;
+    }
 
-        return context;
+    Map<String, String> parse(String serialized) {
+        return parse(serialized, TraceContext.EMPTY);
     }
 
     public Map<String, String> parse(List<String> serializedElements) {
-        final Map<String, String> contextMap = new HashMap<>();
+        TraceContext context = TraceContext.EMPTY;
         for (String serializedElement : serializedElements) {
-            contextMap.putAll(parse(serializedElement));
+            context = parse(serializedElement, context);
         }
-
-        return contextMap;
+        return context;
     }
 
     public String render(Map<String, String> context) {
         final StringBuilder sb = new StringBuilder(128);
-        for (Iterator<Map.Entry<String, String>> iterator = context.entrySet().iterator(); iterator.hasNext(); ) {
-            Map.Entry<String, String> entry = iterator.next();
-            try {
-                final String key = URLEncoder.encode(entry.getKey().trim(), Charset.DEFAULT_UTF_8);
-                final String value = URLEncoder.encode(entry.getValue().trim(), Charset.DEFAULT_UTF_8);
-                sb.append(key).append(Symbol.C_EQUAL).append(value);
-                if (iterator.hasNext()) {
-                    sb.append(Symbol.C_COMMA);
-                }
-            } catch (UnsupportedEncodingException e) {
-                Logger.error("Charset not found", e);
+        if (context instanceof TraceContext) {
+            final TraceContext traceContext = (TraceContext) context;
+            for (int i = 0; i < traceContext.size(); i++) {
+                append(sb, traceContext.keyAt(i), traceContext.valueAt(i));
+            }
+        } else {
+            for (Map.Entry<String, String> entry : context.entrySet()) {
+                append(sb, entry.getKey(), entry.getValue());
             }
         }
         return sb.toString();
     }
 
+    /**
+     * 解析一个请求头并合并到已有上下文,相同的键以后出现的为准
+     * 与{@code key=value}格式不符(缺少等号、多个等号或值为空)的项被忽略
+     *
+     * @param serialized 请求头
+     * @param base       已有上下文
+     * @return 合并后的上下文
+     */
+    private TraceContext parse(String serialized, TraceContext base) {
+        String[] entries = null;
+        int size = 0;
+        final int end = trimEnd(serialized);
+        int start = trimStart(serialized, end);
+        while (start < end) {
+            int comma = indexOf(serialized, Symbol.C_COMMA, start, end);
+            if (comma < 0) {
+                comma = end;
+            }
+            final int equal = indexOf(serialized, Symbol.C_EQUAL, start, comma);
+            // 只接受恰好一个等号且值不为空的项
+            if (equal >= 0 && equal < comma - 1 && indexOf(serialized, Symbol.C_EQUAL, equal + 1, comma) < 0) {
+                final String key = decode(serialized, start, equal);
+                final String value = decode(serialized, equal + 1, comma);
+                if (null != key && null != value) {
+                    if (null == entries) {
+                        entries = new String[8];
+                    }
+                    int index = -1;
+                    for (int i = 0; i < size << 1; i += 2) {
+                        if (key.equals(entries[i])) {
+                            index = i;
+                            break;
+                        }
+                    }
+                    if (index >= 0) {
+                        entries[index + 1] = value;
+                    } else {
+                        if (entries.length < (size + 1) << 1) {
+                            entries = Arrays.copyOf(entries, entries.length << 1);
+                        }
+                        entries[size << 1] = key;
+                        entries[(size << 1) + 1] = value;
+                        size++;
+                    }
+                }
+            }
+            start = comma + 1;
+        }
+        if (size == 0) {
+            return base;
+        }
+        final TraceContext parsed = TraceContext.wrap(entries, size);
+        return base.isEmpty() ? parsed : base.withAll(parsed);
+    }
+
+    private static int indexOf(String value, char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (value.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int trimEnd(String value) {
+        int end = value.length();
+        while (end > 0 && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    private static int trimStart(String value, int end) {
+        int start = 0;
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private static String decode(String serialized, int start, int end) {
+        for (int i = start; i < end; i++) {
+            final char c = serialized.charAt(i);
+            if (c == '%' || c == '+') {
+                try {
+                    return URLDecoder.decode(serialized.substring(start, end), Charset.DEFAULT_UTF_8);
+                } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+                    Logger.error("Illegal TPIC header value", e);
+                    return null;
+                }
+            }
+        }
+        return serialized.substring(start, end);
+    }
+
+    private static void append(StringBuilder sb, String key, String value) {
+        if (sb.length() > 0) {
+            sb.append(Symbol.C_COMMA);
+        }
+        encode(sb, key.trim());
+        sb.append(Symbol.C_EQUAL);
+        encode(sb, value.trim());
+    }
+
+    private static void encode(StringBuilder sb, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c >= 128 || !UNRESERVED[c]) {
+                try {
+                    sb.append(URLEncoder.encode(value, Charset.DEFAULT_UTF_8));
+                } catch (UnsupportedEncodingException e) {
+                    Logger.error("Charset not found", e);
+                }
+                return;
+            }
+        }
+        sb.append(value);
+    }
+
 }
@@ -58,12 +58,14 @@ public class Collector {
     public Collector(Validated target) {
         this.target = target;
         this.result = new ArrayList<>();
+        this.pass = true;
     }
 
     public Collector(Collector collector) {
         this.target = collector.getTarget();
         this.result = new ArrayList<>();
         this.result.add(collector);
+        this.pass = collector.isPass();
     }
 
     public Collector(Validated target, Property property, boolean pass) {
@@ -79,6 +81,7 @@ public class Collector {
      */
     public void collect(Collector collector) {
         this.result.add(collector);
+        this.pass = this.pass && collector.isPass();
     }
 
     /**
@@ -88,12 +91,12 @@ public class Collector {
      */
     public List<Collector> getResult() {
         List<Collector> list = new ArrayList<>(16);
+        if (null == this.result) {
+            list.add(this);
+            return list;
+        }
         for (Collector collector : this.result) {
-            if (collector instanceof Collector) {
-                list.addAll(collector.getResult());
-            } else {
-                throw new IllegalArgumentException("不支持收集的校验结果对象：" + collector);
-            }
+            list.addAll(collector.getResult());
         }
         return list;
     }
@@ -103,7 +106,7 @@ public class Collector {
     }
 
     public boolean isPass() {
-        return this.result.stream().allMatch(Collector::isPass);
+        return this.pass;
     }
 
 }
@@ -33,6 +33,7 @@ import org.aoju.bus.validate.validators.Checker;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * 当前校验的上下文信息
@@ -98,6 +99,30 @@ public class Context {
      */
     private boolean inside = false;
 
+    /**
+     * 短路校验, 默认：false
+     * <p>
+     * 仅在fast为false时生效,出现第一个校验失败后不再执行当前校验组内剩余的校验器、字段和元素,
+     * 直接返回已收集的校验结果
+     * </P>
+     */
+    private boolean shortCircuit = false;
+
+    /**
+     * 是否并行校验集合/数组元素, 默认：false
+     */
+    private boolean parallel = false;
+
+    /**
+     * 并行校验的元素数量阈值,元素数量小于该值时仍然顺序校验
+     */
+    private int threshold = 1024;
+
+    /**
+     * 并行校验使用的线程池,为空时使用{@link ForkJoinPool#commonPool()}
+     */
+    private ForkJoinPool pool;
+
     public Context() {
     }
 
@@ -112,6 +137,31 @@ public class Context {
         return context;
     }
 
+    /**
+     * 复制当前校验器上下文
+     * <p>
+     * 并行校验时每个元素使用独立的上下文,避免元素校验过程中对上下文的修改相互影响
+     * </P>
+     *
+     * @return 校验器上下文对象
+     */
+    public Context copy() {
+        Context context = new Context();
+        context.setErrcode(this.errcode);
+        context.setGroup(null == this.group ? null : new ArrayList<>(this.group));
+        context.setException(this.exception);
+        context.setField(this.field);
+        context.setSkip(this.skip);
+        context.setChecker(this.checker);
+        context.setFast(this.fast);
+        context.setInside(this.inside);
+        context.setShortCircuit(this.shortCircuit);
+        context.setParallel(this.parallel);
+        context.setThreshold(this.threshold);
+        context.setPool(this.pool);
+        return context;
+    }
+
     /**
      * 添加校验组
      *
@@ -27,18 +27,14 @@ package org.aoju.bus.validate;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import org.aoju.bus.core.lang.Assert;
-import org.aoju.bus.core.lang.exception.InstrumentException;
 import org.aoju.bus.core.toolkit.ObjectKit;
-import org.aoju.bus.core.toolkit.StringKit;
 import org.aoju.bus.validate.annotation.*;
 import org.aoju.bus.validate.validators.Checker;
+import org.aoju.bus.validate.validators.Plan;
 import org.aoju.bus.validate.validators.Property;
 
 import java.lang.annotation.Annotation;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -141,6 +137,22 @@ public class Validated extends Provider {
         this.list = resolve(annotations);
     }
 
+    /**
+     * 被校验对象
+     *
+     * @param object      被校验的原始对象
+     * @param annotations 被校验对象上的所有注解
+     * @param plans       注解对应的校验计划,非校验注解对应位置为null
+     * @param context     父级校验上下文,当前校验环境会继承所有父级上下文信息,除了是否校验对象内部的属性
+     * @param field       属性信息
+     */
+    public Validated(Object object, Annotation[] annotations, Plan[] plans, Context context, String field) {
+        this.field = field;
+        this.object = object;
+        this.context = resolve(context, annotations);
+        this.list = resolve(plans);
+    }
+
     /**
      * 根据对象注解解析校验器
      *
@@ -148,19 +160,25 @@ public class Validated extends Provider {
      * @return the object
      */
     private List<Property> resolve(Annotation[] annotations) {
+        return resolve(Plan.of(annotations));
+    }
+
+    /**
+     * 根据校验计划解析校验器
+     *
+     * @param plans 校验计划
+     * @return the object
+     */
+    private List<Property> resolve(Plan[] plans) {
         List<Property> list = new ArrayList<>();
-        for (Annotation annotation : annotations) {
-            if (this.isAnnotation(annotation)) {
-                Property property = build(annotation, this.object);
-                list.add(property);
+        for (Plan plan : plans) {
+            if (null != plan) {
+                list.add(build(plan, this.object));
             }
         }
         if (ObjectKit.isNotEmpty(this.object)) {
-            Class<?> clazz = this.object.getClass();
-            List<Annotation> clazzAnnotations = this.getAnnotation(clazz);
-            for (Annotation annotation : clazzAnnotations) {
-                Property property = build(annotation, this.object);
-                list.add(property);
+            for (Plan plan : Plan.of(this.object.getClass())) {
+                list.add(build(plan, this.object));
             }
         }
         return list;
@@ -201,7 +219,8 @@ public class Validated extends Provider {
 
     /**
      * 执行校验
-     * 如果校验环境设置了快速失败的属性为true,那么一旦出现校验失败,则会抛出异常
+     * 如果校验环境设置了快速失败的属性为true,那么一旦出现校验失败,则会抛出异常;
+     * 如果设置了短路校验,那么一旦出现校验失败,则不再执行后续校验
      *
      * @return 校验结果收集器
      */
@@ -211,6 +230,9 @@ public class Validated extends Provider {
         for (Property p : this.list) {
             Collector result = checker.object(this, p);
             collector.collect(result);
+            if (context.isShortCircuit() && !collector.isPass()) {
+                return collector;
+            }
         }
         if (context.isInside()) {
             Collector result = checker.inside(this);
@@ -228,60 +250,19 @@ public class Validated extends Provider {
      */
     public Property build(Annotation annotation, Object object) {
         Assert.isTrue(this.isAnnotation(annotation), "尝试从非校验注解上获取信息:" + annotation);
-        Class<? extends Annotation> annotationType = annotation.annotationType();
-        try {
-            String[] groups = (String[]) annotationType.getMethod(Builder.GROUP).invoke(annotation);
-            String errmsg = (String) annotationType.getMethod(Builder.ERRMSG).invoke(annotation);
-            String errcode = (String) annotationType.getMethod(Builder.ERRCODE).invoke(annotation);
-            String name = (String) annotationType.getMethod(Builder.FIELD).invoke(annotation);
-            this.field = Builder.DEFAULT_FIELD.equals(name) ? this.field : name;
-            Property property = new Property();
-            property.setAnnotation(annotation);
-            property.setErrmsg(errmsg);
-            property.setGroup(groups);
-            property.setField(this.field);
-            property.setErrcode(errcode);
-            property.addParam(Builder.FIELD, this.field);
-
-            if (ObjectKit.isNotEmpty(object) && object.getClass().isArray()) {
-                property.addParam(Builder.VAL, Arrays.toString((Object[]) object));
-            } else {
-                property.addParam(Builder.VAL, String.valueOf(object));
-            }
+        return build(Plan.of(annotation), object);
+    }
 
-            Method[] declaredMethods = annotationType.getDeclaredMethods();
-            for (Method m : declaredMethods) {
-                Filler filler = m.getAnnotation(Filler.class);
-                if (ObjectKit.isNotEmpty(filler)) {
-                    Class<?> returnType = m.getReturnType();
-                    Object invoke = m.invoke(annotation);
-                    if (returnType.isArray()) {
-                        property.addParam(filler.value(), Arrays.toString((Object[]) invoke));
-                    } else {
-                        property.addParam(filler.value(), invoke);
-                    }
-                }
-            }
-            Annotation[] parentAnnos = annotationType.getAnnotations();
-            for (Annotation anno : parentAnnos) {
-                if (this.isAnnotation(anno)) {
-                    property.addParentProperty(build(anno, object));
-                } else if (anno instanceof Array) {
-                    property.setArray(true);
-                } else if (anno instanceof Complex) {
-                    property.setClazz(((Complex) anno).clazz());
-                    property.setName(((Complex) anno).value());
-                } else if (anno instanceof ValidEx) {
-                    property.setException(((ValidEx) anno).value());
-                }
-            }
-            if (ObjectKit.isEmpty(property.getClazz()) || StringKit.isEmpty(property.getName())) {
-                throw new InstrumentException("非法的校验注解,没有使用Complex元注解表示校验器:" + annotationType.getName());
-            }
-            return property;
-        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
-            throw new InstrumentException("非法的校验注解,没有定义通用的校验属性:" + annotationType.getName(), e);
-        }
+    /**
+     * 根据校验计划创建校验器属性对象
+     *
+     * @param plan   校验计划
+     * @param object 对象
+     * @return 校验器属性对象
+     */
+    public Property build(Plan plan, Object object) {
+        this.field = null == plan.getField() ? this.field : plan.getField();
+        return plan.property(this.field, object);
     }
 
 }
@@ -29,6 +29,8 @@ import org.aoju.bus.validate.Context;
 import org.aoju.bus.validate.annotation.Regex;
 import org.aoju.bus.validate.validators.Matcher;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 /**
@@ -40,6 +42,11 @@ import java.util.regex.Pattern;
  */
 public class RegexStrategy implements Matcher<String, Regex> {
 
+    /**
+     * 已编译的正则表达式
+     */
+    private static final Map<String, Pattern> PATTERN_CACHE = new ConcurrentHashMap<>();
+
     @Override
     public boolean on(String object, Regex regexValidate, Context context) {
         if (StringKit.isEmpty(object)) {
@@ -48,7 +55,7 @@ public class RegexStrategy implements Matcher<String, Regex> {
         if (regexValidate.zeroAble() && object.length() == 0) {
             return false;
         }
-        Pattern pattern = Pattern.compile(regexValidate.pattern());
+        Pattern pattern = PATTERN_CACHE.computeIfAbsent(regexValidate.pattern(), Pattern::compile);
         return pattern.matcher(object).matches();
     }
 
@@ -29,17 +29,18 @@ import org.aoju.bus.core.lang.exception.InstrumentException;
 import org.aoju.bus.core.lang.exception.NoSuchException;
 import org.aoju.bus.core.lang.exception.ValidateException;
 import org.aoju.bus.core.toolkit.ArrayKit;
-import org.aoju.bus.core.toolkit.ClassKit;
 import org.aoju.bus.core.toolkit.ObjectKit;
 import org.aoju.bus.logger.Logger;
 import org.aoju.bus.validate.*;
-import org.aoju.bus.validate.annotation.Inside;
 
 import java.lang.annotation.Annotation;
-import java.lang.reflect.Field;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
 
 /**
  * 校验检查器
@@ -68,55 +69,67 @@ public class Checker {
         }
         List<Property> list = property.getList();
         for (Property p : list) {
+            if (context.isShortCircuit() && !collector.isPass()) {
+                break;
+            }
             collector.collect(doObject(validated, p));
         }
         return collector;
     }
 
     /**
-     * 校验对象内部的所有字段
+     * 校验对象内部的所有字段,被校验对象为集合或对象数组时校验每个元素内部的所有字段
      *
      * @param validated 被校验对象
      * @return 校验结果
      */
     public Collector inside(Validated validated) {
+        Object target = validated.getObject();
+        if (target instanceof Collection) {
+            return doCollectionInside(validated);
+        } else if (target instanceof Object[]) {
+            return doArrayInside(validated);
+        }
         Collector collector = new Collector(validated);
         try {
             Object object = validated.getObject();
             if (ObjectKit.isNotEmpty(object)) {
-                Field[] fields = ClassKit.getAllFields(object.getClass());
-                for (Field field : fields) {
-                    Object value = ClassKit.readField(field, object, true);
-                    Annotation[] annotations = field.getDeclaredAnnotations();
+                for (Plan.Member member : Plan.members(object.getClass())) {
+                    Object value = member.get(object);
 
                     String[] xFields = validated.getContext().getField();
                     String[] xSkip = validated.getContext().getSkip() == null ? null : validated.getContext().getSkip();
 
                     // 过滤当前需跳过的属性
                     if (ArrayKit.isNotEmpty(xSkip)
-                            && Arrays.asList(xSkip).contains(field.getName())) {
+                            && Arrays.asList(xSkip).contains(member.getName())) {
                         continue;
                     }
                     // 过滤当前需要校验的属性
                     if (ArrayKit.isNotEmpty(xFields)
-                            && !Arrays.asList(xFields).contains(field.getName())) {
+                            && !Arrays.asList(xFields).contains(member.getName())) {
                         continue;
                     }
                     // 属性校验开始
                     validated.getContext().setInside(false);
-                    validated = new Validated(value, annotations, validated.getContext(), field.getName());
+                    validated = new Validated(value, member.getAnnotations(), member.getPlans(),
+                            validated.getContext(), member.getName());
 
                     if (value != null && Provider.isCollection(value)
-                            && hasInside(annotations)) {
+                            && member.isInside()) {
                         collector.collect(doCollectionInside(validated));
+                        validated.getContext().setInside(false);
                     } else if (value != null && Provider.isArray(value)
-                            && hasInside(annotations)) {
+                            && member.isInside()) {
                         collector.collect(doArrayInside(validated));
+                        validated.getContext().setInside(false);
                     }
-                    if (validated.getList().isEmpty()) {
-                        continue;
+                    if (!validated.getList().isEmpty()) {
+                        collector.collect(validated.access());
+                    }
+                    if (validated.getContext().isShortCircuit() && !collector.isPass()) {
+                        break;
                     }
-                    collector.collect(validated.access());
                 }
             } else {
                 Logger.debug("当前被校验的对象为null, 忽略校验对象内部字段: {}", validated);
@@ -135,7 +148,9 @@ public class Checker {
      * @return 校验结果
      */
     private Collector doObject(Validated validated, Property property) {
-        Matcher matcher = (Matcher) Registry.getInstance().require(property.getName(), property.getClazz());
+        Matcher matcher = null == property.getPlan()
+                ? (Matcher) Registry.getInstance().require(property.getName(), property.getClazz())
+                : property.getPlan().getMatcher();
         if (ObjectKit.isEmpty(matcher)) {
             throw new NoSuchException(String.format("无法找到指定的校验器, name:%s, class:%s",
                     property.getName(),
@@ -163,16 +178,8 @@ public class Checker {
      * @return 校验结果
      */
     private Collector doCollection(Validated validated, Property property) {
-        Collector collector = new Collector(validated);
-        Collection<?> collection = (Collection<?>) validated.getObject();
-        for (Object item : collection) {
-            Validated itemTarget = new Validated(item, new Annotation[]{property.getAnnotation()},
-                    validated.getContext());
-            Collector checked = itemTarget.access();
-            collector.collect(checked);
-        }
-
-        return collector;
+        return doEach(validated, ((Collection<?>) validated.getObject()).toArray(),
+                (context, item) -> doItem(item, property, context));
     }
 
     /**
@@ -183,15 +190,24 @@ public class Checker {
      * @return 校验结果
      */
     private Collector doArrayObject(Validated validated, Property property) {
-        Collector collector = new Collector(validated);
-        Object[] array = (Object[]) validated.getObject();
-        for (int i = 0; i < array.length; i++) {
-            Validated itemTarget = new Validated(array[i],
-                    new Annotation[]{property.getAnnotation()}, validated.getContext());
-            Collector checked = itemTarget.access();
-            collector.collect(checked);
-        }
-        return collector;
+        return doEach(validated, (Object[]) validated.getObject(),
+                (context, item) -> doItem(item, property, context));
+    }
+
+    /**
+     * 校验数组/集合中的单个元素
+     *
+     * @param item     元素
+     * @param property 校验器属性
+     * @param context  校验上下文
+     * @return 校验结果
+     */
+    private Collector doItem(Object item, Property property, Context context) {
+        Annotation[] annotations = new Annotation[]{property.getAnnotation()};
+        Validated itemTarget = null == property.getPlan()
+                ? new Validated(item, annotations, context)
+                : new Validated(item, annotations, new Plan[]{property.getPlan()}, context, null);
+        return itemTarget.access();
     }
 
     /**
@@ -201,12 +217,8 @@ public class Checker {
      * @return 校验结果
      */
     private Collector doArrayInside(Validated validated) {
-        Collector collector = new Collector(validated);
-        Object[] array = (Object[]) validated.getObject();
-        for (Object object : array) {
-            collector.collect(inside(new Validated(object, validated.getContext())));
-        }
-        return collector;
+        return doEach(validated, (Object[]) validated.getObject(),
+                (context, item) -> inside(new Validated(item, context)));
     }
 
     /**
@@ -216,22 +228,144 @@ public class Checker {
      * @return 校验结果
      */
     private Collector doCollectionInside(Validated validated) {
+        return doEach(validated, ((Collection<?>) validated.getObject()).toArray(),
+                (context, item) -> inside(new Validated(item, context)));
+    }
+
+    /**
+     * 逐个校验元素,元素数量达到并行阈值时在线程池中并行校验
+     *
+     * @param validated 被校验对象
+     * @param items     元素
+     * @param action    元素校验方式
+     * @return 校验结果
+     */
+    private Collector doEach(Validated validated, Object[] items, BiFunction<Context, Object, Collector> action) {
+        Context context = validated.getContext();
+        if (context.isParallel() && items.length >= context.getThreshold()) {
+            return doParallel(validated, items, action);
+        }
         Collector collector = new Collector(validated);
-        Collection<?> collection = (Collection<?>) validated.getObject();
-        for (Object item : collection) {
-            collector.collect(inside(new Validated(item, validated.getContext())));
+        for (Object item : items) {
+            collector.collect(action.apply(context, item));
+            if (context.isShortCircuit() && !collector.isPass()) {
+                break;
+            }
         }
         return collector;
     }
 
     /**
-     * 是否为内部校验注解
+     * 并行校验元素
+     * <p>
+     * 每个元素使用独立的上下文副本;一旦某个元素校验失败,下标更大的元素不再校验,
+     * 最终按元素顺序合并结果,因此抛出的异常和收集的结果与顺序校验一致
+     * </P>
      *
-     * @param annotations 注解
+     * @param validated 被校验对象
+     * @param items     元素
+     * @param action    元素校验方式
      * @return 校验结果
      */
-    private boolean hasInside(Annotation[] annotations) {
-        return Arrays.stream(annotations).anyMatch(an -> an instanceof Inside);
+    private Collector doParallel(Validated validated, Object[] items, BiFunction<Context, Object, Collector> action) {
+        Context context = validated.getContext();
+        ForkJoinPool pool = null == context.getPool() ? ForkJoinPool.commonPool() : context.getPool();
+        Each each = new Each(context, items, action);
+        int batch = Math.max(16, items.length / (pool.getParallelism() * 4));
+        pool.invoke(new EachAction(each, 0, items.length, batch));
+
+        Collector collector = new Collector(validated);
+        for (int i = 0; i < items.length; i++) {
+            if (null != each.errors[i]) {
+                throw each.errors[i];
+            }
+            collector.collect(each.results[i]);
+            if (i == each.failed.get()) {
+                break;
+            }
+        }
+        return collector;
+    }
+
+    /**
+     * 并行校验的共享状态
+     */
+    private static class Each {
+
+        private final Context context;
+        private final Object[] items;
+        private final BiFunction<Context, Object, Collector> action;
+        private final Collector[] results;
+        private final ValidateException[] errors;
+        /**
+         * 第一个校验失败的元素下标
+         */
+        private final AtomicInteger failed = new AtomicInteger(Integer.MAX_VALUE);
+
+        Each(Context context, Object[] items, BiFunction<Context, Object, Collector> action) {
+            this.context = context;
+            this.items = items;
+            this.action = action;
+            this.results = new Collector[items.length];
+            this.errors = new ValidateException[items.length];
+        }
+
+        void apply(int index) {
+            if (index > this.failed.get()) {
+                return;
+            }
+            try {
+                this.results[index] = this.action.apply(this.context.copy(), this.items[index]);
+                if (this.context.isShortCircuit() && !this.results[index].isPass()) {
+                    fail(index);
+                }
+            } catch (ValidateException e) {
+                this.errors[index] = e;
+                fail(index);
+            }
+        }
+
+        void fail(int index) {
+            int current;
+            while (index < (current = this.failed.get())
+                    && !this.failed.compareAndSet(current, index)) {
+            }
+        }
+
+    }
+
+    /**
+     * 拆分元素区间的并行任务
+     */
+    private static class EachAction extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Each each;
+        private final int from;
+        private final int to;
+        private final int batch;
+
+        EachAction(Each each, int from, int to, int batch) {
+            this.each = each;
+            this.from = from;
+            this.to = to;
+            this.batch = batch;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= this.batch) {
+                for (int i = this.from; i < this.to; i++) {
+                    this.each.apply(i);
+                }
+            } else {
+                int mid = (this.from + this.to) >>> 1;
+                invokeAll(new EachAction(this.each, this.from, mid, this.batch),
+                        new EachAction(this.each, mid, this.to, this.batch));
+            }
+        }
+
     }
 
 }
@@ -0,0 +1,356 @@
+/*********************************************************************************
+ *                                                                               *
+ * The MIT License (MIT)                                                         *
+ *                                                                               *
+ * Copyright (c) 2015-2020 aoju.org and other contributors.                      *
+ *                                                                               *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy  *
+ * of this software and associated documentation files (the "Software"), to deal *
+ * in the Software without restriction, including without limitation the rights  *
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell     *
+ * copies of the Software, and to permit persons to whom the Software is         *
+ * furnished to do so, subject to the following conditions:                      *
+ *                                                                               *
+ * The above copyright notice and this permission notice shall be included in    *
+ * all copies or substantial portions of the Software.                           *
+ *                                                                               *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR    *
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,      *
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE   *
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER        *
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, *
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN     *
+ * THE SOFTWARE.                                                                 *
+ ********************************************************************************/
+package org.aoju.bus.validate.validators;
+
+import lombok.Getter;
+import org.aoju.bus.core.lang.exception.InstrumentException;
+import org.aoju.bus.core.lang.exception.ValidateException;
+import org.aoju.bus.core.toolkit.ArrayKit;
+import org.aoju.bus.core.toolkit.ClassKit;
+import org.aoju.bus.core.toolkit.ObjectKit;
+import org.aoju.bus.core.toolkit.StringKit;
+import org.aoju.bus.validate.Builder;
+import org.aoju.bus.validate.Provider;
+import org.aoju.bus.validate.Registry;
+import org.aoju.bus.validate.annotation.*;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 预编译的校验计划
+ * <p>
+ * 校验注解的通用属性、{@link Filler}插值参数、元注解信息以及类字段和方法参数上的注解
+ * 只在首次使用时反射解析一次并缓存,之后每次校验直接复用,不再重复反射
+ * </P>
+ *
+ * @author Kimi Liu
+ * @version 6.0.1
+ * @since JDK 1.8+
+ */
+@Getter
+public final class Plan {
+
+    /**
+     * 校验注解计划缓存
+     */
+    private static final Map<Annotation, Plan> ANNOTATION_CACHE = new ConcurrentHashMap<>();
+    /**
+     * 类上校验注解计划缓存
+     */
+    private static final Map<Class<?>, Plan[]> CLASS_CACHE = new ConcurrentHashMap<>();
+    /**
+     * 类字段校验计划缓存
+     */
+    private static final Map<Class<?>, Member[]> MEMBER_CACHE = new ConcurrentHashMap<>();
+    /**
+     * 方法参数注解缓存
+     */
+    private static final Map<Method, Annotation[][]> PARAMETER_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 当前注解
+     */
+    private final Annotation annotation;
+    /**
+     * 校验组信息
+     */
+    private final String[] group;
+    /**
+     * 错误提示信息
+     */
+    private final String errmsg;
+    /**
+     * 错误码
+     */
+    private final String errcode;
+    /**
+     * 注解上声明的属性名称,未声明时为null
+     */
+    private final String field;
+    /**
+     * 校验器名称
+     */
+    private final String name;
+    /**
+     * 校验类
+     */
+    private final Class<?> clazz;
+    /**
+     * 是否校验数组/集合元素
+     */
+    private final boolean array;
+    /**
+     * 异常信息
+     */
+    private final Class<? extends ValidateException> exception;
+    /**
+     * {@link Filler}插值参数,编译时已渲染
+     */
+    private final Map<String, Object> param;
+    /**
+     * 父级校验注解计划
+     */
+    private final Plan[] parents;
+    /**
+     * 校验器
+     */
+    private volatile Matcher matcher;
+
+    private Plan(Annotation annotation) {
+        Class<? extends Annotation> annotationType = annotation.annotationType();
+        try {
+            this.annotation = annotation;
+            this.group = (String[]) annotationType.getMethod(Builder.GROUP).invoke(annotation);
+            this.errmsg = (String) annotationType.getMethod(Builder.ERRMSG).invoke(annotation);
+            this.errcode = (String) annotationType.getMethod(Builder.ERRCODE).invoke(annotation);
+            String name = (String) annotationType.getMethod(Builder.FIELD).invoke(annotation);
+            this.field = Builder.DEFAULT_FIELD.equals(name) ? null : name;
+
+            Map<String, Object> param = new HashMap<>();
+            for (Method m : annotationType.getDeclaredMethods()) {
+                Filler filler = m.getAnnotation(Filler.class);
+                if (ObjectKit.isNotEmpty(filler)) {
+                    if (param.containsKey(filler.value())) {
+                        throw new IllegalArgumentException("当前异常信息格式化参数已经存在:" + filler.value());
+                    }
+                    param.put(filler.value(), m.getReturnType().isArray() ? render(m.invoke(annotation)) : m.invoke(annotation));
+                }
+            }
+            this.param = Collections.unmodifiableMap(param);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            throw new InstrumentException("非法的校验注解,没有定义通用的校验属性:" + annotationType.getName(), e);
+        }
+
+        List<Plan> parents = new ArrayList<>();
+        boolean array = false;
+        Class<?> clazz = null;
+        String complex = null;
+        Class<? extends ValidateException> exception = null;
+        for (Annotation anno : annotationType.getAnnotations()) {
+            if (Provider.isAnnotation(anno)) {
+                parents.add(of(anno));
+            } else if (anno instanceof Array) {
+                array = true;
+            } else if (anno instanceof Complex) {
+                clazz = ((Complex) anno).clazz();
+                complex = ((Complex) anno).value();
+            } else if (anno instanceof ValidEx) {
+                exception = ((ValidEx) anno).value();
+            }
+        }
+        if (ObjectKit.isEmpty(clazz) || StringKit.isEmpty(complex)) {
+            throw new InstrumentException("非法的校验注解,没有使用Complex元注解表示校验器:" + annotationType.getName());
+        }
+        this.array = array;
+        this.clazz = clazz;
+        this.name = complex;
+        this.exception = exception;
+        this.parents = parents.toArray(new Plan[0]);
+    }
+
+    /**
+     * 获取校验注解的校验计划
+     *
+     * @param annotation 注解
+     * @return 校验计划, 非校验注解返回null
+     */
+    public static Plan of(Annotation annotation) {
+        if (!Provider.isAnnotation(annotation)) {
+            return null;
+        }
+        Plan plan = ANNOTATION_CACHE.get(annotation);
+        if (null == plan) {
+            // 元注解可能递归解析,不能在computeIfAbsent内构建
+            plan = new Plan(annotation);
+            Plan exists = ANNOTATION_CACHE.putIfAbsent(annotation, plan);
+            plan = null == exists ? plan : exists;
+        }
+        return plan;
+    }
+
+    /**
+     * 获取注解数组对应的校验计划,非校验注解对应位置为null
+     *
+     * @param annotations 注解信息
+     * @return 校验计划
+     */
+    public static Plan[] of(Annotation[] annotations) {
+        Plan[] plans = new Plan[annotations.length];
+        for (int i = 0; i < annotations.length; i++) {
+            plans[i] = of(annotations[i]);
+        }
+        return plans;
+    }
+
+    /**
+     * 获取类上标记的校验注解计划
+     *
+     * @param clazz 类
+     * @return 校验计划
+     */
+    public static Plan[] of(Class<?> clazz) {
+        Plan[] plans = CLASS_CACHE.get(clazz);
+        if (null == plans) {
+            List<Annotation> annotations = Provider.getAnnotation(clazz);
+            plans = of(annotations.toArray(new Annotation[0]));
+            CLASS_CACHE.putIfAbsent(clazz, plans);
+        }
+        return plans;
+    }
+
+    /**
+     * 获取类及其父类所有字段的校验计划
+     *
+     * @param clazz 类
+     * @return 字段校验计划
+     */
+    public static Member[] members(Class<?> clazz) {
+        Member[] members = MEMBER_CACHE.get(clazz);
+        if (null == members) {
+            List<Member> list = new ArrayList<>();
+            for (Field field : ClassKit.getAllFields(clazz)) {
+                list.add(new Member(field));
+            }
+            members = list.toArray(new Member[0]);
+            MEMBER_CACHE.putIfAbsent(clazz, members);
+        }
+        return members;
+    }
+
+    /**
+     * 获取方法参数上的注解
+     * <p>
+     * {@link Method#getParameterAnnotations()} 每次调用都会重新解析,这里按方法缓存
+     * </P>
+     *
+     * @param method 方法
+     * @return 参数注解, 调用方不应修改
+     */
+    public static Annotation[][] parameters(Method method) {
+        Annotation[][] annotations = PARAMETER_CACHE.get(method);
+        if (null == annotations) {
+            annotations = method.getParameterAnnotations();
+            PARAMETER_CACHE.putIfAbsent(method, annotations);
+        }
+        return annotations;
+    }
+
+    /**
+     * 渲染错误信息中的对象插值
+     *
+     * @param object 对象
+     * @return 字符串
+     */
+    public static String render(Object object) {
+        return ArrayKit.isArray(object) ? ArrayKit.toString(object) : String.valueOf(object);
+    }
+
+    /**
+     * 根据校验计划创建校验器属性对象,错误信息插值参数在需要时才会渲染
+     *
+     * @param field  当前属性名称, 注解上声明了属性名称时以注解为准
+     * @param object 被校验对象
+     * @return 校验器属性对象
+     */
+    public Property property(String field, Object object) {
+        String name = null == this.field ? field : this.field;
+        Property property = new Property(this, name, object);
+        for (Plan parent : this.parents) {
+            property.addParentProperty(parent.property(name, object));
+        }
+        return property;
+    }
+
+    /**
+     * 获取校验器,找到后缓存
+     *
+     * @return 校验器, 找不到时返回null
+     */
+    public Matcher getMatcher() {
+        Matcher matcher = this.matcher;
+        if (null == matcher) {
+            matcher = (Matcher) Registry.getInstance().require(this.name, this.clazz);
+            this.matcher = matcher;
+        }
+        return matcher;
+    }
+
+    /**
+     * 字段校验计划
+     */
+    @Getter
+    public static final class Member {
+
+        /**
+         * 字段
+         */
+        private final Field field;
+        /**
+         * 字段名称
+         */
+        private final String name;
+        /**
+         * 字段上的所有注解
+         */
+        private final Annotation[] annotations;
+        /**
+         * 字段上的校验注解计划,非校验注解对应位置为null
+         */
+        private final Plan[] plans;
+        /**
+         * 是否标记了{@link Inside}
+         */
+        private final boolean inside;
+
+        private Member(Field field) {
+            if (!field.isAccessible()) {
+                field.setAccessible(true);
+            }
+            this.field = field;
+            this.name = field.getName();
+            this.annotations = field.getDeclaredAnnotations();
+            this.plans = of(this.annotations);
+            this.inside = Arrays.stream(this.annotations).anyMatch(an -> an instanceof Inside);
+        }
+
+        /**
+         * 读取字段值
+         *
+         * @param object 对象
+         * @return 字段值
+         * @throws IllegalAccessException 字段不可访问
+         */
+        public Object get(Object object) throws IllegalAccessException {
+            return this.field.get(object);
+        }
+
+    }
+
+}
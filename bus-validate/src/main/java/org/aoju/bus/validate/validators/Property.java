@@ -29,9 +29,11 @@ import org.aoju.bus.core.lang.exception.ValidateException;
 import org.aoju.bus.core.text.Substitute;
 import org.aoju.bus.core.toolkit.CollKit;
 import org.aoju.bus.core.toolkit.MapKit;
+import org.aoju.bus.validate.Builder;
 
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -85,12 +87,42 @@ public class Property {
      * 校验属性信息
      */
     private List<Property> list;
+    /**
+     * 校验计划
+     */
+    private Plan plan;
+    /**
+     * 被校验对象
+     */
+    private Object value;
 
     public Property() {
         this.list = new ArrayList<>();
         this.param = new HashMap<>();
     }
 
+    /**
+     * 根据校验计划构建属性对象,校验参数在首次获取时才渲染
+     *
+     * @param plan  校验计划
+     * @param field 属性名称
+     * @param value 被校验对象
+     */
+    Property(Plan plan, String field, Object value) {
+        this.plan = plan;
+        this.field = field;
+        this.value = value;
+        this.annotation = plan.getAnnotation();
+        this.errmsg = plan.getErrmsg();
+        this.errcode = plan.getErrcode();
+        this.group = plan.getGroup();
+        this.name = plan.getName();
+        this.clazz = plan.getClazz();
+        this.array = plan.isArray();
+        this.exception = plan.getException();
+        this.list = Collections.emptyList();
+    }
+
     /**
      * 添加父级校验注解属性
      *
@@ -110,13 +142,29 @@ public class Property {
      * @param value 插值
      */
     public void addParam(String name, Object value) {
-        if (MapKit.isEmpty(this.param)) {
-            this.param = new HashMap<>();
+        Map<String, Object> param = this.getParam();
+        if (MapKit.isEmpty(param)) {
+            param = this.param = new HashMap<>();
         }
-        if (this.param.containsKey(name)) {
+        if (param.containsKey(name)) {
             throw new IllegalArgumentException("当前异常信息格式化参数已经存在:" + name);
         }
-        this.param.put(name, value);
+        param.put(name, value);
+    }
+
+    /**
+     * 获取错误信息的字符串插值参数
+     *
+     * @return 插值参数
+     */
+    public Map<String, Object> getParam() {
+        if (null == this.param && null != this.plan) {
+            Map<String, Object> param = new HashMap<>(this.plan.getParam());
+            param.put(Builder.FIELD, this.field);
+            param.put(Builder.VAL, Plan.render(this.value));
+            this.param = param;
+        }
+        return this.param;
     }
 
     /**
@@ -125,7 +173,7 @@ public class Property {
      * @return the string
      */
     public String getFormatted() {
-        return new Substitute(this.param).replace(this.errmsg);
+        return new Substitute(this.getParam()).replace(this.errmsg);
     }
 
 }